@@ -18,6 +18,10 @@
  * COMMUNICATION PROTOCOL:
  * - Read JSON messages from stdin (one per line)
  * - Write JSON responses to stdout (one per line)
+ * - Requests may carry "deadline_ms" (epoch millis); expired requests are
+ *   answered with DEADLINE_EXCEEDED without running
+ * - CANCEL ({"type": "CANCEL", "target_id"}) cancels the context of a queued
+ *   or running request (aborting its HTTP call); no reply is sent
  * - stderr for logging only
  *
  * Reference: PROJECT_DOCUMENTATION.md Section 4.5
@@ -35,6 +39,7 @@ import (
 	"os"
 	"os/signal"
 	"strings"
+	"sync"
 	"syscall"
 	"time"
 
@@ -67,6 +72,19 @@ type Engine struct {
 	logger           *observability.StructuredLogger
 	metrics          *observability.Metrics
 	retryConfig      *observability.RetryConfig
+	// Requests are read by readLoop and processed one at a time by processLoop;
+	// inflight holds the cancel function of every queued or running request
+	requests         chan *request
+	inflightMu       sync.Mutex
+	inflight         map[string]context.CancelFunc
+	writeMu          sync.Mutex
+}
+
+// request is a message queued for processing, with a context the kernel can cancel
+type request struct {
+	msg    Message
+	ctx    context.Context
+	cancel context.CancelFunc
 }
 
 // Message represents an incoming IPC message
@@ -76,6 +94,9 @@ type Message struct {
 	Method  string                 `json:"method"`  // Alternative field name
 	Params  map[string]interface{} `json:"params"`
 	Payload map[string]interface{} `json:"payload"` // Alternative field name
+
+	DeadlineMs int64  `json:"deadline_ms"` // Epoch millis, 0 if none
+	TargetID   string `json:"target_id"`   // CANCEL only
 }
 
 // Response represents an outgoing IPC response
@@ -199,6 +220,8 @@ func NewEngine() (*Engine, error) {
 		logger:           logger,
 		metrics:          metrics,
 		retryConfig:     retryConfig,
+		requests:         make(chan *request, 64), // Above the kernel's in-flight window, so CANCEL is never stuck behind it
+		inflight:         make(map[string]context.CancelFunc),
 	}, nil
 }
 
@@ -221,9 +244,10 @@ func (e *Engine) Run() {
 	sigChan := make(chan os.Signal, 1)
 	signal.Notify(sigChan, os.Interrupt, syscall.SIGTERM)
 
-	// Start message reader in goroutine
+	// Start message reader and processor in goroutines
 	done := make(chan bool)
-	go e.readLoop(done)
+	go e.readLoop()
+	go e.processLoop(done)
 
 	// Wait for shutdown signal or EOF
 	select {
@@ -241,8 +265,9 @@ func (e *Engine) Run() {
 	})
 }
 
-// readLoop reads messages from stdin
-func (e *Engine) readLoop(done chan bool) {
+// readLoop reads messages from stdin, queues requests and applies CANCEL immediately
+func (e *Engine) readLoop() {
+	defer close(e.requests)
 	scanner := bufio.NewScanner(os.Stdin)
 	
 	for e.running {
@@ -251,7 +276,6 @@ func (e *Engine) readLoop(done chan bool) {
 			if err := scanner.Err(); err != nil && err != io.EOF {
 				log.Printf("Error reading stdin: %v", err)
 			}
-			done <- true
 			return
 		}
 
@@ -260,21 +284,77 @@ func (e *Engine) readLoop(done chan bool) {
 			continue
 		}
 
-		// Process message
-		e.processMessage(line)
+		var msg Message
+		if err := json.Unmarshal([]byte(line), &msg); err != nil {
+			e.logger.Error("Invalid JSON message", err, map[string]interface{}{
+				"message_preview": truncateString(line, 100),
+			})
+			e.sendError("", "PARSE_ERROR", fmt.Sprintf("Invalid JSON: %v", err))
+			continue
+		}
+
+		if normalizeCommand(msg.Type) == "CANCEL" {
+			e.cancelRequest(msg.TargetID)
+			continue
+		}
+
+		e.requests <- e.newRequest(msg)
 	}
 }
 
-// processMessage processes a single message line
-func (e *Engine) processMessage(line string) {
-	var msg Message
-	if err := json.Unmarshal([]byte(line), &msg); err != nil {
-		e.logger.Error("Invalid JSON message", err, map[string]interface{}{
-			"message_preview": truncateString(line, 100),
-		})
-		e.sendError("", "PARSE_ERROR", fmt.Sprintf("Invalid JSON: %v", err))
-		return
+// processLoop processes queued requests one at a time
+func (e *Engine) processLoop(done chan bool) {
+	for req := range e.requests {
+		e.processMessage(req)
+	}
+	done <- true
+}
+
+// newRequest creates the cancellable context of a request (bounded by its deadline)
+func (e *Engine) newRequest(msg Message) *request {
+	var ctx context.Context
+	var cancel context.CancelFunc
+	if msg.DeadlineMs > 0 {
+		ctx, cancel = context.WithDeadline(context.Background(), time.UnixMilli(msg.DeadlineMs))
+	} else {
+		ctx, cancel = context.WithCancel(context.Background())
 	}
+	if msg.ID != "" {
+		e.inflightMu.Lock()
+		e.inflight[msg.ID] = cancel
+		e.inflightMu.Unlock()
+	}
+	return &request{msg: msg, ctx: ctx, cancel: cancel}
+}
+
+// cancelRequest cancels a queued or running request on behalf of the kernel
+func (e *Engine) cancelRequest(targetID string) {
+	e.inflightMu.Lock()
+	cancel, ok := e.inflight[targetID]
+	e.inflightMu.Unlock()
+	if !ok {
+		return // Already answered
+	}
+	cancel()
+	e.logger.Info("Request cancelled by kernel", map[string]interface{}{
+		"request_id": targetID,
+	})
+}
+
+// finishRequest releases the context of a handled request
+func (e *Engine) finishRequest(req *request) {
+	if req.msg.ID != "" {
+		e.inflightMu.Lock()
+		delete(e.inflight, req.msg.ID)
+		e.inflightMu.Unlock()
+	}
+	req.cancel()
+}
+
+// processMessage processes a single queued request
+func (e *Engine) processMessage(req *request) {
+	defer e.finishRequest(req)
+	msg := req.msg
 	
 	// Phase 4 Step 4: Structured logging for message received
 	e.logger.Debug("Message received", map[string]interface{}{
@@ -301,15 +381,27 @@ func (e *Engine) processMessage(line string) {
 		params = make(map[string]interface{})
 	}
 
+	// Skip requests the kernel gave up on while they were queued
+	if err := req.ctx.Err(); err != nil {
+		if err == context.DeadlineExceeded {
+			e.sendError(msg.ID, "DEADLINE_EXCEEDED", "Deadline exceeded before processing")
+		}
+		return
+	}
+
 	// Dispatch to handler
-	response := e.dispatch(msgType, params, msg.ID)
+	response := e.dispatch(req.ctx, msgType, params, msg.ID)
+	if req.ctx.Err() == context.Canceled {
+		// Cancelled by the kernel: nobody is waiting for the response
+		return
+	}
 	if response != nil {
 		e.sendResponse(response)
 	}
 }
 
 // dispatch routes message to appropriate handler
-func (e *Engine) dispatch(msgType string, params map[string]interface{}, msgID string) *Response {
+func (e *Engine) dispatch(ctx context.Context, msgType string, params map[string]interface{}, msgID string) *Response {
 	msgType = normalizeCommand(msgType)
 
 	// Built-in handlers
@@ -325,7 +417,7 @@ func (e *Engine) dispatch(msgType string, params map[string]interface{}, msgID s
 	
 	// Phase 4 Step 2: External API integration (MOCK)
 	case "EXTERNAL_API_CALL":
-		return e.handleExternalAPICall(msgID, params)
+		return e.handleExternalAPICall(ctx, msgID, params)
 	case "LIST_PROVIDERS":
 		return e.handleListProviders(msgID, params)
 	case "GET_PROVIDER_INFO":
@@ -462,7 +554,7 @@ func (e *Engine) handleStatus(msgID string, params map[string]interface{}) *Resp
 }
 
 // handleExternalAPICall handles EXTERNAL_API_CALL command (Phase 4 Step 2, 3 & 4)
-func (e *Engine) handleExternalAPICall(msgID string, params map[string]interface{}) *Response {
+func (e *Engine) handleExternalAPICall(ctx context.Context, msgID string, params map[string]interface{}) *Response {
 	// Phase 4 Step 4: Structured logging (no sensitive data)
 	e.logger.Debug("EXTERNAL_API_CALL received", map[string]interface{}{
 		"request_id": msgID,
@@ -522,7 +614,7 @@ func (e *Engine) handleExternalAPICall(msgID string, params map[string]interface
 		return e.executeWithMockProvider(msgID, providerName, operation, requestID, apiParams)
 	}
 	
-	return e.executeWithHTTPProvider(msgID, providerName, operation, requestID, apiParams)
+	return e.executeWithHTTPProvider(ctx, msgID, providerName, operation, requestID, apiParams)
 }
 
 // executeWithMockProvider executes using mock provider (Phase 4 Step 2 & 4)
@@ -619,7 +711,7 @@ func (e *Engine) executeWithMockProvider(msgID, providerName, operation, request
 }
 
 // executeWithHTTPProvider executes using real HTTP provider (Phase 4 Step 3 & 4)
-func (e *Engine) executeWithHTTPProvider(msgID, providerName, operation, requestID string, apiParams map[string]interface{}) *Response {
+func (e *Engine) executeWithHTTPProvider(parent context.Context, msgID, providerName, operation, requestID string, apiParams map[string]interface{}) *Response {
 	startTime := time.Now()
 	
 	// Phase 4 Step 4: Structured logging for request start
@@ -660,8 +752,8 @@ func (e *Engine) executeWithHTTPProvider(msgID, providerName, operation, request
 		}
 	}
 	
-	// Create context with timeout
-	ctx, cancel := context.WithTimeout(context.Background(), time.Duration(e.config.TimeoutSeconds)*time.Second)
+	// Create context with timeout (also ends on the request's deadline or a kernel CANCEL)
+	ctx, cancel := context.WithTimeout(parent, time.Duration(e.config.TimeoutSeconds)*time.Second)
 	defer cancel()
 	
 	// Phase 4 Step 4: Execute with retry logic
@@ -1026,6 +1118,8 @@ func (e *Engine) sendReady() {
 		"EXTERNAL_API_CALL", "LIST_PROVIDERS", "GET_PROVIDER_INFO",
 		// Phase 4 Step 3: Secure credential management
 		"SAVE_CREDENTIAL", "DELETE_CREDENTIAL", "GET_RATE_LIMIT_STATUS",
+		// Deadlines and kernel-initiated cancellation
+		"CANCEL",
 	}
 
 	readyMsg := map[string]interface{}{
@@ -1076,7 +1170,10 @@ func (e *Engine) sendJSON(obj interface{}) {
 		return
 	}
 
+	// Responses come from both the reader and the processor goroutine
+	e.writeMu.Lock()
 	fmt.Println(string(data))
+	e.writeMu.Unlock()
 	// Phase 4 Step 4: Only log in debug mode to avoid noise
 	e.logger.Debug("Sent IPC response", map[string]interface{}{
 		"response_preview": truncateString(string(data), 200),
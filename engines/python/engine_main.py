@@ -17,8 +17,15 @@ ARCHITECTURAL ROLE:
 - NO external network calls (routes through Go API Hub)
 
 COMMUNICATION PROTOCOL:
-- Read JSON messages from stdin (one per line)
-- Write JSON responses to stdout (one per line)
+- Starts in json-lines framing: one JSON message per line on stdin/stdout
+- READY advertises supported framings; the kernel may switch to frame-v1
+  (length-prefixed frames with raw byte attachments) via SET_FRAMING
+- Requests with "stream": true may receive PROGRESS/CHUNK frames
+  ({"id", "type", "seq", "data"}) before the final response
+- Requests may carry "deadline_ms" (epoch millis); expired requests are
+  answered with DEADLINE_EXCEEDED without running
+- CANCEL ({"type": "CANCEL", "target_id"}) abandons a queued request, or a
+  running streaming request at its next PROGRESS/CHUNK frame; no reply is sent
 - stderr for logging only
 
 Reference: PROJECT_DOCUMENTATION.md Section 4.3
@@ -27,10 +34,15 @@ Reference: PROJECT_DOCUMENTATION.md Section 4.3
 import sys
 import json
 import logging
+import queue
+import threading
+import time
 import traceback
 from datetime import datetime
 from typing import Optional, Any, Dict
 
+from ipc_framing import FrameChannel, SUPPORTED_FRAMINGS
+
 # Configure logging to stderr (stdout is for IPC)
 logging.basicConfig(
     level=logging.DEBUG,
@@ -83,6 +95,14 @@ except ImportError as e:
     logger.warning(f"Template handler not available: {e}")
 
 
+class RequestCancelled(Exception):
+    """Raised inside a handler when its request was cancelled or ran past its deadline."""
+    
+    def __init__(self, code: str, message: str):
+        super().__init__(message)
+        self.code = code
+
+
 class PythonEngine:
     """
     Main Python Engine class.
@@ -100,6 +120,17 @@ class PythonEngine:
         self.image_handler = ImageHandler() if IMAGE_AVAILABLE else None
         self.template_handler = TemplateHandler() if TEMPLATE_AVAILABLE else None
         
+        # IPC channel over binary stdio (framing may switch after READY)
+        self.channel = FrameChannel(sys.stdin.buffer, sys.stdout.buffer)
+        self.write_lock = threading.RLock()
+        
+        # The reader thread queues requests and handles CANCEL at once;
+        # the main thread processes requests one at a time
+        self.requests: "queue.Queue[Optional[tuple]]" = queue.Queue()
+        self.request_lock = threading.Lock()
+        self.queued_ids = set()      # Requests queued or running
+        self.cancelled_ids = set()   # Subset of queued_ids the kernel cancelled
+        
         logger.info("Python Engine initialized")
     
     def run(self):
@@ -109,23 +140,21 @@ class PythonEngine:
         # Signal ready to kernel
         self._send_ready()
         
+        reader = threading.Thread(target=self._read_loop, name="ipc-reader", daemon=True)
+        reader.start()
+        
         # Main message loop
         while self.running:
             try:
-                # Read line from stdin (blocking)
-                line = sys.stdin.readline()
+                # Next request queued by the reader (blocking); None at EOF
+                received = self.requests.get()
                 
-                if not line:
-                    # EOF - kernel closed stdin
-                    logger.info("stdin closed, shutting down")
+                if received is None:
                     break
                 
-                line = line.strip()
-                if not line:
-                    continue
-                
                 # Process message
-                self._process_message(line)
+                message, raw = received
+                self._process_message(message, raw)
                 
             except KeyboardInterrupt:
                 logger.info("Keyboard interrupt, shutting down")
@@ -136,6 +165,68 @@ class PythonEngine:
         
         logger.info("Python Engine stopped")
     
+    def _read_loop(self):
+        """Read messages from stdin; queue requests, apply CANCEL and SET_FRAMING immediately."""
+        try:
+            while self.running:
+                # Read next message from stdin (blocking)
+                received = self.channel.read()
+                
+                if received is None:
+                    # EOF - kernel closed stdin
+                    logger.info("stdin closed, shutting down")
+                    break
+                
+                message, raw = received
+                msg_type = (message.get("type") or message.get("method") or "").upper() if message else ""
+                
+                if msg_type == "CANCEL":
+                    self._handle_cancel(message.get("target_id"))
+                    continue
+                
+                # Framing switch: the next read must already use the new framing
+                if msg_type == "SET_FRAMING":
+                    self._handle_set_framing(message.get("id"), message.get("framing"))
+                    continue
+                
+                if message is not None and message.get("id") is not None:
+                    with self.request_lock:
+                        self.queued_ids.add(message.get("id"))
+                self.requests.put((message, raw))
+                
+        except EOFError as e:
+            logger.error(f"IPC stream broken: {e}")
+        except Exception as e:
+            logger.error(f"Error in reader loop: {e}")
+            traceback.print_exc(file=sys.stderr)
+        finally:
+            self.requests.put(None)
+    
+    def _handle_cancel(self, target_id: Optional[str]):
+        """Handle CANCEL - mark a queued or running request as abandoned by the kernel."""
+        with self.request_lock:
+            if target_id not in self.queued_ids:
+                return  # Already answered
+            self.cancelled_ids.add(target_id)
+        logger.info(f"Request cancelled by kernel: id={target_id}")
+    
+    def _check_cancelled(self, msg_id: Optional[str], deadline_ms: Optional[int]):
+        """Raise RequestCancelled if the request was cancelled or its deadline passed."""
+        with self.request_lock:
+            if msg_id is not None and msg_id in self.cancelled_ids:
+                raise RequestCancelled("CANCELLED", "Request cancelled by kernel")
+        if deadline_ms is not None and time.time() * 1000 >= deadline_ms:
+            raise RequestCancelled("DEADLINE_EXCEEDED", "Deadline exceeded")
+    
+    def _finish_request(self, msg_id: Optional[str]) -> bool:
+        """Forget a request once handled; returns True if the kernel cancelled it."""
+        with self.request_lock:
+            self.queued_ids.discard(msg_id)
+            if msg_id in self.cancelled_ids:
+                self.cancelled_ids.discard(msg_id)
+                return True
+        return False
+    
     def _send_ready(self):
         """Send READY signal to kernel."""
         capabilities = ["PING", "SHUTDOWN", "HEALTH_CHECK", "GET_STATUS"]
@@ -152,49 +243,78 @@ class PythonEngine:
         if TEMPLATE_AVAILABLE:
             capabilities.extend(["LIST_TEMPLATES", "LOAD_TEMPLATE", "GET_TEMPLATE_PATH"])
         
+        capabilities.append("CANCEL")
+        
         ready_msg = {
             "type": "READY",
             "engine": "python",
             "version": self.version,
             "capabilities": capabilities,
+            "framings": SUPPORTED_FRAMINGS,
             "timestamp": int(datetime.now().timestamp() * 1000)
         }
         self._send_response(ready_msg)
         logger.info(f"READY signal sent, capabilities: {capabilities}")
     
-    def _process_message(self, line: str):
-        """Process a single message line."""
-        logger.debug(f"Received: {line}")
-        
-        try:
-            message = json.loads(line)
-        except json.JSONDecodeError as e:
-            logger.error(f"Invalid JSON: {e}")
-            self._send_error(None, "PARSE_ERROR", f"Invalid JSON: {e}")
+    def _process_message(self, message: Optional[dict], raw: Optional[str]):
+        """Process a single decoded message."""
+        if message is None:
+            logger.error(f"Invalid JSON: {raw}")
+            self._send_error(None, "PARSE_ERROR", "Invalid JSON")
             return
         
+        logger.debug(f"Received: {message.get('type')} id={message.get('id')}")
+        
         # Extract message fields
         msg_id = message.get("id")
         msg_type = message.get("type") or message.get("method")
         params = message.get("params") or message.get("payload") or {}
         
         if not msg_type:
+            self._finish_request(msg_id)
             self._send_error(msg_id, "MISSING_TYPE", "Message type not specified")
             return
         
-        # Dispatch to handler
+        deadline_ms = message.get("deadline_ms")
+        
+        # Stream emitter for PROGRESS/CHUNK frames (only if the kernel asked for it);
+        # each frame is also a cancellation point
+        stream = self._make_stream_emitter(msg_id, deadline_ms) if message.get("stream") else None
+        
+        # Dispatch to handler, unless the kernel gave up on the request while it was queued
         try:
-            response = self._dispatch(msg_type, params, msg_id)
+            self._check_cancelled(msg_id, deadline_ms)
+            response = self._dispatch(msg_type, params, msg_id, stream)
             
-            if response is not None:
+            if self._finish_request(msg_id):
+                logger.info(f"Dropping response of cancelled request: id={msg_id}")
+            elif response is not None:
                 self._send_response(response)
                 
+        except RequestCancelled as e:
+            logger.info(f"Request abandoned: {msg_type} id={msg_id} ({e.code})")
+            if not self._finish_request(msg_id):
+                self._send_error(msg_id, e.code, str(e))
         except Exception as e:
             logger.error(f"Error processing {msg_type}: {e}")
             traceback.print_exc(file=sys.stderr)
-            self._send_error(msg_id, "PROCESSING_ERROR", str(e))
+            if not self._finish_request(msg_id):
+                self._send_error(msg_id, "PROCESSING_ERROR", str(e))
+    
+    def _make_stream_emitter(self, msg_id: Optional[str], deadline_ms: Optional[int] = None):
+        """Create a callback that sends PROGRESS/CHUNK frames for one request."""
+        seq = 0
+        
+        def emit(frame_type: str, data: dict):
+            nonlocal seq
+            self._check_cancelled(msg_id, deadline_ms)
+            seq += 1
+            self._send_response({"id": msg_id, "type": frame_type, "seq": seq, "data": data})
+        
+        return emit
     
-    def _dispatch(self, msg_type: str, params: dict, msg_id: Optional[str]) -> Optional[dict]:
+    def _dispatch(self, msg_type: str, params: dict, msg_id: Optional[str],
+                  stream=None) -> Optional[dict]:
         """Dispatch message to appropriate handler."""
         msg_type = msg_type.upper()
         
@@ -220,7 +340,7 @@ class PythonEngine:
             return self._handle_pdf_merge(msg_id, params)
         
         if msg_type == "PDF_SPLIT":
-            return self._handle_pdf_split(msg_id, params)
+            return self._handle_pdf_split(msg_id, params, stream)
         
         if msg_type == "PDF_ROTATE":
             return self._handle_pdf_rotate(msg_id, params)
@@ -278,6 +398,23 @@ class PythonEngine:
             }
         }
     
+    def _handle_set_framing(self, msg_id: Optional[str], framing: Optional[str]):
+        """Handle SET_FRAMING message - switch IPC framing after acknowledging."""
+        if framing not in SUPPORTED_FRAMINGS:
+            self._send_error(msg_id, "UNSUPPORTED_FRAMING", f"Unsupported framing: {framing}")
+            return
+        
+        # Ack and switch together so no other response is written in between
+        with self.write_lock:
+            self._send_response({
+                "id": msg_id,
+                "success": True,
+                "type": "FRAMING_ACK",
+                "framing": framing
+            })
+            self.channel.framing = framing
+        logger.info(f"IPC framing switched to {framing}")
+    
     def _handle_shutdown(self, msg_id: Optional[str], params: dict) -> dict:
         """Handle SHUTDOWN message - initiate graceful shutdown."""
         logger.info("SHUTDOWN received, stopping engine")
@@ -359,14 +496,14 @@ class PythonEngine:
         logger.info("PDF_MERGE request received")
         return self.pdf_handler.handle_pdf_merge(msg_id, params)
     
-    def _handle_pdf_split(self, msg_id: Optional[str], params: dict) -> dict:
+    def _handle_pdf_split(self, msg_id: Optional[str], params: dict, stream=None) -> dict:
         """Handle PDF_SPLIT message."""
         if not PDF_AVAILABLE or self.pdf_handler is None:
             return self._make_error_response(msg_id, "PDF_UNAVAILABLE",
                 "PDF processing is not available (pypdf not installed)")
         
         logger.info("PDF_SPLIT request received")
-        return self.pdf_handler.handle_pdf_split(msg_id, params)
+        return self.pdf_handler.handle_pdf_split(msg_id, params, stream)
     
     def _handle_pdf_rotate(self, msg_id: Optional[str], params: dict) -> dict:
         """Handle PDF_ROTATE message."""
@@ -445,9 +582,9 @@ class PythonEngine:
     
     def _send_response(self, response: dict):
         """Send a response to stdout."""
-        line = json.dumps(response, ensure_ascii=False)
-        print(line, flush=True)
-        logger.debug(f"Sent: {line}")
+        with self.write_lock:
+            self.channel.write(response)
+        logger.debug(f"Sent: id={response.get('id')} success={response.get('success')}")
     
     def _send_error(self, msg_id: Optional[str], code: str, message: str):
         """Send an error response."""
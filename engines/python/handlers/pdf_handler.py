@@ -24,7 +24,7 @@ import tempfile
 import uuid
 from datetime import datetime
 from pathlib import Path
-from typing import Optional, Dict, Any, List, Union
+from typing import Optional, Dict, Any, List, Union, Callable
 
 # pypdf for PDF processing
 try:
@@ -156,10 +156,15 @@ class PdfHandler:
     # PDF Split
     # =========================================================================
     
-    def handle_pdf_split(self, msg_id: Optional[str], params: Dict[str, Any]) -> Dict:
+    def handle_pdf_split(self, msg_id: Optional[str], params: Dict[str, Any],
+                         stream: Optional[Callable[[str, Dict], None]] = None) -> Dict:
         """
         Handle PDF_SPLIT request.
         
+        If `stream` is given, a CHUNK frame ({"output_file", "page"}) and a
+        PROGRESS frame ({"current", "total"}) are emitted per written file,
+        so the UI can show pages before the split finishes.
+        
         Expected params:
         {
             "input_file": "/path/to/file.pdf",
@@ -225,6 +230,7 @@ class PdfHandler:
                         writer.write(f)
                     
                     output_files.append(str(output_path))
+                    self._emit_split_progress(stream, str(output_path), i + 1, i + 1, total_pages)
                 
                 logger.debug(f"Split all: created {len(output_files)} files")
                 
@@ -268,6 +274,8 @@ class PdfHandler:
                             writer.write(f)
                         
                         output_files.append(str(output_path))
+                        self._emit_split_progress(stream, str(output_path), page_num,
+                                                  len(output_files), len(pages))
                     else:
                         logger.warning(f"Page {page_num} out of range (1-{total_pages})")
                 
@@ -297,6 +305,13 @@ class PdfHandler:
             traceback.print_exc(file=sys.stderr)
             return self._make_error(msg_id, "SPLIT_ERROR", str(e))
     
+    def _emit_split_progress(self, stream, output_file: str, page: int, current: int, total: int):
+        """Emit CHUNK and PROGRESS frames for one split output file."""
+        if stream is None:
+            return
+        stream("CHUNK", {"output_file": output_file, "page": page})
+        stream("PROGRESS", {"current": current, "total": total})
+    
     # =========================================================================
     # PDF Rotate
     # =========================================================================
@@ -0,0 +1,158 @@
+"""
+PressO Desktop - Python Engine IPC Framing
+==========================================
+
+RESPONSIBILITY:
+- Read and write kernel messages in the negotiated framing
+- json-lines: one JSON object per line (bytes values sent as base64)
+- frame-v1: length-prefixed binary frames with raw byte attachments
+
+FRAME-V1 LAYOUT (all integers 32-bit big-endian):
+    headerLength | attachmentCount | header (UTF-8 JSON)
+    followed by attachmentCount x ( length | bytes )
+Inside the header an attachment is referenced as {"$attachment": index}.
+
+Handlers see attachments as `bytes` values and may return `bytes` values;
+the codec moves them in and out of the attachment list.
+
+Reference: presso-kernel EngineFrame.java
+"""
+
+import base64
+import json
+import struct
+from typing import Any, BinaryIO, List, Optional, Tuple
+
+FRAMING_JSON_LINES = "json-lines"
+FRAMING_BINARY_V1 = "frame-v1"
+SUPPORTED_FRAMINGS = [FRAMING_JSON_LINES, FRAMING_BINARY_V1]
+
+ATTACHMENT_REF = "$attachment"
+
+_U32 = struct.Struct(">I")
+_HEADER = struct.Struct(">II")
+
+
+class FrameChannel:
+    """Message channel over binary stdin/stdout with a switchable framing."""
+    
+    def __init__(self, reader: BinaryIO, writer: BinaryIO):
+        self.reader = reader
+        self.writer = writer
+        self.framing = FRAMING_JSON_LINES
+    
+    def read(self) -> Optional[Tuple[Optional[dict], Optional[str]]]:
+        """
+        Read one message.
+        
+        Returns (message, raw_text) - message is None if the line was not valid
+        JSON (raw_text is kept for error reporting); returns None at EOF.
+        """
+        if self.framing == FRAMING_BINARY_V1:
+            return self._read_frame()
+        
+        while True:
+            line = self.reader.readline()
+            if not line:
+                return None
+            text = line.decode("utf-8").strip()
+            if not text:
+                continue
+            try:
+                return json.loads(text), text
+            except json.JSONDecodeError:
+                return None, text
+    
+    def write(self, message: dict):
+        """Write one message in the current framing and flush."""
+        if self.framing == FRAMING_BINARY_V1:
+            attachments: List[bytes] = []
+            header = _extract_attachments(message, attachments)
+            header_bytes = json.dumps(header, ensure_ascii=False).encode("utf-8")
+            parts = [_HEADER.pack(len(header_bytes), len(attachments)), header_bytes]
+            for data in attachments:
+                parts.append(_U32.pack(len(data)))
+                parts.append(data)
+            self.writer.write(b"".join(parts))
+        else:
+            line = json.dumps(_inline_attachments(message), ensure_ascii=False)
+            self.writer.write(line.encode("utf-8") + b"\n")
+        self.writer.flush()
+    
+    def _read_frame(self) -> Optional[Tuple[Optional[dict], Optional[str]]]:
+        prefix = self._read_exact(_HEADER.size)
+        if prefix is None:
+            return None
+        header_length, attachment_count = _HEADER.unpack(prefix)
+        
+        header_bytes = self._read_exact(header_length)
+        if header_bytes is None:
+            raise EOFError("Truncated frame header")
+        
+        attachments = []
+        for _ in range(attachment_count):
+            length_bytes = self._read_exact(_U32.size)
+            if length_bytes is None:
+                raise EOFError("Truncated frame attachment")
+            (length,) = _U32.unpack(length_bytes)
+            data = self._read_exact(length)
+            if data is None:
+                raise EOFError("Truncated frame attachment")
+            attachments.append(data)
+        
+        text = header_bytes.decode("utf-8")
+        try:
+            return _resolve_attachments(json.loads(text), attachments), None
+        except json.JSONDecodeError:
+            return None, text
+    
+    def _read_exact(self, size: int) -> Optional[bytes]:
+        if size == 0:
+            return b""
+        chunks = []
+        remaining = size
+        while remaining > 0:
+            chunk = self.reader.read(remaining)
+            if not chunk:
+                if remaining == size:
+                    return None
+                raise EOFError("Unexpected end of stream inside frame")
+            chunks.append(chunk)
+            remaining -= len(chunk)
+        return b"".join(chunks)
+
+
+def _extract_attachments(value: Any, attachments: List[bytes]) -> Any:
+    """Replace bytes values with attachment references."""
+    if isinstance(value, (bytes, bytearray, memoryview)):
+        attachments.append(bytes(value))
+        return {ATTACHMENT_REF: len(attachments) - 1}
+    if isinstance(value, dict):
+        return {k: _extract_attachments(v, attachments) for k, v in value.items()}
+    if isinstance(value, (list, tuple)):
+        return [_extract_attachments(v, attachments) for v in value]
+    return value
+
+
+def _resolve_attachments(value: Any, attachments: List[bytes]) -> Any:
+    """Replace attachment references with bytes values."""
+    if isinstance(value, dict):
+        if len(value) == 1 and isinstance(value.get(ATTACHMENT_REF), int):
+            index = value[ATTACHMENT_REF]
+            if 0 <= index < len(attachments):
+                return attachments[index]
+        return {k: _resolve_attachments(v, attachments) for k, v in value.items()}
+    if isinstance(value, list):
+        return [_resolve_attachments(v, attachments) for v in value]
+    return value
+
+
+def _inline_attachments(value: Any) -> Any:
+    """json-lines fallback: send bytes values as base64 strings."""
+    if isinstance(value, (bytes, bytearray, memoryview)):
+        return base64.b64encode(bytes(value)).decode("ascii")
+    if isinstance(value, dict):
+        return {k: _inline_attachments(v) for k, v in value.items()}
+    if isinstance(value, (list, tuple)):
+        return [_inline_attachments(v) for v in value]
+    return value
@@ -27,14 +27,18 @@ package com.presso.kernel;
 
 import com.presso.kernel.lifecycle.LifecycleManager;
 import com.presso.kernel.scheduling.TaskScheduler;
+import com.presso.kernel.scheduling.TimingWheel;
 import com.presso.kernel.routing.ModuleRouter;
 import com.presso.kernel.state.StateManager;
 import com.presso.kernel.event.EventBus;
 import com.presso.kernel.security.SecurityGateway;
 import com.presso.kernel.engine.EngineProcessManager;
+import com.presso.kernel.metrics.LatencyTracker;
+import com.presso.kernel.metrics.MetricsRegistry;
 import com.presso.kernel.persistence.DatabaseManager;
 import com.presso.kernel.persistence.ExecutionHistoryService;
 import com.presso.kernel.persistence.ActivityLogService;
+import com.presso.kernel.persistence.ContractJsonMapper;
 import com.presso.kernel.persistence.ContractService;
 import com.presso.kernel.query.QueryHandler;
 import com.presso.kernel.workflow.WorkflowEngine;
@@ -49,16 +53,34 @@ import com.presso.kernel.ai.DraftArtifact;
 import com.presso.kernel.ipc.IpcMessage;
 import com.presso.kernel.ipc.KernelResponse;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main entry point for the PressO Orchestration Kernel.
@@ -71,6 +93,32 @@ public final class KernelMain {
     
     private static final Logger logger = LoggerFactory.getLogger(KernelMain.class);
     
+    // Maximum time to wait for in-flight dispatches during shutdown
+    private static final long DISPATCH_DRAIN_TIMEOUT_SECONDS = 10;
+    
+    // Message types that only read state; under concurrent dispatch they run in parallel.
+    // Every other type (including engine operations and SHUTDOWN) is ordered.
+    private static final Set<String> READ_ONLY_TYPES = Set.of(
+        "QUERY_CONTRACTS",
+        "GET_CONTRACT_BY_ID",
+        "QUERY_EXECUTION_HISTORY",
+        "QUERY_ACTIVITY_LOGS",
+        "FULL_TEXT_SEARCH",
+        "GET_WORKFLOW_STATUS",
+        "LIST_WORKFLOW_TRIGGERS",
+        "GET_PENDING_APPROVALS",
+        "GET_AI_SUGGESTIONS",
+        "GENERATE_DRAFT",
+        "GET_METRICS"
+    );
+    
+    // Bulk contract import: rows per transaction
+    private static final int DEFAULT_IMPORT_CHUNK_SIZE = 500;
+    private static final int MAX_IMPORT_CHUNK_SIZE = 10_000;
+    
+    // Sentinel queued to stop the output writer (compared by identity)
+    private static final String WRITER_STOP = new String("WRITER_STOP");
+    
     // Core kernel components - loosely coupled via interfaces
     private final LifecycleManager lifecycleManager;
     private final TaskScheduler taskScheduler;
@@ -89,11 +137,25 @@ public final class KernelMain {
     private final AIAdvisorService aiAdvisorService;  // Phase 6 Step 1
     private final GuardrailEnforcer guardrailEnforcer;  // Phase 6 Step 3
     private final DraftGenerationService draftGenerationService;  // Phase 6 Step 4
+    private final LatencyTracker latencyTracker;
+    private final MetricsRegistry metricsRegistry;
+    private final TimingWheel timingWheel;  // Kernel-wide timer (retry backoff, timeouts)
     
     // IPC channels
     private final BufferedReader ipcInput;
     private final PrintWriter ipcOutput;
     
+    // Concurrent dispatch: handlers run on virtual threads, a single writer owns stdout
+    private final ExecutorService dispatchExecutor;
+    private final BlockingQueue<String> outboundQueue = new LinkedBlockingQueue<>();
+    private final CountDownLatch shutdownSignal = new CountDownLatch(1);
+    private volatile Thread writerThread;
+    
+    // Dispatch ordering (reader thread only): the last ordered message, and the
+    // read-only messages received after it. Both futures never complete exceptionally.
+    private CompletableFuture<Void> lastOrdered = CompletableFuture.completedFuture(null);
+    private final List<CompletableFuture<Void>> readsSinceOrdered = new ArrayList<>();
+    
     // Lifecycle state
     private volatile boolean running = false;
     
@@ -106,23 +168,35 @@ public final class KernelMain {
         this.ipcInput = new BufferedReader(
             new InputStreamReader(System.in, StandardCharsets.UTF_8)
         );
-        this.ipcOutput = new PrintWriter(System.out, true, StandardCharsets.UTF_8);
+        // No autoflush: the output writer flushes once per drained batch
+        this.ipcOutput = new PrintWriter(
+            new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)), false
+        );
+        this.dispatchExecutor = Executors.newVirtualThreadPerTaskExecutor();
         
         // Initialize components in dependency order
-        // EventBus first - other components may subscribe to events
+        // MetricsRegistry first - every component may record into it
+        this.metricsRegistry = new MetricsRegistry();
+        
+        // EventBus next - other components may subscribe to events
         this.eventBus = new EventBus();
+        eventBus.setMetricsRegistry(metricsRegistry);
         
         // StateManager early - provides configuration to others
         this.stateManager = new StateManager(eventBus);
         
         // DatabaseManager - initialize early for persistence services
         this.databaseManager = new DatabaseManager();
+        databaseManager.setMetricsRegistry(metricsRegistry);
         
         // Persistence services
         this.executionHistory = new ExecutionHistoryService(databaseManager);
         this.activityLog = new ActivityLogService(databaseManager);
         this.contractService = new ContractService(databaseManager);
         
+        // Latency sketches per engine, operation and workflow step
+        this.latencyTracker = new LatencyTracker(databaseManager);
+        
         // Query handler for read-only queries
         this.queryHandler = new QueryHandler(contractService, executionHistory, activityLog);
         
@@ -131,12 +205,18 @@ public final class KernelMain {
         
         // EngineProcessManager manages engine subprocesses
         this.engineProcessManager = new EngineProcessManager(eventBus, stateManager);
+        engineProcessManager.setLatencyTracker(latencyTracker);
         
         // ModuleRouter needs engine manager for dispatch
         this.moduleRouter = new ModuleRouter(engineProcessManager, securityGateway);
         
+        // Kernel-wide timing wheel for delayed work
+        this.timingWheel = new TimingWheel();
+        
         // Phase 5 Step 1: Initialize WorkflowEngine (needs moduleRouter and databaseManager)
         this.workflowEngine = new WorkflowEngine(moduleRouter, eventBus, databaseManager);
+        workflowEngine.setLatencyTracker(latencyTracker);
+        workflowEngine.setTimingWheel(timingWheel);
         
         // Phase 5 Step 2: Initialize WorkflowTriggerService
         this.workflowTriggerService = new WorkflowTriggerService(workflowEngine, eventBus);
@@ -144,6 +224,7 @@ public final class KernelMain {
         // Phase 6 Step 1: Initialize AI Advisor Service (read-only)
         WorkflowPersistenceService workflowPersistence = new WorkflowPersistenceService(databaseManager);
         this.aiAdvisorService = new AIAdvisorService(databaseManager, workflowPersistence);
+        aiAdvisorService.setLatencyTracker(latencyTracker);
         
         // Phase 6 Step 3: Initialize Guardrail Enforcer (load policy from config)
         com.presso.kernel.ai.GuardrailPolicy policy;
@@ -160,7 +241,22 @@ public final class KernelMain {
         this.draftGenerationService = new DraftGenerationService(databaseManager, workflowPersistence);
         
         // TaskScheduler coordinates task execution (with execution history and contract service)
-        this.taskScheduler = new TaskScheduler(moduleRouter, eventBus, executionHistory, contractService);
+        this.taskScheduler = new TaskScheduler(
+            moduleRouter, eventBus, executionHistory, contractService, stateManager
+        );
+        taskScheduler.setMetricsRegistry(metricsRegistry);
+        moduleRouter.registerStatusContributor("scheduler", taskScheduler::getStats);
+        moduleRouter.setStreamSink(this::sendStreamFrame);
+        moduleRouter.registerStatusContributor("contractCache", contractService::getCacheStats);
+        moduleRouter.registerStatusContributor("blobs", () -> Map.of(
+            "count", engineProcessManager.getBlobStore().size(),
+            "bytes", engineProcessManager.getBlobStore().totalBytes()
+        ));
+        moduleRouter.registerStatusContributor("latency", latencyTracker::getStats);
+        moduleRouter.registerStatusContributor("eventBus", eventBus::getStats);
+        moduleRouter.registerStatusContributor("workflowRecovery", workflowEngine::getRecoveryStats);
+        moduleRouter.registerStatusContributor("timers", timingWheel::getStats);
+        registerGauges();
         
         // LifecycleManager supervises overall lifecycle (with activity log)
         this.lifecycleManager = new LifecycleManager(
@@ -182,6 +278,7 @@ public final class KernelMain {
         try {
             databaseManager.initialize();
             logger.info("Database initialized: {}", databaseManager.getDbPath());
+            latencyTracker.start();
         } catch (Exception e) {
             // Fail-safe: log error but continue (database is optional for basic operation)
             logger.error("Database initialization failed, continuing without persistence: {}", e.getMessage());
@@ -193,28 +290,38 @@ public final class KernelMain {
         // Phase 5 Step 2: Start workflow trigger service
         workflowTriggerService.start();
         
-        // Phase 5 Step 2: Resume any interrupted workflows
-        workflowEngine.resumeAllWorkflows();
-        
         // Phase 5 Step 3: Load pending approvals
         workflowEngine.loadPendingApprovals();
         
         running = true;
         
+        // Start the single ordered stdout writer before the first response
+        startOutputWriter();
+        
         // Signal ready to parent process (Electron)
         sendResponse(KernelResponse.ready());
+        
+        // Phase 5 Step 2: Resume interrupted workflows in the background, throttled
+        workflowEngine.resumeAllWorkflows(
+            readIntConfig("workflow.recovery.maxConcurrent", 4),
+            readIntConfig("workflow.recovery.batchSize", 100),
+            readIntConfig("workflow.recovery.startDelayMs", 2000)
+        );
         logger.info("Kernel ready, entering main loop");
         
         // Phase 2: Main IPC loop (blocking)
         runMainLoop();
         
         // Phase 3: Shutdown (reached when loop exits)
-        // Phase 5 Step 2: Stop workflow trigger service
+        // Phase 5 Step 2: Stop workflow recovery and trigger service
+        workflowEngine.stopRecovery();
         workflowTriggerService.stop();
         
         lifecycleManager.shutdown();
+        timingWheel.stop();
         
-        // Phase 4: Close database
+        // Phase 4: Close database (after persisting latency sketches)
+        latencyTracker.stop();
         try {
             databaseManager.close();
             logger.info("Database closed");
@@ -222,14 +329,54 @@ public final class KernelMain {
             logger.error("Error closing database: {}", e.getMessage());
         }
         
+        // Flush any responses still queued (e.g. late task callbacks)
+        stopOutputWriter();
+        
         logger.info("Kernel shutdown complete");
     }
     
     /**
      * Main IPC message processing loop.
-     * Reads messages from stdin, processes them, writes responses to stdout.
+     * <p>
+     * With {@code kernel.concurrentDispatch} enabled (default), a virtual reader thread
+     * parses each line and hands it to its own virtual thread, and the calling thread
+     * waits for a SHUTDOWN command or EOF. Read-only queries run concurrently; every
+     * other message runs only after everything received before it has finished, and
+     * before anything received after it starts, so pipelined commands keep their order.
+     * Responses carry the request id, so the parent correlates them regardless of
+     * completion order. With it disabled, messages are processed serially on the
+     * calling thread.
+     * </p>
      */
     private void runMainLoop() {
+        boolean concurrentDispatch = stateManager.getConfig("kernel.concurrentDispatch", true);
+        
+        if (!concurrentDispatch) {
+            logger.info("IPC dispatch mode: serial");
+            readMessages(false);
+            return;
+        }
+        
+        logger.info("IPC dispatch mode: concurrent");
+        Thread.ofVirtual().name("ipc-reader").start(() -> readMessages(true));
+        
+        try {
+            shutdownSignal.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Main loop interrupted, initiating shutdown");
+            running = false;
+        }
+        
+        drainDispatches();
+    }
+    
+    /**
+     * Read IPC messages from stdin until shutdown or EOF.
+     * 
+     * @param concurrent true to dispatch each message on its own virtual thread
+     */
+    private void readMessages(boolean concurrent) {
         while (running) {
             try {
                 // Read IPC message from stdin (blocking)
@@ -238,7 +385,10 @@ public final class KernelMain {
                 if (line == null) {
                     // EOF - parent process closed stdin
                     logger.info("IPC channel closed, initiating shutdown");
-                    running = false;
+                    if (concurrent) {
+                        awaitDispatched();
+                    }
+                    requestShutdown();
                     break;
                 }
                 
@@ -247,7 +397,11 @@ public final class KernelMain {
                 }
                 
                 // Parse and process message
-                processMessage(line);
+                if (concurrent) {
+                    dispatch(line);
+                } else {
+                    processMessage(line);
+                }
                 
             } catch (Exception e) {
                 logger.error("Error in main loop: {}", e.getMessage());
@@ -257,15 +411,141 @@ public final class KernelMain {
     }
     
     /**
-     * Process a single IPC message.
+     * Hand one message to the dispatch executor, ordered against earlier messages
+     * (reader thread only).
+     * 
+     * @param rawMessage the raw JSON message string
+     */
+    private void dispatch(String rawMessage) {
+        long receivedNanos = System.nanoTime();
+        IpcMessage message;
+        try {
+            message = IpcMessage.parse(rawMessage);
+        } catch (Exception e) {
+            reportParseError(e);
+            return;
+        }
+        if (!running) {
+            // Read after SHUTDOWN: the dispatch executor is draining
+            rejectDuringShutdown(message);
+            return;
+        }
+        
+        CompletableFuture<Void> settled;
+        if (READ_ONLY_TYPES.contains(message.getType())) {
+            // After earlier ordered messages, concurrently with other queries
+            settled = settle(message, lastOrdered.thenRunAsync(
+                () -> processMessage(message, receivedNanos), dispatchExecutor));
+            readsSinceOrdered.removeIf(CompletableFuture::isDone);
+            readsSinceOrdered.add(settled);
+        } else {
+            // After everything received before it
+            readsSinceOrdered.add(lastOrdered);
+            CompletableFuture<Void> predecessors = CompletableFuture.allOf(
+                readsSinceOrdered.toArray(CompletableFuture[]::new));
+            readsSinceOrdered.clear();
+            settled = settle(message, predecessors.thenRunAsync(
+                () -> processMessage(message, receivedNanos), dispatchExecutor));
+            lastOrdered = settled;
+        }
+    }
+    
+    /**
+     * Answer a dispatch that could not run (executor shut down) with the message's id.
+     * 
+     * @return a future that completes normally once the dispatch has settled
+     */
+    private CompletableFuture<Void> settle(IpcMessage message, CompletableFuture<Void> dispatched) {
+        return dispatched.handle((ignored, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof RejectedExecutionException) {
+                    rejectDuringShutdown(message);
+                } else {
+                    logger.error("Failed to dispatch message: type={}, id={}, error={}",
+                        message.getType(), message.getId(), cause.getMessage());
+                    sendResponse(KernelResponse.error(message.getId(), "INTERNAL_ERROR", cause.getMessage()));
+                }
+            }
+            return null;
+        });
+    }
+    
+    private void rejectDuringShutdown(IpcMessage message) {
+        logger.warn("Message rejected during shutdown: type={}, id={}", message.getType(), message.getId());
+        sendResponse(KernelResponse.error(message.getId(), "SHUTTING_DOWN", "Kernel is shutting down"));
+    }
+    
+    /**
+     * Wait until every dispatched message has settled (reader thread only, at EOF).
+     */
+    private void awaitDispatched() {
+        readsSinceOrdered.add(lastOrdered);
+        try {
+            CompletableFuture.allOf(readsSinceOrdered.toArray(CompletableFuture[]::new))
+                .get(DISPATCH_DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            logger.warn("Dispatched IPC messages did not settle before EOF shutdown: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Stop accepting messages and release the main loop.
+     */
+    private void requestShutdown() {
+        running = false;
+        shutdownSignal.countDown();
+    }
+    
+    /**
+     * Wait for in-flight message handlers to finish before shutdown proceeds.
+     */
+    private void drainDispatches() {
+        dispatchExecutor.shutdown();
+        try {
+            if (!dispatchExecutor.awaitTermination(DISPATCH_DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("In-flight IPC handlers did not finish within {}s", DISPATCH_DRAIN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Parse and process a single IPC message (serial dispatch).
      * 
      * @param rawMessage the raw JSON message string
      */
     private void processMessage(String rawMessage) {
+        long receivedNanos = System.nanoTime();
+        IpcMessage message;
+        try {
+            message = IpcMessage.parse(rawMessage);
+        } catch (Exception e) {
+            reportParseError(e);
+            return;
+        }
+        processMessage(message, receivedNanos);
+    }
+    
+    private void reportParseError(Exception e) {
+        logger.error("Failed to parse message: {}", e.getMessage());
+        metricsRegistry.increment("ipc.errors");
+        sendResponse(KernelResponse.error("PARSE_ERROR", e.getMessage()));
+    }
+    
+    /**
+     * Process a single parsed IPC message.
+     * 
+     * @param message the message
+     * @param receivedNanos when the message was read (for ipc.latency)
+     */
+    private void processMessage(IpcMessage message, long receivedNanos) {
+        String timedType = null;
         try {
-            // Parse message
-            IpcMessage message = IpcMessage.parse(rawMessage);
             logger.debug("Received message: type={}, id={}", message.getType(), message.getId());
+            timedType = message.getType();
+            metricsRegistry.increment("ipc.messages." + timedType);
             
             // Validate through security gateway
             if (!securityGateway.validateMessage(message)) {
@@ -280,8 +560,8 @@ public final class KernelMain {
             // Check for shutdown command
             if ("SHUTDOWN".equals(message.getType())) {
                 logger.info("Shutdown command received");
-                running = false;
                 sendResponse(KernelResponse.success(message.getId(), "Shutdown initiated"));
+                requestShutdown();
                 return;
             }
             
@@ -307,6 +587,16 @@ public final class KernelMain {
                 return;
             }
             
+            if ("FULL_TEXT_SEARCH".equals(messageType)) {
+                handleFullTextSearch(message);
+                return;
+            }
+            
+            if ("BULK_IMPORT_CONTRACTS".equals(messageType)) {
+                handleBulkImportContracts(message);
+                return;
+            }
+            
             // Phase 5 Step 1: Workflow management commands
             if ("LOAD_WORKFLOW".equals(messageType)) {
                 handleLoadWorkflow(message);
@@ -377,16 +667,68 @@ public final class KernelMain {
                 return;
             }
             
+            if ("GET_METRICS".equals(messageType)) {
+                handleGetMetrics(message);
+                return;
+            }
+            
             // Route to appropriate handler via task scheduler
             // TODO (Phase 2): Implement actual task scheduling and routing
-            taskScheduler.submitTask(message, response -> sendResponse(response));
+            // Latency is recorded when the task responds, not when it is queued
+            timedType = null;
+            taskScheduler.submitTask(message, response -> {
+                recordIpcLatency(messageType, receivedNanos);
+                sendResponse(response);
+            });
             
         } catch (Exception e) {
-            logger.error("Failed to process message: {}", e.getMessage());
-            sendResponse(KernelResponse.error("PARSE_ERROR", e.getMessage()));
+            logger.error("Failed to process message: type={}, id={}, error={}", message.getType(), message.getId(), e.getMessage());
+            metricsRegistry.increment("ipc.errors");
+            sendResponse(KernelResponse.error(message.getId(), "INTERNAL_ERROR", e.getMessage()));
+        } finally {
+            if (timedType != null) {
+                recordIpcLatency(timedType, receivedNanos);
+            }
+        }
+    }
+    
+    /**
+     * Record receive-to-response time of one IPC message ("ipc.latency.&lt;type&gt;").
+     */
+    private void recordIpcLatency(String messageType, long receivedNanos) {
+        metricsRegistry.recordNanos("ipc.latency." + messageType, System.nanoTime() - receivedNanos);
+    }
+    
+    /**
+     * Read an integer config value, tolerating doubles and strings.
+     */
+    private int readIntConfig(String key, int defaultValue) {
+        Object value = stateManager.getConfig(key, defaultValue);
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return Integer.parseInt(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid integer config {}={}, using {}", key, value, defaultValue);
+            return defaultValue;
         }
     }
     
+    /**
+     * Register gauges sampled on every GET_METRICS snapshot.
+     */
+    private void registerGauges() {
+        Runtime runtime = Runtime.getRuntime();
+        metricsRegistry.gauge("scheduler.queued", taskScheduler::getQueueSize);
+        metricsRegistry.gauge("eventbus.published", eventBus::getEventsPublished);
+        metricsRegistry.gauge("engines.running", engineProcessManager::getRunningEngineCount);
+        metricsRegistry.gauge("outbound.queued", outboundQueue::size);
+        metricsRegistry.gauge("timers.pending", timingWheel::getPendingCount);
+        metricsRegistry.gauge("jvm.heap_used_bytes", () -> runtime.totalMemory() - runtime.freeMemory());
+        metricsRegistry.gauge("jvm.heap_max_bytes", runtime::maxMemory);
+    }
+    
     /**
      * Send a response back to the parent process via stdout.
      * 
@@ -394,11 +736,96 @@ public final class KernelMain {
      */
     private void sendResponse(KernelResponse response) {
         String json = response.toJson();
-        ipcOutput.println(json);
-        ipcOutput.flush();
+        if (writerThread != null) {
+            outboundQueue.add(json);
+        } else {
+            writeLines(List.of(json));
+        }
         logger.debug("Sent response: {}", json);
     }
     
+    /**
+     * Forward a partial response of a streaming engine request to the UI
+     * and publish it for in-kernel subscribers.
+     */
+    private void sendStreamFrame(KernelResponse partial) {
+        sendResponse(partial);
+        eventBus.publish("engine.stream", partial);
+    }
+    
+    /**
+     * Start the output writer thread.
+     * It is the only thread that writes to stdout, so lines never interleave.
+     */
+    private void startOutputWriter() {
+        writerThread = Thread.ofVirtual().name("ipc-writer").start(this::runOutputWriter);
+    }
+    
+    /**
+     * Stop the output writer after it has written everything queued so far.
+     */
+    private void stopOutputWriter() {
+        Thread writer = writerThread;
+        if (writer == null) {
+            return;
+        }
+        outboundQueue.add(WRITER_STOP);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(DISPATCH_DRAIN_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+    }
+    
+    /**
+     * Output writer loop: drain queued responses and flush once per batch.
+     */
+    private void runOutputWriter() {
+        List<String> batch = new ArrayList<>();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(outboundQueue.take());
+                outboundQueue.drainTo(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopping = true;
+                outboundQueue.drainTo(batch);
+            }
+            
+            int stopIndex = -1;
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.get(i) == WRITER_STOP) {
+                    stopIndex = i;
+                    break;
+                }
+            }
+            if (stopIndex >= 0) {
+                stopping = true;
+                batch = new ArrayList<>(batch.subList(0, stopIndex));
+            }
+            
+            writeLines(batch);
+            batch.clear();
+        }
+        logger.debug("IPC output writer stopped");
+    }
+    
+    /**
+     * Write lines to stdout and flush.
+     * 
+     * @param lines JSON lines to write
+     */
+    private void writeLines(List<String> lines) {
+        synchronized (ipcOutput) {
+            for (String line : lines) {
+                ipcOutput.println(line);
+            }
+            ipcOutput.flush();
+        }
+    }
+    
     /**
      * Handle QUERY_CONTRACTS IPC command.
      */
@@ -476,6 +903,132 @@ public final class KernelMain {
         }
     }
     
+    /**
+     * Handle GET_METRICS IPC command.
+     * <p>
+     * Returns the metrics registry snapshot (counters, gauges, timers) plus the
+     * per-engine, per-operation and per-step latency sketches under "latency".
+     * </p>
+     */
+    private void handleGetMetrics(IpcMessage message) {
+        try {
+            Map<String, Object> result = metricsRegistry.snapshot();
+            result.put("latency", latencyTracker.getStats());
+            sendResponse(KernelResponse.success(message.getId(), result));
+        } catch (Exception e) {
+            logger.error("Failed to handle GET_METRICS: {}", e.getMessage());
+            sendResponse(KernelResponse.error(message.getId(), "INTERNAL_ERROR", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Handle FULL_TEXT_SEARCH IPC command.
+     */
+    private void handleFullTextSearch(IpcMessage message) {
+        try {
+            JsonObject params = message.getPayload();
+            if (params == null) {
+                sendResponse(KernelResponse.error(message.getId(), "INVALID_PARAMS", "payload is required"));
+                return;
+            }
+            
+            Map<String, Object> result = queryHandler.handleFullTextSearch(params);
+            sendResponse(KernelResponse.success(message.getId(), result));
+            
+        } catch (Exception e) {
+            logger.error("Failed to handle FULL_TEXT_SEARCH: {}", e.getMessage());
+            sendResponse(KernelResponse.error(message.getId(), "QUERY_ERROR", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Handle BULK_IMPORT_CONTRACTS IPC command.
+     * <p>
+     * Rows come from "contracts" (JSON array) or "contracts_file" (JSON-lines file,
+     * one contract per line, read as the import goes). "chunk_size" sets rows per
+     * transaction. Progress is published as contracts.import.progress after every
+     * committed chunk; the response carries counts and per-row errors.
+     * </p>
+     */
+    private void handleBulkImportContracts(IpcMessage message) {
+        JsonObject params = message.getPayload();
+        if (params == null || (!params.has("contracts") && !params.has("contracts_file"))) {
+            sendResponse(KernelResponse.error(message.getId(), "INVALID_PARAMS",
+                "contracts or contracts_file is required"));
+            return;
+        }
+        
+        String importId = message.getId();
+        long startedAt = System.nanoTime();
+        ContractService.ImportProgressListener progress = p -> {
+            Map<String, Object> event = new HashMap<>();
+            event.put("import_id", importId);
+            event.put("processed", p.getProcessed());
+            event.put("imported", p.getImported());
+            event.put("failed", p.getFailed());
+            eventBus.publish("contracts.import.progress", event);
+        };
+        
+        try {
+            int chunkSize = DEFAULT_IMPORT_CHUNK_SIZE;
+            if (params.has("chunk_size")) {
+                JsonElement rawChunkSize = params.get("chunk_size");
+                if (!rawChunkSize.isJsonPrimitive() || !rawChunkSize.getAsJsonPrimitive().isNumber()) {
+                    sendResponse(KernelResponse.error(message.getId(), "INVALID_PARAMS", "chunk_size must be a number"));
+                    return;
+                }
+                chunkSize = Math.max(1, Math.min(rawChunkSize.getAsInt(), MAX_IMPORT_CHUNK_SIZE));
+            }
+            
+            ContractService.BulkImportResult result;
+            if (params.has("contracts")) {
+                if (!params.get("contracts").isJsonArray()) {
+                    sendResponse(KernelResponse.error(message.getId(), "INVALID_PARAMS", "contracts must be an array"));
+                    return;
+                }
+                result = contractService.importContracts(
+                    ContractJsonMapper.fromJsonArray(params.getAsJsonArray("contracts")), chunkSize, progress);
+            } else {
+                Path file = securityGateway.sanitizePath(params.get("contracts_file").getAsString());
+                if (file == null || !Files.isRegularFile(file)) {
+                    sendResponse(KernelResponse.error(message.getId(), "INVALID_PARAMS",
+                        "contracts_file is not a readable file"));
+                    return;
+                }
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    result = contractService.importContracts(
+                        ContractJsonMapper.fromJsonLines(reader), chunkSize, progress);
+                }
+            }
+            
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            List<Map<String, Object>> errors = new ArrayList<>();
+            for (ContractService.RowError error : result.getErrors()) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("index", error.getIndex());
+                row.put("contract_number", error.getContractNumber());
+                row.put("error", error.getMessage());
+                errors.add(row);
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("import_id", importId);
+            response.put("processed", result.getProcessed());
+            response.put("imported", result.getImported());
+            response.put("failed", result.getFailed());
+            response.put("errors", errors);
+            response.put("errors_truncated", result.isErrorListTruncated());
+            response.put("duration_ms", elapsedMs);
+            
+            eventBus.publish("contracts.import.completed", importId);
+            sendResponse(KernelResponse.success(message.getId(), response));
+            
+        } catch (Exception e) {
+            logger.error("Failed to handle BULK_IMPORT_CONTRACTS: {}", e.getMessage());
+            sendResponse(KernelResponse.error(message.getId(), "IMPORT_ERROR", e.getMessage()));
+        }
+    }
+    
     /**
      * Handle LOAD_WORKFLOW IPC command (Phase 5 Step 1).
      */
@@ -655,7 +1208,7 @@ public final class KernelMain {
             String actorId = params.has("actor_id") ? params.get("actor_id").getAsString() : "unknown";
             String comment = params.has("comment") ? params.get("comment").getAsString() : null;
             
-            // Resolve approval
+            // Resolve approval; the parked workflow is woken directly by the ApprovalService
             boolean resolved = workflowEngine.getApprovalService().resolveApproval(executionId, stepId, decision, actorId, comment);
             
             if (!resolved) {
@@ -664,20 +1217,12 @@ public final class KernelMain {
                 return;
             }
             
-            // Resume workflow based on decision
-            boolean resumed = workflowEngine.resumeAfterApproval(executionId, decision);
-            
-            if (resumed) {
-                sendResponse(KernelResponse.success(message.getId(), Map.of(
-                    "execution_id", executionId,
-                    "step_id", stepId,
-                    "decision", decision,
-                    "resumed", true
-                )));
-            } else {
-                sendResponse(KernelResponse.error(message.getId(), "RESUME_ERROR", 
-                    "Failed to resume workflow after approval"));
-            }
+            sendResponse(KernelResponse.success(message.getId(), Map.of(
+                "execution_id", executionId,
+                "step_id", stepId,
+                "decision", decision,
+                "resumed", true
+            )));
             
         } catch (Exception e) {
             logger.error("Failed to handle RESOLVE_APPROVAL: {}", e.getMessage());
@@ -703,6 +1248,9 @@ public final class KernelMain {
                 approvalInfo.put("prompt", request.getPrompt());
                 approvalInfo.put("allowed_actions", request.getAllowedActions());
                 approvalInfo.put("requested_at", request.getRequestedAt());
+                if (request.getExpiresAt() != null) {
+                    approvalInfo.put("expires_at", request.getExpiresAt());
+                }
                 pending.add(approvalInfo);
             }
             
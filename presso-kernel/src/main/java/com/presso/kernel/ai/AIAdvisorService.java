@@ -46,6 +46,8 @@
  */
 package com.presso.kernel.ai;
 
+import com.presso.kernel.metrics.LatencySketch;
+import com.presso.kernel.metrics.LatencyTracker;
 import com.presso.kernel.persistence.DatabaseManager;
 import com.presso.kernel.workflow.WorkflowDefinition;
 import com.presso.kernel.workflow.StepDefinition;
@@ -69,9 +71,17 @@ public final class AIAdvisorService {
     
     private static final Logger logger = LoggerFactory.getLogger(AIAdvisorService.class);
     
+    // Tail latency: minimum attempts, absolute p99 floor and p99/p50 ratio before advising
+    private static final long TAIL_MIN_SAMPLES = 20;
+    private static final double TAIL_MIN_P99_SECONDS = 5.0;
+    private static final double TAIL_MIN_RATIO = 4.0;
+    
     private final DatabaseManager databaseManager;
     private final WorkflowPersistenceService workflowPersistence;
     
+    // Step latency sketches (optional; percentiles are omitted without it)
+    private volatile LatencyTracker latencyTracker;
+    
     /**
      * Construct an AI Advisor service.
      * 
@@ -84,6 +94,15 @@ public final class AIAdvisorService {
         logger.info("AIAdvisorService created (read-only mode)");
     }
     
+    /**
+     * Set the tracker whose step latency sketches feed percentile evidence.
+     * 
+     * @param latencyTracker the latency tracker
+     */
+    public void setLatencyTracker(LatencyTracker latencyTracker) {
+        this.latencyTracker = latencyTracker;
+    }
+    
     /**
      * Analyze a workflow definition and provide suggestions.
      * 
@@ -131,6 +150,9 @@ public final class AIAdvisorService {
         // Analyze retry patterns
         suggestions.addAll(analyzeRetryPatterns(workflowId));
         
+        // Analyze tail latency (from in-memory step sketches)
+        suggestions.addAll(analyzeTailLatency(workflowId));
+        
         // Log suggestions for audit
         for (AISuggestion suggestion : suggestions) {
             logSuggestion(suggestion);
@@ -523,18 +545,14 @@ public final class AIAdvisorService {
     private List<AISuggestion> analyzeFailurePatterns(String workflowId) {
         List<AISuggestion> suggestions = new ArrayList<>();
         
-        try (Connection conn = databaseManager.getConnection()) {
-            // Find steps that fail frequently
+        try (Connection conn = databaseManager.getReadConnection()) {
+            // Find steps that fail frequently (from the incremental rollup)
             try (PreparedStatement stmt = conn.prepareStatement(
-                "SELECT step_id, COUNT(*) as failure_count, " +
-                "GROUP_CONCAT(DISTINCT error_message) as error_messages, " +
-                "COUNT(DISTINCT execution_id) as execution_count " +
-                "FROM workflow_step_execution " +
-                "WHERE execution_id IN (SELECT execution_id FROM workflow_execution WHERE workflow_id = ?) " +
-                "AND status = 'failed' " +
-                "GROUP BY step_id " +
-                "HAVING failure_count >= 3 " +
-                "ORDER BY failure_count DESC"
+                "SELECT step_id, failures as failure_count, last_error as error_messages, " +
+                "runs as execution_count " +
+                "FROM workflow_step_stats " +
+                "WHERE workflow_id = ? AND failures >= 3 " +
+                "ORDER BY failures DESC"
             )) {
                 stmt.setString(1, workflowId);
                 try (ResultSet rs = stmt.executeQuery()) {
@@ -556,7 +574,7 @@ public final class AIAdvisorService {
                         // Phase 6 Step 2: Generate explanation
                         List<String> reasoningSteps = new ArrayList<>();
                         reasoningSteps.add("Analyzed execution history for workflow: " + workflowId);
-                        reasoningSteps.add("Queried workflow_step_execution table for failed steps");
+                        reasoningSteps.add("Read per-step failure counts from workflow_step_stats rollup");
                         reasoningSteps.add("Step '" + stepId + "' failed " + failureCount + " times across " + executionCount + " executions");
                         reasoningSteps.add("Common error patterns: " + errorSummary);
                         reasoningSteps.add("Failure rate suggests reliability issue");
@@ -646,20 +664,15 @@ public final class AIAdvisorService {
     private List<AISuggestion> analyzePerformancePatterns(String workflowId) {
         List<AISuggestion> suggestions = new ArrayList<>();
         
-        try (Connection conn = databaseManager.getConnection()) {
-            // Find slow steps
+        try (Connection conn = databaseManager.getReadConnection()) {
+            // Find slow steps (from the incremental rollup)
             try (PreparedStatement stmt = conn.prepareStatement(
-                "SELECT step_id, " +
-                "AVG((julianday(completed_at) - julianday(started_at)) * 86400) as avg_duration_seconds, " +
-                "COUNT(*) as execution_count, " +
-                "MIN((julianday(completed_at) - julianday(started_at)) * 86400) as min_duration_seconds, " +
-                "MAX((julianday(completed_at) - julianday(started_at)) * 86400) as max_duration_seconds " +
-                "FROM workflow_step_execution " +
-                "WHERE execution_id IN (SELECT execution_id FROM workflow_execution WHERE workflow_id = ?) " +
-                "AND status = 'completed' " +
-                "AND completed_at IS NOT NULL AND started_at IS NOT NULL " +
-                "GROUP BY step_id " +
-                "HAVING avg_duration_seconds > 10 " +
+                "SELECT step_id, duration_sum / duration_count as avg_duration_seconds, " +
+                "duration_count as execution_count, duration_sum_sq, " +
+                "duration_min as min_duration_seconds, duration_max as max_duration_seconds, " +
+                "hist_lt_1s, hist_lt_5s, hist_lt_10s, hist_lt_30s, hist_lt_60s, hist_lt_300s, hist_ge_300s " +
+                "FROM workflow_step_stats " +
+                "WHERE workflow_id = ? AND duration_count > 0 AND duration_sum > 10 * duration_count " +
                 "ORDER BY avg_duration_seconds DESC"
             )) {
                 stmt.setString(1, workflowId);
@@ -670,6 +683,19 @@ public final class AIAdvisorService {
                         int executionCount = rs.getInt("execution_count");
                         double minDuration = rs.getDouble("min_duration_seconds");
                         double maxDuration = rs.getDouble("max_duration_seconds");
+                        double variance = rs.getDouble("duration_sum_sq") / executionCount - avgDuration * avgDuration;
+                        double stddevDuration = Math.sqrt(Math.max(0.0, variance));
+                        
+                        JsonObject histogram = new JsonObject();
+                        histogram.addProperty("lt_1s", rs.getLong("hist_lt_1s"));
+                        histogram.addProperty("lt_5s", rs.getLong("hist_lt_5s"));
+                        histogram.addProperty("lt_10s", rs.getLong("hist_lt_10s"));
+                        histogram.addProperty("lt_30s", rs.getLong("hist_lt_30s"));
+                        histogram.addProperty("lt_60s", rs.getLong("hist_lt_60s"));
+                        histogram.addProperty("lt_300s", rs.getLong("hist_lt_300s"));
+                        histogram.addProperty("ge_300s", rs.getLong("hist_ge_300s"));
+                        
+                        JsonObject percentiles = stepLatencyPercentiles(workflowId, stepId);
                         
                         JsonObject metadata = new JsonObject();
                         metadata.addProperty("workflow_id", workflowId);
@@ -678,6 +704,10 @@ public final class AIAdvisorService {
                         metadata.addProperty("execution_count", executionCount);
                         metadata.addProperty("min_duration_seconds", minDuration);
                         metadata.addProperty("max_duration_seconds", maxDuration);
+                        metadata.addProperty("stddev_duration_seconds", stddevDuration);
+                        if (percentiles != null) {
+                            metadata.add("latency_percentiles_seconds", percentiles);
+                        }
                         
                         // Phase 6 Step 2: Generate explanation
                         List<String> reasoningSteps = new ArrayList<>();
@@ -685,6 +715,11 @@ public final class AIAdvisorService {
                         reasoningSteps.add("Calculated average execution duration per step");
                         reasoningSteps.add("Step '" + stepId + "' average duration: " + String.format("%.1f", avgDuration) + " seconds");
                         reasoningSteps.add("Duration exceeds 10 seconds threshold");
+                        if (percentiles != null) {
+                            reasoningSteps.add("Attempt latency p50/p99: " +
+                                String.format("%.1f", percentiles.get("p50").getAsDouble()) + "/" +
+                                String.format("%.1f", percentiles.get("p99").getAsDouble()) + " seconds");
+                        }
                         reasoningSteps.add("Performance optimization may be beneficial");
                         
                         JsonObject evidence = new JsonObject();
@@ -693,6 +728,11 @@ public final class AIAdvisorService {
                         evidence.addProperty("avg_duration_seconds", avgDuration);
                         evidence.addProperty("min_duration_seconds", minDuration);
                         evidence.addProperty("max_duration_seconds", maxDuration);
+                        evidence.addProperty("stddev_duration_seconds", stddevDuration);
+                        evidence.add("duration_histogram", histogram);
+                        if (percentiles != null) {
+                            evidence.add("latency_percentiles_seconds", percentiles);
+                        }
                         evidence.addProperty("execution_count", executionCount);
                         evidence.addProperty("data_source", "execution_history");
                         evidence.addProperty("time_window", "all_available_history");
@@ -750,22 +790,124 @@ public final class AIAdvisorService {
         return suggestions;
     }
     
+    /**
+     * Analyze step tail latency from the in-memory quantile sketches.
+     * Flags steps whose p99 is both slow in absolute terms and far above their median.
+     */
+    private List<AISuggestion> analyzeTailLatency(String workflowId) {
+        List<AISuggestion> suggestions = new ArrayList<>();
+        LatencyTracker tracker = latencyTracker;
+        if (tracker == null) {
+            return suggestions;
+        }
+        
+        String prefix = workflowId + "/";
+        for (Map.Entry<String, LatencySketch> entry : tracker.getSketches(LatencyTracker.KIND_STEP, prefix).entrySet()) {
+            String stepId = entry.getKey().substring(prefix.length());
+            LatencySketch sketch = entry.getValue();
+            long sampleCount = sketch.getCount();
+            double p50 = sketch.quantileMicros(0.50) / 1_000_000.0;
+            double p99 = sketch.quantileMicros(0.99) / 1_000_000.0;
+            if (sampleCount < TAIL_MIN_SAMPLES || p99 < TAIL_MIN_P99_SECONDS || p99 < TAIL_MIN_RATIO * p50) {
+                continue;
+            }
+            JsonObject percentiles = toPercentileJson(sketch);
+            
+            JsonObject metadata = new JsonObject();
+            metadata.addProperty("workflow_id", workflowId);
+            metadata.addProperty("step_id", stepId);
+            metadata.addProperty("sample_count", sampleCount);
+            metadata.add("latency_percentiles_seconds", percentiles);
+            
+            List<String> reasoningSteps = new ArrayList<>();
+            reasoningSteps.add("Read attempt latency quantile sketch for step '" + stepId + "'");
+            reasoningSteps.add("p50 = " + String.format("%.1f", p50) + "s, p99 = " + String.format("%.1f", p99) + "s over " + sampleCount + " attempts");
+            reasoningSteps.add("p99 exceeds " + TAIL_MIN_RATIO + "x the median and " + TAIL_MIN_P99_SECONDS + " seconds");
+            reasoningSteps.add("A long tail usually points to contention, large inputs or engine warm-up rather than uniform slowness");
+            
+            JsonObject evidence = new JsonObject();
+            evidence.addProperty("workflow_id", workflowId);
+            evidence.addProperty("step_id", stepId);
+            evidence.add("latency_percentiles_seconds", percentiles);
+            evidence.addProperty("sample_count", sampleCount);
+            evidence.addProperty("data_source", "latency_sketch");
+            evidence.addProperty("time_window", "all_available_history");
+            evidence.addProperty("tail_ratio_threshold", TAIL_MIN_RATIO);
+            
+            Explanation explanation = new Explanation(
+                "Step '" + stepId + "' is usually fast (median " + String.format("%.1f", p50) + " seconds) but 1% of attempts take " +
+                String.format("%.1f", p99) + " seconds or longer. Averages hide this tail.",
+                reasoningSteps,
+                evidence
+            );
+            
+            double confidenceScore = computeConfidenceFromDataVolume((int) Math.min(Integer.MAX_VALUE, sampleCount / 5), 0);
+            String confidenceExplanation = "Confidence based on " + sampleCount + " recorded attempts. " +
+                "Percentiles are estimated from a histogram with about 3% relative error.";
+            ConfidenceDetails confidenceDetails = new ConfidenceDetails(confidenceScore, confidenceExplanation);
+            
+            List<String> assumptions = new ArrayList<>();
+            assumptions.add("Recorded attempts are representative of current behavior");
+            assumptions.add("Slow attempts share a common cause");
+            List<String> missingData = new ArrayList<>();
+            missingData.add("Input sizes of the slow attempts");
+            missingData.add("Engine load at the time of the slow attempts");
+            Limitations limitations = new Limitations(assumptions, missingData);
+            
+            suggestions.add(new AISuggestion(
+                UUID.randomUUID().toString(),
+                AISuggestion.SuggestionType.OPTIMIZATION,
+                "Step Tail Latency Detected",
+                "Step '" + stepId + "' has a p99 latency of " + String.format("%.1f", p99) + " seconds against a median of " +
+                String.format("%.1f", p50) + " seconds. Consider investigating the slow attempts or setting a step timeout.",
+                "workflow:" + workflowId + ":step:" + stepId,
+                metadata,
+                confidenceScore,
+                explanation,
+                confidenceDetails,
+                limitations
+            ));
+        }
+        
+        return suggestions;
+    }
+    
+    /**
+     * Get attempt latency percentiles for a step, or null if no sketch is available.
+     */
+    private JsonObject stepLatencyPercentiles(String workflowId, String stepId) {
+        LatencyTracker tracker = latencyTracker;
+        if (tracker == null) {
+            return null;
+        }
+        LatencySketch sketch = tracker.getSketch(LatencyTracker.KIND_STEP, workflowId + "/" + stepId);
+        return sketch == null || sketch.getCount() == 0 ? null : toPercentileJson(sketch);
+    }
+    
+    private static JsonObject toPercentileJson(LatencySketch sketch) {
+        JsonObject percentiles = new JsonObject();
+        percentiles.addProperty("sample_count", sketch.getCount());
+        percentiles.addProperty("p50", sketch.quantileMicros(0.50) / 1_000_000.0);
+        percentiles.addProperty("p95", sketch.quantileMicros(0.95) / 1_000_000.0);
+        percentiles.addProperty("p99", sketch.quantileMicros(0.99) / 1_000_000.0);
+        percentiles.addProperty("p999", sketch.quantileMicros(0.999) / 1_000_000.0);
+        percentiles.addProperty("max", sketch.getMaxMicros() / 1_000_000.0);
+        return percentiles;
+    }
+    
     /**
      * Analyze retry patterns from execution history (Phase 6 Step 2: with explainability).
      */
     private List<AISuggestion> analyzeRetryPatterns(String workflowId) {
         List<AISuggestion> suggestions = new ArrayList<>();
         
-        try (Connection conn = databaseManager.getConnection()) {
-            // Find steps that frequently require retries
+        try (Connection conn = databaseManager.getReadConnection()) {
+            // Find steps that frequently require retries (from the incremental rollup)
             try (PreparedStatement stmt = conn.prepareStatement(
-                "SELECT step_id, AVG(retry_count) as avg_retries, MAX(retry_count) as max_retries, " +
-                "COUNT(*) as execution_count " +
-                "FROM workflow_step_execution " +
-                "WHERE execution_id IN (SELECT execution_id FROM workflow_execution WHERE workflow_id = ?) " +
-                "AND retry_count > 0 " +
-                "GROUP BY step_id " +
-                "HAVING avg_retries >= 1.5 " +
+                "SELECT step_id, CAST(retries_sum AS REAL) / retried_runs as avg_retries, " +
+                "retries_max as max_retries, retried_runs as execution_count " +
+                "FROM workflow_step_stats " +
+                "WHERE workflow_id = ? AND retried_runs > 0 AND retries_sum >= 1.5 * retried_runs " +
                 "ORDER BY avg_retries DESC"
             )) {
                 stmt.setString(1, workflowId);
@@ -860,7 +1002,7 @@ public final class AIAdvisorService {
     private List<AISuggestion> analyzePendingApprovals(String executionId) {
         List<AISuggestion> suggestions = new ArrayList<>();
         
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             // Find approvals waiting for a long time
             try (PreparedStatement stmt = conn.prepareStatement(
                 "SELECT step_id, requested_at, " +
@@ -955,7 +1097,7 @@ public final class AIAdvisorService {
     private List<AISuggestion> analyzeStuckWorkflows(String executionId) {
         List<AISuggestion> suggestions = new ArrayList<>();
         
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             // Check if workflow has been running for a long time
             try (PreparedStatement stmt = conn.prepareStatement(
                 "SELECT workflow_id, (julianday('now') - julianday(started_at)) * 86400 as run_seconds " +
@@ -1048,53 +1190,46 @@ public final class AIAdvisorService {
      * Log suggestion for audit trail (Phase 6 Step 2: with explainability persistence).
      */
     private void logSuggestion(AISuggestion suggestion) {
-        try (Connection conn = databaseManager.getConnection()) {
-            Gson gson = new Gson();
-            
-            // Serialize explainability fields to JSON strings
-            String explanationJson = null;
-            String confidenceDetailsJson = null;
-            String limitationsJson = null;
-            String evidenceSummaryJson = null;
-            
-            if (suggestion.getExplanation() != null) {
-                explanationJson = gson.toJson(suggestion.getExplanation().toJson());
-                // Extract evidence from explanation for evidence_summary
-                JsonObject evidence = suggestion.getExplanation().getEvidence();
-                if (evidence != null) {
-                    evidenceSummaryJson = gson.toJson(evidence);
-                }
-            }
-            
-            if (suggestion.getConfidenceDetails() != null) {
-                confidenceDetailsJson = gson.toJson(suggestion.getConfidenceDetails().toJson());
-            }
-            
-            if (suggestion.getLimitations() != null) {
-                limitationsJson = gson.toJson(suggestion.getLimitations().toJson());
-            }
-            
-            try (PreparedStatement stmt = conn.prepareStatement(
-                "INSERT INTO ai_suggestion_audit (suggestion_id, type, title, context, confidence, " +
-                "explanation, confidence_details, limitations, evidence_summary, created_at) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)"
-            )) {
-                stmt.setString(1, suggestion.getSuggestionId());
-                stmt.setString(2, suggestion.getType().name());
-                stmt.setString(3, suggestion.getTitle());
-                stmt.setString(4, suggestion.getContext());
-                stmt.setDouble(5, suggestion.getConfidence());
-                stmt.setString(6, explanationJson);
-                stmt.setString(7, confidenceDetailsJson);
-                stmt.setString(8, limitationsJson);
-                stmt.setString(9, evidenceSummaryJson);
-                stmt.executeUpdate();
-                conn.commit();
+        Gson gson = new Gson();
+        
+        // Serialize explainability fields to JSON strings
+        String explanationJson = null;
+        String confidenceDetailsJson = null;
+        String limitationsJson = null;
+        String evidenceSummaryJson = null;
+        
+        if (suggestion.getExplanation() != null) {
+            explanationJson = gson.toJson(suggestion.getExplanation().toJson());
+            // Extract evidence from explanation for evidence_summary
+            JsonObject evidence = suggestion.getExplanation().getEvidence();
+            if (evidence != null) {
+                evidenceSummaryJson = gson.toJson(evidence);
             }
-        } catch (SQLException e) {
-            logger.error("Failed to log AI suggestion: suggestionId={}, error={}", 
-                suggestion.getSuggestionId(), e.getMessage());
         }
+        
+        if (suggestion.getConfidenceDetails() != null) {
+            confidenceDetailsJson = gson.toJson(suggestion.getConfidenceDetails().toJson());
+        }
+        
+        if (suggestion.getLimitations() != null) {
+            limitationsJson = gson.toJson(suggestion.getLimitations().toJson());
+        }
+        
+        // Group-committed by the write-behind appender
+        databaseManager.getWriteBehindAppender().append(
+            "INSERT INTO ai_suggestion_audit (suggestion_id, type, title, context, confidence, " +
+            "explanation, confidence_details, limitations, evidence_summary, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)",
+            suggestion.getSuggestionId(),
+            suggestion.getType().name(),
+            suggestion.getTitle(),
+            suggestion.getContext(),
+            suggestion.getConfidence(),
+            explanationJson,
+            confidenceDetailsJson,
+            limitationsJson,
+            evidenceSummaryJson
+        );
     }
 }
 
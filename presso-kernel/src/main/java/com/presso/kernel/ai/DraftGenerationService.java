@@ -59,9 +59,6 @@ import com.google.gson.Gson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -420,35 +417,28 @@ public final class DraftGenerationService {
      * Log draft generation for audit trail.
      */
     private void logDraftGeneration(DraftArtifact draft) {
-        try (Connection conn = databaseManager.getConnection()) {
-            Gson gson = new Gson();
-            String contentHash = draft.computeContentHash();
-            
-            try (PreparedStatement stmt = conn.prepareStatement(
-                "INSERT INTO ai_draft_audit (draft_id, draft_type, content_hash, content_json, " +
-                "source_context_json, rationale, confidence, confidence_details_json, limitations_json, " +
-                "status, created_at) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)"
-            )) {
-                stmt.setString(1, draft.getDraftId());
-                stmt.setString(2, draft.getDraftType().name());
-                stmt.setString(3, contentHash);
-                stmt.setString(4, gson.toJson(draft.getContent()));
-                stmt.setString(5, gson.toJson(draft.getSourceContext()));
-                stmt.setString(6, draft.getRationale());
-                stmt.setDouble(7, draft.getConfidence());
-                stmt.setString(8, draft.getConfidenceDetails() != null ? 
-                    gson.toJson(draft.getConfidenceDetails().toJson()) : null);
-                stmt.setString(9, draft.getLimitations() != null ? 
-                    gson.toJson(draft.getLimitations().toJson()) : null);
-                stmt.setString(10, draft.getStatus().name());
-                stmt.executeUpdate();
-                conn.commit();
-            }
-        } catch (SQLException e) {
-            logger.error("Failed to log draft generation: draftId={}, error={}", 
-                draft.getDraftId(), e.getMessage());
-        }
+        Gson gson = new Gson();
+        String contentHash = draft.computeContentHash();
+        
+        // Group-committed by the write-behind appender
+        databaseManager.getWriteBehindAppender().append(
+            "INSERT INTO ai_draft_audit (draft_id, draft_type, content_hash, content_json, " +
+            "source_context_json, rationale, confidence, confidence_details_json, limitations_json, " +
+            "status, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)",
+            draft.getDraftId(),
+            draft.getDraftType().name(),
+            contentHash,
+            gson.toJson(draft.getContent()),
+            gson.toJson(draft.getSourceContext()),
+            draft.getRationale(),
+            draft.getConfidence(),
+            draft.getConfidenceDetails() != null ?
+                gson.toJson(draft.getConfidenceDetails().toJson()) : null,
+            draft.getLimitations() != null ?
+                gson.toJson(draft.getLimitations().toJson()) : null,
+            draft.getStatus().name()
+        );
     }
 }
 
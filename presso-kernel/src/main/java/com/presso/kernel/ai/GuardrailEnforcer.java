@@ -45,9 +45,6 @@ import com.presso.kernel.persistence.DatabaseManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -261,29 +258,22 @@ public final class GuardrailEnforcer {
      */
     private void auditDraftPolicyDecision(DraftArtifact draft, PolicyDecision decision, 
                                           String reason, String executionId) {
-        try (Connection conn = databaseManager.getConnection()) {
-            double confidence = draft.getConfidence();
-            if (draft.getConfidenceDetails() != null) {
-                confidence = draft.getConfidenceDetails().getScore();
-            }
-            
-            try (PreparedStatement stmt = conn.prepareStatement(
-                "INSERT INTO ai_guardrail_audit (suggestion_id, policy_decision, policy_reason, " +
-                "confidence_score, execution_id, created_at) " +
-                "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)"
-            )) {
-                stmt.setString(1, draft.getDraftId());  // Use draft_id as suggestion_id for audit
-                stmt.setString(2, decision.name());
-                stmt.setString(3, "DRAFT: " + reason);
-                stmt.setDouble(4, confidence);
-                stmt.setString(5, executionId);
-                stmt.executeUpdate();
-                conn.commit();
-            }
-        } catch (SQLException e) {
-            logger.error("Failed to audit draft policy decision: draftId={}, decision={}, error={}", 
-                draft.getDraftId(), decision, e.getMessage());
+        double confidence = draft.getConfidence();
+        if (draft.getConfidenceDetails() != null) {
+            confidence = draft.getConfidenceDetails().getScore();
         }
+        
+        // Group-committed by the write-behind appender
+        databaseManager.getWriteBehindAppender().append(
+            "INSERT INTO ai_guardrail_audit (suggestion_id, policy_decision, policy_reason, " +
+            "confidence_score, execution_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)",
+            draft.getDraftId(),  // Use draft_id as suggestion_id for audit
+            decision.name(),
+            "DRAFT: " + reason,
+            confidence,
+            executionId
+        );
     }
     
     /**
@@ -358,29 +348,22 @@ public final class GuardrailEnforcer {
      */
     private void auditPolicyDecision(AISuggestion suggestion, PolicyDecision decision, 
                                      String reason, String executionId) {
-        try (Connection conn = databaseManager.getConnection()) {
-            double confidence = suggestion.getConfidence();
-            if (suggestion.getConfidenceDetails() != null) {
-                confidence = suggestion.getConfidenceDetails().getScore();
-            }
-            
-            try (PreparedStatement stmt = conn.prepareStatement(
-                "INSERT INTO ai_guardrail_audit (suggestion_id, policy_decision, policy_reason, " +
-                "confidence_score, execution_id, created_at) " +
-                "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)"
-            )) {
-                stmt.setString(1, suggestion.getSuggestionId());
-                stmt.setString(2, decision.name());
-                stmt.setString(3, reason);
-                stmt.setDouble(4, confidence);
-                stmt.setString(5, executionId);
-                stmt.executeUpdate();
-                conn.commit();
-            }
-        } catch (SQLException e) {
-            logger.error("Failed to audit policy decision: suggestionId={}, decision={}, error={}", 
-                suggestion.getSuggestionId(), decision, e.getMessage());
+        double confidence = suggestion.getConfidence();
+        if (suggestion.getConfidenceDetails() != null) {
+            confidence = suggestion.getConfidenceDetails().getScore();
         }
+        
+        // Group-committed by the write-behind appender
+        databaseManager.getWriteBehindAppender().append(
+            "INSERT INTO ai_guardrail_audit (suggestion_id, policy_decision, policy_reason, " +
+            "confidence_score, execution_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)",
+            suggestion.getSuggestionId(),
+            decision.name(),
+            reason,
+            confidence,
+            executionId
+        );
     }
 }
 
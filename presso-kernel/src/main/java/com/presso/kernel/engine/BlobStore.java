@@ -0,0 +1,352 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: BlobStore.java
+ * RESPONSIBILITY: Shared temp-file handoff of large payloads to engines
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Writes a blob once into a memory-mapped file under %APPDATA%/PressO/cache/blobs
+ * - Engines receive a handle (path, offset, length) instead of the bytes
+ * - Reference counts handles; the file is deleted when the last reference is released
+ * 
+ * BOUNDARIES:
+ * - Does NOT interpret blob content
+ * - Files are private to this kernel run (leftovers are swept at startup)
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Section 8.1 (cache directory)
+ */
+package com.presso.kernel.engine;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reference-counted store of memory-mapped blob files shared with engines.
+ * <p>
+ * Inline content in engine parameters ({@code <name>_base64}) is decoded chunk by
+ * chunk straight into a mapped file, so the decoded bytes never exist as one heap
+ * array and never cross the engine pipe. The parameter is replaced with the file
+ * path ({@code <name>}) plus a handle ({@code <name>_blob}).
+ * </p>
+ */
+public final class BlobStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BlobStore.class);
+    
+    /** Parameter suffix marking inline base64 content. */
+    public static final String INLINE_SUFFIX = "_base64";
+    
+    /** Parameter suffix for the handle that replaces inline content. */
+    public static final String HANDLE_SUFFIX = "_blob";
+    
+    // Base64 characters decoded per chunk (multiple of 4)
+    private static final int DECODE_CHUNK_CHARS = 64 * 1024;
+    
+    /**
+     * Handle to a blob file. Engines see it as {path, offset, length}.
+     */
+    public static final class BlobHandle {
+        private final String id;
+        private final Path path;
+        private final long offset;
+        private final long length;
+        private final AtomicInteger refCount = new AtomicInteger(1);
+        
+        BlobHandle(String id, Path path, long offset, long length) {
+            this.id = id;
+            this.path = path;
+            this.offset = offset;
+            this.length = length;
+        }
+        
+        public String getId() { return id; }
+        public Path getPath() { return path; }
+        public long getOffset() { return offset; }
+        public long getLength() { return length; }
+        public int getRefCount() { return refCount.get(); }
+        
+        /**
+         * Convert to the JSON handle sent to engines.
+         * 
+         * @return {"id", "path", "offset", "length"}
+         */
+        public JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("id", id);
+            json.addProperty("path", path.toString());
+            json.addProperty("offset", offset);
+            json.addProperty("length", length);
+            return json;
+        }
+    }
+    
+    private final Path blobDirectory;
+    private final Map<String, BlobHandle> blobs = new ConcurrentHashMap<>();
+    
+    /**
+     * Construct a BlobStore.
+     * 
+     * @param blobDirectory directory for blob files (created if missing)
+     */
+    public BlobStore(Path blobDirectory) {
+        this.blobDirectory = blobDirectory;
+    }
+    
+    /**
+     * Create the blob directory and delete files left over from a previous run.
+     */
+    public void initialize() {
+        try {
+            Files.createDirectories(blobDirectory);
+            int swept = 0;
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(blobDirectory, "*.blob")) {
+                for (Path leftover : leftovers) {
+                    if (Files.deleteIfExists(leftover)) {
+                        swept++;
+                    }
+                }
+            }
+            if (swept > 0) {
+                logger.info("Removed {} stale blob files from {}", swept, blobDirectory);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to prepare blob directory {}: {}", blobDirectory, e.getMessage());
+        }
+    }
+    
+    /**
+     * Store bytes in a new blob file.
+     * 
+     * @param data the content
+     * @return handle with reference count 1
+     * @throws IOException if the file cannot be written
+     */
+    public BlobHandle put(byte[] data) throws IOException {
+        Path path = newBlobPath();
+        try (FileChannel channel = openForWrite(path)) {
+            if (data.length > 0) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, data.length);
+                mapped.put(data);
+            }
+        }
+        return register(path, data.length);
+    }
+    
+    /**
+     * Decode base64 text into a new blob file without materializing the decoded bytes.
+     * A leading data URL prefix ("data:...;base64,") is ignored.
+     * 
+     * @param base64 the base64 content
+     * @return handle with reference count 1
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the content is not valid base64
+     */
+    public BlobHandle putBase64(String base64) throws IOException {
+        int start = base64.startsWith("data:") ? base64.indexOf(',') + 1 : 0;
+        int end = base64.length();
+        int padding = 0;
+        while (end > start && base64.charAt(end - 1) == '=') {
+            end--;
+            padding++;
+        }
+        int chars = end - start;
+        long decodedLength = (long) chars * 3 / 4;
+        if (padding > 2 || chars % 4 == 1) {
+            throw new IllegalArgumentException("Invalid base64 length");
+        }
+        
+        Path path = newBlobPath();
+        try (FileChannel channel = openForWrite(path)) {
+            if (decodedLength > 0) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, decodedLength);
+                Base64.Decoder decoder = Base64.getDecoder();
+                for (int pos = start; pos < end; pos += DECODE_CHUNK_CHARS) {
+                    int chunkEnd = Math.min(end, pos + DECODE_CHUNK_CHARS);
+                    String chunk = base64.substring(pos, chunkEnd);
+                    if (chunkEnd == end && chunk.length() % 4 != 0) {
+                        chunk = chunk + "==".substring(0, 4 - chunk.length() % 4);
+                    }
+                    mapped.put(decoder.decode(chunk.getBytes(StandardCharsets.ISO_8859_1)));
+                }
+            }
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw new IllegalArgumentException("Invalid base64 content: " + e.getMessage(), e);
+        }
+        return register(path, decodedLength);
+    }
+    
+    /**
+     * Take an additional reference to a blob.
+     * 
+     * @param blobId the blob id
+     * @return the handle, or null if the blob no longer exists
+     */
+    public BlobHandle retain(String blobId) {
+        BlobHandle handle = blobs.get(blobId);
+        if (handle == null) {
+            return null;
+        }
+        while (true) {
+            int current = handle.refCount.get();
+            if (current <= 0) {
+                return null;  // Being deleted
+            }
+            if (handle.refCount.compareAndSet(current, current + 1)) {
+                return handle;
+            }
+        }
+    }
+    
+    /**
+     * Release a reference; the file is deleted when the count reaches zero.
+     * 
+     * @param handle the blob handle
+     */
+    public void release(BlobHandle handle) {
+        if (handle.refCount.decrementAndGet() != 0) {
+            return;
+        }
+        blobs.remove(handle.getId());
+        delete(handle.getPath());
+    }
+    
+    /**
+     * Replace inline base64 parameters with blob files.
+     * <p>
+     * For every {@code <name>_base64} entry (a string or an array of strings), the
+     * content is written to blob files, {@code <name>} is set to the file path (or
+     * array of paths), {@code <name>_blob} to the handle(s), and the inline entry
+     * is removed. Nested objects are processed as well.
+     * </p>
+     * 
+     * @param params the engine parameters (modified in place)
+     * @return handles created (caller releases them when the engine is done)
+     * @throws IOException if a blob cannot be written
+     */
+    public List<BlobHandle> offloadInlineContent(JsonObject params) throws IOException {
+        List<BlobHandle> created = new ArrayList<>();
+        try {
+            offload(params, created);
+        } catch (IOException | RuntimeException e) {
+            created.forEach(this::release);
+            throw e;
+        }
+        return created;
+    }
+    
+    private void offload(JsonObject params, List<BlobHandle> created) throws IOException {
+        for (String key : new ArrayList<>(params.keySet())) {
+            JsonElement value = params.get(key);
+            
+            if (!key.endsWith(INLINE_SUFFIX) || key.length() == INLINE_SUFFIX.length()) {
+                if (value.isJsonObject()) {
+                    offload(value.getAsJsonObject(), created);
+                }
+                continue;
+            }
+            
+            String name = key.substring(0, key.length() - INLINE_SUFFIX.length());
+            if (value.isJsonPrimitive() && value.getAsJsonPrimitive().isString()) {
+                BlobHandle handle = putBase64(value.getAsString());
+                created.add(handle);
+                params.addProperty(name, handle.getPath().toString());
+                params.add(name + HANDLE_SUFFIX, handle.toJson());
+                params.remove(key);
+            } else if (value.isJsonArray()) {
+                JsonArray paths = new JsonArray();
+                JsonArray handles = new JsonArray();
+                for (JsonElement item : value.getAsJsonArray()) {
+                    BlobHandle handle = putBase64(item.getAsString());
+                    created.add(handle);
+                    paths.add(new JsonPrimitive(handle.getPath().toString()));
+                    handles.add(handle.toJson());
+                }
+                params.add(name, paths);
+                params.add(name + HANDLE_SUFFIX, handles);
+                params.remove(key);
+            }
+        }
+    }
+    
+    /**
+     * Get the number of live blobs.
+     * 
+     * @return blob count
+     */
+    public int size() {
+        return blobs.size();
+    }
+    
+    /**
+     * Get the total size of live blobs.
+     * 
+     * @return bytes held in blob files
+     */
+    public long totalBytes() {
+        long total = 0;
+        for (BlobHandle handle : blobs.values()) {
+            total += handle.getLength();
+        }
+        return total;
+    }
+    
+    /**
+     * Delete all blob files regardless of reference counts (shutdown).
+     */
+    public void close() {
+        for (BlobHandle handle : blobs.values()) {
+            delete(handle.getPath());
+        }
+        blobs.clear();
+    }
+    
+    private BlobHandle register(Path path, long length) {
+        String id = path.getFileName().toString().replace(".blob", "");
+        BlobHandle handle = new BlobHandle(id, path, 0, length);
+        blobs.put(id, handle);
+        logger.debug("Blob {} stored ({} bytes)", id, length);
+        return handle;
+    }
+    
+    private Path newBlobPath() throws IOException {
+        Files.createDirectories(blobDirectory);
+        return blobDirectory.resolve(UUID.randomUUID() + ".blob");
+    }
+    
+    private FileChannel openForWrite(Path path) throws IOException {
+        return FileChannel.open(path,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+    
+    private void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // On Windows a still-mapped file cannot be deleted; the startup sweep removes it
+            logger.debug("Could not delete blob {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: EngineFrame.java
+ * RESPONSIBILITY: Engine IPC message with binary attachments, and its wire codecs
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Carries a JSON header plus raw byte attachments between kernel and engine
+ * - Encodes/decodes the two negotiated framings:
+ *   - json-lines: one JSON object per line (attachments inlined as base64)
+ *   - frame-v1:   length-prefixed binary frames (attachments as raw bytes)
+ * 
+ * FRAME-V1 LAYOUT (all integers 32-bit big-endian, non-negative):
+ *   headerLength | attachmentCount | header (UTF-8 JSON)
+ *   followed by attachmentCount x ( length | bytes )
+ * Inside the header an attachment is referenced as {"$attachment": index}.
+ * 
+ * BOUNDARIES:
+ * - Pure codec: no process or pipe management (EngineProcessManager owns the pipes)
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Section 3.3
+ */
+package com.presso.kernel.engine;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An engine message: JSON header plus optional binary attachments.
+ */
+public final class EngineFrame {
+    
+    /** Framing name: newline-delimited JSON (always supported). */
+    public static final String FRAMING_JSON_LINES = "json-lines";
+    
+    /** Framing name: length-prefixed binary frames with raw attachments. */
+    public static final String FRAMING_BINARY_V1 = "frame-v1";
+    
+    /** Header key marking an attachment reference. */
+    public static final String ATTACHMENT_REF = "$attachment";
+    
+    // Sanity limits so a corrupt length prefix cannot trigger a huge allocation.
+    // Payloads beyond these travel as BlobStore files, not as frame attachments.
+    private static final int MAX_HEADER_BYTES = 64 * 1024 * 1024;
+    private static final int MAX_ATTACHMENT_BYTES = 256 * 1024 * 1024;
+    private static final long MAX_FRAME_ATTACHMENT_BYTES = 512L * 1024 * 1024;
+    private static final int MAX_ATTACHMENTS = 4096;
+    
+    private static final Gson GSON = new Gson();
+    
+    private final JsonObject header;
+    private final List<byte[]> attachments;
+    
+    /**
+     * Construct a frame without attachments.
+     * 
+     * @param header the JSON message
+     */
+    public EngineFrame(JsonObject header) {
+        this(header, List.of());
+    }
+    
+    /**
+     * Construct a frame.
+     * 
+     * @param header the JSON message; attachments are referenced as {"$attachment": index}
+     * @param attachments the binary attachments
+     */
+    public EngineFrame(JsonObject header, List<byte[]> attachments) {
+        this.header = header;
+        this.attachments = attachments == null ? List.of() : attachments;
+    }
+    
+    public JsonObject getHeader() {
+        return header;
+    }
+    
+    public List<byte[]> getAttachments() {
+        return Collections.unmodifiableList(attachments);
+    }
+    
+    /**
+     * Resolve an attachment reference.
+     * 
+     * @param reference a header element of the form {"$attachment": index}
+     * @return the attachment bytes, or null if the element is not a valid reference
+     */
+    public byte[] getAttachment(JsonElement reference) {
+        int index = attachmentIndex(reference);
+        return index >= 0 && index < attachments.size() ? attachments.get(index) : null;
+    }
+    
+    /**
+     * Create a header element referencing an attachment.
+     * 
+     * @param index the attachment index
+     * @return {"$attachment": index}
+     */
+    public static JsonObject attachmentRef(int index) {
+        JsonObject ref = new JsonObject();
+        ref.addProperty(ATTACHMENT_REF, index);
+        return ref;
+    }
+    
+    /**
+     * Get the header as plain JSON with attachments inlined as base64 strings.
+     * For callers that only understand JSON messages.
+     * 
+     * @return JSON message (the header itself if there are no attachments)
+     */
+    public JsonObject toJson() {
+        if (attachments.isEmpty()) {
+            return header;
+        }
+        return inlineAttachments(header.deepCopy()).getAsJsonObject();
+    }
+    
+    /**
+     * Check whether the frame's header identifies a framing acknowledgement.
+     * 
+     * @return the acknowledged framing name, or null
+     */
+    String framingAck() {
+        if (header.has("type") && "FRAMING_ACK".equals(header.get("type").getAsString())
+                && header.has("framing")) {
+            return header.get("framing").getAsString();
+        }
+        return null;
+    }
+    
+    // =========================================================================
+    // json-lines codec
+    // =========================================================================
+    
+    /**
+     * Encode as a single JSON line (without the trailing newline).
+     * 
+     * @return JSON text
+     */
+    public String toJsonLine() {
+        return GSON.toJson(toJson());
+    }
+    
+    /**
+     * Decode a JSON line.
+     * 
+     * @param line the JSON text
+     * @return the frame
+     */
+    public static EngineFrame fromJsonLine(String line) {
+        return new EngineFrame(GSON.fromJson(line, JsonObject.class));
+    }
+    
+    /**
+     * Read one newline-terminated UTF-8 line from a raw stream.
+     * Byte-wise so the stream can switch to binary frames right after the line.
+     * 
+     * @param in the input stream (should be buffered)
+     * @return the line without terminator, or null at end of stream
+     * @throws IOException on read failure
+     */
+    public static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                break;
+            }
+            buffer.write(b);
+        }
+        if (b == -1 && buffer.size() == 0) {
+            return null;
+        }
+        String line = buffer.toString(StandardCharsets.UTF_8);
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+    
+    // =========================================================================
+    // frame-v1 codec
+    // =========================================================================
+    
+    /**
+     * Write this frame in frame-v1 layout. Does not flush.
+     * 
+     * @param out the output stream
+     * @throws IOException on write failure
+     */
+    public void writeBinary(DataOutputStream out) throws IOException {
+        byte[] headerBytes = GSON.toJson(header).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(headerBytes.length);
+        out.writeInt(attachments.size());
+        out.write(headerBytes);
+        for (byte[] attachment : attachments) {
+            out.writeInt(attachment.length);
+            out.write(attachment);
+        }
+    }
+    
+    /**
+     * Read one frame-v1 frame.
+     * 
+     * @param in the input stream
+     * @return the frame, or null at a clean end of stream
+     * @throws IOException on read failure or a malformed frame
+     */
+    public static EngineFrame readBinary(DataInputStream in) throws IOException {
+        int headerLength;
+        try {
+            headerLength = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        int attachmentCount = in.readInt();
+        
+        if (headerLength < 0 || headerLength > MAX_HEADER_BYTES) {
+            throw new IOException("Invalid frame header length: " + headerLength);
+        }
+        if (attachmentCount < 0 || attachmentCount > MAX_ATTACHMENTS) {
+            throw new IOException("Invalid frame attachment count: " + attachmentCount);
+        }
+        
+        byte[] headerBytes = in.readNBytes(headerLength);
+        if (headerBytes.length != headerLength) {
+            throw new EOFException("Truncated frame header");
+        }
+        
+        List<byte[]> attachments = new ArrayList<>(attachmentCount);
+        long frameAttachmentBytes = 0;
+        for (int i = 0; i < attachmentCount; i++) {
+            int length = in.readInt();
+            if (length < 0 || length > MAX_ATTACHMENT_BYTES) {
+                throw new IOException("Invalid attachment length: " + length);
+            }
+            frameAttachmentBytes += length;
+            if (frameAttachmentBytes > MAX_FRAME_ATTACHMENT_BYTES) {
+                throw new IOException("Frame attachments exceed " + MAX_FRAME_ATTACHMENT_BYTES + " bytes");
+            }
+            byte[] data = in.readNBytes(length);
+            if (data.length != length) {
+                throw new EOFException("Truncated frame attachment");
+            }
+            attachments.add(data);
+        }
+        
+        JsonObject header = GSON.fromJson(new String(headerBytes, StandardCharsets.UTF_8), JsonObject.class);
+        return new EngineFrame(header, attachments);
+    }
+    
+    // =========================================================================
+    // Helpers
+    // =========================================================================
+    
+    private static int attachmentIndex(JsonElement element) {
+        if (element == null || !element.isJsonObject()) {
+            return -1;
+        }
+        JsonObject obj = element.getAsJsonObject();
+        if (obj.size() != 1 || !obj.has(ATTACHMENT_REF) || !obj.get(ATTACHMENT_REF).isJsonPrimitive()) {
+            return -1;
+        }
+        JsonPrimitive index = obj.getAsJsonPrimitive(ATTACHMENT_REF);
+        return index.isNumber() ? index.getAsInt() : -1;
+    }
+    
+    private JsonElement inlineAttachments(JsonElement element) {
+        int index = attachmentIndex(element);
+        if (index >= 0 && index < attachments.size()) {
+            return new JsonPrimitive(Base64.getEncoder().encodeToString(attachments.get(index)));
+        }
+        if (element.isJsonObject()) {
+            JsonObject obj = element.getAsJsonObject();
+            for (Map.Entry<String, JsonElement> entry : obj.entrySet()) {
+                entry.setValue(inlineAttachments(entry.getValue()));
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            for (int i = 0; i < array.size(); i++) {
+                array.set(i, inlineAttachments(array.get(i)));
+            }
+        }
+        return element;
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: EnginePool.java
+ * RESPONSIBILITY: Set of interchangeable processes for one engine type
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Holds N EngineProcess instances of the same EngineType
+ * - Selects the least-loaded healthy instance for dispatch
+ * - Tracks pool bounds (min/max instances) for grow/shrink decisions
+ * - Backs off spawning after consecutive failed spawns
+ * 
+ * BOUNDARIES:
+ * - Does NOT spawn or stop processes (EngineProcessManager does)
+ * - Does NOT contain business logic
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Section 4.2 (EngineProcessManager component)
+ */
+package com.presso.kernel.engine;
+
+import com.presso.kernel.engine.EngineProcessManager.EngineProcess;
+import com.presso.kernel.engine.EngineProcessManager.EngineType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of engine processes for a single engine type.
+ */
+public final class EnginePool {
+    
+    private final EngineType engineType;
+    private final int minInstances;
+    private final int maxInstances;
+    private final List<EngineProcess> instances = new CopyOnWriteArrayList<>();
+    
+    // Instances currently being spawned (counted against maxInstances)
+    private final AtomicInteger starting = new AtomicInteger(0);
+    
+    // Sequence for instance names (python#1, python#2, ...)
+    private final AtomicInteger instanceSequence = new AtomicInteger(0);
+    
+    // Set once the owning engine is stopping; no instance may join afterwards
+    private boolean closed = false;
+    
+    // Consecutive failed spawns and the earliest time of the next attempt (epoch millis)
+    private int spawnFailures = 0;
+    private long nextSpawnAt = 0;
+    
+    /**
+     * Construct an EnginePool.
+     * 
+     * @param engineType the engine type
+     * @param minInstances instances kept running at all times (at least 1)
+     * @param maxInstances upper bound when growing under load
+     */
+    public EnginePool(EngineType engineType, int minInstances, int maxInstances) {
+        this.engineType = engineType;
+        this.minInstances = Math.max(1, minInstances);
+        this.maxInstances = Math.max(this.minInstances, maxInstances);
+    }
+    
+    /**
+     * Select the healthy instance with the fewest outstanding requests.
+     * 
+     * @return least-loaded healthy instance, or null if none is available
+     */
+    public EngineProcess selectLeastLoaded() {
+        EngineProcess best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        for (EngineProcess instance : instances) {
+            if (!instance.isAlive() || !instance.isHealthy()) {
+                continue;
+            }
+            int load = instance.getInFlightCount();
+            if (load < bestLoad) {
+                best = instance;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Check whether every healthy instance is busy and the pool may grow.
+     * 
+     * @return true if a new instance should be started
+     */
+    public boolean shouldGrow() {
+        if (instances.size() + starting.get() >= maxInstances || !spawnBackoffElapsed()) {
+            return false;
+        }
+        if (starting.get() > 0) {
+            return false;  // One spawn at a time
+        }
+        for (EngineProcess instance : instances) {
+            if (instance.isAlive() && instance.isHealthy() && instance.getInFlightCount() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Reserve a slot for an instance about to be spawned.
+     * 
+     * @return true if the reservation fits under maxInstances
+     */
+    public boolean reserveSpawn() {
+        while (true) {
+            if (isClosed()) {
+                return false;
+            }
+            int current = starting.get();
+            if (instances.size() + current >= maxInstances) {
+                return false;
+            }
+            if (starting.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Release a spawn reservation (after the spawn succeeded or failed).
+     */
+    public void releaseSpawn() {
+        starting.decrementAndGet();
+    }
+    
+    /**
+     * Check whether live plus starting instances are below minInstances,
+     * i.e. a replacement is needed and none is already on its way.
+     * 
+     * @return true if another instance should be spawned to reach minInstances
+     */
+    public boolean needsReplacement() {
+        return instances.size() + starting.get() < minInstances;
+    }
+    
+    /**
+     * Record a failed spawn and push back the next attempt (exponential, capped).
+     * 
+     * @param baseDelayMs delay after the first failure
+     * @param maxDelayMs upper bound on the delay
+     * @return the delay until the next attempt
+     */
+    public synchronized long recordSpawnFailure(long baseDelayMs, long maxDelayMs) {
+        spawnFailures++;
+        long delay = Math.min(maxDelayMs, baseDelayMs << Math.min(spawnFailures - 1, 16));
+        nextSpawnAt = System.currentTimeMillis() + delay;
+        return delay;
+    }
+    
+    /**
+     * Record a successful spawn (clears the backoff).
+     */
+    public synchronized void recordSpawnSuccess() {
+        spawnFailures = 0;
+        nextSpawnAt = 0;
+    }
+    
+    /**
+     * Check whether the spawn backoff (if any) has elapsed.
+     * 
+     * @return true if a spawn may be attempted now
+     */
+    public synchronized boolean spawnBackoffElapsed() {
+        return System.currentTimeMillis() >= nextSpawnAt;
+    }
+    
+    public synchronized int getSpawnFailures() {
+        return spawnFailures;
+    }
+    
+    /**
+     * Allocate the next instance name.
+     * 
+     * @return instance name (e.g. "python#2")
+     */
+    public String nextInstanceName() {
+        return engineType.getName() + "#" + instanceSequence.incrementAndGet();
+    }
+    
+    /**
+     * Add a started instance to the pool.
+     * 
+     * @param instance the instance to add
+     * @return false if the pool is closed; the caller still owns the instance
+     */
+    public synchronized boolean add(EngineProcess instance) {
+        if (closed) {
+            return false;
+        }
+        instances.add(instance);
+        return true;
+    }
+    
+    /**
+     * Close the pool: later {@link #add} calls are refused, so an instance
+     * spawned concurrently with shutdown cannot outlive the drain.
+     */
+    public synchronized void close() {
+        closed = true;
+    }
+    
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+    
+    public boolean remove(EngineProcess instance) {
+        return instances.remove(instance);
+    }
+    
+    /**
+     * Get a snapshot of the pool's instances.
+     * 
+     * @return instances (copy)
+     */
+    public List<EngineProcess> getInstances() {
+        return new ArrayList<>(instances);
+    }
+    
+    /**
+     * Check if at least one instance can take requests.
+     * 
+     * @return true if a healthy instance exists
+     */
+    public boolean hasHealthyInstance() {
+        return selectLeastLoaded() != null;
+    }
+    
+    public int size() {
+        return instances.size();
+    }
+    
+    public EngineType getEngineType() {
+        return engineType;
+    }
+    
+    public int getMinInstances() {
+        return minInstances;
+    }
+    
+    public int getMaxInstances() {
+        return maxInstances;
+    }
+}
@@ -8,12 +8,20 @@
  * ARCHITECTURAL ROLE:
  * - Spawns engine processes (Python, Rust, Go)
  * - Monitors engine health via heartbeat
- * - Restarts crashed engines
+ * - Runs a pool of processes per engine (min/max instances from modules.json)
+ * - Routes each request to the least-loaded healthy instance
+ * - Replaces crashed instances; grows under load, shrinks when idle
  * - Manages stdin/stdout communication pipes
  * - Graceful shutdown with timeout
  * 
  * COMMUNICATION PROTOCOL:
  * - JSON-RPC 2.0 style messages via stdin/stdout
+ * - Framing negotiated after READY: json-lines, or length-prefixed frame-v1 with
+ *   raw binary attachments (see EngineFrame)
+ * - Multiplexed: many requests in flight per engine, responses matched by id
+ * - Requests may carry "deadline_ms" (epoch millis); a request that times out
+ *   is followed by a CANCEL frame ({"type": "CANCEL", "target_id": id}) so the
+ *   engine stops working on it
  * - Reference: PROJECT_DOCUMENTATION.md Section 3.3
  * 
  * ENGINE PATHS (per PROJECT_DOCUMENTATION.md Section 8.1):
@@ -31,14 +39,19 @@ package com.presso.kernel.engine;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.presso.kernel.event.EventBus;
+import com.presso.kernel.metrics.LatencyTracker;
 import com.presso.kernel.state.StateManager;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -46,10 +59,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Manages the lifecycle of engine subprocesses.
@@ -66,30 +85,65 @@ public final class EngineProcessManager {
     
     /**
      * Engine process wrapper containing process and I/O handles.
+     * <p>
+     * The stdin side is a multiplexed channel: callers enqueue frames and a single
+     * writer thread writes them, flushing once per drained batch, so concurrent
+     * senders never interleave lines. A bounded in-flight window (semaphore) limits
+     * outstanding requests; senders wait for a slot, which is the backpressure.
+     * </p>
+     * <p>
+     * Both pipes start in json-lines framing. After READY the kernel may switch
+     * to frame-v1 (see {@link EngineFrame}) if the engine advertises it.
+     * </p>
      */
     public static final class EngineProcess {
+        /**
+         * Partial-frame listener and idle clock of a streaming request.
+         */
+        private record StreamState(Consumer<EngineFrame> listener, AtomicLong lastFrameAt) {}
+        
+        // Sentinel queued to stop the writer (compared by identity)
+        private static final Object WRITER_STOP = new Object();
+        
         private final String engineName;
         private final Process process;
-        private final BufferedReader stdout;
+        private final DataInputStream stdout;
         private final BufferedReader stderr;
-        private final PrintWriter stdin;
-        private final Map<String, CompletableFuture<JsonObject>> pendingRequests;
+        private final DataOutputStream stdin;
+        private final Map<String, CompletableFuture<EngineFrame>> pendingRequests;
+        private final Map<String, StreamState> streams = new ConcurrentHashMap<>();
+        private final BlockingQueue<Object> outbound = new LinkedBlockingQueue<>();
+        private final Semaphore inFlightWindow;
+        private final int maxInFlight;
         private final Thread readerThread;
         private final Thread errorThread;
+        private final Thread writerThread;
         private volatile boolean healthy = false;
         private volatile boolean running = true;
+        private volatile long lastActivityAt = System.currentTimeMillis();
+        private final AtomicLong cancelsSent = new AtomicLong();
+        
+        // Current framing (both directions) and framings the engine advertised at READY
+        private volatile String framing = EngineFrame.FRAMING_JSON_LINES;
+        private volatile List<String> supportedFramings = List.of(EngineFrame.FRAMING_JSON_LINES);
         
         EngineProcess(String engineName, Process process, EventBus eventBus) {
+            this(engineName, process, eventBus, DEFAULT_MAX_IN_FLIGHT);
+        }
+        
+        EngineProcess(String engineName, Process process, EventBus eventBus, int maxInFlight) {
             this.engineName = engineName;
             this.process = process;
-            this.stdout = new BufferedReader(
-                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)
-            );
+            // Raw streams: the framing can switch from lines to binary frames mid-stream
+            this.stdout = new DataInputStream(new BufferedInputStream(process.getInputStream()));
             this.stderr = new BufferedReader(
                 new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8)
             );
-            this.stdin = new PrintWriter(process.getOutputStream(), true, StandardCharsets.UTF_8);
+            // No autoflush: the writer thread flushes once per batch
+            this.stdin = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
             this.pendingRequests = new ConcurrentHashMap<>();
+            this.maxInFlight = Math.max(1, maxInFlight);
+            this.inFlightWindow = new Semaphore(this.maxInFlight, true);
             
             // Start reader thread for stdout
             this.readerThread = Thread.ofVirtual()
@@ -100,6 +154,58 @@ public final class EngineProcessManager {
             this.errorThread = Thread.ofVirtual()
                 .name("engine-" + engineName + "-error")
                 .start(this::errorLoop);
+            
+            // Start writer thread for stdin (single owner of the pipe)
+            this.writerThread = Thread.ofVirtual()
+                .name("engine-" + engineName + "-writer")
+                .start(this::writeLoop);
+        }
+        
+        /**
+         * Write queued frames to engine stdin, flushing once per batch.
+         */
+        private void writeLoop() {
+            List<Object> batch = new ArrayList<>();
+            boolean stopping = false;
+            
+            while (!stopping) {
+                try {
+                    batch.add(outbound.take());
+                    outbound.drainTo(batch);
+                } catch (InterruptedException e) {
+                    outbound.drainTo(batch);
+                    stopping = true;
+                }
+                
+                try {
+                    for (Object item : batch) {
+                        if (item == WRITER_STOP) {
+                            stopping = true;
+                            break;
+                        }
+                        writeFrame((EngineFrame) item);
+                    }
+                    stdin.flush();
+                } catch (IOException e) {
+                    logger.error("[{}] Engine stdin closed, writer stopping: {}", engineName, e.getMessage());
+                    stopping = true;
+                }
+                batch.clear();
+            }
+            
+            logger.debug("[{}] Writer thread ended", engineName);
+        }
+        
+        /**
+         * Write one frame in the current framing. Does not flush.
+         */
+        private void writeFrame(EngineFrame frame) throws IOException {
+            if (EngineFrame.FRAMING_BINARY_V1.equals(framing)) {
+                frame.writeBinary(stdin);
+            } else {
+                stdin.write(frame.toJsonLine().getBytes(StandardCharsets.UTF_8));
+                stdin.write('\n');
+            }
         }
         
         /**
@@ -110,20 +216,38 @@ public final class EngineProcessManager {
             
             while (running && process.isAlive()) {
                 try {
-                    String line = stdout.readLine();
-                    
-                    if (line == null) {
-                        logger.info("[{}] Engine stdout closed", engineName);
-                        break;
-                    }
+                    EngineFrame frame;
                     
-                    if (line.isBlank()) {
-                        continue;
+                    if (EngineFrame.FRAMING_BINARY_V1.equals(framing)) {
+                        frame = EngineFrame.readBinary(stdout);
+                        if (frame == null) {
+                            logger.info("[{}] Engine stdout closed", engineName);
+                            break;
+                        }
+                    } else {
+                        String line = EngineFrame.readLine(stdout);
+                        
+                        if (line == null) {
+                            logger.info("[{}] Engine stdout closed", engineName);
+                            break;
+                        }
+                        
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        
+                        logger.debug("[{}] Received: {}", engineName, line);
+                        frame = EngineFrame.fromJsonLine(line);
                     }
                     
-                    logger.debug("[{}] Received: {}", engineName, line);
-                    handleResponse(line);
+                    handleResponse(frame);
                     
+                } catch (IOException e) {
+                    // A broken frame stream cannot be resynchronized
+                    if (running) {
+                        logger.error("[{}] Engine stream error: {}", engineName, e.getMessage());
+                    }
+                    break;
                 } catch (Exception e) {
                     if (running) {
                         logger.error("[{}] Error reading from engine: {}", engineName, e.getMessage());
@@ -131,9 +255,23 @@ public final class EngineProcessManager {
                 }
             }
             
+            // No more responses can arrive - fail outstanding requests now instead of at timeout
+            failPendingRequests(new IllegalStateException("Engine " + engineName + " stopped"));
             logger.debug("[{}] Reader thread ended", engineName);
         }
         
+        /**
+         * Complete all pending requests exceptionally.
+         */
+        private void failPendingRequests(Exception cause) {
+            for (String requestId : pendingRequests.keySet()) {
+                CompletableFuture<EngineFrame> future = pendingRequests.remove(requestId);
+                if (future != null) {
+                    future.completeExceptionally(cause);
+                }
+            }
+        }
+        
         /**
          * Read and log stderr output.
          */
@@ -159,26 +297,55 @@ public final class EngineProcessManager {
         }
         
         /**
-         * Handle a response line from the engine.
+         * Handle a response frame from the engine.
          */
-        private void handleResponse(String line) {
+        private void handleResponse(EngineFrame frame) {
             try {
-                JsonObject response = GSON.fromJson(line, JsonObject.class);
+                JsonObject response = frame.getHeader();
                 
                 // Check for READY signal
                 if (response.has("type") && "READY".equals(response.get("type").getAsString())) {
+                    if (response.has("framings") && response.get("framings").isJsonArray()) {
+                        List<String> framings = new ArrayList<>();
+                        response.getAsJsonArray("framings").forEach(f -> framings.add(f.getAsString()));
+                        supportedFramings = List.copyOf(framings);
+                    }
                     healthy = true;
-                    logger.info("[{}] Engine is ready", engineName);
+                    logger.info("[{}] Engine is ready (framings: {})", engineName, supportedFramings);
                     return;
                 }
                 
+                // Framing switch: the engine writes frames in the new framing right after the ack,
+                // so switch before the reader loops back for the next frame
+                String ackedFraming = frame.framingAck();
+                if (ackedFraming != null) {
+                    framing = ackedFraming;
+                }
+                
                 // Look for request ID to match pending request
-                if (response.has("id")) {
+                if (response.has("id") && !response.get("id").isJsonNull()) {
                     String requestId = response.get("id").getAsString();
-                    CompletableFuture<JsonObject> future = pendingRequests.remove(requestId);
+                    
+                    // Progress/chunk frames precede the final response and do not complete it
+                    if (isStreamFrame(response)) {
+                        StreamState stream = streams.get(requestId);
+                        if (stream != null) {
+                            stream.lastFrameAt().set(System.currentTimeMillis());
+                            try {
+                                stream.listener().accept(frame);
+                            } catch (Exception e) {
+                                logger.warn("[{}] Stream listener failed for {}: {}", engineName, requestId, e.getMessage());
+                            }
+                        } else {
+                            logger.debug("[{}] Dropping stream frame for {}", engineName, requestId);
+                        }
+                        return;
+                    }
+                    
+                    CompletableFuture<EngineFrame> future = pendingRequests.remove(requestId);
                     
                     if (future != null) {
-                        future.complete(response);
+                        future.complete(frame);
                     } else {
                         logger.debug("[{}] Unsolicited response: {}", engineName, requestId);
                     }
@@ -190,9 +357,94 @@ public final class EngineProcessManager {
         }
         
         /**
-         * Send a message and wait for response.
+         * Check whether a frame is an intermediate stream frame (PROGRESS or CHUNK).
+         */
+        private static boolean isStreamFrame(JsonObject response) {
+            if (!response.has("type") || !response.get("type").isJsonPrimitive()) {
+                return false;
+            }
+            String type = response.get("type").getAsString();
+            return "PROGRESS".equals(type) || "CHUNK".equals(type);
+        }
+        
+        /**
+         * Send a message and wait for response (timeoutMs, or the message's deadline_ms if it has one).
          */
         public JsonObject sendAndReceive(JsonObject message, long timeoutMs) throws Exception {
+            CompletableFuture<JsonObject> future = sendAsync(message, timeoutMs);
+            
+            // Wait for response; sendFrameAsync always arms a timeout on the future
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof TimeoutException) {
+                    throw new TimeoutException(cause.getMessage() != null
+                        ? cause.getMessage()
+                        : "Engine " + engineName + " did not respond in time");
+                }
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+        }
+        
+        /**
+         * Send a message without blocking for the response.
+         * Attachments in the response are inlined as base64 (see {@link EngineFrame#toJson()}).
+         * 
+         * @param message the message (an id is assigned if missing)
+         * @param timeoutMs timeout for both the window wait and the response
+         * @return future completed with the engine response
+         * @throws TimeoutException if no window slot frees up in time
+         * @throws InterruptedException if interrupted while waiting for a slot
+         */
+        public CompletableFuture<JsonObject> sendAsync(JsonObject message, long timeoutMs)
+                throws TimeoutException, InterruptedException {
+            return sendFrameAsync(new EngineFrame(message), timeoutMs).thenApply(EngineFrame::toJson);
+        }
+        
+        /**
+         * Send a frame (JSON header plus binary attachments) without blocking for the response.
+         * <p>
+         * Waits for a slot in the in-flight window (backpressure). The returned
+         * future completes with the response, or exceptionally on timeout or
+         * engine exit; the window slot is released either way.
+         * </p>
+         * 
+         * @param frame the frame (an id is assigned to its header if missing)
+         * @param timeoutMs timeout for both the window wait and the response
+         * @return future completed with the engine response frame
+         * @throws TimeoutException if no window slot frees up in time
+         * @throws InterruptedException if interrupted while waiting for a slot
+         */
+        public CompletableFuture<EngineFrame> sendFrameAsync(EngineFrame frame, long timeoutMs)
+                throws TimeoutException, InterruptedException {
+            return sendFrameAsync(frame, timeoutMs, null);
+        }
+        
+        /**
+         * Send a frame and receive intermediate PROGRESS/CHUNK frames before the final response.
+         * <p>
+         * With a listener, the timeout is an idle timeout: every stream frame restarts it,
+         * so long operations that keep reporting progress do not time out.
+         * </p>
+         * <p>
+         * If the header carries "deadline_ms", a request whose deadline has passed is
+         * not sent, and the deadline replaces {@code timeoutMs}: the window wait and the
+         * response (streaming or not) get exactly the time left until the deadline.
+         * A request that times out is followed by a CANCEL frame to the engine.
+         * </p>
+         * 
+         * @param frame the frame (an id is assigned to its header if missing)
+         * @param timeoutMs timeout for the window wait, and for the response (idle time when streaming),
+         *                  used only when the header has no deadline
+         * @param onPartial listener for stream frames (called on the reader thread), or null
+         * @return future completed with the final engine response frame
+         * @throws TimeoutException if no window slot frees up in time
+         * @throws InterruptedException if interrupted while waiting for a slot
+         */
+        public CompletableFuture<EngineFrame> sendFrameAsync(EngineFrame frame, long timeoutMs,
+                Consumer<EngineFrame> onPartial) throws TimeoutException, InterruptedException {
+            JsonObject message = frame.getHeader();
             String requestId = message.has("id") 
                 ? message.get("id").getAsString() 
                 : UUID.randomUUID().toString();
@@ -201,32 +453,204 @@ public final class EngineProcessManager {
                 message.addProperty("id", requestId);
             }
             
-            CompletableFuture<JsonObject> future = new CompletableFuture<>();
-            pendingRequests.put(requestId, future);
-            
-            // Send message
-            String json = GSON.toJson(message);
-            logger.debug("[{}] Sending: {}", engineName, json);
-            stdin.println(json);
-            stdin.flush();
+            // Deadline: checked before dispatch, and replaces the default timeout for the window wait and the response
+            long deadlineMs = message.has("deadline_ms") && message.get("deadline_ms").isJsonPrimitive()
+                ? message.get("deadline_ms").getAsLong()
+                : Long.MAX_VALUE;
+            boolean hasDeadline = deadlineMs != Long.MAX_VALUE;
+            long windowWaitMs = hasDeadline ? remainingMs(requestId, deadlineMs) : timeoutMs;
             
-            // Wait for response
+            if (!inFlightWindow.tryAcquire(windowWaitMs, TimeUnit.MILLISECONDS)) {
+                if (hasDeadline && System.currentTimeMillis() >= deadlineMs) {
+                    throw new TimeoutException("Deadline exceeded before dispatch of " + requestId);
+                }
+                throw new TimeoutException("Engine " + engineName + " in-flight window full (" + maxInFlight + ")");
+            }
+            long remainingMs;
             try {
-                return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+                remainingMs = remainingMs(requestId, deadlineMs);
             } catch (TimeoutException e) {
-                pendingRequests.remove(requestId);
-                throw new TimeoutException("Engine " + engineName + " did not respond within " + timeoutMs + "ms");
+                inFlightWindow.release();
+                throw e;
+            }
+            
+            CompletableFuture<EngineFrame> future = new CompletableFuture<>();
+            if (pendingRequests.putIfAbsent(requestId, future) != null) {
+                inFlightWindow.release();
+                throw new IllegalStateException("Duplicate in-flight request id: " + requestId);
             }
+            
+            lastActivityAt = System.currentTimeMillis();
+            if (onPartial != null) {
+                streams.put(requestId, new StreamState(onPartial, new AtomicLong(System.currentTimeMillis())));
+            }
+            if (hasDeadline) {
+                future.orTimeout(remainingMs, TimeUnit.MILLISECONDS);  // Progress does not extend a deadline
+            } else if (onPartial != null) {
+                armIdleTimeout(requestId, future, streams.get(requestId), timeoutMs);
+            } else {
+                future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+            }
+            future.whenComplete((response, error) -> {
+                pendingRequests.remove(requestId, future);
+                streams.remove(requestId);
+                inFlightWindow.release();
+                lastActivityAt = System.currentTimeMillis();
+                if (error instanceof TimeoutException) {
+                    // Nobody waits for the result any more; let the engine drop the work
+                    sendCancel(requestId);
+                }
+            });
+            
+            // Send message
+            if (logger.isDebugEnabled()) {
+                logger.debug("[{}] Sending: {} (+{} attachments)", engineName,
+                    GSON.toJson(message), frame.getAttachments().size());
+            }
+            outbound.add(frame);
+            
+            return future;
+        }
+        
+        /**
+         * Milliseconds left until a request's deadline (Long.MAX_VALUE if it has none).
+         * 
+         * @throws TimeoutException if the deadline has already passed
+         */
+        private static long remainingMs(String requestId, long deadlineMs) throws TimeoutException {
+            if (deadlineMs == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long remaining = deadlineMs - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new TimeoutException("Deadline exceeded before dispatch of " + requestId);
+            }
+            return remaining;
+        }
+        
+        /**
+         * Ask the engine to abandon a request (fire-and-forget; the engine does not reply).
+         */
+        private void sendCancel(String requestId) {
+            if (!running || !process.isAlive()) {
+                return;
+            }
+            JsonObject cancel = new JsonObject();
+            cancel.addProperty("type", "CANCEL");
+            cancel.addProperty("target_id", requestId);
+            send(cancel);
+            cancelsSent.incrementAndGet();
+            logger.debug("[{}] Cancel sent for timed-out request {}", engineName, requestId);
+        }
+        
+        /**
+         * Fail a streaming request once no frame has arrived for timeoutMs.
+         */
+        private void armIdleTimeout(String requestId, CompletableFuture<EngineFrame> future,
+                StreamState stream, long timeoutMs) {
+            long idle = System.currentTimeMillis() - stream.lastFrameAt().get();
+            long delay = Math.max(1, timeoutMs - idle);
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                if (System.currentTimeMillis() - stream.lastFrameAt().get() >= timeoutMs) {
+                    future.completeExceptionally(new TimeoutException(
+                        "Engine " + engineName + " sent nothing for " + timeoutMs + "ms on " + requestId));
+                } else {
+                    armIdleTimeout(requestId, future, stream, timeoutMs);
+                }
+            });
         }
         
         /**
          * Send a message without waiting for response.
          */
         public void send(JsonObject message) {
-            String json = GSON.toJson(message);
-            logger.debug("[{}] Sending (no-wait): {}", engineName, json);
-            stdin.println(json);
-            stdin.flush();
+            if (logger.isDebugEnabled()) {
+                logger.debug("[{}] Sending (no-wait): {}", engineName, GSON.toJson(message));
+            }
+            outbound.add(new EngineFrame(message));
+        }
+        
+        /**
+         * Switch the pipe to a different framing if the engine supports it.
+         * Must be called before any other request is in flight (right after READY).
+         * 
+         * @param requested the preferred framing
+         * @param timeoutMs how long to wait for the engine's acknowledgement
+         * @return the framing in effect afterwards
+         */
+        String negotiateFraming(String requested, long timeoutMs) {
+            if (requested == null || requested.equals(framing) || !supportedFramings.contains(requested)) {
+                return framing;
+            }
+            
+            JsonObject request = new JsonObject();
+            request.addProperty("id", "framing_" + System.currentTimeMillis());
+            request.addProperty("type", "SET_FRAMING");
+            request.addProperty("framing", requested);
+            
+            try {
+                EngineFrame ack = sendFrameAsync(new EngineFrame(request), timeoutMs)
+                    .get(timeoutMs, TimeUnit.MILLISECONDS);
+                if (requested.equals(ack.framingAck())) {
+                    logger.info("[{}] Switched IPC framing to {}", engineName, requested);
+                } else {
+                    logger.warn("[{}] Engine declined framing {}, staying on {}", engineName, requested, framing);
+                }
+            } catch (Exception e) {
+                logger.warn("[{}] Framing negotiation failed, staying on {}: {}", engineName, framing, e.getMessage());
+            }
+            return framing;
+        }
+        
+        /**
+         * Get the IPC framing currently in use.
+         * 
+         * @return framing name
+         */
+        public String getFraming() {
+            return framing;
+        }
+        
+        /**
+         * Get the number of requests awaiting a response.
+         * 
+         * @return in-flight request count
+         */
+        public int getInFlightCount() {
+            return pendingRequests.size();
+        }
+        
+        /**
+         * Get the number of CANCEL frames sent for timed-out requests.
+         * 
+         * @return cancel count
+         */
+        public long getCancelsSent() {
+            return cancelsSent.get();
+        }
+        
+        /**
+         * Get the in-flight window size.
+         * 
+         * @return maximum outstanding requests
+         */
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+        
+        /**
+         * Get how long this process has had no outstanding requests.
+         * 
+         * @return idle time in ms (0 while requests are in flight)
+         */
+        public long getIdleMillis() {
+            if (!pendingRequests.isEmpty()) {
+                return 0;
+            }
+            return System.currentTimeMillis() - lastActivityAt;
         }
         
         public String getName() { return engineName; }
@@ -240,9 +664,11 @@ public final class EngineProcessManager {
         
         /**
          * Stop the reader threads.
+         * The writer finishes frames already queued (e.g. SHUTDOWN) before it stops.
          */
         public void stopReaders() {
             running = false;
+            outbound.add(WRITER_STOP);
             readerThread.interrupt();
             errorThread.interrupt();
         }
@@ -276,15 +702,35 @@ public final class EngineProcessManager {
     private static final long MESSAGE_TIMEOUT_MS = 30000;
     private static final long READY_TIMEOUT_MS = 10000;
     
+    // Default bound on outstanding requests per engine process
+    private static final int DEFAULT_MAX_IN_FLIGHT = 32;
+    
+    // Pool maintenance: crash replacement and idle shrink
+    private static final long POOL_MAINTENANCE_INTERVAL_MS = 2000;
+    private static final long DEFAULT_IDLE_SHRINK_MS = 60000;
+    
+    // Failed spawns back off exponentially from the maintenance interval up to this bound
+    private static final long MAX_SPAWN_BACKOFF_MS = 60000;
+    
     private final EventBus eventBus;
     private final StateManager stateManager;
     
-    // Active engine processes
-    private final Map<String, EngineProcess> engines = new ConcurrentHashMap<>();
+    // Active engine pools: engine name -> pool of processes
+    private final Map<String, EnginePool> pools = new ConcurrentHashMap<>();
+    
+    // Pool maintenance thread
+    private volatile boolean maintenanceRunning = false;
+    private Thread maintenanceThread;
     
     // Application base path for engine scripts
     private Path appBasePath;
     
+    // Shared temp-file handoff for large payloads (cache/blobs)
+    private final BlobStore blobStore;
+    
+    // Round-trip latency sketches (optional)
+    private volatile LatencyTracker latencyTracker;
+    
     /**
      * Construct an EngineProcessManager.
      * 
@@ -303,6 +749,8 @@ public final class EngineProcessManager {
             appBasePath = appBasePath.getParent();
         }
         
+        this.blobStore = new BlobStore(stateManager.getBasePath().resolve("cache").resolve("blobs"));
+        
         logger.debug("EngineProcessManager created, appBasePath={}", appBasePath);
     }
     
@@ -314,6 +762,8 @@ public final class EngineProcessManager {
     public void startAllEngines() throws Exception {
         logger.info("Starting all engines...");
         
+        blobStore.initialize();
+        
         // Start Python engine
         boolean pythonEnabled = stateManager.getConfig("engine.python.enabled", true);
         
@@ -344,11 +794,18 @@ public final class EngineProcessManager {
         
         // TODO (Phase 4 Step 2+): Start Rust engine
         
-        logger.info("Engine startup complete, {} engines running", engines.size());
+        startPoolMaintenance();
+        
+        logger.info("Engine startup complete, {} engines running", getRunningEngineCount());
     }
     
     /**
      * Start a specific engine.
+     * <p>
+     * Creates the engine's pool and starts its minimum number of instances
+     * (engine.&lt;name&gt;.minInstances). The pool grows on demand up to
+     * engine.&lt;name&gt;.maxInstances.
+     * </p>
      * 
      * @param engineType the engine type to start
      * @throws Exception if the engine fails to start
@@ -356,56 +813,124 @@ public final class EngineProcessManager {
     public void startEngine(EngineType engineType) throws Exception {
         String engineName = engineType.getName();
         
-        if (engines.containsKey(engineName)) {
+        if (pools.containsKey(engineName)) {
             logger.warn("Engine {} already running", engineName);
             return;
         }
         
-        logger.info("Starting engine: {}", engineName);
-        
-        // Build command based on engine type
-        List<String> command = buildEngineCommand(engineType);
-        
-        if (command == null || command.isEmpty()) {
-            throw new IllegalStateException("Cannot build command for engine: " + engineName);
-        }
-        
-        logger.debug("Engine command: {}", String.join(" ", command));
-        
-        // Create process builder
-        ProcessBuilder pb = new ProcessBuilder(command);
-        pb.directory(appBasePath.toFile());
+        int minInstances = readInt("engine." + engineName + ".minInstances", 1);
+        int maxInstances = readInt("engine." + engineName + ".maxInstances", minInstances);
+        EnginePool pool = new EnginePool(engineType, minInstances, maxInstances);
         
-        // Don't redirect error stream - we read it separately
-        pb.redirectErrorStream(false);
+        logger.info("Starting engine: {} (instances {}..{})", engineName,
+            pool.getMinInstances(), pool.getMaxInstances());
         
-        // Start the process
-        Process process = pb.start();
+        // First instance synchronously: startup failures surface to the caller as before
+        spawnInstance(pool);
+        pools.put(engineName, pool);
         
-        // Create engine wrapper
-        EngineProcess engineProcess = new EngineProcess(engineName, process, eventBus);
-        engines.put(engineName, engineProcess);
+        for (int i = 1; i < pool.getMinInstances(); i++) {
+            spawnInstanceAsync(pool);
+        }
         
-        // Wait for READY signal
-        logger.debug("Waiting for engine {} to be ready...", engineName);
-        long startTime = System.currentTimeMillis();
+        eventBus.publish("engine.started", engineName);
+    }
+    
+    /**
+     * Spawn one engine process into a pool and wait for its READY signal.
+     * 
+     * @param pool the pool to add the instance to
+     * @return the started instance
+     * @throws Exception if the process fails to start or become ready
+     */
+    private EngineProcess spawnInstance(EnginePool pool) throws Exception {
+        EngineType engineType = pool.getEngineType();
+        String engineName = engineType.getName();
         
-        while (!engineProcess.isHealthy() && engineProcess.isAlive()) {
-            if (System.currentTimeMillis() - startTime > READY_TIMEOUT_MS) {
-                logger.error("Engine {} did not become ready within timeout", engineName);
-                stopEngine(engineName);
-                throw new TimeoutException("Engine " + engineName + " startup timeout");
-            }
-            Thread.sleep(100);
+        if (!pool.reserveSpawn()) {
+            throw new IllegalStateException("Engine pool " + engineName + " is at maxInstances");
         }
         
-        if (!engineProcess.isAlive()) {
-            engines.remove(engineName);
-            throw new IllegalStateException("Engine " + engineName + " died during startup");
+        try {
+            // Build command based on engine type
+            List<String> command = buildEngineCommand(engineType);
+            
+            if (command == null || command.isEmpty()) {
+                throw new IllegalStateException("Cannot build command for engine: " + engineName);
+            }
+            
+            logger.debug("Engine command: {}", String.join(" ", command));
+            
+            // Create process builder
+            ProcessBuilder pb = new ProcessBuilder(command);
+            pb.directory(appBasePath.toFile());
+            
+            // Don't redirect error stream - we read it separately
+            pb.redirectErrorStream(false);
+            
+            // Start the process
+            Process process = pb.start();
+            
+            // Create engine wrapper
+            String instanceName = pool.nextInstanceName();
+            int maxInFlight = readInt("engine." + engineName + ".maxInFlight", DEFAULT_MAX_IN_FLIGHT);
+            EngineProcess engineProcess = new EngineProcess(instanceName, process, eventBus, maxInFlight);
+            
+            // Wait for READY signal
+            logger.debug("Waiting for engine {} to be ready...", instanceName);
+            long startTime = System.currentTimeMillis();
+            
+            while (!engineProcess.isHealthy() && engineProcess.isAlive()) {
+                if (System.currentTimeMillis() - startTime > READY_TIMEOUT_MS) {
+                    logger.error("Engine {} did not become ready within timeout", instanceName);
+                    stopInstance(engineProcess);
+                    throw new TimeoutException("Engine " + instanceName + " startup timeout");
+                }
+                Thread.sleep(100);
+            }
+            
+            if (!engineProcess.isAlive()) {
+                engineProcess.stopReaders();
+                throw new IllegalStateException("Engine " + instanceName + " died during startup");
+            }
+            
+            String framing = stateManager.getConfig("engine." + engineName + ".framing",
+                EngineFrame.FRAMING_BINARY_V1);
+            engineProcess.negotiateFraming(framing, READY_TIMEOUT_MS);
+            
+            if (!pool.add(engineProcess)) {
+                // Engine was stopped while this instance was starting
+                stopInstance(engineProcess);
+                throw new IllegalStateException("Engine pool " + engineName + " is closed");
+            }
+            logger.info("Engine {} started and ready (PID: {}, pool size: {})",
+                instanceName, process.pid(), pool.size());
+            return engineProcess;
+            
+        } finally {
+            pool.releaseSpawn();
         }
-        
-        eventBus.publish("engine.started", engineName);
-        logger.info("Engine {} started and ready (PID: {})", engineName, process.pid());
+    }
+    
+    /**
+     * Spawn an instance in the background (pool growth, crash replacement).
+     */
+    private void spawnInstanceAsync(EnginePool pool) {
+        Thread.ofVirtual().name("engine-" + pool.getEngineType().getName() + "-spawn").start(() -> {
+            try {
+                spawnInstance(pool);
+                pool.recordSpawnSuccess();
+                eventBus.publish("engine.pool.grown", pool.getEngineType().getName());
+            } catch (Exception e) {
+                if (pool.isClosed()) {
+                    logger.debug("Discarded {} engine instance: engine stopped", pool.getEngineType().getName());
+                } else {
+                    long delay = pool.recordSpawnFailure(POOL_MAINTENANCE_INTERVAL_MS, MAX_SPAWN_BACKOFF_MS);
+                    logger.error("Failed to add {} engine instance (attempt {}, next in {}ms): {}",
+                        pool.getEngineType().getName(), pool.getSpawnFailures(), delay, e.getMessage());
+                }
+            }
+        });
     }
     
     /**
@@ -455,13 +980,88 @@ public final class EngineProcessManager {
         return command;
     }
     
+    /**
+     * Start the pool maintenance loop (crash replacement, idle shrink).
+     */
+    private void startPoolMaintenance() {
+        if (maintenanceRunning) {
+            return;
+        }
+        maintenanceRunning = true;
+        maintenanceThread = Thread.ofVirtual().name("engine-pool-maintenance").start(() -> {
+            while (maintenanceRunning) {
+                try {
+                    Thread.sleep(POOL_MAINTENANCE_INTERVAL_MS);
+                    for (EnginePool pool : pools.values()) {
+                        maintainPool(pool);
+                    }
+                } catch (InterruptedException e) {
+                    break;
+                } catch (Exception e) {
+                    logger.error("Engine pool maintenance error: {}", e.getMessage());
+                }
+            }
+        });
+    }
+    
+    /**
+     * Replace crashed instances and stop idle surplus instances.
+     * 
+     * @param pool the pool to maintain
+     */
+    private void maintainPool(EnginePool pool) {
+        String engineName = pool.getEngineType().getName();
+        
+        // Crash replacement
+        for (EngineProcess instance : pool.getInstances()) {
+            if (!instance.isAlive()) {
+                pool.remove(instance);
+                instance.stopReaders();
+                logger.warn("Engine {} exited unexpectedly (pool size: {})", instance.getName(), pool.size());
+                eventBus.publish("engine.crashed", instance.getName());
+            }
+        }
+        // Spawns already in progress count toward minInstances; failed replacements back off
+        if (pool.needsReplacement() && pool.spawnBackoffElapsed()) {
+            spawnInstanceAsync(pool);
+        }
+        
+        // Idle shrink: at most one instance per pass, never below minInstances
+        long idleShrinkMs = readInt("engine." + engineName + ".idleShrinkMs", (int) DEFAULT_IDLE_SHRINK_MS);
+        if (pool.size() > pool.getMinInstances()) {
+            for (EngineProcess instance : pool.getInstances()) {
+                if (instance.getIdleMillis() >= idleShrinkMs && pool.remove(instance)) {
+                    logger.info("Shrinking {} pool: stopping idle instance {}", engineName, instance.getName());
+                    stopInstance(instance);
+                    eventBus.publish("engine.pool.shrunk", engineName);
+                    break;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Grow the pool in the background if every instance is busy.
+     */
+    private void maybeGrow(EnginePool pool) {
+        if (pool.shouldGrow()) {
+            logger.debug("All {} instances busy, growing pool", pool.getEngineType().getName());
+            spawnInstanceAsync(pool);
+        }
+    }
+    
     /**
      * Stop all running engines.
      */
     public void stopAllEngines() {
         logger.info("Stopping all engines...");
         
-        for (String engineName : engines.keySet()) {
+        maintenanceRunning = false;
+        if (maintenanceThread != null) {
+            maintenanceThread.interrupt();
+        }
+        
+        for (String engineName : pools.keySet()) {
             try {
                 stopEngine(engineName);
             } catch (Exception e) {
@@ -469,23 +1069,55 @@ public final class EngineProcessManager {
             }
         }
         
+        // Engines are gone: no one can still be reading a blob
+        blobStore.close();
+        
         logger.info("All engines stopped");
     }
     
     /**
-     * Stop a specific engine gracefully.
+     * Stop a specific engine (all of its instances) gracefully.
      * 
      * @param engineName the engine to stop
      */
     public void stopEngine(String engineName) {
-        EngineProcess engineProcess = engines.remove(engineName);
+        EnginePool pool = pools.remove(engineName);
         
-        if (engineProcess == null) {
+        if (pool == null) {
             logger.debug("Engine {} not running", engineName);
             return;
         }
         
-        logger.info("Stopping engine: {}", engineName);
+        logger.info("Stopping engine: {} ({} instances)", engineName, pool.size());
+        
+        // Close before draining so an in-flight spawn cannot add an instance we never stop
+        pool.close();
+        
+        // Stop instances in parallel so shutdown time does not scale with pool size
+        List<Thread> stoppers = new ArrayList<>();
+        for (EngineProcess instance : pool.getInstances()) {
+            pool.remove(instance);
+            stoppers.add(Thread.ofVirtual().start(() -> stopInstance(instance)));
+        }
+        for (Thread stopper : stoppers) {
+            try {
+                stopper.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        eventBus.publish("engine.stopped", engineName);
+        logger.info("Engine {} stopped", engineName);
+    }
+    
+    /**
+     * Stop a single engine process gracefully.
+     * 
+     * @param engineProcess the instance to stop
+     */
+    private void stopInstance(EngineProcess engineProcess) {
+        String instanceName = engineProcess.getName();
         
         try {
             // Send shutdown command
@@ -502,15 +1134,14 @@ public final class EngineProcessManager {
                 .waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
             
             if (!terminated) {
-                logger.warn("Engine {} did not terminate gracefully, forcing", engineName);
+                logger.warn("Engine {} did not terminate gracefully, forcing", instanceName);
                 engineProcess.getProcess().destroyForcibly();
             }
             
-            eventBus.publish("engine.stopped", engineName);
-            logger.info("Engine {} stopped", engineName);
+            logger.debug("Engine instance {} stopped", instanceName);
             
         } catch (Exception e) {
-            logger.error("Error stopping engine {}: {}", engineName, e.getMessage());
+            logger.error("Error stopping engine {}: {}", instanceName, e.getMessage());
             engineProcess.getProcess().destroyForcibly();
         }
     }
@@ -519,11 +1150,11 @@ public final class EngineProcessManager {
      * Check if an engine is available and healthy.
      * 
      * @param engineName the engine name
-     * @return true if the engine is running and healthy
+     * @return true if at least one instance is running and healthy
      */
     public boolean isEngineAvailable(String engineName) {
-        EngineProcess engine = engines.get(engineName.toLowerCase());
-        return engine != null && engine.isAlive() && engine.isHealthy();
+        EnginePool pool = pools.get(engineName.toLowerCase());
+        return pool != null && pool.hasHealthyInstance();
     }
     
     /**
@@ -535,17 +1166,133 @@ public final class EngineProcessManager {
      * @throws Exception if communication fails
      */
     public JsonObject sendMessage(String engineName, JsonObject message) throws Exception {
-        EngineProcess engineProcess = engines.get(engineName.toLowerCase());
+        EngineProcess engineProcess = requireHealthyEngine(engineName);
+        long startNanos = System.nanoTime();
+        try {
+            return engineProcess.sendAndReceive(message, MESSAGE_TIMEOUT_MS);
+        } finally {
+            recordLatency(engineName, message, startNanos);
+        }
+    }
+    
+    /**
+     * Send a message to an engine without blocking for the response.
+     * Requests are pipelined on the engine's multiplexed channel.
+     * 
+     * @param engineName the target engine
+     * @param message the JSON message to send
+     * @return future completed with the response JSON object
+     * @throws Exception if the engine is unavailable or its in-flight window stays full
+     */
+    public CompletableFuture<JsonObject> sendMessageAsync(String engineName, JsonObject message) throws Exception {
+        long startNanos = System.nanoTime();
+        return timed(engineName, message, startNanos, requireHealthyEngine(engineName).sendAsync(message, MESSAGE_TIMEOUT_MS));
+    }
+    
+    /**
+     * Send a message to an engine and receive its stream frames before the final response.
+     * The engine is asked to stream via "stream": true in the message.
+     * 
+     * @param engineName the target engine
+     * @param message the JSON message to send
+     * @param onPartial listener for PROGRESS/CHUNK frames (JSON, attachments inlined)
+     * @return future completed with the final response JSON object
+     * @throws Exception if the engine is unavailable or its in-flight window stays full
+     */
+    public CompletableFuture<JsonObject> sendMessageAsync(String engineName, JsonObject message,
+            Consumer<JsonObject> onPartial) throws Exception {
+        message.addProperty("stream", true);
+        long startNanos = System.nanoTime();
+        return timed(engineName, message, startNanos, requireHealthyEngine(engineName)
+            .sendFrameAsync(new EngineFrame(message), MESSAGE_TIMEOUT_MS, frame -> onPartial.accept(frame.toJson()))
+            .thenApply(EngineFrame::toJson));
+    }
+    
+    /**
+     * Send a frame with binary attachments to an engine without blocking for the response.
+     * On engines using json-lines framing, attachments travel as base64.
+     * 
+     * @param engineName the target engine
+     * @param frame the frame to send
+     * @return future completed with the response frame
+     * @throws Exception if the engine is unavailable or its in-flight window stays full
+     */
+    public CompletableFuture<EngineFrame> sendFrameAsync(String engineName, EngineFrame frame) throws Exception {
+        long startNanos = System.nanoTime();
+        return timed(engineName, frame.getHeader(), startNanos, requireHealthyEngine(engineName).sendFrameAsync(frame, MESSAGE_TIMEOUT_MS));
+    }
+    
+    /**
+     * Set the tracker that receives per-engine and per-operation round-trip latencies.
+     * 
+     * @param latencyTracker the tracker, or null to stop recording
+     */
+    public void setLatencyTracker(LatencyTracker latencyTracker) {
+        this.latencyTracker = latencyTracker;
+    }
+    
+    /**
+     * Record the round trip of an async request when its future settles (including failures).
+     */
+    private <T> CompletableFuture<T> timed(String engineName, JsonObject message, long startNanos,
+            CompletableFuture<T> future) {
+        if (latencyTracker == null) {
+            return future;
+        }
+        return future.whenComplete((result, error) -> recordLatency(engineName, message, startNanos));
+    }
+    
+    /**
+     * Record one round trip under the engine and under its operation type.
+     */
+    private void recordLatency(String engineName, JsonObject message, long startNanos) {
+        LatencyTracker tracker = latencyTracker;
+        if (tracker == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        String engine = engineName.toLowerCase();
+        tracker.record(LatencyTracker.KIND_ENGINE, engine, elapsed);
+        if (message != null && message.has("type") && message.get("type").isJsonPrimitive()) {
+            tracker.record(LatencyTracker.KIND_OPERATION, engine + "/" + message.get("type").getAsString(), elapsed);
+        }
+    }
+    
+    /**
+     * Get the blob store used to hand large payloads to engines by file handle.
+     * 
+     * @return the blob store
+     */
+    public BlobStore getBlobStore() {
+        return blobStore;
+    }
+    
+    /**
+     * Pick the least-loaded healthy instance of an engine.
+     * Triggers background pool growth when every instance is busy.
+     */
+    private EngineProcess requireHealthyEngine(String engineName) {
+        EnginePool pool = pools.get(engineName.toLowerCase());
         
-        if (engineProcess == null || !engineProcess.isAlive()) {
+        if (pool == null || pool.size() == 0) {
             throw new IllegalStateException("Engine not available: " + engineName);
         }
         
-        if (!engineProcess.isHealthy()) {
+        EngineProcess engineProcess = pool.selectLeastLoaded();
+        if (engineProcess == null) {
             throw new IllegalStateException("Engine not healthy: " + engineName);
         }
         
-        return engineProcess.sendAndReceive(message, MESSAGE_TIMEOUT_MS);
+        maybeGrow(pool);
+        return engineProcess;
+    }
+    
+    /**
+     * Read an integer config value, tolerating doubles.
+     */
+    private int readInt(String key, int defaultValue) {
+        Object value = stateManager.getConfig(key, defaultValue);
+        return value instanceof Number number ? number.intValue() : defaultValue;
     }
     
     /**
@@ -563,34 +1310,73 @@ public final class EngineProcessManager {
     }
     
     /**
-     * Get the number of running engines.
+     * Get the number of running engine processes (across all pools).
      * 
-     * @return the count of running engines
+     * @return the count of running engine processes
      */
     public int getRunningEngineCount() {
-        return (int) engines.values().stream()
-            .filter(EngineProcess::isAlive)
-            .count();
+        int count = 0;
+        for (EnginePool pool : pools.values()) {
+            for (EngineProcess instance : pool.getInstances()) {
+                if (instance.isAlive()) {
+                    count++;
+                }
+            }
+        }
+        return count;
     }
     
     /**
      * Get engine process info for debugging.
      * 
      * @param engineName the engine name
-     * @return map with engine info
+     * @return map with engine info (pool summary plus per-instance details)
      */
     public Map<String, Object> getEngineInfo(String engineName) {
-        EngineProcess engine = engines.get(engineName.toLowerCase());
+        EnginePool pool = pools.get(engineName.toLowerCase());
         
-        if (engine == null) {
+        if (pool == null) {
             return Map.of("status", "NOT_RUNNING");
         }
         
-        return Map.of(
-            "status", engine.isAlive() ? "RUNNING" : "DEAD",
-            "healthy", engine.isHealthy(),
-            "pid", engine.getProcess().pid()
-        );
+        // One snapshot: instances may be removed concurrently (crash removal, idle shrink)
+        List<EngineProcess> snapshot = pool.getInstances();
+        if (snapshot.isEmpty()) {
+            return Map.of("status", "NOT_RUNNING");
+        }
+        
+        List<Map<String, Object>> instances = new ArrayList<>();
+        int inFlight = 0;
+        long cancelsSent = 0;
+        boolean anyAlive = false;
+        for (EngineProcess instance : snapshot) {
+            anyAlive |= instance.isAlive();
+            inFlight += instance.getInFlightCount();
+            cancelsSent += instance.getCancelsSent();
+            instances.add(Map.of(
+                "name", instance.getName(),
+                "status", instance.isAlive() ? "RUNNING" : "DEAD",
+                "healthy", instance.isHealthy(),
+                "pid", instance.getProcess().pid(),
+                "inFlight", instance.getInFlightCount(),
+                "cancelsSent", instance.getCancelsSent(),
+                "framing", instance.getFraming()
+            ));
+        }
+        
+        EngineProcess first = snapshot.get(0);
+        Map<String, Object> info = new java.util.HashMap<>();
+        info.put("status", anyAlive ? "RUNNING" : "DEAD");
+        info.put("healthy", pool.hasHealthyInstance());
+        info.put("pid", first.getProcess().pid());
+        info.put("inFlight", inFlight);
+        info.put("maxInFlight", first.getMaxInFlight());
+        info.put("cancelsSent", cancelsSent);
+        info.put("framing", first.getFraming());
+        info.put("minInstances", pool.getMinInstances());
+        info.put("maxInstances", pool.getMaxInstances());
+        info.put("spawnFailures", pool.getSpawnFailures());
+        info.put("instances", instances);
+        return info;
     }
 }
-
@@ -0,0 +1,271 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: BoundedSubscriber.java
+ * RESPONSIBILITY: Bounded, ordered event queue for one EventBus subscriber
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Holds at most `capacity` pending events for its subscriber
+ * - At most one drain task runs at a time, so delivery order is publish order
+ * - Applies the subscriber's overflow policy when the queue is full
+ * - Logs every dropped event with the subscriber name and event type
+ * 
+ * BOUNDARIES:
+ * - Internal to EventBus; subscribers only see DeliveryOptions
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Section 4.2 (EventBus component)
+ */
+package com.presso.kernel.event;
+
+import com.presso.kernel.event.EventBus.DeliveryOptions;
+import com.presso.kernel.event.EventBus.Event;
+import com.presso.kernel.event.EventBus.OverflowPolicy;
+import com.presso.kernel.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Per-subscriber ring of pending events, drained in batches on the bus executor.
+ * <p>
+ * Pending events live in an insertion-ordered map. Plain events get a unique
+ * sequence key; under COALESCE they are keyed by the subscriber's coalesce key,
+ * and a newer event replaces the pending one and moves to the tail, so the
+ * subscriber sees only the latest event per key, still in publish order.
+ * </p>
+ */
+final class BoundedSubscriber {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BoundedSubscriber.class);
+    
+    private record Pending(Event event, long enqueuedNanos) {
+    }
+    
+    private final String eventType;  // null for wildcard subscribers; comma-separated for several types
+    private final String name;
+    private final DeliveryOptions options;
+    private final Consumer<List<Event>> handler;
+    private final ExecutorService executor;
+    private final Supplier<MetricsRegistry> metrics;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final LinkedHashMap<Object, Pending> pending = new LinkedHashMap<>();
+    private long sequence = 0;
+    private boolean draining = false;
+    private boolean closed = false;
+    private volatile Thread drainThread;
+    
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    
+    BoundedSubscriber(String eventType, DeliveryOptions options, Consumer<List<Event>> handler,
+            ExecutorService executor, Supplier<MetricsRegistry> metrics) {
+        this.eventType = eventType;
+        this.name = options.name() != null ? options.name() : (eventType != null ? eventType : "wildcard");
+        this.options = options;
+        this.handler = handler;
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Enqueue an event, applying the overflow policy if the queue is full.
+     * 
+     * @param event the event
+     */
+    void offer(Event event) {
+        boolean scheduleDrain;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            Object key = options.overflowPolicy() == OverflowPolicy.COALESCE
+                ? options.coalesceKey().apply(event)
+                : Long.valueOf(sequence++);
+            if (pending.remove(key) != null) {
+                coalesced.increment();
+            } else if (pending.size() >= options.capacity() && !makeRoom()) {
+                countDrop(event, closed ? "subscriber closed" : "queue full");
+                return;
+            }
+            pending.put(key, new Pending(event, System.nanoTime()));
+            scheduleDrain = !draining;
+            draining = true;
+        } finally {
+            lock.unlock();
+        }
+        
+        if (scheduleDrain) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Bus is shutting down; nothing will drain this queue any more
+                int discarded;
+                lock.lock();
+                try {
+                    draining = false;
+                    discarded = pending.size();
+                    dropped.add(discarded);
+                    pending.clear();
+                } finally {
+                    lock.unlock();
+                }
+                logger.warn("Dropped {} pending event(s) for subscriber {}: event bus shut down", discarded, name);
+            }
+        }
+    }
+    
+    /**
+     * Free one slot for a new event (caller holds the lock and the queue is full).
+     * 
+     * @return true if the new event may be queued, false if it must be dropped
+     */
+    private boolean makeRoom() {
+        if (options.overflowPolicy() == OverflowPolicy.BLOCK) {
+            if (Thread.currentThread() == drainThread) {
+                // A handler publishing to its own full queue cannot wait on itself; admit it over capacity
+                return true;
+            }
+            // Wait for the drainer
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(options.blockTimeoutMs());
+            try {
+                while (pending.size() >= options.capacity() && !closed) {
+                    if (remainingNanos <= 0) {
+                        return false;
+                    }
+                    remainingNanos = notFull.awaitNanos(remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return !closed;
+        }
+        // DROP_OLDEST and COALESCE (new key): evict the head
+        Iterator<Pending> head = pending.values().iterator();
+        Pending evicted = head.next();
+        head.remove();
+        countDrop(evicted.event(), "evicted oldest, queue full");
+        return true;
+    }
+    
+    /**
+     * Deliver pending events in batches until the queue is empty.
+     * Only one drain runs at a time per subscriber.
+     */
+    private void drain() {
+        drainThread = Thread.currentThread();
+        while (true) {
+            List<Pending> batch = new ArrayList<>(Math.min(options.maxBatchSize(), 64));
+            lock.lock();
+            try {
+                Iterator<Pending> it = pending.values().iterator();
+                while (it.hasNext() && batch.size() < options.maxBatchSize()) {
+                    batch.add(it.next());
+                    it.remove();
+                }
+                if (batch.isEmpty()) {
+                    // Cleared under the lock, before the next drain can be scheduled
+                    drainThread = null;
+                    draining = false;
+                    return;
+                }
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            deliver(batch);
+        }
+    }
+    
+    private void deliver(List<Pending> batch) {
+        MetricsRegistry registry = metrics.get();
+        List<Event> events = new ArrayList<>(batch.size());
+        long now = System.nanoTime();
+        for (Pending p : batch) {
+            events.add(p.event());
+            if (registry != null) {
+                registry.recordNanos("eventbus.delivery_lag", now - p.enqueuedNanos());
+            }
+        }
+        try {
+            handler.accept(events);
+        } catch (Exception e) {
+            logger.error("Error delivering {} event(s) to {} subscriber: {}",
+                events.size(), name, e.getMessage());
+            if (registry != null) {
+                registry.increment("eventbus.handler_errors");
+            }
+        }
+        delivered.add(events.size());
+        batches.increment();
+    }
+    
+    private void countDrop(Event event, String reason) {
+        dropped.increment();
+        logger.warn("Dropped event {} for subscriber {} ({}, {})",
+            event.type(), name, options.overflowPolicy().name().toLowerCase(), reason);
+        MetricsRegistry registry = metrics.get();
+        if (registry != null) {
+            registry.increment("eventbus.dropped");
+        }
+    }
+    
+    /**
+     * Stop accepting events and discard anything still pending.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            pending.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Get delivery statistics for GET_STATUS.
+     * 
+     * @return statistics map
+     */
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        lock.lock();
+        try {
+            stats.put("queued", pending.size());
+        } finally {
+            lock.unlock();
+        }
+        stats.put("name", name);
+        stats.put("eventType", eventType != null ? eventType : "*");
+        stats.put("policy", options.overflowPolicy().name().toLowerCase());
+        stats.put("capacity", options.capacity());
+        stats.put("maxBatchSize", options.maxBatchSize());
+        stats.put("delivered", delivered.sum());
+        stats.put("batches", batches.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("coalesced", coalesced.sum());
+        return stats;
+    }
+}
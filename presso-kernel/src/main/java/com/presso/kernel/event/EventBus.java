@@ -9,6 +9,8 @@
  * - Enables loose coupling between kernel components
  * - Provides async event distribution
  * - Supports multiple subscribers per event type
+ * - Bounded subscribers: per-subscriber queue, ordered (optionally batched)
+ *   delivery and an overflow policy (block, drop-oldest, coalesce)
  * - No business logic - pure infrastructure
  * 
  * EVENT NAMING CONVENTION:
@@ -24,16 +26,23 @@
  */
 package com.presso.kernel.event;
 
+import com.presso.kernel.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Simple publish-subscribe event bus for internal kernel communication.
@@ -42,6 +51,13 @@ import java.util.function.Consumer;
  * event delivery. Events are delivered to subscribers in the order of
  * subscription.
  * </p>
+ * <p>
+ * Plain subscribers get one virtual-thread task per event, so bursts are
+ * unbounded and may reach a subscriber out of order. Subscribers registered
+ * with {@link DeliveryOptions} instead get a bounded queue drained by at most
+ * one task at a time: delivery is in publish order, optionally in batches,
+ * and a full queue applies the subscriber's {@link OverflowPolicy}.
+ * </p>
  */
 public final class EventBus {
     
@@ -67,17 +83,114 @@ public final class EventBus {
         void unsubscribe();
     }
     
+    /**
+     * What a bounded subscriber's full queue does with a new event.
+     */
+    public enum OverflowPolicy {
+        BLOCK,        // Publisher waits (up to blockTimeoutMs) for space, then the new event is dropped
+        DROP_OLDEST,  // Oldest pending event is discarded
+        COALESCE      // Pending event with the same coalesce key is replaced; else oldest is discarded
+    }
+    
+    /**
+     * Delivery options for a bounded subscriber.
+     * 
+     * @param capacity maximum number of pending events
+     * @param overflowPolicy what to do when the queue is full
+     * @param maxBatchSize maximum events per handler call (1 = one at a time)
+     * @param coalesceKey key under which COALESCE keeps only the latest event
+     * @param blockTimeoutMs longest a publisher waits under BLOCK
+     * @param name subscriber name for logs and statistics (null = the subscribed event types)
+     */
+    public record DeliveryOptions(
+        int capacity,
+        OverflowPolicy overflowPolicy,
+        int maxBatchSize,
+        Function<Event, Object> coalesceKey,
+        long blockTimeoutMs,
+        String name
+    ) {
+        private static final long DEFAULT_BLOCK_TIMEOUT_MS = 1000;
+        
+        public DeliveryOptions {
+            if (capacity < 1 || maxBatchSize < 1 || blockTimeoutMs < 0) {
+                throw new IllegalArgumentException("capacity and maxBatchSize must be positive, blockTimeoutMs non-negative");
+            }
+            if (overflowPolicy == null || coalesceKey == null) {
+                throw new IllegalArgumentException("overflowPolicy and coalesceKey are required");
+            }
+        }
+        
+        /**
+         * Bounded delivery, one event per call, coalescing by event type.
+         * 
+         * @param capacity maximum number of pending events
+         * @param overflowPolicy what to do when the queue is full
+         * @return the options
+         */
+        public static DeliveryOptions bounded(int capacity, OverflowPolicy overflowPolicy) {
+            return new DeliveryOptions(capacity, overflowPolicy, 1, Event::type, DEFAULT_BLOCK_TIMEOUT_MS, null);
+        }
+        
+        /**
+         * Deliver up to this many events per handler call.
+         * 
+         * @param maxBatchSize maximum batch size
+         * @return the options
+         */
+        public DeliveryOptions withMaxBatchSize(int maxBatchSize) {
+            return new DeliveryOptions(capacity, overflowPolicy, maxBatchSize, coalesceKey, blockTimeoutMs, name);
+        }
+        
+        /**
+         * Coalesce pending events by a custom key (e.g. type plus entity id).
+         * 
+         * @param coalesceKey key function
+         * @return the options
+         */
+        public DeliveryOptions withCoalesceKey(Function<Event, Object> coalesceKey) {
+            return new DeliveryOptions(capacity, overflowPolicy, maxBatchSize, coalesceKey, blockTimeoutMs, name);
+        }
+        
+        /**
+         * Bound how long a publisher waits under BLOCK.
+         * 
+         * @param blockTimeoutMs wait limit in milliseconds
+         * @return the options
+         */
+        public DeliveryOptions withBlockTimeoutMs(long blockTimeoutMs) {
+            return new DeliveryOptions(capacity, overflowPolicy, maxBatchSize, coalesceKey, blockTimeoutMs, name);
+        }
+        
+        /**
+         * Name the subscriber in drop warnings and statistics.
+         * 
+         * @param name subscriber name (e.g. "workflow-triggers")
+         * @return the options
+         */
+        public DeliveryOptions withName(String name) {
+            return new DeliveryOptions(capacity, overflowPolicy, maxBatchSize, coalesceKey, blockTimeoutMs, name);
+        }
+    }
+    
     // Subscriber storage: event type -> list of handlers
     private final Map<String, List<Consumer<Event>>> subscribers = new ConcurrentHashMap<>();
     
     // Wildcard subscribers (receive all events)
     private final List<Consumer<Event>> wildcardSubscribers = new CopyOnWriteArrayList<>();
     
+    // Bounded subscribers: event type -> queues, plus wildcard queues
+    private final Map<String, List<BoundedSubscriber>> boundedSubscribers = new ConcurrentHashMap<>();
+    private final List<BoundedSubscriber> boundedWildcardSubscribers = new CopyOnWriteArrayList<>();
+    
     // Async event delivery executor
     private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
     
-    // Statistics
-    private volatile long eventsPublished = 0;
+    // Statistics (publishers run on many threads concurrently)
+    private final LongAdder eventsPublished = new LongAdder();
+    
+    // Delivery lag and handler error metrics (optional)
+    private volatile MetricsRegistry metrics;
     
     /**
      * Construct an EventBus.
@@ -124,6 +237,103 @@ public final class EventBus {
         };
     }
     
+    /**
+     * Subscribe to events of a specific type with bounded, ordered delivery.
+     * 
+     * @param eventType the event type to subscribe to
+     * @param options queue capacity, overflow policy and batching
+     * @param handler the handler to invoke for each event
+     * @return a subscription handle for unsubscribing (pending events are discarded)
+     */
+    public Subscription subscribe(String eventType, DeliveryOptions options, Consumer<Event> handler) {
+        return subscribeBatch(eventType, options, events -> deliverEach(handler, events));
+    }
+    
+    /**
+     * Subscribe to events of a specific type, receiving them in batches.
+     * 
+     * @param eventType the event type to subscribe to
+     * @param options queue capacity, overflow policy and maximum batch size
+     * @param handler the handler to invoke with each batch (in publish order)
+     * @return a subscription handle for unsubscribing (pending events are discarded)
+     */
+    public Subscription subscribeBatch(String eventType, DeliveryOptions options, Consumer<List<Event>> handler) {
+        return subscribeBatch(List.of(eventType), options, handler);
+    }
+    
+    /**
+     * Subscribe to several event types through one bounded queue, so events of
+     * different types reach the handler in publish order.
+     * 
+     * @param eventTypes the event types to subscribe to
+     * @param options queue capacity, overflow policy and batching
+     * @param handler the handler to invoke for each event
+     * @return a subscription handle for unsubscribing (pending events are discarded)
+     */
+    public Subscription subscribe(List<String> eventTypes, DeliveryOptions options, Consumer<Event> handler) {
+        return subscribeBatch(eventTypes, options, events -> deliverEach(handler, events));
+    }
+    
+    /**
+     * Subscribe to several event types through one bounded queue, receiving them in batches.
+     * 
+     * @param eventTypes the event types to subscribe to
+     * @param options queue capacity, overflow policy and maximum batch size
+     * @param handler the handler to invoke with each batch (in publish order)
+     * @return a subscription handle for unsubscribing (pending events are discarded)
+     */
+    public Subscription subscribeBatch(List<String> eventTypes, DeliveryOptions options, Consumer<List<Event>> handler) {
+        String types = String.join(",", eventTypes);
+        BoundedSubscriber subscriber = new BoundedSubscriber(types, options, handler, executor, () -> metrics);
+        for (String eventType : eventTypes) {
+            boundedSubscribers.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>()).add(subscriber);
+        }
+        
+        logger.debug("Bounded subscriber added for event type(s): {} ({}, capacity={})",
+            types, options.overflowPolicy(), options.capacity());
+        
+        return () -> {
+            for (String eventType : eventTypes) {
+                List<BoundedSubscriber> queues = boundedSubscribers.get(eventType);
+                if (queues != null) {
+                    queues.remove(subscriber);
+                }
+            }
+            subscriber.close();
+            logger.debug("Bounded subscriber removed for event type(s): {}", types);
+        };
+    }
+    
+    /**
+     * Subscribe to all events with bounded, ordered delivery.
+     * 
+     * @param options queue capacity, overflow policy and batching
+     * @param handler the handler to invoke for each event
+     * @return a subscription handle for unsubscribing (pending events are discarded)
+     */
+    public Subscription subscribeAll(DeliveryOptions options, Consumer<Event> handler) {
+        return subscribeAllBatch(options, events -> deliverEach(handler, events));
+    }
+    
+    /**
+     * Subscribe to all events, receiving them in batches.
+     * 
+     * @param options queue capacity, overflow policy and maximum batch size
+     * @param handler the handler to invoke with each batch (in publish order)
+     * @return a subscription handle for unsubscribing (pending events are discarded)
+     */
+    public Subscription subscribeAllBatch(DeliveryOptions options, Consumer<List<Event>> handler) {
+        BoundedSubscriber subscriber = new BoundedSubscriber(null, options, handler, executor, () -> metrics);
+        boundedWildcardSubscribers.add(subscriber);
+        logger.debug("Bounded wildcard subscriber added ({}, capacity={})", options.overflowPolicy(), options.capacity());
+        
+        return () -> {
+            boundedWildcardSubscribers.remove(subscriber);
+            subscriber.close();
+            logger.debug("Bounded wildcard subscriber removed");
+        };
+    }
+    
     /**
      * Publish an event asynchronously.
      * 
@@ -132,7 +342,7 @@ public final class EventBus {
      */
     public void publish(String eventType, Object payload) {
         Event event = new Event(eventType, payload);
-        eventsPublished++;
+        eventsPublished.increment();
         
         logger.debug("Publishing event: type={}", eventType);
         
@@ -148,6 +358,8 @@ public final class EventBus {
         for (Consumer<Event> handler : wildcardSubscribers) {
             deliverAsync(handler, event);
         }
+        
+        enqueueBounded(event);
     }
     
     /**
@@ -158,7 +370,7 @@ public final class EventBus {
      */
     public void publishSync(String eventType, Object payload) {
         Event event = new Event(eventType, payload);
-        eventsPublished++;
+        eventsPublished.increment();
         
         logger.debug("Publishing event (sync): type={}", eventType);
         
@@ -174,13 +386,49 @@ public final class EventBus {
         for (Consumer<Event> handler : wildcardSubscribers) {
             deliverSync(handler, event);
         }
+        
+        // Bounded subscribers stay asynchronous to keep their delivery order
+        enqueueBounded(event);
+    }
+    
+    /**
+     * Hand an event to every bounded subscriber of its type and every bounded wildcard subscriber.
+     */
+    private void enqueueBounded(Event event) {
+        List<BoundedSubscriber> queues = boundedSubscribers.get(event.type());
+        if (queues != null) {
+            for (BoundedSubscriber subscriber : queues) {
+                subscriber.offer(event);
+            }
+        }
+        for (BoundedSubscriber subscriber : boundedWildcardSubscribers) {
+            subscriber.offer(event);
+        }
+    }
+    
+    /**
+     * Deliver a batch one event at a time, isolating handler failures per event.
+     */
+    private void deliverEach(Consumer<Event> handler, List<Event> events) {
+        for (Event event : events) {
+            deliverSync(handler, event);
+        }
     }
     
     /**
      * Deliver event asynchronously to a handler.
      */
     private void deliverAsync(Consumer<Event> handler, Event event) {
-        executor.submit(() -> deliverSync(handler, event));
+        MetricsRegistry registry = metrics;
+        if (registry == null) {
+            executor.submit(() -> deliverSync(handler, event));
+            return;
+        }
+        long submittedNanos = System.nanoTime();
+        executor.submit(() -> {
+            registry.recordNanos("eventbus.delivery_lag", System.nanoTime() - submittedNanos);
+            deliverSync(handler, event);
+        });
     }
     
     /**
@@ -191,6 +439,10 @@ public final class EventBus {
             handler.accept(event);
         } catch (Exception e) {
             logger.error("Error delivering event {}: {}", event.type(), e.getMessage());
+            MetricsRegistry registry = metrics;
+            if (registry != null) {
+                registry.increment("eventbus.handler_errors");
+            }
         }
     }
     
@@ -200,7 +452,39 @@ public final class EventBus {
      * @return the event count
      */
     public long getEventsPublished() {
-        return eventsPublished;
+        return eventsPublished.sum();
+    }
+    
+    /**
+     * Get bounded subscriber statistics: queue depth, delivered, dropped and coalesced counts.
+     * 
+     * @return statistics map (for GET_STATUS)
+     */
+    public Map<String, Object> getStats() {
+        // A subscriber of several types is listed under each of them; report it once
+        Set<BoundedSubscriber> distinct = new LinkedHashSet<>();
+        for (List<BoundedSubscriber> subscribersOfType : boundedSubscribers.values()) {
+            distinct.addAll(subscribersOfType);
+        }
+        distinct.addAll(boundedWildcardSubscribers);
+        List<Map<String, Object>> queues = new ArrayList<>();
+        for (BoundedSubscriber subscriber : distinct) {
+            queues.add(subscriber.getStats());
+        }
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("published", eventsPublished.sum());
+        stats.put("boundedSubscribers", queues);
+        return stats;
+    }
+    
+    /**
+     * Set the registry that receives delivery lag and handler error metrics.
+     * 
+     * @param metrics the metrics registry, or null to stop recording
+     */
+    public void setMetricsRegistry(MetricsRegistry metrics) {
+        this.metrics = metrics;
     }
     
     /**
@@ -15,7 +15,8 @@
  *   "id": "unique-request-id",
  *   "type": "OPERATION_TYPE",
  *   "payload": { ... operation-specific data ... },
- *   "timestamp": 1703894400000
+ *   "timestamp": 1703894400000,
+ *   "deadline_ms": 1703894430000    (optional, epoch millis)
  * }
  * 
  * Reference: PROJECT_DOCUMENTATION.md Section 3.3 (Communication Patterns)
@@ -45,6 +46,7 @@ public final class IpcMessage {
     private final String type;
     private final JsonObject payload;
     private final long timestamp;
+    private final Long deadlineMs;  // Epoch millis after which the result is useless (null if none)
     
     /**
      * Construct an IpcMessage.
@@ -55,10 +57,24 @@ public final class IpcMessage {
      * @param timestamp the message timestamp
      */
     public IpcMessage(String id, String type, JsonObject payload, long timestamp) {
+        this(id, type, payload, timestamp, null);
+    }
+    
+    /**
+     * Construct an IpcMessage with a deadline.
+     * 
+     * @param id the unique message identifier
+     * @param type the operation type
+     * @param payload the message payload (can be null)
+     * @param timestamp the message timestamp
+     * @param deadlineMs epoch millis by which the operation must finish (null if none)
+     */
+    public IpcMessage(String id, String type, JsonObject payload, long timestamp, Long deadlineMs) {
         this.id = id;
         this.type = type;
         this.payload = payload;
         this.timestamp = timestamp;
+        this.deadlineMs = deadlineMs;
     }
     
     /**
@@ -90,8 +106,11 @@ public final class IpcMessage {
             // Extract optional fields
             JsonObject payload = obj.has("payload") ? obj.getAsJsonObject("payload") : null;
             long timestamp = obj.has("timestamp") ? obj.get("timestamp").getAsLong() : System.currentTimeMillis();
+            Long deadlineMs = obj.has("deadline_ms") && !obj.get("deadline_ms").isJsonNull()
+                ? obj.get("deadline_ms").getAsLong()
+                : null;
             
-            return new IpcMessage(id, type, payload, timestamp);
+            return new IpcMessage(id, type, payload, timestamp, deadlineMs);
             
         } catch (JsonSyntaxException e) {
             logger.error("Failed to parse IPC message: {}", e.getMessage());
@@ -158,6 +177,15 @@ public final class IpcMessage {
         return timestamp;
     }
     
+    /**
+     * Get the message deadline.
+     * 
+     * @return epoch millis by which the operation must finish, or null if none
+     */
+    public Long getDeadlineMs() {
+        return deadlineMs;
+    }
+    
     /**
      * Convert the message to JSON.
      * 
@@ -171,6 +199,9 @@ public final class IpcMessage {
             obj.add("payload", payload);
         }
         obj.addProperty("timestamp", timestamp);
+        if (deadlineMs != null) {
+            obj.addProperty("deadline_ms", deadlineMs);
+        }
         return GSON.toJson(obj);
     }
     
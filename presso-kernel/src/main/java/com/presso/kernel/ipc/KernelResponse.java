@@ -30,6 +30,16 @@
  *   "timestamp": 1703894400000
  * }
  * 
+ * Partial (streaming requests only, zero or more before the final response):
+ * {
+ *   "id": "request-id",
+ *   "success": true,
+ *   "stream": "PROGRESS" | "CHUNK",
+ *   "seq": 3,
+ *   "result": { ... progress or chunk data ... },
+ *   "timestamp": 1703894400000
+ * }
+ * 
  * Reference: PROJECT_DOCUMENTATION.md Section 3.3
  */
 package com.presso.kernel.ipc;
@@ -53,6 +63,8 @@ public final class KernelResponse {
     private final Object result;
     private final String errorCode;
     private final String errorMessage;
+    private final String streamType;
+    private final long seq;
     private final long timestamp;
     
     /**
@@ -64,11 +76,27 @@ public final class KernelResponse {
             Object result,
             String errorCode,
             String errorMessage) {
+        this(id, success, result, errorCode, errorMessage, null, 0);
+    }
+    
+    /**
+     * Private constructor - use factory methods.
+     */
+    private KernelResponse(
+            String id,
+            boolean success,
+            Object result,
+            String errorCode,
+            String errorMessage,
+            String streamType,
+            long seq) {
         this.id = id;
         this.success = success;
         this.result = result;
         this.errorCode = errorCode;
         this.errorMessage = errorMessage;
+        this.streamType = streamType;
+        this.seq = seq;
         this.timestamp = System.currentTimeMillis();
     }
     
@@ -83,6 +111,20 @@ public final class KernelResponse {
         return new KernelResponse(requestId, true, result, null, null);
     }
     
+    /**
+     * Create a partial (streaming) response. The request stays open until
+     * a regular success or error response with the same ID follows.
+     * 
+     * @param requestId the original request ID
+     * @param streamType the frame kind (PROGRESS or CHUNK)
+     * @param seq the frame sequence number within the request
+     * @param data the progress or chunk data
+     * @return the partial response
+     */
+    public static KernelResponse partial(String requestId, String streamType, long seq, Object data) {
+        return new KernelResponse(requestId, true, data, null, null, streamType, seq);
+    }
+    
     /**
      * Create an error response.
      * 
@@ -170,6 +212,33 @@ public final class KernelResponse {
         return errorMessage;
     }
     
+    /**
+     * Check if this is a partial (streaming) response.
+     * 
+     * @return true if more responses for the same request follow
+     */
+    public boolean isPartial() {
+        return streamType != null;
+    }
+    
+    /**
+     * Get the stream frame kind (for partial responses).
+     * 
+     * @return PROGRESS or CHUNK, or null for final responses
+     */
+    public String getStreamType() {
+        return streamType;
+    }
+    
+    /**
+     * Get the stream frame sequence number (for partial responses).
+     * 
+     * @return the sequence number
+     */
+    public long getSeq() {
+        return seq;
+    }
+    
     /**
      * Get the response timestamp.
      * 
@@ -194,6 +263,11 @@ public final class KernelResponse {
         obj.addProperty("success", success);
         obj.addProperty("timestamp", timestamp);
         
+        if (streamType != null) {
+            obj.addProperty("stream", streamType);
+            obj.addProperty("seq", seq);
+        }
+        
         if (success) {
             // Add result
             if (result != null) {
@@ -212,7 +286,9 @@ public final class KernelResponse {
     
     @Override
     public String toString() {
-        if (success) {
+        if (streamType != null) {
+            return "KernelResponse{id='" + id + "', stream=" + streamType + ", seq=" + seq + "}";
+        } else if (success) {
             return "KernelResponse{id='" + id + "', success=true}";
         } else {
             return "KernelResponse{id='" + id + "', success=false, error=" + errorCode + "}";
@@ -35,6 +35,8 @@ import com.presso.kernel.persistence.ActivityLogService.Severity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 /**
  * Manages the overall lifecycle of the PressO Kernel.
  * <p>
@@ -46,6 +48,10 @@ public final class LifecycleManager {
     
     private static final Logger logger = LoggerFactory.getLogger(LifecycleManager.class);
     
+    // Task events reach the activity log in publish order, through one bounded queue
+    private static final EventBus.DeliveryOptions TASK_EVENT_DELIVERY =
+        EventBus.DeliveryOptions.bounded(1024, EventBus.OverflowPolicy.BLOCK).withName("activity-log");
+    
     /**
      * Lifecycle states for the kernel.
      */
@@ -88,38 +94,27 @@ public final class LifecycleManager {
         
         // Subscribe to task events for activity logging
         if (activityLog != null) {
-            eventBus.subscribe("task.started", (busEvent) -> {
-                Object payload = busEvent.payload();
-                if (payload instanceof String taskId) {
-                    ActivityEvent event = new ActivityEvent.Builder(ActivityAction.TASK_STARTED)
-                        .severity(Severity.INFO)
-                        .entity("task", null)
-                        .shortMessage("Task started: " + taskId)
-                        .build();
-                    activityLog.recordActivity(event);
-                }
-            });
-            
-            eventBus.subscribe("task.completed", (busEvent) -> {
+            // One queue for all three types, so a task's started event is logged before its outcome
+            eventBus.subscribe(List.of("task.started", "task.completed", "task.failed"), TASK_EVENT_DELIVERY, (busEvent) -> {
                 Object payload = busEvent.payload();
                 if (payload instanceof String taskId) {
-                    ActivityEvent event = new ActivityEvent.Builder(ActivityAction.TASK_COMPLETED)
-                        .severity(Severity.INFO)
-                        .entity("task", null)
-                        .shortMessage("Task completed: " + taskId)
-                        .build();
-                    activityLog.recordActivity(event);
-                }
-            });
-            
-            eventBus.subscribe("task.failed", (busEvent) -> {
-                Object payload = busEvent.payload();
-                if (payload instanceof String taskId) {
-                    ActivityEvent event = new ActivityEvent.Builder(ActivityAction.TASK_FAILED)
-                        .severity(Severity.ERROR)
-                        .entity("task", null)
-                        .shortMessage("Task failed: " + taskId)
-                        .build();
+                    ActivityEvent event = switch (busEvent.type()) {
+                        case "task.started" -> new ActivityEvent.Builder(ActivityAction.TASK_STARTED)
+                            .severity(Severity.INFO)
+                            .entity("task", null)
+                            .shortMessage("Task started: " + taskId)
+                            .build();
+                        case "task.completed" -> new ActivityEvent.Builder(ActivityAction.TASK_COMPLETED)
+                            .severity(Severity.INFO)
+                            .entity("task", null)
+                            .shortMessage("Task completed: " + taskId)
+                            .build();
+                        default -> new ActivityEvent.Builder(ActivityAction.TASK_FAILED)
+                            .severity(Severity.ERROR)
+                            .entity("task", null)
+                            .shortMessage("Task failed: " + taskId)
+                            .build();
+                    };
                     activityLog.recordActivity(event);
                 }
             });
@@ -230,7 +225,12 @@ public final class LifecycleManager {
             logger.debug("Stopping engine processes...");
             engineProcessManager.stopAllEngines();
             
-            // Step 4: Close database
+            // Step 4: Flush buffered activity/audit rows (write-behind)
+            if (activityLog != null) {
+                logger.debug("Flushing buffered activity log...");
+                activityLog.flush();
+            }
+            
             // Database shutdown is handled by KernelMain after LifecycleManager
             logger.debug("Database will be closed by KernelMain");
             
@@ -0,0 +1,220 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: LatencySketch.java
+ * RESPONSIBILITY: Mergeable streaming quantile sketch for latencies
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Log-linear histogram (HDR style): 32 linear sub-buckets per power of two
+ * - Fixed memory, lock-free recording, bounded ~3% relative error on quantiles
+ * - Sketches merge by adding bucket counts, so persisted state can be reloaded
+ * 
+ * BOUNDARIES:
+ * - Pure data structure; naming, persistence and reporting live in LatencyTracker
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Section 4.2
+ */
+package com.presso.kernel.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with microsecond resolution.
+ * <p>
+ * Values below 32 us get one bucket each; above that, every power-of-two range
+ * is split into 32 equal sub-buckets. Values beyond ~9.5 hours are clamped into
+ * the last bucket (the exact maximum is still tracked).
+ * </p>
+ */
+public final class LatencySketch {
+    
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 35;
+    
+    /** Number of buckets in every sketch. */
+    static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    
+    private static final long MAX_TRACKABLE_MICROS = (1L << (MAX_EXPONENT + 1)) - 1;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+    
+    /**
+     * Record one latency.
+     * 
+     * @param nanos elapsed time in nanoseconds (negative values count as zero)
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(Math.max(0L, nanos) / 1000L);
+    }
+    
+    /**
+     * Record one latency.
+     * 
+     * @param micros elapsed time in microseconds
+     */
+    public void recordMicros(long micros) {
+        long value = Math.max(0L, micros);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        totalMicros.add(value);
+        maxMicros.accumulateAndGet(value, Math::max);
+    }
+    
+    /**
+     * Add another sketch's recordings to this one.
+     * 
+     * @param other the sketch to merge in
+     */
+    public void merge(LatencySketch other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        totalMicros.add(other.totalMicros.sum());
+        maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+    }
+    
+    /**
+     * Get the number of recorded values.
+     * 
+     * @return the count
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+    
+    /**
+     * Get the sum of all recorded values.
+     * 
+     * @return the total in microseconds
+     */
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+    
+    /**
+     * Get the largest recorded value.
+     * 
+     * @return the maximum in microseconds
+     */
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+    
+    /**
+     * Estimate a quantile.
+     * 
+     * @param quantile the quantile in [0, 1], e.g. 0.99
+     * @return the estimated value in microseconds (midpoint of its bucket), or 0 if empty
+     */
+    public long quantileMicros(double quantile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        
+        long rank = Math.max(1L, (long) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                long lower = bucketLowerBound(i);
+                long upper = bucketLowerBound(i + 1) - 1;
+                return Math.min(lower + (upper - lower) / 2, maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+    
+    /**
+     * Serialize the non-empty buckets as "index:count" pairs separated by commas.
+     * 
+     * @return the sparse bucket encoding
+     */
+    public String encodeBuckets() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                sb.append(i).append(':').append(count);
+            }
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Rebuild a sketch from its persisted form.
+     * 
+     * @param buckets the sparse bucket encoding from {@link #encodeBuckets()}
+     * @param totalMicros the persisted sum of values
+     * @param maxMicros the persisted maximum
+     * @return the sketch
+     * @throws IllegalArgumentException if the encoding is malformed
+     */
+    public static LatencySketch decode(String buckets, long totalMicros, long maxMicros) {
+        LatencySketch sketch = new LatencySketch();
+        if (buckets != null && !buckets.isEmpty()) {
+            try {
+                for (String pair : buckets.split(",")) {
+                    int colon = pair.indexOf(':');
+                    int index = Integer.parseInt(pair.substring(0, colon));
+                    long count = Long.parseLong(pair.substring(colon + 1));
+                    if (index < 0 || index >= BUCKET_COUNT || count < 0) {
+                        throw new IllegalArgumentException("Bucket out of range: " + pair);
+                    }
+                    sketch.counts.addAndGet(index, count);
+                    sketch.totalCount.add(count);
+                }
+            } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Malformed sketch buckets", e);
+            }
+        }
+        sketch.totalMicros.add(totalMicros);
+        sketch.maxMicros.set(maxMicros);
+        return sketch;
+    }
+    
+    /**
+     * Map a value to its bucket.
+     */
+    static int bucketIndex(long micros) {
+        long value = Math.min(micros, MAX_TRACKABLE_MICROS);
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+    
+    /**
+     * Smallest value that maps to a bucket.
+     */
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << shift;
+    }
+}
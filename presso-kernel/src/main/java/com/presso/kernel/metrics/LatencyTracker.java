@@ -0,0 +1,307 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: LatencyTracker.java
+ * RESPONSIBILITY: Named latency sketches per engine, operation and workflow step
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Recorded by EngineProcessManager (round trips) and WorkflowEngine (steps)
+ * - Reports p50/p95/p99/p999 for GET_STATUS and the AI advisor
+ * - Periodically persists changed sketches to latency_sketch and reloads them at start
+ * 
+ * BOUNDARIES:
+ * - Fail-safe: persistence errors are logged, recording never throws
+ * - Number of distinct sketches is bounded; new names beyond the cap are dropped
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Section 4.2
+ */
+package com.presso.kernel.metrics;
+
+import com.presso.kernel.persistence.DatabaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of latency sketches keyed by kind and name.
+ */
+public final class LatencyTracker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LatencyTracker.class);
+    
+    /** Round trip to an engine, named by engine ("python"). */
+    public static final String KIND_ENGINE = "engine";
+    
+    /** Round trip of one engine operation, named "engine/type" ("python/merge_pdf"). */
+    public static final String KIND_OPERATION = "operation";
+    
+    /** Workflow step duration, named "workflowId/stepId". */
+    public static final String KIND_STEP = "step";
+    
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 60_000;
+    private static final int MAX_SKETCHES = 1024;
+    
+    private static final String UPSERT_SQL = """
+        INSERT INTO latency_sketch (sketch_key, kind, name, sample_count, total_micros, max_micros, buckets, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+        ON CONFLICT(sketch_key) DO UPDATE SET
+            sample_count = excluded.sample_count,
+            total_micros = excluded.total_micros,
+            max_micros = excluded.max_micros,
+            buckets = excluded.buckets,
+            updated_at = excluded.updated_at
+        """;
+    
+    private record SketchKey(String kind, String name) {
+        String encode() {
+            return kind + ":" + name;
+        }
+    }
+    
+    private final DatabaseManager databaseManager;
+    private final long flushIntervalMs;
+    
+    private final Map<SketchKey, LatencySketch> sketches = new ConcurrentHashMap<>();
+    private final Set<SketchKey> dirty = ConcurrentHashMap.newKeySet();
+    private final LongAdder droppedSamples = new LongAdder();
+    
+    private volatile boolean running = false;
+    private Thread flusherThread;
+    
+    /**
+     * Construct a LatencyTracker with the default flush interval.
+     * 
+     * @param databaseManager the database manager used for persistence
+     */
+    public LatencyTracker(DatabaseManager databaseManager) {
+        this(databaseManager, DEFAULT_FLUSH_INTERVAL_MS);
+    }
+    
+    /**
+     * Construct a LatencyTracker.
+     * 
+     * @param databaseManager the database manager used for persistence
+     * @param flushIntervalMs how often changed sketches are written
+     */
+    public LatencyTracker(DatabaseManager databaseManager, long flushIntervalMs) {
+        this.databaseManager = databaseManager;
+        this.flushIntervalMs = Math.max(1000, flushIntervalMs);
+    }
+    
+    /**
+     * Load persisted sketches and start the periodic flusher.
+     * Without an initialized database, sketches are kept in memory only.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        if (!databaseManager.isInitialized()) {
+            logger.warn("Database not initialized, latency sketches will not be persisted");
+            return;
+        }
+        load();
+        running = true;
+        flusherThread = Thread.ofVirtual().name("latency-sketch-flusher").start(this::runFlusher);
+        logger.info("LatencyTracker started ({} sketches loaded)", sketches.size());
+    }
+    
+    /**
+     * Stop the flusher and persist everything changed since the last flush.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (flusherThread != null) {
+            flusherThread.interrupt();
+            try {
+                flusherThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flusherThread = null;
+        }
+        flush();
+        logger.info("LatencyTracker stopped");
+    }
+    
+    /**
+     * Record one latency.
+     * 
+     * @param kind one of the KIND_* constants
+     * @param name the engine, operation or step name
+     * @param nanos elapsed time in nanoseconds
+     */
+    public void record(String kind, String name, long nanos) {
+        if (name == null) {
+            return;
+        }
+        SketchKey key = new SketchKey(kind, name);
+        LatencySketch sketch = sketches.get(key);
+        if (sketch == null) {
+            if (sketches.size() >= MAX_SKETCHES) {
+                droppedSamples.increment();
+                return;
+            }
+            sketch = sketches.computeIfAbsent(key, k -> new LatencySketch());
+        }
+        sketch.recordNanos(nanos);
+        dirty.add(key);
+    }
+    
+    /**
+     * Get the sketch for a name, if any samples were recorded.
+     * 
+     * @param kind one of the KIND_* constants
+     * @param name the engine, operation or step name
+     * @return the live sketch, or null
+     */
+    public LatencySketch getSketch(String kind, String name) {
+        return sketches.get(new SketchKey(kind, name));
+    }
+    
+    /**
+     * Get all sketches of one kind whose name starts with a prefix.
+     * 
+     * @param kind one of the KIND_* constants
+     * @param namePrefix name prefix, e.g. "workflowId/"
+     * @return name to live sketch, sorted by name
+     */
+    public Map<String, LatencySketch> getSketches(String kind, String namePrefix) {
+        Map<String, LatencySketch> result = new TreeMap<>();
+        for (Map.Entry<SketchKey, LatencySketch> entry : sketches.entrySet()) {
+            SketchKey key = entry.getKey();
+            if (key.kind().equals(kind) && key.name().startsWith(namePrefix)) {
+                result.put(key.name(), entry.getValue());
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Get percentile summaries for GET_STATUS, grouped by kind and sorted by name.
+     * 
+     * @return map of kind to (name to summary), plus bookkeeping counters
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Map<String, Object>> byKind = new TreeMap<>();
+        for (Map.Entry<SketchKey, LatencySketch> entry : sketches.entrySet()) {
+            byKind.computeIfAbsent(entry.getKey().kind(), k -> new TreeMap<>())
+                .put(entry.getKey().name(), summarize(entry.getValue()));
+        }
+        Map<String, Object> stats = new HashMap<>(byKind);
+        stats.put("sketches", sketches.size());
+        stats.put("droppedSamples", droppedSamples.sum());
+        return stats;
+    }
+    
+    /**
+     * Summarize a sketch in milliseconds.
+     * 
+     * @param sketch the sketch
+     * @return count, mean, p50, p95, p99, p999 and max
+     */
+    public static Map<String, Object> summarize(LatencySketch sketch) {
+        long count = sketch.getCount();
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("count", count);
+        summary.put("meanMs", count == 0 ? 0.0 : toMillis(sketch.getTotalMicros() / count));
+        summary.put("p50Ms", toMillis(sketch.quantileMicros(0.50)));
+        summary.put("p95Ms", toMillis(sketch.quantileMicros(0.95)));
+        summary.put("p99Ms", toMillis(sketch.quantileMicros(0.99)));
+        summary.put("p999Ms", toMillis(sketch.quantileMicros(0.999)));
+        summary.put("maxMs", toMillis(sketch.getMaxMicros()));
+        return summary;
+    }
+    
+    /**
+     * Write every sketch changed since the last flush in one transaction.
+     */
+    public void flush() {
+        if (dirty.isEmpty() || !databaseManager.isInitialized()) {
+            return;
+        }
+        List<SketchKey> keys = new ArrayList<>(dirty);
+        dirty.removeAll(keys);
+        
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_SQL)) {
+            for (SketchKey key : keys) {
+                LatencySketch sketch = sketches.get(key);
+                if (sketch == null) {
+                    continue;
+                }
+                stmt.setString(1, key.encode());
+                stmt.setString(2, key.kind());
+                stmt.setString(3, key.name());
+                stmt.setLong(4, sketch.getCount());
+                stmt.setLong(5, sketch.getTotalMicros());
+                stmt.setLong(6, sketch.getMaxMicros());
+                stmt.setString(7, sketch.encodeBuckets());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            conn.commit();
+            logger.debug("Persisted {} latency sketches", keys.size());
+        } catch (SQLException e) {
+            // Retry on the next flush
+            dirty.addAll(keys);
+            logger.error("Failed to persist latency sketches: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Merge persisted sketches into memory.
+     */
+    private void load() {
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT kind, name, total_micros, max_micros, buckets FROM latency_sketch LIMIT " + MAX_SKETCHES);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                SketchKey key = new SketchKey(rs.getString("kind"), rs.getString("name"));
+                try {
+                    LatencySketch persisted = LatencySketch.decode(
+                        rs.getString("buckets"), rs.getLong("total_micros"), rs.getLong("max_micros"));
+                    sketches.computeIfAbsent(key, k -> new LatencySketch()).merge(persisted);
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Skipping corrupt latency sketch: key={}, error={}", key.encode(), e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to load latency sketches: {}", e.getMessage());
+        }
+    }
+    
+    private void runFlusher() {
+        while (running) {
+            try {
+                Thread.sleep(flushIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            flush();
+        }
+    }
+    
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+}
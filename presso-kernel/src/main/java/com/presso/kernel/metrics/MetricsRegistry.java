@@ -0,0 +1,159 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: MetricsRegistry.java
+ * RESPONSIBILITY: Kernel-wide counters, gauges and timers
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Counters are striped LongAdders; timers are LatencySketches
+ * - Gauges are sampled only when a snapshot is taken
+ * - Snapshot is served by the GET_METRICS command
+ * 
+ * METRIC NAMING CONVENTION:
+ * - Dot-separated, component first: "ipc.messages.GET_STATUS", "db.statement.ContractService"
+ * 
+ * BOUNDARIES:
+ * - In-memory only; values reset when the kernel restarts
+ * - Number of distinct metrics is bounded; new names beyond the cap are not registered
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Section 4.2
+ */
+package com.presso.kernel.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Registry of named metrics.
+ * <p>
+ * Lookups are a single ConcurrentHashMap read on the hot path; recording never
+ * takes a lock and never throws.
+ * </p>
+ */
+public final class MetricsRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+    
+    private static final int MAX_METRICS = 2048;
+    
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencySketch> timers = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+    private final LongAdder rejectedNames = new LongAdder();
+    private final long startedAt = System.currentTimeMillis();
+    
+    /**
+     * Construct a MetricsRegistry.
+     */
+    public MetricsRegistry() {
+        logger.debug("MetricsRegistry created");
+    }
+    
+    /**
+     * Get or create a counter.
+     * 
+     * @param name the metric name
+     * @return the counter (an unregistered one if the registry is full)
+     */
+    public LongAdder counter(String name) {
+        LongAdder counter = counters.get(name);
+        if (counter != null) {
+            return counter;
+        }
+        if (isFull()) {
+            rejectedNames.increment();
+            return new LongAdder();
+        }
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+    
+    /**
+     * Increment a counter by one.
+     * 
+     * @param name the metric name
+     */
+    public void increment(String name) {
+        counter(name).increment();
+    }
+    
+    /**
+     * Get or create a timer.
+     * 
+     * @param name the metric name
+     * @return the timer (an unregistered one if the registry is full)
+     */
+    public LatencySketch timer(String name) {
+        LatencySketch timer = timers.get(name);
+        if (timer != null) {
+            return timer;
+        }
+        if (isFull()) {
+            rejectedNames.increment();
+            return new LatencySketch();
+        }
+        return timers.computeIfAbsent(name, k -> new LatencySketch());
+    }
+    
+    /**
+     * Record one duration in a timer.
+     * 
+     * @param name the metric name
+     * @param nanos elapsed time in nanoseconds
+     */
+    public void recordNanos(String name, long nanos) {
+        timer(name).recordNanos(nanos);
+    }
+    
+    /**
+     * Register a gauge, replacing any gauge of the same name.
+     * 
+     * @param name the metric name
+     * @param supplier sampled on every snapshot; must be cheap and thread-safe
+     */
+    public void gauge(String name, Supplier<? extends Number> supplier) {
+        gauges.put(name, supplier);
+    }
+    
+    /**
+     * Take a snapshot of all metrics, sorted by name.
+     * 
+     * @return counters, gauges, timers (in milliseconds) and registry bookkeeping
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        
+        Map<String, Object> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, supplier) -> {
+            try {
+                gaugeValues.put(name, supplier.get());
+            } catch (RuntimeException e) {
+                logger.debug("Gauge {} failed: {}", name, e.getMessage());
+            }
+        });
+        
+        Map<String, Object> timerValues = new TreeMap<>();
+        timers.forEach((name, timer) -> timerValues.put(name, LatencyTracker.summarize(timer)));
+        
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("timestamp", System.currentTimeMillis());
+        snapshot.put("uptimeMs", System.currentTimeMillis() - startedAt);
+        snapshot.put("counters", counterValues);
+        snapshot.put("gauges", gaugeValues);
+        snapshot.put("timers", timerValues);
+        snapshot.put("rejectedNames", rejectedNames.sum());
+        return snapshot;
+    }
+    
+    private boolean isFull() {
+        return counters.size() + timers.size() >= MAX_METRICS;
+    }
+}
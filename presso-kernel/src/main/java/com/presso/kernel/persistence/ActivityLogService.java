@@ -207,6 +207,8 @@ public final class ActivityLogService {
         private Integer entityId;
         private Integer limit = 100;
         private Integer offset = 0;
+        private Timestamp afterSortKey;
+        private Long afterId;
         
         public QueryParams fromTime(Timestamp fromTime) {
             this.fromTime = fromTime;
@@ -254,6 +256,17 @@ public final class ActivityLogService {
             return this;
         }
         
+        /**
+         * Keyset cursor: return only rows after (timestamp, id) in result order.
+         * A null sort key continues within the trailing null-timestamp rows.
+         * Replaces offset; cost no longer grows with page depth.
+         */
+        public QueryParams after(Timestamp sortKey, Long id) {
+            this.afterSortKey = sortKey;
+            this.afterId = id;
+            return this;
+        }
+        
         // Getters
         public Timestamp getFromTime() { return fromTime; }
         public Timestamp getToTime() { return toTime; }
@@ -265,6 +278,8 @@ public final class ActivityLogService {
         public Integer getEntityId() { return entityId; }
         public Integer getLimit() { return limit; }
         public Integer getOffset() { return offset; }
+        public Timestamp getAfterSortKey() { return afterSortKey; }
+        public Long getAfterId() { return afterId; }
     }
     
     /**
@@ -288,37 +303,33 @@ public final class ActivityLogService {
             return;
         }
         
-        try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                 "INSERT INTO activity_log (" +
-                 "timestamp, user_action, entity_type, entity_id, details, " +
-                 "related_execution_id, module, severity, short_message, metadata" +
-                 ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
-            
-            Timestamp now = Timestamp.from(Instant.now());
-            stmt.setTimestamp(1, now);
-            stmt.setString(2, event.getAction().name());
-            stmt.setString(3, event.getEntityType());
-            stmt.setObject(4, event.getEntityId());
-            stmt.setString(5, null); // details field kept for backward compatibility
-            stmt.setObject(6, event.getRelatedExecutionId());
-            stmt.setString(7, event.getModule());
-            stmt.setString(8, event.getSeverity() != null ? event.getSeverity().name() : null);
-            stmt.setString(9, truncate(event.getShortMessage(), 500));
-            stmt.setString(10, truncate(event.getMetadata(), 5000));
-            
-            int rows = stmt.executeUpdate();
-            conn.commit();
-            
-            if (rows > 0) {
-                logger.debug("Recorded activity: action={}, severity={}, module={}",
-                    event.getAction(), event.getSeverity(), event.getModule());
-            }
-            
-        } catch (SQLException e) {
-            // Fail-safe: log error but don't throw
-            logger.error("Failed to record activity: action={}, error={}", event.getAction(), e.getMessage());
-        }
+        // Group-committed by the write-behind appender (no fsync on the caller's path)
+        databaseManager.getWriteBehindAppender().append(
+            "INSERT INTO activity_log (" +
+            "timestamp, user_action, entity_type, entity_id, details, " +
+            "related_execution_id, module, severity, short_message, metadata" +
+            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            Timestamp.from(Instant.now()),
+            event.getAction().name(),
+            event.getEntityType(),
+            event.getEntityId(),
+            null, // details field kept for backward compatibility
+            event.getRelatedExecutionId(),
+            event.getModule(),
+            event.getSeverity() != null ? event.getSeverity().name() : null,
+            truncate(event.getShortMessage(), 500),
+            truncate(event.getMetadata(), 5000)
+        );
+        
+        logger.debug("Recorded activity: action={}, severity={}, module={}",
+            event.getAction(), event.getSeverity(), event.getModule());
+    }
+    
+    /**
+     * Write any buffered activity (and audit) rows to the database now.
+     */
+    public void flush() {
+        databaseManager.getWriteBehindAppender().flush();
     }
     
     /**
@@ -373,7 +384,7 @@ public final class ActivityLogService {
             return results;
         }
         
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             StringBuilder sql = new StringBuilder(
                 "SELECT id, timestamp, user_action, severity, module, short_message, " +
                 "entity_type, entity_id, related_execution_id, details, metadata " +
@@ -422,14 +433,25 @@ public final class ActivityLogService {
                 queryParams.add(params.getEntityId());
             }
             
-            sql.append(" ORDER BY timestamp DESC");
+            // Keyset pagination: continue after the last row of the previous page.
+            // Null timestamp rows sort last (DESC), so they follow every keyed row.
+            if (params.getAfterId() != null && params.getAfterSortKey() != null) {
+                sql.append(" AND ((timestamp, id) < (?, ?) OR timestamp IS NULL)");
+                queryParams.add(params.getAfterSortKey());
+                queryParams.add(params.getAfterId());
+            } else if (params.getAfterId() != null) {
+                sql.append(" AND timestamp IS NULL AND id < ?");
+                queryParams.add(params.getAfterId());
+            }
+            
+            sql.append(" ORDER BY timestamp DESC, id DESC");
             
             if (params.getLimit() != null && params.getLimit() > 0) {
                 sql.append(" LIMIT ?");
                 queryParams.add(params.getLimit());
             }
             
-            if (params.getOffset() != null && params.getOffset() > 0) {
+            if (params.getAfterId() == null && params.getOffset() != null && params.getOffset() > 0) {
                 sql.append(" OFFSET ?");
                 queryParams.add(params.getOffset());
             }
@@ -466,7 +488,7 @@ public final class ActivityLogService {
             return 0;
         }
         
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM activity_log WHERE 1=1");
             List<Object> queryParams = new ArrayList<>();
             
@@ -529,6 +551,49 @@ public final class ActivityLogService {
         return 0;
     }
     
+    /**
+     * Full-text search over short messages and details, best matches first.
+     * 
+     * @param text the search text (terms are ANDed and prefix-matched)
+     * @param limit maximum number of hits
+     * @return ranked hits (empty if the index is unavailable or the query fails)
+     * @throws IllegalArgumentException if the text has no searchable terms
+     */
+    public List<FullTextQuery.Hit<ActivityLogEntry>> searchActivityLogs(String text, int limit) {
+        List<FullTextQuery.Hit<ActivityLogEntry>> hits = new ArrayList<>();
+        String match = FullTextQuery.toMatchExpression(text);
+        
+        if (!databaseManager.isInitialized() || !databaseManager.isFullTextAvailable()) {
+            logger.debug("Full-text index not available, returning empty results");
+            return hits;
+        }
+        
+        // bm25 weights: short_message, details
+        String sql =
+            "SELECT a.id, a.timestamp, a.user_action, a.severity, a.module, a.short_message, " +
+            "a.entity_type, a.entity_id, a.related_execution_id, a.details, a.metadata, " +
+            "bm25(activity_log_fts, 4.0, 1.0) AS rank, " +
+            "snippet(activity_log_fts, -1, '[', ']', '...', 12) AS excerpt " +
+            "FROM activity_log_fts JOIN activity_log a ON a.id = activity_log_fts.rowid " +
+            "WHERE activity_log_fts MATCH ? ORDER BY rank LIMIT ?";
+        
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, match);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    hits.add(new FullTextQuery.Hit<>(
+                        new ActivityLogEntry(rs), -rs.getDouble("rank"), rs.getString("excerpt")));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to search activity logs: {}", e.getMessage());
+        }
+        
+        return hits;
+    }
+    
     /**
      * Truncate string to maximum length.
      * 
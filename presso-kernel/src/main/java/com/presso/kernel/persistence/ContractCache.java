@@ -0,0 +1,231 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: ContractCache.java
+ * RESPONSIBILITY: Bounded read-through cache of contracts by id
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Serves repeated GET_CONTRACT_BY_ID lookups from memory
+ * - Size-aware LRU: bounded by estimated bytes, least recently used evicted first
+ * - Invalidated by ContractService writes; reports hit/miss/eviction counters
+ * 
+ * BOUNDARIES:
+ * - Owned by ContractService; never the source of truth
+ * - Stores and returns copies, so callers cannot mutate cached state
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Section 5.2
+ */
+package com.presso.kernel.persistence;
+
+import com.presso.kernel.persistence.ContractService.Contract;
+import com.presso.kernel.persistence.ContractService.PaymentStage;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded LRU cache of contracts (with payment stages) keyed by id.
+ * <p>
+ * A load only enters the cache if no invalidation happened since it started
+ * ({@link #generation()} / {@link #putIfCurrent}), so a read racing a write can
+ * never re-insert the old row after the writer invalidated it.
+ * </p>
+ */
+public final class ContractCache {
+    
+    // Rough per-object overheads used for the size estimate
+    private static final int CONTRACT_OVERHEAD_BYTES = 256;
+    private static final int STAGE_OVERHEAD_BYTES = 128;
+    
+    private record Entry(Contract contract, long weight) {
+    }
+    
+    private final long maxWeightBytes;
+    private final int maxEntries;
+    
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long weightBytes = 0;
+    private long generation = 0;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    
+    /**
+     * Construct a ContractCache.
+     * 
+     * @param maxWeightBytes estimated memory budget
+     * @param maxEntries maximum number of contracts
+     */
+    public ContractCache(long maxWeightBytes, int maxEntries) {
+        this.maxWeightBytes = maxWeightBytes;
+        this.maxEntries = maxEntries;
+    }
+    
+    /**
+     * Look up a contract.
+     * 
+     * @param contractId the contract id
+     * @return a copy of the cached contract, or null on a miss
+     */
+    public Contract get(Long contractId) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(contractId);
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copy(entry.contract());
+    }
+    
+    /**
+     * Get the invalidation generation; capture it before loading from the database.
+     * 
+     * @return the current generation
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+    
+    /**
+     * Cache a loaded contract unless an invalidation happened since the load began.
+     * 
+     * @param contract the loaded contract (copied)
+     * @param loadGeneration the generation captured before the load
+     */
+    public void putIfCurrent(Contract contract, long loadGeneration) {
+        if (contract == null || contract.getId() == null) {
+            return;
+        }
+        Contract stored = copy(contract);
+        long weight = estimateWeight(stored);
+        if (weight > maxWeightBytes) {
+            return;
+        }
+        
+        synchronized (this) {
+            if (generation != loadGeneration) {
+                return;
+            }
+            Entry previous = entries.put(stored.getId(), new Entry(stored, weight));
+            if (previous != null) {
+                weightBytes -= previous.weight();
+            }
+            weightBytes += weight;
+            
+            Iterator<Entry> eldest = entries.values().iterator();
+            while ((weightBytes > maxWeightBytes || entries.size() > maxEntries) && eldest.hasNext()) {
+                weightBytes -= eldest.next().weight();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+    
+    /**
+     * Drop a contract after it was written; also fences in-flight loads.
+     * 
+     * @param contractId the contract id (null only fences)
+     */
+    public synchronized void invalidate(Long contractId) {
+        generation++;
+        invalidations.increment();
+        if (contractId != null) {
+            Entry removed = entries.remove(contractId);
+            if (removed != null) {
+                weightBytes -= removed.weight();
+            }
+        }
+    }
+    
+    /**
+     * Drop all entries.
+     */
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+        weightBytes = 0;
+    }
+    
+    /**
+     * Get cache metrics for GET_STATUS.
+     * 
+     * @return size, bytes, hits, misses, hit ratio, evictions, invalidations
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (this) {
+            stats.put("entries", entries.size());
+            stats.put("bytes", weightBytes);
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        stats.put("maxEntries", maxEntries);
+        stats.put("maxBytes", maxWeightBytes);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+    
+    private static long estimateWeight(Contract contract) {
+        long weight = CONTRACT_OVERHEAD_BYTES
+            + chars(contract.getContractNumber()) + chars(contract.getName())
+            + chars(contract.getBuyerCompany()) + chars(contract.getBuyerTaxCode());
+        if (contract.getPaymentStages() != null) {
+            for (PaymentStage stage : contract.getPaymentStages()) {
+                weight += STAGE_OVERHEAD_BYTES + chars(stage.getStageName());
+            }
+        }
+        return weight;
+    }
+    
+    private static long chars(String value) {
+        return value == null ? 0 : 2L * value.length();
+    }
+    
+    private static Contract copy(Contract source) {
+        Contract copy = new Contract();
+        copy.setId(source.getId());
+        copy.setContractNumber(source.getContractNumber());
+        copy.setName(source.getName());
+        copy.setSignedDate(source.getSignedDate());
+        copy.setBuyerCompany(source.getBuyerCompany());
+        copy.setBuyerTaxCode(source.getBuyerTaxCode());
+        copy.setCreatedAt(source.getCreatedAt() != null ? new Timestamp(source.getCreatedAt().getTime()) : null);
+        copy.setUpdatedAt(source.getUpdatedAt() != null ? new Timestamp(source.getUpdatedAt().getTime()) : null);
+        
+        List<PaymentStage> stages = new ArrayList<>();
+        if (source.getPaymentStages() != null) {
+            for (PaymentStage stage : source.getPaymentStages()) {
+                PaymentStage stageCopy = new PaymentStage();
+                stageCopy.setId(stage.getId());
+                stageCopy.setContractId(stage.getContractId());
+                stageCopy.setStageName(stage.getStageName());
+                stageCopy.setPriceBeforeVat(stage.getPriceBeforeVat());
+                stageCopy.setVatRate(stage.getVatRate());
+                stageCopy.setVatAmount(stage.getVatAmount());
+                stageCopy.setPriceAfterVat(stage.getPriceAfterVat());
+                stageCopy.setSequenceOrder(stage.getSequenceOrder());
+                stages.add(stageCopy);
+            }
+        }
+        copy.setPaymentStages(stages);
+        return copy;
+    }
+}
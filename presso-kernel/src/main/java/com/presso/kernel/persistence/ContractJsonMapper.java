@@ -0,0 +1,222 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: ContractJsonMapper.java
+ * RESPONSIBILITY: Map IPC contract JSON to Contract records
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Single definition of the contract wire format used by task results
+ *   and bulk imports
+ * 
+ * BOUNDARIES:
+ * - Field mapping only: no validation beyond required fields, no persistence
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Section 5.2
+ */
+package com.presso.kernel.persistence;
+
+import com.presso.kernel.persistence.ContractService.Contract;
+import com.presso.kernel.persistence.ContractService.PaymentStage;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Converts contract JSON ({"contract_number", "name", "signed_date", ..., "payment_stages"})
+ * into {@link Contract} objects.
+ */
+public final class ContractJsonMapper {
+    
+    private ContractJsonMapper() {
+    }
+    
+    /**
+     * Convert contract JSON to a Contract.
+     * Payment stages without a stage_name are skipped.
+     * 
+     * @param contractJson the contract JSON object
+     * @return the contract (id set only if present in the JSON)
+     * @throws IllegalArgumentException if the name is missing or a field has the wrong type/format
+     */
+    public static Contract fromJson(JsonObject contractJson) {
+        if (contractJson == null) {
+            throw new IllegalArgumentException("Contract must be a JSON object");
+        }
+        if (!contractJson.has("name") || contractJson.get("name").isJsonNull()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        
+        try {
+            Contract contract = new Contract();
+            
+            if (contractJson.has("id")) {
+                JsonElement idElem = contractJson.get("id");
+                if (!idElem.isJsonNull()) {
+                    contract.setId(idElem.getAsLong());
+                }
+            }
+            
+            if (contractJson.has("contract_number")) {
+                contract.setContractNumber(contractJson.get("contract_number").getAsString());
+            }
+            
+            contract.setName(contractJson.get("name").getAsString());
+            
+            if (contractJson.has("signed_date")) {
+                String dateStr = contractJson.get("signed_date").getAsString();
+                if (dateStr != null && !dateStr.isEmpty()) {
+                    contract.setSignedDate(LocalDate.parse(dateStr));
+                }
+            }
+            
+            if (contractJson.has("buyer_company")) {
+                contract.setBuyerCompany(contractJson.get("buyer_company").getAsString());
+            }
+            
+            if (contractJson.has("buyer_tax_code")) {
+                contract.setBuyerTaxCode(contractJson.get("buyer_tax_code").getAsString());
+            }
+            
+            if (contractJson.has("payment_stages")) {
+                contract.setPaymentStages(stagesFromJson(contractJson.getAsJsonArray("payment_stages")));
+            }
+            
+            return contract;
+            
+        } catch (RuntimeException e) {
+            // Wrong JSON types (ClassCastException, IllegalStateException) or bad dates
+            throw new IllegalArgumentException("Invalid contract field: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Lazily map a JSON array of contracts.
+     * next() throws IllegalArgumentException for an invalid element (iteration can continue).
+     * 
+     * @param contracts the contract array
+     * @return iterator over the mapped contracts
+     */
+    public static Iterator<Contract> fromJsonArray(JsonArray contracts) {
+        Iterator<JsonElement> elements = contracts.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return elements.hasNext();
+            }
+            
+            @Override
+            public Contract next() {
+                JsonElement element = elements.next();
+                if (!element.isJsonObject()) {
+                    throw new IllegalArgumentException("Contract must be a JSON object");
+                }
+                return fromJson(element.getAsJsonObject());
+            }
+        };
+    }
+    
+    /**
+     * Lazily map a JSON-lines source (one contract object per line, blank lines ignored).
+     * next() throws IllegalArgumentException for an invalid line (iteration can continue).
+     * 
+     * @param reader the source (closed by the caller)
+     * @return iterator over the mapped contracts
+     * @throws UncheckedIOException if reading fails
+     */
+    public static Iterator<Contract> fromJsonLines(BufferedReader reader) {
+        return new Iterator<>() {
+            private String nextLine = readNonBlankLine();
+            
+            @Override
+            public boolean hasNext() {
+                return nextLine != null;
+            }
+            
+            @Override
+            public Contract next() {
+                if (nextLine == null) {
+                    throw new NoSuchElementException();
+                }
+                String line = nextLine;
+                nextLine = readNonBlankLine();
+                JsonElement element;
+                try {
+                    element = JsonParser.parseString(line);
+                } catch (JsonParseException e) {
+                    throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+                }
+                if (!element.isJsonObject()) {
+                    throw new IllegalArgumentException("Contract must be a JSON object");
+                }
+                return fromJson(element.getAsJsonObject());
+            }
+            
+            private String readNonBlankLine() {
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isBlank()) {
+                            return line;
+                        }
+                    }
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+    
+    private static List<PaymentStage> stagesFromJson(JsonArray stagesArray) {
+        List<PaymentStage> stages = new ArrayList<>();
+        
+        for (JsonElement stageElem : stagesArray) {
+            if (!stageElem.isJsonObject()) {
+                continue;
+            }
+            JsonObject stageJson = stageElem.getAsJsonObject();
+            if (!stageJson.has("stage_name")) {
+                continue; // Skip invalid stage
+            }
+            
+            PaymentStage stage = new PaymentStage();
+            stage.setStageName(stageJson.get("stage_name").getAsString());
+            
+            if (stageJson.has("price_before_vat")) {
+                stage.setPriceBeforeVat(stageJson.get("price_before_vat").getAsDouble());
+            }
+            
+            if (stageJson.has("vat_rate")) {
+                stage.setVatRate(stageJson.get("vat_rate").getAsDouble());
+            }
+            
+            if (stageJson.has("vat_amount")) {
+                stage.setVatAmount(stageJson.get("vat_amount").getAsDouble());
+            }
+            
+            if (stageJson.has("price_after_vat")) {
+                stage.setPriceAfterVat(stageJson.get("price_after_vat").getAsDouble());
+            }
+            
+            if (stageJson.has("sequence_order")) {
+                stage.setSequenceOrder(stageJson.get("sequence_order").getAsInt());
+            }
+            
+            stages.add(stage);
+        }
+        
+        return stages;
+    }
+}
@@ -32,7 +32,11 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for contract data persistence.
@@ -41,7 +45,18 @@ public final class ContractService {
     
     private static final Logger logger = LoggerFactory.getLogger(ContractService.class);
     
+    // Detailed errors kept per bulk import (all failures are still counted)
+    private static final int MAX_REPORTED_IMPORT_ERRORS = 1000;
+    
+    // Contract ids per payment-stage IN (...) query (below SQLite's bound-parameter limit)
+    private static final int STAGE_LOAD_BATCH = 500;
+    
+    // Read-through cache for getContractById
+    private static final long CACHE_MAX_BYTES = 16L * 1024 * 1024;
+    private static final int CACHE_MAX_ENTRIES = 10_000;
+    
     private final DatabaseManager databaseManager;
+    private final ContractCache cache = new ContractCache(CACHE_MAX_BYTES, CACHE_MAX_ENTRIES);
     
     /**
      * Contract data model.
@@ -191,6 +206,7 @@ public final class ContractService {
             }
             
             conn.commit();
+            cache.invalidate(contract.getId());
             logger.debug("Created contract: id={}, contractNumber={}", contract.getId(), contract.getContractNumber());
             
             return contract;
@@ -200,12 +216,236 @@ public final class ContractService {
             logger.error("Failed to create contract: {}", e.getMessage());
             throw e;
         } finally {
-            conn.setAutoCommit(true);
+            // Release the writer lease (resets transaction state)
+            conn.close();
+        }
+    }
+    
+    /**
+     * Per-row failure of a bulk import.
+     */
+    public static class RowError {
+        private final int index;
+        private final String contractNumber;
+        private final String message;
+        
+        public RowError(int index, String contractNumber, String message) {
+            this.index = index;
+            this.contractNumber = contractNumber;
+            this.message = message;
+        }
+        
+        public int getIndex() { return index; }
+        public String getContractNumber() { return contractNumber; }
+        public String getMessage() { return message; }
+    }
+    
+    /**
+     * Outcome of a bulk import.
+     */
+    public static class BulkImportResult {
+        private int processed;
+        private int imported;
+        private int failed;
+        private final List<RowError> errors = new ArrayList<>();
+        
+        void recordImported(int count) {
+            processed += count;
+            imported += count;
+        }
+        
+        void recordFailed(RowError error) {
+            processed++;
+            failed++;
+            if (errors.size() < MAX_REPORTED_IMPORT_ERRORS) {
+                errors.add(error);
+            }
+        }
+        
+        public int getProcessed() { return processed; }
+        public int getImported() { return imported; }
+        public int getFailed() { return failed; }
+        public List<RowError> getErrors() { return errors; }
+        public boolean isErrorListTruncated() { return failed > errors.size(); }
+    }
+    
+    /**
+     * Receives progress after each committed chunk of a bulk import.
+     */
+    @FunctionalInterface
+    public interface ImportProgressListener {
+        void onChunkCommitted(BulkImportResult progress);
+    }
+    
+    /**
+     * Import contracts (with payment stages) in chunked transactions.
+     * <p>
+     * Rows are pulled from the iterator one chunk at a time, so the source can
+     * stream. Each chunk runs in one transaction on one writer lease with the
+     * insert statements prepared once; payment stages are sent as a JDBC batch.
+     * A row that violates a constraint (e.g. duplicate contract number) is
+     * reported and skipped without aborting its chunk. If the iterator throws
+     * IllegalArgumentException for a row, that row is reported as invalid.
+     * Contracts with an id are rejected (imports only create).
+     * </p>
+     * 
+     * @param rows the contracts to import
+     * @param chunkSize rows per transaction
+     * @param listener progress listener (may be null)
+     * @return counts and per-row errors (row index is the position in the source)
+     */
+    public BulkImportResult importContracts(Iterator<Contract> rows, int chunkSize,
+                                            ImportProgressListener listener) {
+        BulkImportResult result = new BulkImportResult();
+        int chunkLimit = Math.max(1, chunkSize);
+        int index = 0;
+        
+        while (rows.hasNext()) {
+            List<Contract> chunk = new ArrayList<>(chunkLimit);
+            List<Integer> chunkIndexes = new ArrayList<>(chunkLimit);
+            while (chunk.size() < chunkLimit && rows.hasNext()) {
+                int rowIndex = index++;
+                try {
+                    Contract contract = rows.next();
+                    String problem = validateForImport(contract);
+                    if (problem != null) {
+                        result.recordFailed(new RowError(rowIndex,
+                            contract != null ? contract.getContractNumber() : null, problem));
+                        continue;
+                    }
+                    chunk.add(contract);
+                    chunkIndexes.add(rowIndex);
+                } catch (IllegalArgumentException e) {
+                    result.recordFailed(new RowError(rowIndex, null, e.getMessage()));
+                }
+            }
+            
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, chunkIndexes, result);
+            }
+            if (listener != null) {
+                listener.onChunkCommitted(result);
+            }
+        }
+        
+        logger.info("Bulk contract import: processed={}, imported={}, failed={}",
+            result.getProcessed(), result.getImported(), result.getFailed());
+        return result;
+    }
+    
+    private String validateForImport(Contract contract) {
+        if (contract == null) {
+            return "Row is empty";
+        }
+        if (contract.getId() != null) {
+            return "Import cannot update existing contracts (id must be absent)";
+        }
+        if (contract.getName() == null || contract.getName().isBlank()) {
+            return "name is required";
+        }
+        return null;
+    }
+    
+    /**
+     * Insert one chunk in a single transaction; failed rows are recorded in the result.
+     */
+    private void importChunk(List<Contract> chunk, List<Integer> chunkIndexes, BulkImportResult result) {
+        if (!databaseManager.isInitialized()) {
+            for (int i = 0; i < chunk.size(); i++) {
+                result.recordFailed(new RowError(chunkIndexes.get(i),
+                    chunk.get(i).getContractNumber(), "Database not initialized"));
+            }
+            return;
+        }
+        
+        List<RowError> rowErrors = new ArrayList<>();
+        int inserted = 0;
+        
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement contractStmt = conn.prepareStatement(
+                 "INSERT INTO contracts (contract_number, name, signed_date, buyer_company, buyer_tax_code, created_at, updated_at) " +
+                 "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                 Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement stageStmt = conn.prepareStatement(
+                 "INSERT INTO payment_stages (contract_id, stage_name, price_before_vat, vat_rate, " +
+                 "vat_amount, price_after_vat, sequence_order) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            
+            Timestamp now = Timestamp.from(Instant.now());
+            boolean hasStages = false;
+            
+            for (int i = 0; i < chunk.size(); i++) {
+                Contract contract = chunk.get(i);
+                contractStmt.setString(1, contract.getContractNumber());
+                contractStmt.setString(2, contract.getName());
+                contractStmt.setObject(3, contract.getSignedDate());
+                contractStmt.setString(4, contract.getBuyerCompany());
+                contractStmt.setString(5, contract.getBuyerTaxCode());
+                contractStmt.setTimestamp(6, now);
+                contractStmt.setTimestamp(7, now);
+                
+                long contractId;
+                try {
+                    // SQLite aborts only the failing statement; the chunk transaction continues
+                    contractStmt.executeUpdate();
+                    try (ResultSet keys = contractStmt.getGeneratedKeys()) {
+                        if (!keys.next()) {
+                            throw new SQLException("No id generated");
+                        }
+                        contractId = keys.getLong(1);
+                    }
+                } catch (SQLException e) {
+                    rowErrors.add(new RowError(chunkIndexes.get(i), contract.getContractNumber(), e.getMessage()));
+                    continue;
+                }
+                
+                contract.setId(contractId);
+                contract.setCreatedAt(now);
+                contract.setUpdatedAt(now);
+                inserted++;
+                
+                if (contract.getPaymentStages() != null) {
+                    for (PaymentStage stage : contract.getPaymentStages()) {
+                        stageStmt.setLong(1, contractId);
+                        stageStmt.setString(2, stage.getStageName());
+                        stageStmt.setObject(3, stage.getPriceBeforeVat());
+                        stageStmt.setObject(4, stage.getVatRate());
+                        stageStmt.setObject(5, stage.getVatAmount());
+                        stageStmt.setObject(6, stage.getPriceAfterVat());
+                        stageStmt.setObject(7, stage.getSequenceOrder());
+                        stageStmt.addBatch();
+                        stage.setContractId(contractId);
+                        hasStages = true;
+                    }
+                }
+            }
+            
+            if (hasStages) {
+                stageStmt.executeBatch();
+            }
+            conn.commit();
+            
+        } catch (SQLException e) {
+            // Chunk rolled back (lease close): every row of the chunk failed
+            logger.error("Bulk import chunk failed, rolled back {} rows: {}", chunk.size(), e.getMessage());
+            rowErrors.clear();
+            inserted = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).setId(null);
+                rowErrors.add(new RowError(chunkIndexes.get(i), chunk.get(i).getContractNumber(),
+                    "Chunk rolled back: " + e.getMessage()));
+            }
+        }
+        
+        result.recordImported(inserted);
+        for (RowError error : rowErrors) {
+            result.recordFailed(error);
         }
     }
     
     /**
      * Get contract by ID with payment stages.
+     * Served from the contract cache when possible; the returned object is the
+     * caller's own copy.
      * 
      * @param contractId the contract ID
      * @return the contract, or null if not found
@@ -215,7 +455,13 @@ public final class ContractService {
             return null;
         }
         
-        try (Connection conn = databaseManager.getConnection();
+        Contract cached = cache.get(contractId);
+        if (cached != null) {
+            return cached;
+        }
+        long loadGeneration = cache.generation();
+        
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(
                  "SELECT id, contract_number, name, signed_date, buyer_company, buyer_tax_code, " +
                  "created_at, updated_at FROM contracts WHERE id = ?")) {
@@ -227,8 +473,9 @@ public final class ContractService {
                     Contract contract = mapContract(rs);
                     
                     // Load payment stages
-                    contract.setPaymentStages(getPaymentStagesByContractId(conn, contractId));
+                    loadPaymentStages(conn, List.of(contract));
                     
+                    cache.putIfCurrent(contract, loadGeneration);
                     return contract;
                 }
             }
@@ -292,6 +539,7 @@ public final class ContractService {
             }
             
             conn.commit();
+            cache.invalidate(contract.getId());
             logger.debug("Updated contract: id={}", contract.getId());
             return true;
             
@@ -308,9 +556,10 @@ public final class ContractService {
         } finally {
             if (conn != null) {
                 try {
-                    conn.setAutoCommit(true);
+                    // Release the writer lease (resets transaction state)
+                    conn.close();
                 } catch (SQLException e) {
-                    logger.error("Error resetting auto-commit", e);
+                    logger.error("Error releasing connection", e);
                 }
             }
         }
@@ -334,6 +583,7 @@ public final class ContractService {
             stmt.setLong(1, contractId);
             int rows = stmt.executeUpdate();
             conn.commit();
+            cache.invalidate(contractId);
             
             if (rows > 0) {
                 logger.debug("Deleted contract: id={}", contractId);
@@ -359,7 +609,7 @@ public final class ContractService {
             return contracts;
         }
         
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(
                  "SELECT id, contract_number, name, signed_date, buyer_company, buyer_tax_code, " +
                  "created_at, updated_at FROM contracts ORDER BY created_at DESC")) {
@@ -389,6 +639,9 @@ public final class ContractService {
         private Timestamp createdTo;
         private Integer limit = 100;
         private Integer offset = 0;
+        private Timestamp afterSortKey;
+        private Long afterId;
+        private boolean includePaymentStages = false;
         
         public ContractQueryParams contractNumber(String contractNumber) {
             this.contractNumber = contractNumber;
@@ -430,6 +683,26 @@ public final class ContractService {
             return this;
         }
         
+        /**
+         * Also load payment stages (batched, same connection). Off by default:
+         * list views get contract headers only.
+         */
+        public ContractQueryParams includePaymentStages(boolean includePaymentStages) {
+            this.includePaymentStages = includePaymentStages;
+            return this;
+        }
+        
+        /**
+         * Keyset cursor: return only rows after (created_at, id) in result order.
+         * A null sort key continues within the trailing null-created_at rows.
+         * Replaces offset; cost no longer grows with page depth.
+         */
+        public ContractQueryParams after(Timestamp sortKey, Long id) {
+            this.afterSortKey = sortKey;
+            this.afterId = id;
+            return this;
+        }
+        
         // Getters
         public String getContractNumber() { return contractNumber; }
         public String getBuyerCompany() { return buyerCompany; }
@@ -439,6 +712,9 @@ public final class ContractService {
         public Timestamp getCreatedTo() { return createdTo; }
         public Integer getLimit() { return limit; }
         public Integer getOffset() { return offset; }
+        public boolean isIncludePaymentStages() { return includePaymentStages; }
+        public Timestamp getAfterSortKey() { return afterSortKey; }
+        public Long getAfterId() { return afterId; }
     }
     
     /**
@@ -454,7 +730,7 @@ public final class ContractService {
             return contracts;
         }
         
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             StringBuilder sql = new StringBuilder(
                 "SELECT id, contract_number, name, signed_date, buyer_company, buyer_tax_code, " +
                 "created_at, updated_at FROM contracts WHERE 1=1"
@@ -492,14 +768,25 @@ public final class ContractService {
                 queryParams.add(params.getCreatedTo());
             }
             
-            sql.append(" ORDER BY created_at DESC");
+            // Keyset pagination: continue after the last row of the previous page.
+            // Null created_at rows sort last (DESC), so they follow every keyed row.
+            if (params.getAfterId() != null && params.getAfterSortKey() != null) {
+                sql.append(" AND ((created_at, id) < (?, ?) OR created_at IS NULL)");
+                queryParams.add(params.getAfterSortKey());
+                queryParams.add(params.getAfterId());
+            } else if (params.getAfterId() != null) {
+                sql.append(" AND created_at IS NULL AND id < ?");
+                queryParams.add(params.getAfterId());
+            }
+            
+            sql.append(" ORDER BY created_at DESC, id DESC");
             
             if (params.getLimit() != null && params.getLimit() > 0) {
                 sql.append(" LIMIT ?");
                 queryParams.add(params.getLimit());
             }
             
-            if (params.getOffset() != null && params.getOffset() > 0) {
+            if (params.getAfterId() == null && params.getOffset() != null && params.getOffset() > 0) {
                 sql.append(" OFFSET ?");
                 queryParams.add(params.getOffset());
             }
@@ -516,6 +803,10 @@ public final class ContractService {
                 }
             }
             
+            if (params.isIncludePaymentStages()) {
+                loadPaymentStages(conn, contracts);
+            }
+            
             logger.debug("Contract search returned {} results", contracts.size());
             
         } catch (SQLException e) {
@@ -536,7 +827,7 @@ public final class ContractService {
             return 0;
         }
         
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM contracts WHERE 1=1");
             List<Object> queryParams = new ArrayList<>();
             
@@ -589,6 +880,60 @@ public final class ContractService {
         return 0;
     }
     
+    /**
+     * Full-text search over contract number, name, buyer company and tax code,
+     * best matches first. Unlike the LIKE filters of searchContracts, this uses
+     * the FTS5 index and stays fast for infix-style lookups on large tables.
+     * 
+     * @param text the search text (terms are ANDed and prefix-matched)
+     * @param limit maximum number of hits
+     * @return ranked hits (empty if the index is unavailable or the query fails)
+     * @throws IllegalArgumentException if the text has no searchable terms
+     */
+    public List<FullTextQuery.Hit<Contract>> searchContractsRanked(String text, int limit) {
+        List<FullTextQuery.Hit<Contract>> hits = new ArrayList<>();
+        String match = FullTextQuery.toMatchExpression(text);
+        
+        if (!databaseManager.isInitialized() || !databaseManager.isFullTextAvailable()) {
+            logger.debug("Full-text index not available, returning empty results");
+            return hits;
+        }
+        
+        // bm25 weights: contract_number, name, buyer_company, buyer_tax_code
+        String sql =
+            "SELECT c.id, c.contract_number, c.name, c.signed_date, c.buyer_company, c.buyer_tax_code, " +
+            "c.created_at, c.updated_at, " +
+            "bm25(contracts_fts, 10.0, 4.0, 2.0, 8.0) AS rank, " +
+            "snippet(contracts_fts, -1, '[', ']', '...', 12) AS excerpt " +
+            "FROM contracts_fts JOIN contracts c ON c.id = contracts_fts.rowid " +
+            "WHERE contracts_fts MATCH ? ORDER BY rank LIMIT ?";
+        
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, match);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    hits.add(new FullTextQuery.Hit<>(
+                        mapContract(rs), -rs.getDouble("rank"), rs.getString("excerpt")));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to search contracts: {}", e.getMessage());
+        }
+        
+        return hits;
+    }
+    
+    /**
+     * Get contract cache metrics.
+     * 
+     * @return cache statistics (entries, bytes, hits, misses, evictions, ...)
+     */
+    public Map<String, Object> getCacheStats() {
+        return cache.getStats();
+    }
+    
     /**
      * Link a contract to an execution history record.
      * 
@@ -651,34 +996,49 @@ public final class ContractService {
     }
     
     /**
-     * Get payment stages for a contract.
+     * Load payment stages for many contracts with batched IN (...) queries
+     * (one query per {@value #STAGE_LOAD_BATCH} contracts instead of one per contract).
+     * Every contract gets a list, empty if it has no stages.
      */
-    private List<PaymentStage> getPaymentStagesByContractId(Connection conn, Long contractId) throws SQLException {
-        List<PaymentStage> stages = new ArrayList<>();
+    private void loadPaymentStages(Connection conn, List<Contract> contracts) throws SQLException {
+        Map<Long, List<PaymentStage>> stagesByContract = new HashMap<>();
+        for (Contract contract : contracts) {
+            if (contract.getId() != null) {
+                List<PaymentStage> stages = stagesByContract.computeIfAbsent(contract.getId(), id -> new ArrayList<>());
+                contract.setPaymentStages(stages);
+            }
+        }
         
-        try (PreparedStatement stmt = conn.prepareStatement(
-            "SELECT id, contract_id, stage_name, price_before_vat, vat_rate, vat_amount, " +
-            "price_after_vat, sequence_order FROM payment_stages WHERE contract_id = ? ORDER BY sequence_order")) {
+        List<Long> ids = new ArrayList<>(stagesByContract.keySet());
+        for (int from = 0; from < ids.size(); from += STAGE_LOAD_BATCH) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + STAGE_LOAD_BATCH));
+            String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
             
-            stmt.setLong(1, contractId);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    PaymentStage stage = new PaymentStage();
-                    stage.setId(rs.getLong("id"));
-                    stage.setContractId(rs.getLong("contract_id"));
-                    stage.setStageName(rs.getString("stage_name"));
-                    stage.setPriceBeforeVat(rs.getObject("price_before_vat", Double.class));
-                    stage.setVatRate(rs.getObject("vat_rate", Double.class));
-                    stage.setVatAmount(rs.getObject("vat_amount", Double.class));
-                    stage.setPriceAfterVat(rs.getObject("price_after_vat", Double.class));
-                    stage.setSequenceOrder(rs.getObject("sequence_order", Integer.class));
-                    stages.add(stage);
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT id, contract_id, stage_name, price_before_vat, vat_rate, vat_amount, " +
+                "price_after_vat, sequence_order FROM payment_stages WHERE contract_id IN (" + placeholders + ") " +
+                "ORDER BY contract_id, sequence_order")) {
+                
+                for (int i = 0; i < batch.size(); i++) {
+                    stmt.setLong(i + 1, batch.get(i));
+                }
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        PaymentStage stage = new PaymentStage();
+                        stage.setId(rs.getLong("id"));
+                        stage.setContractId(rs.getLong("contract_id"));
+                        stage.setStageName(rs.getString("stage_name"));
+                        stage.setPriceBeforeVat(rs.getObject("price_before_vat", Double.class));
+                        stage.setVatRate(rs.getObject("vat_rate", Double.class));
+                        stage.setVatAmount(rs.getObject("vat_amount", Double.class));
+                        stage.setPriceAfterVat(rs.getObject("price_after_vat", Double.class));
+                        stage.setSequenceOrder(rs.getObject("sequence_order", Integer.class));
+                        stagesByContract.get(stage.getContractId()).add(stage);
+                    }
                 }
             }
         }
-        
-        return stages;
     }
     
     /**
@@ -6,9 +6,9 @@
  * RESPONSIBILITY: SQLite database connection and initialization
  * 
  * ARCHITECTURAL ROLE:
- * - Manages SQLite database connection
+ * - Manages SQLite database connections (one writer + N readers, WAL mode)
  * - Creates database schema on first run
- * - Provides connection access to persistence services
+ * - Provides leased connection access to persistence services
  * - Handles database lifecycle (open, close)
  * 
  * BOUNDARIES:
@@ -20,20 +20,39 @@
  */
 package com.presso.kernel.persistence;
 
+import com.presso.kernel.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Manages SQLite database connection and schema initialization.
+ * Manages SQLite database connections and schema initialization.
+ * <p>
+ * The database runs in WAL mode with one writer connection and a small pool of
+ * read-only connections. Callers receive leased handles: closing a handle returns
+ * it to the pool (rolling back any uncommitted work) instead of closing the
+ * underlying connection. The writer is exclusive per lease, so transactions from
+ * different threads never interleave; readers never wait behind writers.
+ * </p>
  */
 public final class DatabaseManager {
     
@@ -42,15 +61,55 @@ public final class DatabaseManager {
     private static final String DB_FILENAME = "presso.db";
     private static final String DB_DIR = "data";
     
-    private Connection connection;
+    // Pool sizing and PRAGMA tuning
+    private static final int DEFAULT_READER_COUNT = 4;
+    private static final long READER_WAIT_MS = 2000;
+    private static final long MMAP_SIZE_BYTES = 256L * 1024 * 1024;
+    private static final int CACHE_SIZE_KIB = 16 * 1024;
+    private static final int BUSY_TIMEOUT_MS = 5000;
+    
+    // Resolves the service that leased a connection (for per-service statement metrics)
+    private static final StackWalker CALLER_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    
+    /**
+     * Fold the latest run of one step into workflow_step_stats.
+     * Parameters: execution_id, step_id.
+     */
+    public static final String STEP_STATS_UPSERT_LATEST = stepStatsUpsert(
+        "s.id = (SELECT MAX(id) FROM workflow_step_execution WHERE execution_id = ? AND step_id = ?)");
+    
+    private Connection connection;  // Writer connection (autocommit off)
+    private final ReentrantLock writerLock = new ReentrantLock(true);
+    private final int readerCount;
+    private final List<Connection> readers = new ArrayList<>();
+    private BlockingQueue<Connection> idleReaders;
     private final String dbPath;
     private volatile boolean initialized = false;
+    private volatile boolean fullTextAvailable = false;
+    
+    // Group-commit appender for append-only bookkeeping rows (activity log, AI audit)
+    private final WriteBehindAppender writeBehindAppender;
+    
+    // Statement latency per calling service (optional; statements are not wrapped without it)
+    private volatile MetricsRegistry metrics;
     
     /**
      * Construct a DatabaseManager.
      * Determines database path from %APPDATA%/PressO/data/presso.db
      */
     public DatabaseManager() {
+        this(DEFAULT_READER_COUNT);
+    }
+    
+    /**
+     * Construct a DatabaseManager with a specific reader pool size.
+     * 
+     * @param readerCount number of read-only connections (0 = all access via the writer)
+     */
+    public DatabaseManager(int readerCount) {
+        this.readerCount = Math.max(0, readerCount);
+        this.writeBehindAppender = new WriteBehindAppender(this);
+        
         // Get %APPDATA% path
         String appData = System.getenv("APPDATA");
         if (appData == null || appData.isEmpty()) {
@@ -84,33 +143,83 @@ public final class DatabaseManager {
                 logger.info("Created database directory: {}", dbDir);
             }
             
-            // Connect to SQLite database
-            String jdbcUrl = "jdbc:sqlite:" + dbPath;
-            connection = DriverManager.getConnection(jdbcUrl);
-            connection.setAutoCommit(false);
+            // Connect to SQLite database (writer first: it switches the file to WAL)
+            connection = openWriter();
             
             logger.info("Connected to SQLite database: {}", dbPath);
             
             // Create schema if tables don't exist
             createSchemaIfNeeded();
+            createFullTextIndexes();
+            
+            // Open read-only connections after the schema exists
+            idleReaders = new ArrayBlockingQueue<>(Math.max(1, readerCount));
+            for (int i = 0; i < readerCount; i++) {
+                Connection reader = openReader();
+                readers.add(reader);
+                idleReaders.add(reader);
+            }
             
             initialized = true;
-            logger.info("Database initialization complete");
+            writeBehindAppender.start();
+            logger.info("Database initialization complete (WAL, 1 writer, {} readers)", readerCount);
             
         } catch (Exception e) {
             logger.error("Database initialization failed: {}", e.getMessage(), e);
-            if (connection != null) {
-                try {
-                    connection.close();
-                } catch (SQLException ex) {
-                    logger.error("Error closing connection after init failure", ex);
-                }
-                connection = null;
+            closeQuietly(connection);
+            connection = null;
+            for (Connection reader : readers) {
+                closeQuietly(reader);
             }
+            readers.clear();
             throw new SQLException("Database initialization failed", e);
         }
     }
     
+    /**
+     * Open the writer connection with WAL mode and tuned PRAGMAs.
+     * 
+     * @return writer connection (autocommit off)
+     * @throws SQLException if the connection cannot be opened
+     */
+    private Connection openWriter() throws SQLException {
+        Connection writer = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+        try (Statement stmt = writer.createStatement()) {
+            stmt.execute("PRAGMA journal_mode=WAL");
+            applyConnectionPragmas(stmt);
+        }
+        writer.setAutoCommit(false);
+        return writer;
+    }
+    
+    /**
+     * Open a read-only connection.
+     * 
+     * @return reader connection (autocommit on, query_only)
+     * @throws SQLException if the connection cannot be opened
+     */
+    private Connection openReader() throws SQLException {
+        Connection reader = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+        try (Statement stmt = reader.createStatement()) {
+            applyConnectionPragmas(stmt);
+            stmt.execute("PRAGMA query_only=ON");
+        }
+        reader.setAutoCommit(true);
+        return reader;
+    }
+    
+    /**
+     * Apply per-connection PRAGMAs.
+     * synchronous=NORMAL is durable across application crashes in WAL mode.
+     */
+    private void applyConnectionPragmas(Statement stmt) throws SQLException {
+        stmt.execute("PRAGMA synchronous=NORMAL");
+        stmt.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MS);
+        stmt.execute("PRAGMA mmap_size=" + MMAP_SIZE_BYTES);
+        stmt.execute("PRAGMA cache_size=-" + CACHE_SIZE_KIB);
+        stmt.execute("PRAGMA temp_store=MEMORY");
+    }
+    
     /**
      * Create database schema if tables don't exist.
      */
@@ -237,7 +346,9 @@ public final class DatabaseManager {
             
             // Indexes for contracts and payment_stages
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_contracts_contract_number ON contracts(contract_number)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_contracts_created_at ON contracts(created_at)");
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_payment_stages_contract_id ON payment_stages(contract_id)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_payment_stages_contract_sequence ON payment_stages(contract_id, sequence_order)");
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_execution_history_contract_id ON execution_history(contract_id)");
             
             // Phase 5 Step 1: Workflow execution tables
@@ -275,6 +386,78 @@ public final class DatabaseManager {
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_workflow_step_execution_id ON workflow_step_execution(execution_id)");
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_workflow_step_execution_step_id ON workflow_step_execution(step_id)");
             
+            // Completed step outputs for resumption; large outputs are stored once by content hash
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS workflow_output_blob (
+                    content_hash TEXT PRIMARY KEY,
+                    content BLOB NOT NULL,
+                    raw_size INTEGER NOT NULL,
+                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP
+                )
+                """);
+            
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS workflow_step_output (
+                    execution_id TEXT NOT NULL REFERENCES workflow_execution(execution_id) ON DELETE CASCADE,
+                    step_id TEXT NOT NULL,
+                    output_json TEXT,
+                    content_hash TEXT REFERENCES workflow_output_blob(content_hash),
+                    raw_size INTEGER NOT NULL,
+                    completed_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+                    PRIMARY KEY (execution_id, step_id),
+                    CHECK ((output_json IS NULL) != (content_hash IS NULL))
+                )
+                """);
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_workflow_step_output_hash ON workflow_step_output(content_hash) WHERE content_hash IS NOT NULL");
+            
+            // Incremental per-workflow, per-step execution statistics (read by AIAdvisorService)
+            boolean statsExisted = tableExists(stmt, "workflow_step_stats");
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS workflow_step_stats (
+                    workflow_id TEXT NOT NULL,
+                    step_id TEXT NOT NULL,
+                    runs INTEGER NOT NULL DEFAULT 0,
+                    completed INTEGER NOT NULL DEFAULT 0,
+                    failures INTEGER NOT NULL DEFAULT 0,
+                    retried_runs INTEGER NOT NULL DEFAULT 0,
+                    retries_sum INTEGER NOT NULL DEFAULT 0,
+                    retries_max INTEGER NOT NULL DEFAULT 0,
+                    duration_count INTEGER NOT NULL DEFAULT 0,
+                    duration_sum REAL NOT NULL DEFAULT 0,
+                    duration_sum_sq REAL NOT NULL DEFAULT 0,
+                    duration_min REAL,
+                    duration_max REAL,
+                    hist_lt_1s INTEGER NOT NULL DEFAULT 0,
+                    hist_lt_5s INTEGER NOT NULL DEFAULT 0,
+                    hist_lt_10s INTEGER NOT NULL DEFAULT 0,
+                    hist_lt_30s INTEGER NOT NULL DEFAULT 0,
+                    hist_lt_60s INTEGER NOT NULL DEFAULT 0,
+                    hist_lt_300s INTEGER NOT NULL DEFAULT 0,
+                    hist_ge_300s INTEGER NOT NULL DEFAULT 0,
+                    last_error TEXT,
+                    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+                    PRIMARY KEY (workflow_id, step_id)
+                )
+                """);
+            if (!statsExisted) {
+                // One-time backfill from existing history; afterwards maintained per step
+                stmt.execute(stepStatsUpsert("s.status IN ('completed', 'failed')"));
+            }
+            
+            // Latency quantile sketches per engine, operation and step (written by LatencyTracker)
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS latency_sketch (
+                    sketch_key TEXT PRIMARY KEY,
+                    kind TEXT NOT NULL,
+                    name TEXT NOT NULL,
+                    sample_count INTEGER NOT NULL,
+                    total_micros INTEGER NOT NULL,
+                    max_micros INTEGER NOT NULL,
+                    buckets TEXT NOT NULL,
+                    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP
+                )
+                """);
+            
             // Phase 5 Step 3: Workflow approval audit trail
             stmt.execute("""
                 CREATE TABLE IF NOT EXISTS workflow_approval (
@@ -382,23 +565,258 @@ public final class DatabaseManager {
     }
     
     /**
-     * Get database connection.
+     * Lease the writer connection.
+     * <p>
+     * The lease is exclusive: other threads block until it is closed, so callers
+     * must close it (try-with-resources). Closing rolls back uncommitted work and
+     * returns the writer; the underlying connection stays open. Nested leases on
+     * the same thread share the outer transaction.
+     * </p>
      * 
-     * @return the database connection
+     * @return the leased writer connection (autocommit off)
      * @throws SQLException if database is not initialized
      */
     public Connection getConnection() throws SQLException {
-        if (!initialized || connection == null || connection.isClosed()) {
+        return leaseWriter(metrics != null ? ownerName(CALLER_WALKER.getCallerClass()) : null);
+    }
+    
+    /**
+     * Lease the writer on behalf of a caller.
+     */
+    private Connection leaseWriter(String owner) throws SQLException {
+        if (!initialized) {
+            throw new SQLException("Database not initialized or connection closed");
+        }
+        
+        writerLock.lock();
+        try {
+            if (connection == null || connection.isClosed()) {
+                // Self-heal: a closed writer must not break every later caller
+                logger.warn("Writer connection was closed, reopening");
+                connection = openWriter();
+            }
+            return lease(connection, true, owner);
+        } catch (SQLException | RuntimeException e) {
+            writerLock.unlock();
+            throw e;
+        }
+    }
+    
+    /**
+     * Lease a read-only connection for queries.
+     * <p>
+     * Readers see the last committed state and never wait behind writes.
+     * Falls back to the writer if no reader is available in time.
+     * </p>
+     * 
+     * @return the leased reader connection (autocommit on, query_only)
+     * @throws SQLException if database is not initialized
+     */
+    public Connection getReadConnection() throws SQLException {
+        if (!initialized) {
             throw new SQLException("Database not initialized or connection closed");
         }
-        return connection;
+        String owner = metrics != null ? ownerName(CALLER_WALKER.getCallerClass()) : null;
+        if (readerCount == 0) {
+            return leaseWriter(owner);
+        }
+        
+        Connection reader;
+        try {
+            reader = idleReaders.poll(READER_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a reader connection", e);
+        }
+        if (reader == null) {
+            logger.debug("No reader connection available, using writer");
+            return leaseWriter(owner);
+        }
+        
+        try {
+            if (reader.isClosed()) {
+                logger.warn("Reader connection was closed, reopening");
+                synchronized (readers) {
+                    readers.remove(reader);
+                    reader = openReader();
+                    readers.add(reader);
+                }
+            }
+            return lease(reader, false, owner);
+        } catch (SQLException | RuntimeException e) {
+            idleReaders.offer(reader);
+            throw e;
+        }
+    }
+    
+    /**
+     * Wrap a pooled connection in a lease whose close() returns it to the pool.
+     */
+    private Connection lease(Connection target, boolean writer, String owner) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new ConnectionLease(target, writer, owner)
+        );
+    }
+    
+    /**
+     * Metric name of the service leasing a connection (top-level class of the caller).
+     */
+    private static String ownerName(Class<?> caller) {
+        return caller.getNestHost().getSimpleName();
+    }
+    
+    /**
+     * Return a leased connection to the pool.
+     */
+    private void release(Connection target, boolean writer) {
+        if (writer) {
+            try {
+                // Only the outermost lease resets state; inner leases share its transaction
+                if (writerLock.getHoldCount() == 1) {
+                    resetWriter(target);
+                }
+            } finally {
+                writerLock.unlock();
+            }
+        } else {
+            idleReaders.offer(target);
+        }
+    }
+    
+    /**
+     * Discard uncommitted work and restore writer defaults after a lease.
+     */
+    private void resetWriter(Connection target) {
+        try {
+            if (!target.isClosed()) {
+                if (!target.getAutoCommit()) {
+                    target.rollback();
+                }
+                target.setAutoCommit(false);
+            }
+        } catch (SQLException e) {
+            logger.warn("Failed to reset writer connection: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Connection lease handler.
+     * Delegates to the pooled connection; close() releases instead of closing.
+     */
+    private final class ConnectionLease implements InvocationHandler {
+        private final Connection target;
+        private final boolean writer;
+        private final String owner;
+        private boolean released = false;
+        
+        ConnectionLease(Connection target, boolean writer, String owner) {
+            this.target = target;
+            this.writer = writer;
+            this.owner = owner;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(target, writer);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || target.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConnectionLease[" + (writer ? "writer" : "reader") + "]";
+                default:
+                    break;
+            }
+            if (released) {
+                throw new SQLException("Connection lease already closed");
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            MetricsRegistry registry = metrics;
+            if (owner != null && registry != null && result instanceof Statement statement) {
+                return Proxy.newProxyInstance(
+                    Statement.class.getClassLoader(),
+                    new Class<?>[] { method.getReturnType() },
+                    new TimedStatement(statement, (Connection) proxy, registry, owner)
+                );
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * Statement handler that times execute* calls into "db.statement.&lt;owner&gt;".
+     */
+    private static final class TimedStatement implements InvocationHandler {
+        private final Statement target;
+        private final Connection lease;
+        private final MetricsRegistry registry;
+        private final String latencyMetric;
+        private final String errorMetric;
+        
+        TimedStatement(Statement target, Connection lease, MetricsRegistry registry, String owner) {
+            this.target = target;
+            this.lease = lease;
+            this.registry = registry;
+            this.latencyMetric = "db.statement." + owner;
+            this.errorMetric = "db.errors." + owner;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("getConnection".equals(name)) {
+                return lease;
+            }
+            boolean timed = name.startsWith("execute");
+            long startNanos = timed ? System.nanoTime() : 0L;
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                if (timed) {
+                    registry.increment(errorMetric);
+                }
+                throw e.getCause();
+            } finally {
+                if (timed) {
+                    registry.recordNanos(latencyMetric, System.nanoTime() - startNanos);
+                }
+            }
+        }
     }
     
     /**
-     * Close database connection.
+     * Close database connections.
      */
     public void close() {
+        // Write pending bookkeeping rows while connections are still open
+        writeBehindAppender.stop();
+        initialized = false;
+        
+        for (Connection reader : readers) {
+            closeQuietly(reader);
+        }
+        readers.clear();
+        if (idleReaders != null) {
+            idleReaders.clear();
+        }
+        
         if (connection != null) {
+            writerLock.lock();
             try {
                 connection.close();
                 logger.info("Database connection closed");
@@ -406,11 +824,212 @@ public final class DatabaseManager {
                 logger.error("Error closing database connection: {}", e.getMessage());
             } finally {
                 connection = null;
-                initialized = false;
+                writerLock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * Close a connection, ignoring errors.
+     */
+    private void closeQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                logger.debug("Error closing connection: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Get the write-behind appender for append-only bookkeeping rows.
+     * 
+     * @return the write-behind appender
+     */
+    public WriteBehindAppender getWriteBehindAppender() {
+        return writeBehindAppender;
+    }
+    
+    /**
+     * Set the registry that receives statement latency per leasing service
+     * ("db.statement.&lt;Service&gt;", "db.errors.&lt;Service&gt;"). Applies to leases taken afterwards.
+     * 
+     * @param metrics the metrics registry, or null to stop recording
+     */
+    public void setMetricsRegistry(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Create FTS5 shadow indexes for contracts and the activity log.
+     * <p>
+     * External-content tables: the text lives only in the base tables, the index
+     * is kept in sync by triggers. Existing rows are indexed once when the index
+     * is first created. If the SQLite build lacks FTS5, text search is disabled
+     * and everything else keeps working.
+     * </p>
+     */
+    private void createFullTextIndexes() {
+        try (Statement stmt = connection.createStatement()) {
+            boolean contractsIndexed = tableExists(stmt, "contracts_fts");
+            boolean activityIndexed = tableExists(stmt, "activity_log_fts");
+            
+            stmt.execute("""
+                CREATE VIRTUAL TABLE IF NOT EXISTS contracts_fts USING fts5(
+                    contract_number, name, buyer_company, buyer_tax_code,
+                    content='contracts', content_rowid='id',
+                    tokenize='unicode61 remove_diacritics 2', prefix='2 3'
+                )
+                """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS contracts_fts_ai AFTER INSERT ON contracts BEGIN
+                    INSERT INTO contracts_fts(rowid, contract_number, name, buyer_company, buyer_tax_code)
+                    VALUES (new.id, new.contract_number, new.name, new.buyer_company, new.buyer_tax_code);
+                END
+                """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS contracts_fts_ad AFTER DELETE ON contracts BEGIN
+                    INSERT INTO contracts_fts(contracts_fts, rowid, contract_number, name, buyer_company, buyer_tax_code)
+                    VALUES ('delete', old.id, old.contract_number, old.name, old.buyer_company, old.buyer_tax_code);
+                END
+                """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS contracts_fts_au AFTER UPDATE OF
+                    contract_number, name, buyer_company, buyer_tax_code ON contracts BEGIN
+                    INSERT INTO contracts_fts(contracts_fts, rowid, contract_number, name, buyer_company, buyer_tax_code)
+                    VALUES ('delete', old.id, old.contract_number, old.name, old.buyer_company, old.buyer_tax_code);
+                    INSERT INTO contracts_fts(rowid, contract_number, name, buyer_company, buyer_tax_code)
+                    VALUES (new.id, new.contract_number, new.name, new.buyer_company, new.buyer_tax_code);
+                END
+                """);
+            
+            stmt.execute("""
+                CREATE VIRTUAL TABLE IF NOT EXISTS activity_log_fts USING fts5(
+                    short_message, details,
+                    content='activity_log', content_rowid='id',
+                    tokenize='unicode61 remove_diacritics 2'
+                )
+                """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS activity_log_fts_ai AFTER INSERT ON activity_log BEGIN
+                    INSERT INTO activity_log_fts(rowid, short_message, details)
+                    VALUES (new.id, new.short_message, new.details);
+                END
+                """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS activity_log_fts_ad AFTER DELETE ON activity_log BEGIN
+                    INSERT INTO activity_log_fts(activity_log_fts, rowid, short_message, details)
+                    VALUES ('delete', old.id, old.short_message, old.details);
+                END
+                """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS activity_log_fts_au AFTER UPDATE OF
+                    short_message, details ON activity_log BEGIN
+                    INSERT INTO activity_log_fts(activity_log_fts, rowid, short_message, details)
+                    VALUES ('delete', old.id, old.short_message, old.details);
+                    INSERT INTO activity_log_fts(rowid, short_message, details)
+                    VALUES (new.id, new.short_message, new.details);
+                END
+                """);
+            
+            // Index rows that existed before the shadow tables
+            if (!contractsIndexed) {
+                stmt.execute("INSERT INTO contracts_fts(contracts_fts) VALUES ('rebuild')");
+            }
+            if (!activityIndexed) {
+                stmt.execute("INSERT INTO activity_log_fts(activity_log_fts) VALUES ('rebuild')");
+            }
+            
+            connection.commit();
+            fullTextAvailable = true;
+            logger.debug("Full-text indexes created/verified");
+            
+        } catch (SQLException e) {
+            logger.warn("Full-text search unavailable (FTS5): {}", e.getMessage());
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackError) {
+                logger.debug("Rollback after FTS setup failure failed: {}", rollbackError.getMessage());
             }
         }
     }
     
+    /**
+     * Upsert statement that folds finished step executions into workflow_step_stats.
+     * <p>
+     * Each selected workflow_step_execution row adds one run: completion/failure
+     * counts, retries, and (for completed runs) duration sum, sum of squares,
+     * min/max and histogram bucket. Used once for the backfill and per step by
+     * WorkflowPersistenceService ({@link #STEP_STATS_UPSERT_LATEST}).
+     * </p>
+     * 
+     * @param sourceFilter SQL condition on workflow_step_execution alias {@code s}
+     * @return the INSERT ... ON CONFLICT statement
+     */
+    private static String stepStatsUpsert(String sourceFilter) {
+        return """
+            INSERT INTO workflow_step_stats (
+                workflow_id, step_id, runs, completed, failures, retried_runs, retries_sum, retries_max,
+                duration_count, duration_sum, duration_sum_sq, duration_min, duration_max,
+                hist_lt_1s, hist_lt_5s, hist_lt_10s, hist_lt_30s, hist_lt_60s, hist_lt_300s, hist_ge_300s,
+                last_error, updated_at)
+            SELECT workflow_id, step_id, 1, status = 'completed', status = 'failed', retries > 0, retries, retries,
+                d IS NOT NULL, COALESCE(d, 0), COALESCE(d * d, 0), d, d,
+                COALESCE(d < 1, 0), COALESCE(d >= 1 AND d < 5, 0), COALESCE(d >= 5 AND d < 10, 0),
+                COALESCE(d >= 10 AND d < 30, 0), COALESCE(d >= 30 AND d < 60, 0),
+                COALESCE(d >= 60 AND d < 300, 0), COALESCE(d >= 300, 0),
+                CASE WHEN status = 'failed' THEN error_message END, CURRENT_TIMESTAMP
+            FROM (
+                SELECT we.workflow_id, s.step_id, s.status, COALESCE(s.retry_count, 0) AS retries, s.error_message,
+                    CASE WHEN s.status = 'completed' AND s.started_at IS NOT NULL AND s.completed_at IS NOT NULL
+                         THEN (julianday(s.completed_at) - julianday(s.started_at)) * 86400 END AS d
+                FROM workflow_step_execution s
+                JOIN workflow_execution we ON we.execution_id = s.execution_id
+                WHERE %s
+                ORDER BY s.id
+            )
+            WHERE true
+            ON CONFLICT (workflow_id, step_id) DO UPDATE SET
+                runs = runs + excluded.runs,
+                completed = completed + excluded.completed,
+                failures = failures + excluded.failures,
+                retried_runs = retried_runs + excluded.retried_runs,
+                retries_sum = retries_sum + excluded.retries_sum,
+                retries_max = MAX(retries_max, excluded.retries_max),
+                duration_count = duration_count + excluded.duration_count,
+                duration_sum = duration_sum + excluded.duration_sum,
+                duration_sum_sq = duration_sum_sq + excluded.duration_sum_sq,
+                duration_min = MIN(COALESCE(duration_min, excluded.duration_min), COALESCE(excluded.duration_min, duration_min)),
+                duration_max = MAX(COALESCE(duration_max, excluded.duration_max), COALESCE(excluded.duration_max, duration_max)),
+                hist_lt_1s = hist_lt_1s + excluded.hist_lt_1s,
+                hist_lt_5s = hist_lt_5s + excluded.hist_lt_5s,
+                hist_lt_10s = hist_lt_10s + excluded.hist_lt_10s,
+                hist_lt_30s = hist_lt_30s + excluded.hist_lt_30s,
+                hist_lt_60s = hist_lt_60s + excluded.hist_lt_60s,
+                hist_lt_300s = hist_lt_300s + excluded.hist_lt_300s,
+                hist_ge_300s = hist_ge_300s + excluded.hist_ge_300s,
+                last_error = COALESCE(excluded.last_error, last_error),
+                updated_at = excluded.updated_at
+            """.formatted(sourceFilter);
+    }
+    
+    private boolean tableExists(Statement stmt, String name) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = '" + name + "'")) {
+            return rs.next();
+        }
+    }
+    
+    /**
+     * Check whether the FTS5 full-text indexes are available.
+     * 
+     * @return true if text search can be used
+     */
+    public boolean isFullTextAvailable() {
+        return fullTextAvailable;
+    }
+    
     /**
      * Check if database is initialized.
      * 
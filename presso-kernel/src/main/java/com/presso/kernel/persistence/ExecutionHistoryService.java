@@ -295,6 +295,8 @@ public final class ExecutionHistoryService {
         private Long contractId;
         private Integer limit = 100;
         private Integer offset = 0;
+        private Timestamp afterSortKey;
+        private Long afterId;
         
         public ExecutionQueryParams operationType(String operationType) {
             this.operationType = operationType;
@@ -336,6 +338,17 @@ public final class ExecutionHistoryService {
             return this;
         }
         
+        /**
+         * Keyset cursor: return only rows after (started_at, id) in result order.
+         * A null sort key continues within the trailing null-started_at rows.
+         * Replaces offset; cost no longer grows with page depth.
+         */
+        public ExecutionQueryParams after(Timestamp sortKey, Long id) {
+            this.afterSortKey = sortKey;
+            this.afterId = id;
+            return this;
+        }
+        
         // Getters
         public String getOperationType() { return operationType; }
         public String getModule() { return module; }
@@ -345,6 +358,8 @@ public final class ExecutionHistoryService {
         public Long getContractId() { return contractId; }
         public Integer getLimit() { return limit; }
         public Integer getOffset() { return offset; }
+        public Timestamp getAfterSortKey() { return afterSortKey; }
+        public Long getAfterId() { return afterId; }
     }
     
     /**
@@ -360,7 +375,7 @@ public final class ExecutionHistoryService {
             return results;
         }
         
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             StringBuilder sql = new StringBuilder(
                 "SELECT id, operation_type, module, started_at, completed_at, status, " +
                 "input_summary, output_summary, error_message, contract_id " +
@@ -399,14 +414,25 @@ public final class ExecutionHistoryService {
                 queryParams.add(params.getContractId());
             }
             
-            sql.append(" ORDER BY started_at DESC");
+            // Keyset pagination: continue after the last row of the previous page.
+            // Null started_at rows sort last (DESC), so they follow every keyed row.
+            if (params.getAfterId() != null && params.getAfterSortKey() != null) {
+                sql.append(" AND ((started_at, id) < (?, ?) OR started_at IS NULL)");
+                queryParams.add(params.getAfterSortKey());
+                queryParams.add(params.getAfterId());
+            } else if (params.getAfterId() != null) {
+                sql.append(" AND started_at IS NULL AND id < ?");
+                queryParams.add(params.getAfterId());
+            }
+            
+            sql.append(" ORDER BY started_at DESC, id DESC");
             
             if (params.getLimit() != null && params.getLimit() > 0) {
                 sql.append(" LIMIT ?");
                 queryParams.add(params.getLimit());
             }
             
-            if (params.getOffset() != null && params.getOffset() > 0) {
+            if (params.getAfterId() == null && params.getOffset() != null && params.getOffset() > 0) {
                 sql.append(" OFFSET ?");
                 queryParams.add(params.getOffset());
             }
@@ -443,7 +469,7 @@ public final class ExecutionHistoryService {
             return 0;
         }
         
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM execution_history WHERE 1=1");
             List<Object> queryParams = new ArrayList<>();
             
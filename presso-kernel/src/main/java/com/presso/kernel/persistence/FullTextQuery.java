@@ -0,0 +1,78 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: FullTextQuery.java
+ * RESPONSIBILITY: Turn user search text into a safe FTS5 MATCH expression
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Shared by the services that search their FTS5 shadow tables
+ * - Carries ranked search hits back to the query layer
+ * 
+ * BOUNDARIES:
+ * - Does NOT execute queries (services own their SQL)
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Section 5.2
+ */
+package com.presso.kernel.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FTS5 query text helpers.
+ */
+public final class FullTextQuery {
+    
+    // Longest accepted search text (characters)
+    private static final int MAX_QUERY_LENGTH = 256;
+    
+    // Most terms combined in one MATCH expression
+    private static final int MAX_TERMS = 16;
+    
+    /**
+     * A ranked search hit.
+     * 
+     * @param item the matched row
+     * @param score relevance (higher is better; negated bm25)
+     * @param snippet matched text with hits marked as [term]
+     */
+    public record Hit<T>(T item, double score, String snippet) {
+    }
+    
+    private FullTextQuery() {
+    }
+    
+    /**
+     * Build a MATCH expression from free text.
+     * <p>
+     * Every whitespace-separated term is quoted (so FTS5 operators and column
+     * filters in user input are matched literally) and made a prefix term; all
+     * terms must match.
+     * </p>
+     * 
+     * @param text the user's search text
+     * @return the MATCH expression
+     * @throws IllegalArgumentException if the text contains no searchable terms
+     */
+    public static String toMatchExpression(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text is required");
+        }
+        if (text.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search text exceeds " + MAX_QUERY_LENGTH + " characters");
+        }
+        
+        List<String> terms = new ArrayList<>();
+        for (String token : text.trim().split("\\s+")) {
+            String term = token.replace("\"", "");
+            if (!term.isEmpty() && terms.size() < MAX_TERMS) {
+                terms.add("\"" + term + "\"*");
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search text contains no searchable terms");
+        }
+        return String.join(" ", terms);
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: WriteBehindAppender.java
+ * RESPONSIBILITY: Asynchronous group-commit appender for bookkeeping rows
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Buffers append-only rows (activity log, AI audit tables)
+ * - Writes buffered rows in one transaction every N ms or M rows
+ * - Keeps disk latency (one fsync per commit) off hot paths
+ * 
+ * BOUNDARIES:
+ * - Append-only INSERTs only (no reads, no updates of business data)
+ * - Rows become visible to queries after the next flush
+ * - Fail-safe: write failures are logged, never thrown to callers
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Section 5.2
+ */
+package com.presso.kernel.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind appender that group-commits INSERT rows.
+ * <p>
+ * Callers enqueue a SQL statement and its parameters; a background virtual thread
+ * drains the queue and writes every pending row in a single transaction, batching
+ * rows that share the same statement. A flush happens when {@code maxBatchRows}
+ * rows are pending or {@code flushIntervalMs} has passed since the first pending row.
+ * </p>
+ */
+public final class WriteBehindAppender {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindAppender.class);
+    
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 200;
+    private static final int DEFAULT_MAX_BATCH_ROWS = 256;
+    private static final int QUEUE_CAPACITY = 10_000;
+    
+    /**
+     * A pending row: INSERT statement plus bound parameters.
+     */
+    private record PendingRow(String sql, Object[] params) {}
+    
+    private final DatabaseManager databaseManager;
+    private final long flushIntervalMs;
+    private final int maxBatchRows;
+    private final BlockingQueue<PendingRow> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    
+    // Serializes flushes between the background thread and explicit flush() calls
+    private final Object flushLock = new Object();
+    
+    private volatile boolean running = false;
+    private Thread flusherThread;
+    
+    /**
+     * Construct a WriteBehindAppender with default batching.
+     * 
+     * @param databaseManager the database manager
+     */
+    public WriteBehindAppender(DatabaseManager databaseManager) {
+        this(databaseManager, DEFAULT_FLUSH_INTERVAL_MS, DEFAULT_MAX_BATCH_ROWS);
+    }
+    
+    /**
+     * Construct a WriteBehindAppender.
+     * 
+     * @param databaseManager the database manager
+     * @param flushIntervalMs maximum time a row waits before being written
+     * @param maxBatchRows number of pending rows that triggers an immediate flush
+     */
+    public WriteBehindAppender(DatabaseManager databaseManager, long flushIntervalMs, int maxBatchRows) {
+        this.databaseManager = databaseManager;
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.maxBatchRows = Math.max(1, maxBatchRows);
+        logger.debug("WriteBehindAppender created (interval={}ms, batch={})", this.flushIntervalMs, this.maxBatchRows);
+    }
+    
+    /**
+     * Start the background flusher thread.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusherThread = Thread.ofVirtual().name("write-behind-flusher").start(this::runFlusher);
+        logger.info("WriteBehindAppender started");
+    }
+    
+    /**
+     * Stop the flusher and write everything still pending.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            flush();
+            return;
+        }
+        running = false;
+        if (flusherThread != null) {
+            flusherThread.interrupt();
+            try {
+                flusherThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flusherThread = null;
+        }
+        flush();
+        logger.info("WriteBehindAppender stopped");
+    }
+    
+    /**
+     * Append a row for asynchronous insertion.
+     * If the appender is not running, the row is written immediately.
+     * 
+     * @param sql the INSERT statement
+     * @param params the bound parameters (in order)
+     */
+    public void append(String sql, Object... params) {
+        PendingRow row = new PendingRow(sql, params);
+        
+        if (!running) {
+            writeRows(List.of(row));
+            return;
+        }
+        
+        try {
+            // Blocks only if the flusher has fallen QUEUE_CAPACITY rows behind (backpressure)
+            queue.put(row);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeRows(List.of(row));
+        }
+    }
+    
+    /**
+     * Synchronously write all pending rows.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            List<PendingRow> batch = new ArrayList<>();
+            queue.drainTo(batch);
+            if (!batch.isEmpty()) {
+                writeRows(batch);
+            }
+        }
+    }
+    
+    /**
+     * Get the number of rows waiting to be written.
+     * 
+     * @return pending row count
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+    
+    /**
+     * Flusher loop: collect rows until the batch is full or the interval expires.
+     */
+    private void runFlusher() {
+        List<PendingRow> batch = new ArrayList<>();
+        
+        while (running) {
+            try {
+                PendingRow first = queue.take();
+                synchronized (flushLock) {
+                    batch.add(first);
+                    long deadline = System.currentTimeMillis() + flushIntervalMs;
+                    
+                    while (batch.size() < maxBatchRows) {
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        PendingRow next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                        queue.drainTo(batch, maxBatchRows - batch.size());
+                    }
+                    
+                    writeRows(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    writeRows(batch);
+                    batch.clear();
+                }
+                if (!running) {
+                    break;
+                }
+            } catch (Exception e) {
+                logger.error("Write-behind flusher error: {}", e.getMessage());
+                batch.clear();
+            }
+        }
+        
+        logger.debug("Write-behind flusher ended");
+    }
+    
+    /**
+     * Write rows in one transaction, batching rows that share a statement.
+     * On failure the transaction is retried row by row so one bad row
+     * does not discard the rest of the batch.
+     * 
+     * @param rows the rows to write
+     */
+    private void writeRows(List<PendingRow> rows) {
+        if (!databaseManager.isInitialized()) {
+            logger.debug("Database not initialized, dropping {} bookkeeping rows", rows.size());
+            return;
+        }
+        
+        // Group by statement, preserving first-seen order
+        Map<String, List<Object[]>> bySql = new LinkedHashMap<>();
+        for (PendingRow row : rows) {
+            bySql.computeIfAbsent(row.sql(), k -> new ArrayList<>()).add(row.params());
+        }
+        
+        try (Connection conn = databaseManager.getConnection()) {
+            try {
+                for (Map.Entry<String, List<Object[]>> entry : bySql.entrySet()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(entry.getKey())) {
+                        for (Object[] params : entry.getValue()) {
+                            bind(stmt, params);
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                }
+                conn.commit();
+                logger.trace("Group-committed {} rows", rows.size());
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                logger.warn("Group commit failed ({} rows), retrying individually: {}", rows.size(), e.getMessage());
+                writeRowsIndividually(conn, rows);
+            }
+        } catch (SQLException e) {
+            // Fail-safe: log error but don't throw
+            logger.error("Failed to write {} bookkeeping rows: {}", rows.size(), e.getMessage());
+        }
+    }
+    
+    /**
+     * Fallback: write each row in its own transaction.
+     */
+    private void writeRowsIndividually(Connection conn, List<PendingRow> rows) {
+        for (PendingRow row : rows) {
+            try (PreparedStatement stmt = conn.prepareStatement(row.sql())) {
+                bind(stmt, row.params());
+                stmt.executeUpdate();
+                conn.commit();
+            } catch (SQLException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    logger.debug("Rollback failed: {}", ex.getMessage());
+                }
+                logger.error("Failed to write bookkeeping row: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Bind parameters to a statement.
+     */
+    private void bind(PreparedStatement stmt, Object[] params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: PageCursor.java
+ * RESPONSIBILITY: Opaque keyset pagination cursor for query endpoints
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Encodes the (sort key, id) of the last row of a page
+ * - Bound to one query kind so cursors cannot be mixed between endpoints
+ * 
+ * BOUNDARIES:
+ * - Encoding only; services apply the keyset predicate
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Section 4.2
+ */
+package com.presso.kernel.query;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page: (sort key, id) of that row.
+ * A null sort key marks an id-only cursor into the trailing null-key rows,
+ * which sort last in descending order.
+ * 
+ * @param kind the query kind the cursor belongs to
+ * @param sortKey the sort column value of the last row, or null
+ * @param id the id of the last row (tie-breaker)
+ */
+public record PageCursor(String kind, Timestamp sortKey, long id) {
+    
+    private static final String VERSION = "v1";
+    private static final String NULL_SORT_KEY = "-";
+    
+    /**
+     * Encode as an opaque URL-safe string.
+     * 
+     * @return the cursor token
+     */
+    public String encode() {
+        String key = sortKey == null ? NULL_SORT_KEY : String.valueOf(sortKey.getTime());
+        String raw = VERSION + ":" + kind + ":" + key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a cursor token.
+     * 
+     * @param token the cursor token from a previous page
+     * @param expectedKind the query kind of the current request
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is malformed or belongs to another query
+     */
+    public static PageCursor decode(String token, String expectedKind) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            if (!expectedKind.equals(parts[1])) {
+                throw new IllegalArgumentException("Cursor belongs to a different query");
+            }
+            Timestamp sortKey = NULL_SORT_KEY.equals(parts[2]) ? null : new Timestamp(Long.parseLong(parts[2]));
+            return new PageCursor(parts[1], sortKey, Long.parseLong(parts[3]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    /**
+     * Build the cursor for the row after which the next page starts.
+     * 
+     * @param kind the query kind
+     * @param sortKey the sort column value of the last row (null gives an id-only cursor)
+     * @param id the id of the last row
+     * @return the encoded cursor
+     */
+    public static String after(String kind, Timestamp sortKey, long id) {
+        return new PageCursor(kind, sortKey, id).encode();
+    }
+}
@@ -8,7 +8,7 @@
  * ARCHITECTURAL ROLE:
  * - Exposes query capabilities via IPC
  * - Validates query parameters
- * - Returns paginated results
+ * - Returns paginated results (keyset cursors; offset kept for compatibility)
  * - Fail-safe: query failures don't crash kernel
  * 
  * BOUNDARIES:
@@ -24,6 +24,7 @@ package com.presso.kernel.query;
 import com.presso.kernel.persistence.ContractService;
 import com.presso.kernel.persistence.ExecutionHistoryService;
 import com.presso.kernel.persistence.ActivityLogService;
+import com.presso.kernel.persistence.FullTextQuery;
 import com.presso.kernel.persistence.ContractService.Contract;
 import com.presso.kernel.persistence.ContractService.ContractQueryParams;
 import com.presso.kernel.persistence.ExecutionHistoryService.ExecutionHistoryEntry;
@@ -53,6 +54,15 @@ public final class QueryHandler {
     
     private static final Logger logger = LoggerFactory.getLogger(QueryHandler.class);
     
+    // Cursor kinds (a cursor is only valid for the query that issued it)
+    private static final String CURSOR_CONTRACTS = "contracts";
+    private static final String CURSOR_EXECUTIONS = "executions";
+    private static final String CURSOR_ACTIVITIES = "activities";
+    
+    // Full-text search hits per scope
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 200;
+    
     private final ContractService contractService;
     private final ExecutionHistoryService executionHistory;
     private final ActivityLogService activityLog;
@@ -119,9 +129,37 @@ public final class QueryHandler {
                 queryParams.offset(params.get("offset").getAsInt());
             }
             
-            // Execute query
+            // Projection: "headers" (default, list views) or "full" (with payment stages)
+            if (params.has("projection")) {
+                String projection = params.get("projection").getAsString().toLowerCase();
+                if (!projection.equals("headers") && !projection.equals("full")) {
+                    throw new IllegalArgumentException("Invalid projection: " + projection);
+                }
+                queryParams.includePaymentStages(projection.equals("full"));
+            }
+            
+            PageCursor cursor = null;
+            if (params.has("cursor") && !params.get("cursor").isJsonNull()) {
+                cursor = PageCursor.decode(params.get("cursor").getAsString(), CURSOR_CONTRACTS);
+                queryParams.after(cursor.sortKey(), cursor.id());
+            }
+            
+            // Execute query (one extra row tells whether another page exists)
+            int limit = queryParams.getLimit() != null ? queryParams.getLimit() : 0;
+            if (limit > 0) {
+                queryParams.limit(limit + 1);
+            }
             List<Contract> contracts = contractService.searchContracts(queryParams);
-            int totalCount = contractService.countContracts(queryParams);
+            queryParams.limit(limit);
+            boolean hasMore = limit > 0 && contracts.size() > limit;
+            if (hasMore) {
+                contracts = contracts.subList(0, limit);
+            }
+            
+            // Totals cost a full scan: on by default for offset paging, opt-in with cursors
+            boolean includeTotal = params.has("include_total")
+                ? params.get("include_total").getAsBoolean()
+                : cursor == null;
             
             // Convert to JSON-serializable format
             JsonArray contractsArray = new JsonArray();
@@ -132,9 +170,16 @@ public final class QueryHandler {
             Map<String, Object> result = new HashMap<>();
             result.put("contracts", contractsArray);
             result.put("count", contracts.size());
-            result.put("total", totalCount);
+            if (includeTotal) {
+                result.put("total", contractService.countContracts(queryParams));
+            }
             result.put("limit", queryParams.getLimit());
-            result.put("offset", queryParams.getOffset());
+            result.put("offset", cursor == null ? queryParams.getOffset() : 0);
+            result.put("has_more", hasMore);
+            if (hasMore) {
+                Contract last = contracts.get(contracts.size() - 1);
+                result.put("next_cursor", PageCursor.after(CURSOR_CONTRACTS, last.getCreatedAt(), last.getId()));
+            }
             
             return result;
             
@@ -228,9 +273,28 @@ public final class QueryHandler {
                 queryParams.offset(params.get("offset").getAsInt());
             }
             
-            // Execute query
+            PageCursor cursor = null;
+            if (params.has("cursor") && !params.get("cursor").isJsonNull()) {
+                cursor = PageCursor.decode(params.get("cursor").getAsString(), CURSOR_EXECUTIONS);
+                queryParams.after(cursor.sortKey(), cursor.id());
+            }
+            
+            // Execute query (one extra row tells whether another page exists)
+            int limit = queryParams.getLimit() != null ? queryParams.getLimit() : 0;
+            if (limit > 0) {
+                queryParams.limit(limit + 1);
+            }
             List<ExecutionHistoryEntry> entries = executionHistory.queryExecutionHistory(queryParams);
-            int totalCount = executionHistory.countExecutionHistory(queryParams);
+            queryParams.limit(limit);
+            boolean hasMore = limit > 0 && entries.size() > limit;
+            if (hasMore) {
+                entries = entries.subList(0, limit);
+            }
+            
+            // Totals cost a full scan: on by default for offset paging, opt-in with cursors
+            boolean includeTotal = params.has("include_total")
+                ? params.get("include_total").getAsBoolean()
+                : cursor == null;
             
             // Convert to JSON-serializable format
             JsonArray entriesArray = new JsonArray();
@@ -241,9 +305,16 @@ public final class QueryHandler {
             Map<String, Object> result = new HashMap<>();
             result.put("executions", entriesArray);
             result.put("count", entries.size());
-            result.put("total", totalCount);
+            if (includeTotal) {
+                result.put("total", executionHistory.countExecutionHistory(queryParams));
+            }
             result.put("limit", queryParams.getLimit());
-            result.put("offset", queryParams.getOffset());
+            result.put("offset", cursor == null ? queryParams.getOffset() : 0);
+            result.put("has_more", hasMore);
+            if (hasMore) {
+                ExecutionHistoryEntry last = entries.get(entries.size() - 1);
+                result.put("next_cursor", PageCursor.after(CURSOR_EXECUTIONS, last.getStartedAt(), last.getId()));
+            }
             
             return result;
             
@@ -313,9 +384,28 @@ public final class QueryHandler {
                 queryParams.offset(params.get("offset").getAsInt());
             }
             
-            // Execute query
+            PageCursor cursor = null;
+            if (params.has("cursor") && !params.get("cursor").isJsonNull()) {
+                cursor = PageCursor.decode(params.get("cursor").getAsString(), CURSOR_ACTIVITIES);
+                queryParams.after(cursor.sortKey(), cursor.id());
+            }
+            
+            // Execute query (one extra row tells whether another page exists)
+            int limit = queryParams.getLimit() != null ? queryParams.getLimit() : 0;
+            if (limit > 0) {
+                queryParams.limit(limit + 1);
+            }
             List<ActivityLogEntry> entries = activityLog.queryActivityLogs(queryParams);
-            int totalCount = activityLog.countActivityLogs(queryParams);
+            queryParams.limit(limit);
+            boolean hasMore = limit > 0 && entries.size() > limit;
+            if (hasMore) {
+                entries = entries.subList(0, limit);
+            }
+            
+            // Totals cost a full scan: on by default for offset paging, opt-in with cursors
+            boolean includeTotal = params.has("include_total")
+                ? params.get("include_total").getAsBoolean()
+                : cursor == null;
             
             // Convert to JSON-serializable format
             JsonArray entriesArray = new JsonArray();
@@ -326,9 +416,16 @@ public final class QueryHandler {
             Map<String, Object> result = new HashMap<>();
             result.put("activities", entriesArray);
             result.put("count", entries.size());
-            result.put("total", totalCount);
+            if (includeTotal) {
+                result.put("total", activityLog.countActivityLogs(queryParams));
+            }
             result.put("limit", queryParams.getLimit());
-            result.put("offset", queryParams.getOffset());
+            result.put("offset", cursor == null ? queryParams.getOffset() : 0);
+            result.put("has_more", hasMore);
+            if (hasMore) {
+                ActivityLogEntry last = entries.get(entries.size() - 1);
+                result.put("next_cursor", PageCursor.after(CURSOR_ACTIVITIES, last.getTimestamp(), last.getId()));
+            }
             
             return result;
             
@@ -338,6 +435,67 @@ public final class QueryHandler {
         }
     }
     
+    /**
+     * Handle FULL_TEXT_SEARCH request.
+     * <p>
+     * Params: "query" (required), "scope" ("contracts", "activity" or "all",
+     * default "all"), "limit" (per scope, default 20, max 200).
+     * Hits are ranked by relevance and carry "score" and "snippet".
+     * </p>
+     * 
+     * @param params query parameters
+     * @return ranked hits per scope
+     */
+    public Map<String, Object> handleFullTextSearch(JsonObject params) {
+        try {
+            if (!params.has("query") || params.get("query").isJsonNull()) {
+                throw new IllegalArgumentException("query is required");
+            }
+            String text = params.get("query").getAsString();
+            
+            String scope = params.has("scope") ? params.get("scope").getAsString().toLowerCase() : "all";
+            if (!scope.equals("all") && !scope.equals("contracts") && !scope.equals("activity")) {
+                throw new IllegalArgumentException("Invalid scope: " + scope);
+            }
+            
+            int limit = params.has("limit") ? params.get("limit").getAsInt() : DEFAULT_SEARCH_LIMIT;
+            limit = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("query", text);
+            result.put("scope", scope);
+            
+            if (!scope.equals("activity")) {
+                JsonArray contractsArray = new JsonArray();
+                for (FullTextQuery.Hit<Contract> hit : contractService.searchContractsRanked(text, limit)) {
+                    JsonObject json = contractToJson(hit.item());
+                    json.addProperty("score", hit.score());
+                    json.addProperty("snippet", hit.snippet());
+                    contractsArray.add(json);
+                }
+                result.put("contracts", contractsArray);
+            }
+            
+            if (!scope.equals("contracts")) {
+                JsonArray activitiesArray = new JsonArray();
+                for (FullTextQuery.Hit<ActivityLogEntry> hit : activityLog.searchActivityLogs(text, limit)) {
+                    JsonObject json = activityLogToJson(hit.item());
+                    json.addProperty("score", hit.score());
+                    json.addProperty("snippet", hit.snippet());
+                    activitiesArray.add(json);
+                }
+                result.put("activities", activitiesArray);
+            }
+            
+            result.put("limit", limit);
+            return result;
+            
+        } catch (Exception e) {
+            logger.error("Failed to run full-text search: {}", e.getMessage());
+            throw new RuntimeException("Query failed: " + e.getMessage(), e);
+        }
+    }
+    
     // =========================================================================
     // Helper Methods - Convert to JSON
     // =========================================================================
@@ -24,6 +24,8 @@
 package com.presso.kernel.routing;
 
 import com.google.gson.JsonObject;
+import com.presso.kernel.engine.BlobStore;
+import com.presso.kernel.engine.BlobStore.BlobHandle;
 import com.presso.kernel.engine.EngineProcessManager;
 import com.presso.kernel.security.SecurityGateway;
 import com.presso.kernel.ipc.IpcMessage;
@@ -32,8 +34,16 @@ import com.presso.kernel.ipc.KernelResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Routes incoming requests to the appropriate processing engine.
@@ -107,7 +117,10 @@ public final class ModuleRouter {
         Map.entry("QUERY_CONTRACTS", Engine.KERNEL),
         Map.entry("GET_CONTRACT_BY_ID", Engine.KERNEL),
         Map.entry("QUERY_EXECUTION_HISTORY", Engine.KERNEL),
-        Map.entry("QUERY_ACTIVITY_LOGS", Engine.KERNEL)
+        Map.entry("QUERY_ACTIVITY_LOGS", Engine.KERNEL),
+        Map.entry("FULL_TEXT_SEARCH", Engine.KERNEL),
+        Map.entry("BULK_IMPORT_CONTRACTS", Engine.KERNEL),
+        Map.entry("GET_METRICS", Engine.KERNEL)
     );
     
     // Operations that are allowed (whitelist)
@@ -116,6 +129,12 @@ public final class ModuleRouter {
     private final EngineProcessManager engineProcessManager;
     private final SecurityGateway securityGateway;
     
+    // Additional GET_STATUS sections contributed by other components (key -> supplier)
+    private final Map<String, Supplier<Object>> statusContributors = new LinkedHashMap<>();
+    
+    // Receives partial responses of streaming requests (null = streaming disabled)
+    private volatile Consumer<KernelResponse> streamSink;
+    
     /**
      * Construct a ModuleRouter with required dependencies.
      * 
@@ -135,17 +154,33 @@ public final class ModuleRouter {
      * @return the response from the engine
      */
     public KernelResponse route(IpcMessage message) {
+        return routeAsync(message).join();
+    }
+    
+    /**
+     * Route a message without blocking on engine round-trips.
+     * <p>
+     * Engine operations are pipelined on the engine's multiplexed channel; the
+     * returned future completes when the response arrives. Kernel operations and
+     * validation errors complete immediately. The future never completes
+     * exceptionally: failures are converted to error responses.
+     * </p>
+     * 
+     * @param message the IPC message to route
+     * @return future completed with the response
+     */
+    public CompletableFuture<KernelResponse> routeAsync(IpcMessage message) {
         String operationType = message.getType();
         String messageId = message.getId();
         
         // Validate operation is in whitelist
         if (!ALLOWED_OPERATIONS.contains(operationType)) {
             logger.warn("Unknown operation type: {}", operationType);
-            return KernelResponse.error(
+            return CompletableFuture.completedFuture(KernelResponse.error(
                 messageId,
                 "UNKNOWN_OPERATION",
                 "Operation type not recognized: " + operationType
-            );
+            ));
         }
         
         // Get target engine
@@ -154,7 +189,7 @@ public final class ModuleRouter {
         
         // Handle kernel-internal operations
         if (targetEngine == Engine.KERNEL) {
-            return handleKernelOperation(message);
+            return CompletableFuture.completedFuture(handleKernelOperation(message));
         }
         
         // Dispatch to engine
@@ -184,11 +219,7 @@ public final class ModuleRouter {
                 ));
                 
             case "GET_STATUS":
-                return KernelResponse.success(messageId, Map.of(
-                    "status", "running",
-                    "engines", engineProcessManager.getRunningEngineCount(),
-                    "uptime", System.currentTimeMillis()
-                ));
+                return KernelResponse.success(messageId, buildStatus());
                 
             case "GET_ENGINE_STATUS":
                 // Get status of all engines
@@ -212,62 +243,185 @@ public final class ModuleRouter {
         }
     }
     
+    /**
+     * Build the GET_STATUS result, including contributed sections.
+     * 
+     * @return status map
+     */
+    private Map<String, Object> buildStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("status", "running");
+        status.put("engines", engineProcessManager.getRunningEngineCount());
+        status.put("uptime", System.currentTimeMillis());
+        
+        synchronized (statusContributors) {
+            for (Map.Entry<String, Supplier<Object>> entry : statusContributors.entrySet()) {
+                try {
+                    status.put(entry.getKey(), entry.getValue().get());
+                } catch (Exception e) {
+                    // Fail-safe: one broken section must not fail GET_STATUS
+                    logger.warn("Status contributor {} failed: {}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+        return status;
+    }
+    
+    /**
+     * Register a section to include in GET_STATUS responses.
+     * 
+     * @param key the section key in the status result
+     * @param contributor supplier for the section value
+     */
+    public void registerStatusContributor(String key, Supplier<Object> contributor) {
+        synchronized (statusContributors) {
+            statusContributors.put(key, contributor);
+        }
+    }
+    
+    /**
+     * Set the receiver of partial responses for streaming engine requests
+     * (payload "stream": true). Without a sink, requests are not streamed.
+     * 
+     * @param sink consumer of partial KernelResponse frames
+     */
+    public void setStreamSink(Consumer<KernelResponse> sink) {
+        this.streamSink = sink;
+    }
+    
     /**
      * Dispatch a message to an external engine.
      * 
      * @param engine the target engine
      * @param message the IPC message
-     * @return the response from the engine
+     * @return future completed with the response from the engine
      */
-    private KernelResponse dispatchToEngine(Engine engine, IpcMessage message) {
+    private CompletableFuture<KernelResponse> dispatchToEngine(Engine engine, IpcMessage message) {
         String messageId = message.getId();
         String operationType = message.getType();
-        // Map Engine enum to engine process name
+        // Map Engine enum to process name
         String engineName = mapEngineToProcessName(engine);
         
         // Check if engine is available
         if (!engineProcessManager.isEngineAvailable(engineName)) {
             logger.warn("Engine {} not available for operation {}", engine, operationType);
-            return KernelResponse.error(
+            return CompletableFuture.completedFuture(KernelResponse.error(
                 messageId,
                 "ENGINE_UNAVAILABLE",
                 "Engine " + engine.name() + " is not available"
-            );
+            ));
         }
         
+        // Deadline already passed: do not dispatch work nobody will wait for
+        Long deadlineMs = message.getDeadlineMs();
+        if (deadlineMs != null && System.currentTimeMillis() >= deadlineMs) {
+            logger.warn("Deadline exceeded before dispatch: operation={}, id={}", operationType, messageId);
+            return CompletableFuture.completedFuture(KernelResponse.error(
+                messageId,
+                "DEADLINE_EXCEEDED",
+                "Deadline exceeded before dispatch"
+            ));
+        }
+        
+        BlobStore blobStore = engineProcessManager.getBlobStore();
+        List<BlobHandle> blobs = List.of();
+        
         try {
-            // Build message for engine
+            // Build message for engine; the deadline travels with it so the engine can skip expired work
             JsonObject engineMessage = new JsonObject();
             engineMessage.addProperty("id", messageId);
             engineMessage.addProperty("type", mapOperationToEngineMethod(operationType));
+            if (deadlineMs != null) {
+                engineMessage.addProperty("deadline_ms", deadlineMs);
+            }
             
-            // Add payload if present
+            // Add payload if present; inline content (<name>_base64) goes to blob files
             if (message.getPayload() != null) {
-                engineMessage.add("params", message.getPayload());
+                JsonObject params = message.getPayload().deepCopy();
+                blobs = blobStore.offloadInlineContent(params);
+                engineMessage.add("params", params);
             }
             
-            logger.debug("Dispatching to engine {}: {}", engine, operationType);
-            
-            // Send to engine and wait for response
-            JsonObject response = engineProcessManager.sendMessage(engineName, engineMessage);
+            logger.debug("Dispatching to engine {}: {} ({} blobs)", engine, operationType, blobs.size());
             
-            // Convert engine response to KernelResponse
-            return convertEngineResponse(messageId, response);
+            // Send to engine (pipelined) and convert the response when it arrives
+            List<BlobHandle> heldBlobs = blobs;
+            Consumer<KernelResponse> sink = streamSink;
+            CompletableFuture<JsonObject> pending = sink != null && isStreamingRequest(message)
+                ? engineProcessManager.sendMessageAsync(engineName, engineMessage,
+                    partial -> sink.accept(convertStreamFrame(messageId, partial)))
+                : engineProcessManager.sendMessageAsync(engineName, engineMessage);
+            return pending
+                .whenComplete((response, error) -> heldBlobs.forEach(blobStore::release))
+                .thenApply(response -> convertEngineResponse(messageId, response))
+                .exceptionally(error -> engineError(engine, messageId, deadlineMs, error));
             
+        } catch (IllegalArgumentException e) {
+            blobs.forEach(blobStore::release);
+            return CompletableFuture.completedFuture(KernelResponse.error(
+                messageId,
+                "INVALID_PARAMS",
+                e.getMessage()
+            ));
         } catch (Exception e) {
-            logger.error("Error dispatching to engine {}: {}", engine, e.getMessage());
+            blobs.forEach(blobStore::release);
+            return CompletableFuture.completedFuture(engineError(engine, messageId, deadlineMs, e));
+        }
+    }
+    
+    /**
+     * Check whether the caller asked for progress/chunk frames.
+     */
+    private boolean isStreamingRequest(IpcMessage message) {
+        JsonObject payload = message.getPayload();
+        return payload != null && payload.has("stream")
+            && payload.get("stream").isJsonPrimitive() && payload.get("stream").getAsBoolean();
+    }
+    
+    /**
+     * Convert an engine PROGRESS/CHUNK frame to a partial KernelResponse.
+     */
+    private KernelResponse convertStreamFrame(String originalMessageId, JsonObject frame) {
+        String streamType = frame.get("type").getAsString();
+        long seq = frame.has("seq") ? frame.get("seq").getAsLong() : 0;
+        Object data = frame.has("data") ? frame.get("data") : null;
+        return KernelResponse.partial(originalMessageId, streamType, seq, data);
+    }
+    
+    /**
+     * Build the error response for a failed engine dispatch.
+     * A timeout once the message's deadline has passed is reported as DEADLINE_EXCEEDED.
+     */
+    private KernelResponse engineError(Engine engine, String messageId, Long deadlineMs, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause()
+            : error;
+        String detail = cause instanceof TimeoutException && cause.getMessage() == null
+            ? "timed out"
+            : cause.getMessage();
+        if (cause instanceof TimeoutException && deadlineMs != null && System.currentTimeMillis() >= deadlineMs) {
+            logger.warn("Deadline exceeded on engine {}: {}", engine, detail);
             return KernelResponse.error(
                 messageId,
-                "ENGINE_ERROR",
-                "Failed to communicate with engine: " + e.getMessage()
+                "DEADLINE_EXCEEDED",
+                "Deadline exceeded: " + detail
             );
         }
+        logger.error("Error dispatching to engine {}: {}", engine, detail);
+        return KernelResponse.error(
+            messageId,
+            "ENGINE_ERROR",
+            "Failed to communicate with engine: " + detail
+        );
     }
     
     /**
      * Map Engine enum to process name used by EngineProcessManager.
+     * 
+     * @param engine the engine
+     * @return the engine process name (python, rust, go)
      */
-    private String mapEngineToProcessName(Engine engine) {
+    public String mapEngineToProcessName(Engine engine) {
         switch (engine) {
             case PYTHON:
                 return "python";
@@ -31,13 +31,13 @@ import com.presso.kernel.routing.ModuleRouter;
 import com.presso.kernel.event.EventBus;
 import com.presso.kernel.ipc.IpcMessage;
 import com.presso.kernel.ipc.KernelResponse;
+import com.presso.kernel.metrics.MetricsRegistry;
 import com.presso.kernel.persistence.ExecutionHistoryService;
 import com.presso.kernel.persistence.ContractService;
+import com.presso.kernel.persistence.ContractJsonMapper;
 import com.presso.kernel.persistence.ContractService.Contract;
-import com.presso.kernel.persistence.ContractService.PaymentStage;
+import com.presso.kernel.state.StateManager;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,8 +47,15 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Manages task scheduling and execution for the Kernel.
@@ -72,23 +79,70 @@ public final class TaskScheduler {
         CANCELLED
     }
     
+    /**
+     * Scheduling mode.
+     */
+    public enum SchedulerMode {
+        SERIAL,  // Single worker, strict FIFO across all engines
+        POOL     // Worker pool with per-engine concurrency limits
+    }
+    
+    // Default pool sizing (overridable via modules.json)
+    private static final int DEFAULT_WORKERS = 8;
+    private static final int DEFAULT_ENGINE_CONCURRENCY = 2;
+    
     /**
      * Internal task record.
      */
     private record QueuedTask(
         IpcMessage message,
         Consumer<KernelResponse> callback,
-        long submittedAt
+        long submittedNanos,
+        String orderingKey
     ) {}
     
+    /**
+     * Per-engine dispatch lane.
+     * <p>
+     * Tasks wait in FIFO order and are dispatched while the lane has capacity.
+     * A task whose ordering key is gated by the scheduler (see activeKeys) stays
+     * queued while unrelated tasks overtake it. All fields are guarded by the
+     * scheduler's poolLock.
+     * </p>
+     */
+    private static final class EngineLane {
+        private final ModuleRouter.Engine engine;
+        private final int maxConcurrent;
+        private final ArrayDeque<QueuedTask> pending = new ArrayDeque<>();
+        private int inFlight = 0;
+        
+        EngineLane(ModuleRouter.Engine engine, int maxConcurrent) {
+            this.engine = engine;
+            this.maxConcurrent = Math.max(1, maxConcurrent);
+        }
+    }
+    
     private final ModuleRouter moduleRouter;
     private final EventBus eventBus;
     private final ExecutionHistoryService executionHistory;
     private final ContractService contractService;
+    private final StateManager stateManager;
     
-    // Task queue - unbounded for Phase 1, will add capacity limits in Phase 2
+    // Task queue (serial mode) - unbounded for Phase 1, will add capacity limits in Phase 2
     private final BlockingQueue<QueuedTask> taskQueue = new LinkedBlockingQueue<>();
     
+    // Worker pool (pool mode): lanes, global in-flight count, guarded by poolLock
+    private final Object poolLock = new Object();
+    private final Map<ModuleRouter.Engine, EngineLane> lanes = new EnumMap<>(ModuleRouter.Engine.class);
+    private int poolInFlight = 0;
+    
+    // Ordering keys are gated scheduler-wide (tasks sharing a key may target different lanes):
+    // a key in flight blocks its other tasks, and only the oldest pending task of a key may start
+    private final Set<String> activeKeys = new HashSet<>();
+    private final Map<String, ArrayDeque<QueuedTask>> pendingByKey = new HashMap<>();
+    private int poolSize = DEFAULT_WORKERS;
+    private volatile SchedulerMode mode = SchedulerMode.SERIAL;
+    
     // Track execution IDs for tasks
     private final ConcurrentHashMap<String, Long> taskExecutionIds = new ConcurrentHashMap<>();
     
@@ -96,6 +150,9 @@ public final class TaskScheduler {
     private final AtomicBoolean running = new AtomicBoolean(false);
     private Thread workerThread;
     
+    // Queue wait and task outcome metrics (optional)
+    private volatile MetricsRegistry metrics;
+    
     /**
      * Construct a TaskScheduler with required dependencies.
      * 
@@ -103,18 +160,34 @@ public final class TaskScheduler {
      * @param eventBus the event bus for task events
      * @param executionHistory the execution history service (may be null)
      * @param contractService the contract service (may be null)
+     * @param stateManager the state manager for scheduler configuration (may be null)
      */
     public TaskScheduler(ModuleRouter moduleRouter, EventBus eventBus, 
-                        ExecutionHistoryService executionHistory, ContractService contractService) {
+                        ExecutionHistoryService executionHistory, ContractService contractService,
+                        StateManager stateManager) {
         this.moduleRouter = moduleRouter;
         this.eventBus = eventBus;
         this.executionHistory = executionHistory;
         this.contractService = contractService;
+        this.stateManager = stateManager;
         logger.debug("TaskScheduler created");
     }
     
     /**
-     * Start the task scheduler worker thread.
+     * Construct a TaskScheduler without configuration (serial mode).
+     */
+    public TaskScheduler(ModuleRouter moduleRouter, EventBus eventBus, 
+                        ExecutionHistoryService executionHistory, ContractService contractService) {
+        this(moduleRouter, eventBus, executionHistory, contractService, null);
+    }
+    
+    /**
+     * Start the task scheduler.
+     * <p>
+     * Configuration is read here (after LifecycleManager has loaded it):
+     * kernel.schedulerMode ("pool" or "serial"), kernel.schedulerWorkers and
+     * engine.&lt;name&gt;.maxConcurrent per engine.
+     * </p>
      */
     public void start() {
         if (running.get()) {
@@ -122,9 +195,57 @@ public final class TaskScheduler {
             return;
         }
         
+        configure();
         running.set(true);
-        workerThread = Thread.ofVirtual().name("task-scheduler-worker").start(this::processQueue);
-        logger.info("TaskScheduler started");
+        
+        if (mode == SchedulerMode.SERIAL) {
+            workerThread = Thread.ofVirtual().name("task-scheduler-worker").start(this::processQueue);
+            logger.info("TaskScheduler started (serial)");
+        } else {
+            logger.info("TaskScheduler started (pool, workers={})", poolSize);
+        }
+    }
+    
+    /**
+     * Read scheduler mode and concurrency limits from configuration.
+     */
+    private void configure() {
+        if (stateManager == null) {
+            mode = SchedulerMode.SERIAL;
+            return;
+        }
+        
+        String modeConfig = String.valueOf(stateManager.getConfig("kernel.schedulerMode", "pool"));
+        mode = "serial".equalsIgnoreCase(modeConfig) ? SchedulerMode.SERIAL : SchedulerMode.POOL;
+        
+        synchronized (poolLock) {
+            poolSize = Math.max(1, readInt("kernel.schedulerWorkers", DEFAULT_WORKERS));
+            lanes.clear();
+            for (ModuleRouter.Engine engine : ModuleRouter.Engine.values()) {
+                String key = engine == ModuleRouter.Engine.KERNEL
+                    ? "kernel.maxConcurrent"
+                    : "engine." + moduleRouter.mapEngineToProcessName(engine) + ".maxConcurrent";
+                int limit = readInt(key, DEFAULT_ENGINE_CONCURRENCY);
+                lanes.put(engine, new EngineLane(engine, limit));
+                logger.debug("Scheduler lane {}: maxConcurrent={}", engine, limit);
+            }
+        }
+    }
+    
+    /**
+     * Read an integer config value, tolerating doubles and strings.
+     */
+    private int readInt(String key, int defaultValue) {
+        Object value = stateManager.getConfig(key, defaultValue);
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return Integer.parseInt(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid integer config {}={}, using {}", key, value, defaultValue);
+            return defaultValue;
+        }
     }
     
     /**
@@ -142,7 +263,7 @@ public final class TaskScheduler {
             workerThread.interrupt();
         }
         
-        logger.info("TaskScheduler stopped, {} tasks remaining in queue", taskQueue.size());
+        logger.info("TaskScheduler stopped, {} tasks remaining in queue", getQueueSize());
     }
     
     /**
@@ -161,15 +282,129 @@ public final class TaskScheduler {
             return;
         }
         
-        QueuedTask task = new QueuedTask(message, callback, System.currentTimeMillis());
-        taskQueue.offer(task);
+        QueuedTask task = new QueuedTask(message, callback, System.nanoTime(),
+            extractOrderingKey(message));
+        
+        if (mode == SchedulerMode.POOL) {
+            ModuleRouter.Engine engine = moduleRouter.getTargetEngine(message.getType());
+            synchronized (poolLock) {
+                // Unknown operations are rejected by the router; let them through the kernel lane
+                lanes.get(engine != null ? engine : ModuleRouter.Engine.KERNEL).pending.addLast(task);
+                if (task.orderingKey() != null) {
+                    pendingByKey.computeIfAbsent(task.orderingKey(), k -> new ArrayDeque<>()).addLast(task);
+                }
+            }
+            pumpLanes();
+        } else {
+            taskQueue.offer(task);
+        }
         
         logger.debug("Task queued: id={}, type={}, queueSize={}",
-            message.getId(), message.getType(), taskQueue.size());
+            message.getId(), message.getType(), getQueueSize());
         
         eventBus.publish("task.queued", message.getId());
     }
     
+    /**
+     * Dispatch as many pending tasks as lane and pool capacity allow.
+     * Each dispatched task runs on its own virtual thread.
+     */
+    private void pumpLanes() {
+        List<QueuedTask> toRun = new ArrayList<>();
+        List<EngineLane> toRunLanes = new ArrayList<>();
+        
+        synchronized (poolLock) {
+            if (!running.get()) {
+                return;
+            }
+            for (EngineLane lane : lanes.values()) {
+                Iterator<QueuedTask> it = lane.pending.iterator();
+                while (it.hasNext() && lane.inFlight < lane.maxConcurrent && poolInFlight < poolSize) {
+                    QueuedTask task = it.next();
+                    String key = task.orderingKey();
+                    if (key != null) {
+                        ArrayDeque<QueuedTask> sameKey = pendingByKey.get(key);
+                        if (activeKeys.contains(key) || sameKey.peekFirst() != task) {
+                            // Same key in flight or an older task of the key waiting - keep order
+                            continue;
+                        }
+                        activeKeys.add(key);
+                        sameKey.pollFirst();
+                        if (sameKey.isEmpty()) {
+                            pendingByKey.remove(key);
+                        }
+                    }
+                    it.remove();
+                    lane.inFlight++;
+                    poolInFlight++;
+                    toRun.add(task);
+                    toRunLanes.add(lane);
+                }
+            }
+        }
+        
+        for (int i = 0; i < toRun.size(); i++) {
+            QueuedTask task = toRun.get(i);
+            EngineLane lane = toRunLanes.get(i);
+            Thread.ofVirtual().name("task-" + lane.engine.name().toLowerCase() + "-" + task.message().getId())
+                .start(() -> runPooledTask(lane, task));
+        }
+    }
+    
+    /**
+     * Run a task dispatched from a lane and release its capacity afterwards.
+     */
+    private void runPooledTask(EngineLane lane, QueuedTask task) {
+        try {
+            processTask(task);
+        } catch (Exception e) {
+            logger.error("Error processing task: {}", e.getMessage());
+        } finally {
+            synchronized (poolLock) {
+                lane.inFlight--;
+                poolInFlight--;
+                if (task.orderingKey() != null) {
+                    activeKeys.remove(task.orderingKey());
+                }
+            }
+            pumpLanes();
+        }
+    }
+    
+    /**
+     * Derive the ordering key for a task.
+     * Tasks touching the same contract must not run concurrently or out of order.
+     * 
+     * @param message the IPC message
+     * @return ordering key, or null if the task may run in any order
+     */
+    private String extractOrderingKey(IpcMessage message) {
+        try {
+            JsonObject payload = message.getPayload();
+            if (payload == null) {
+                return null;
+            }
+            if (payload.has("ordering_key") && payload.get("ordering_key").isJsonPrimitive()) {
+                return payload.get("ordering_key").getAsString();
+            }
+            if (payload.has("contract_id") && payload.get("contract_id").isJsonPrimitive()) {
+                return "contract:" + payload.get("contract_id").getAsString();
+            }
+            if (payload.has("contract") && payload.get("contract").isJsonObject()) {
+                JsonObject contract = payload.getAsJsonObject("contract");
+                if (contract.has("id") && contract.get("id").isJsonPrimitive()) {
+                    return "contract:" + contract.get("id").getAsString();
+                }
+                if (contract.has("contract_number") && contract.get("contract_number").isJsonPrimitive()) {
+                    return "contract-number:" + contract.get("contract_number").getAsString();
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Could not derive ordering key: {}", e.getMessage());
+        }
+        return null;
+    }
+    
     /**
      * Worker thread main loop - processes tasks from queue.
      */
@@ -207,6 +442,10 @@ public final class TaskScheduler {
         String operationType = message.getType();
         
         logger.debug("Processing task: id={}", taskId);
+        MetricsRegistry registry = metrics;
+        if (registry != null) {
+            registry.recordNanos("scheduler.queue_wait", System.nanoTime() - task.submittedNanos());
+        }
         eventBus.publish("task.started", taskId);
         
         // Record task start
@@ -242,6 +481,9 @@ public final class TaskScheduler {
             }
             
             eventBus.publish("task.completed", taskId);
+            if (registry != null) {
+                registry.increment("scheduler.tasks.completed");
+            }
             logger.debug("Task completed: id={}", taskId);
             
         } catch (Exception e) {
@@ -258,6 +500,9 @@ public final class TaskScheduler {
                 e.getMessage()
             ));
             eventBus.publish("task.failed", taskId);
+            if (registry != null) {
+                registry.increment("scheduler.tasks.failed");
+            }
         } finally {
             // Clean up execution ID tracking
             taskExecutionIds.remove(taskId);
@@ -408,89 +653,9 @@ public final class TaskScheduler {
      */
     private Contract extractContractFromJson(JsonObject contractJson) {
         try {
-            Contract contract = new Contract();
-            
-            // Extract contract fields
-            if (contractJson.has("id")) {
-                JsonElement idElem = contractJson.get("id");
-                if (!idElem.isJsonNull()) {
-                    contract.setId(idElem.getAsLong());
-                }
-            }
-            
-            if (contractJson.has("contract_number")) {
-                contract.setContractNumber(contractJson.get("contract_number").getAsString());
-            }
-            
-            if (contractJson.has("name")) {
-                contract.setName(contractJson.get("name").getAsString());
-            } else {
-                // Name is required
-                return null;
-            }
-            
-            if (contractJson.has("signed_date")) {
-                String dateStr = contractJson.get("signed_date").getAsString();
-                if (dateStr != null && !dateStr.isEmpty()) {
-                    contract.setSignedDate(java.time.LocalDate.parse(dateStr));
-                }
-            }
-            
-            if (contractJson.has("buyer_company")) {
-                contract.setBuyerCompany(contractJson.get("buyer_company").getAsString());
-            }
-            
-            if (contractJson.has("buyer_tax_code")) {
-                contract.setBuyerTaxCode(contractJson.get("buyer_tax_code").getAsString());
-            }
-            
-            // Extract payment stages
-            if (contractJson.has("payment_stages")) {
-                JsonArray stagesArray = contractJson.getAsJsonArray("payment_stages");
-                List<PaymentStage> stages = new ArrayList<>();
-                
-                for (JsonElement stageElem : stagesArray) {
-                    if (stageElem.isJsonObject()) {
-                        JsonObject stageJson = stageElem.getAsJsonObject();
-                        PaymentStage stage = new PaymentStage();
-                        
-                        if (stageJson.has("stage_name")) {
-                            stage.setStageName(stageJson.get("stage_name").getAsString());
-                        } else {
-                            continue; // Skip invalid stage
-                        }
-                        
-                        if (stageJson.has("price_before_vat")) {
-                            stage.setPriceBeforeVat(stageJson.get("price_before_vat").getAsDouble());
-                        }
-                        
-                        if (stageJson.has("vat_rate")) {
-                            stage.setVatRate(stageJson.get("vat_rate").getAsDouble());
-                        }
-                        
-                        if (stageJson.has("vat_amount")) {
-                            stage.setVatAmount(stageJson.get("vat_amount").getAsDouble());
-                        }
-                        
-                        if (stageJson.has("price_after_vat")) {
-                            stage.setPriceAfterVat(stageJson.get("price_after_vat").getAsDouble());
-                        }
-                        
-                        if (stageJson.has("sequence_order")) {
-                            stage.setSequenceOrder(stageJson.get("sequence_order").getAsInt());
-                        }
-                        
-                        stages.add(stage);
-                    }
-                }
-                
-                contract.setPaymentStages(stages);
-            }
-            
-            return contract;
-            
-        } catch (Exception e) {
-            logger.error("Failed to extract contract from JSON: {}", e.getMessage());
+            return ContractJsonMapper.fromJson(contractJson);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Invalid contract JSON in task: {}", e.getMessage());
             return null;
         }
     }
@@ -501,9 +666,59 @@ public final class TaskScheduler {
      * @return number of pending tasks
      */
     public int getQueueSize() {
+        if (mode == SchedulerMode.POOL) {
+            synchronized (poolLock) {
+                int total = 0;
+                for (EngineLane lane : lanes.values()) {
+                    total += lane.pending.size();
+                }
+                return total;
+            }
+        }
         return taskQueue.size();
     }
     
+    /**
+     * Get scheduler statistics: mode, queue depth and in-flight counts per engine.
+     * 
+     * @return statistics map (for GET_STATUS)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("mode", mode.name().toLowerCase());
+        stats.put("running", running.get());
+        
+        if (mode == SchedulerMode.POOL) {
+            Map<String, Object> engines = new HashMap<>();
+            synchronized (poolLock) {
+                for (EngineLane lane : lanes.values()) {
+                    engines.put(lane.engine.name().toLowerCase(), Map.of(
+                        "queued", lane.pending.size(),
+                        "inFlight", lane.inFlight,
+                        "maxConcurrent", lane.maxConcurrent
+                    ));
+                }
+                stats.put("workers", poolSize);
+                stats.put("inFlight", poolInFlight);
+            }
+            stats.put("engines", engines);
+        } else {
+            stats.put("workers", 1);
+            stats.put("inFlight", taskExecutionIds.size());
+        }
+        stats.put("queued", getQueueSize());
+        return stats;
+    }
+    
+    /**
+     * Set the registry that receives queue wait ("scheduler.queue_wait") and task outcome counters.
+     * 
+     * @param metrics the metrics registry, or null to stop recording
+     */
+    public void setMetricsRegistry(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+    
     /**
      * Check if the scheduler is running.
      * 
@@ -0,0 +1,335 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: TimingWheel.java
+ * RESPONSIBILITY: Kernel-wide hashed timing wheel for delayed tasks
+ * 
+ * ARCHITECTURAL ROLE:
+ * - One ticker thread serves every delayed task in the kernel
+ *   (step retry backoff, approval timeouts, deadlines)
+ * - Scheduling and cancelling are O(1); a waiting task holds no thread
+ * - Expired tasks run on virtual threads, never on the ticker
+ * 
+ * BOUNDARIES:
+ * - Timing resolution is one tick; tasks fire up to one tick late, never early
+ * - Does NOT persist timers; owners re-arm them after a restart
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Section 4.2 (TaskScheduler component)
+ */
+package com.presso.kernel.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed timing wheel (Varghese &amp; Lauck).
+ * <p>
+ * The wheel is an array of buckets, one per tick. A task due in {@code d} ticks
+ * goes into bucket {@code (now + d) mod size} with {@code d / size} remaining
+ * rounds; each tick the ticker walks one bucket, fires the tasks whose rounds
+ * reached zero and decrements the rest. New and cancelled tasks are handed to
+ * the ticker through lock-free queues, so buckets are only touched by the ticker.
+ * </p>
+ */
+public final class TimingWheel {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+    
+    private static final long DEFAULT_TICK_MS = 10;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    
+    /**
+     * Handle to a scheduled task.
+     */
+    public static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        
+        // Owned by the ticker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+        
+        private Timeout(TimingWheel wheel, Runnable task, long deadlineNanos) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+        
+        /**
+         * Cancel the task if it has not fired yet.
+         * 
+         * @return true if cancelled, false if it already fired or was cancelled
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.pending.decrementAndGet();
+            wheel.cancelled.add(this);
+            return true;
+        }
+        
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+        
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+    
+    /**
+     * Doubly linked list of timeouts due in one slot.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+        
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+        
+        void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+            timeout.bucket = null;
+        }
+    }
+    
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final ExecutorService taskExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong fired = new AtomicLong();
+    private final AtomicLong scheduled = new AtomicLong();
+    
+    private final Object lifecycleLock = new Object();
+    private volatile Thread ticker;
+    private volatile boolean stopped = false;
+    private long startNanos;
+    private long tick;  // Ticker thread only
+    
+    /**
+     * Construct a TimingWheel with a 10 ms tick and 512 slots (~5 s per revolution).
+     */
+    public TimingWheel() {
+        this(DEFAULT_TICK_MS, DEFAULT_WHEEL_SIZE);
+    }
+    
+    /**
+     * Construct a TimingWheel.
+     * 
+     * @param tickMs tick duration in milliseconds
+     * @param wheelSize number of slots (rounded up to a power of two)
+     */
+    public TimingWheel(long tickMs, int wheelSize) {
+        if (tickMs < 1) {
+            throw new IllegalArgumentException("tickMs must be >= 1");
+        }
+        if (wheelSize < 1 || wheelSize > (1 << 20)) {
+            throw new IllegalArgumentException("wheelSize must be in [1, 2^20]");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1 == 0 ? 1 : (wheelSize - 1)) << 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+    }
+    
+    /**
+     * Schedule a task. The ticker starts on first use.
+     * 
+     * @param task the task (runs on a virtual thread)
+     * @param delay delay before running
+     * @param unit unit of the delay
+     * @return handle for cancellation
+     * @throws IllegalStateException if the wheel has been stopped
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new IllegalStateException("TimingWheel stopped");
+        }
+        ensureStarted();
+        Timeout timeout = new Timeout(this, task, System.nanoTime() + Math.max(0L, unit.toNanos(delay)));
+        pending.incrementAndGet();
+        scheduled.incrementAndGet();
+        added.add(timeout);
+        return timeout;
+    }
+    
+    private void ensureStarted() {
+        if (ticker != null) {
+            return;
+        }
+        synchronized (lifecycleLock) {
+            if (ticker == null && !stopped) {
+                startNanos = System.nanoTime();
+                ticker = Thread.ofPlatform().daemon().name("timing-wheel").start(this::run);
+            }
+        }
+    }
+    
+    private void run() {
+        while (!stopped) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long sleepNanos = deadline - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (stopped) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            removeCancelled();
+            transferAdded();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+    
+    /**
+     * Move newly scheduled timeouts into their slots (ticker thread).
+     */
+    private void transferAdded() {
+        // Bounded per tick so a burst of scheduling cannot stall expiry
+        for (int i = 0; i < 100_000; i++) {
+            Timeout timeout = added.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != Timeout.PENDING) {
+                continue;
+            }
+            // Ticks from start until due; never place into a slot already passed
+            long dueTick = Math.max(tick, (timeout.deadlineNanos - startNanos + tickNanos - 1) / tickNanos - 1);
+            timeout.remainingRounds = (dueTick - tick) / wheel.length;
+            wheel[(int) (dueTick & mask)].add(timeout);
+        }
+    }
+    
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+    
+    private void expire(Bucket bucket) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.remainingRounds <= 0) {
+                bucket.remove(timeout);
+                if (timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+                    pending.decrementAndGet();
+                    fired.incrementAndGet();
+                    run(timeout);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+    
+    private void run(Timeout timeout) {
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    timeout.task.run();
+                } catch (Exception e) {
+                    logger.error("Timed task failed: {}", e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Timed task dropped during shutdown");
+        }
+    }
+    
+    /**
+     * Stop the wheel. Pending tasks are discarded.
+     */
+    public void stop() {
+        synchronized (lifecycleLock) {
+            stopped = true;
+            if (ticker != null) {
+                ticker.interrupt();
+            }
+        }
+        taskExecutor.shutdown();
+        logger.info("TimingWheel stopped: pending={}", pending.get());
+    }
+    
+    /**
+     * Get the number of tasks waiting to fire.
+     * 
+     * @return pending count
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+    
+    /**
+     * Get timer statistics for GET_STATUS.
+     * 
+     * @return statistics map
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pending", pending.get());
+        stats.put("scheduled", scheduled.get());
+        stats.put("fired", fired.get());
+        stats.put("tickMs", TimeUnit.NANOSECONDS.toMillis(tickNanos));
+        stats.put("wheelSize", wheel.length);
+        stats.put("running", ticker != null && !stopped);
+        return stats;
+    }
+}
@@ -109,11 +109,34 @@ public final class StateManager {
         configStore.put("engine.python.enabled", true);
         configStore.put("engine.python.path", "${APP}/engines/python/python.exe");
         configStore.put("engine.python.maxConcurrent", 2);
+        configStore.put("engine.python.maxInFlight", 32);
+        configStore.put("engine.python.framing", "frame-v1");
+        configStore.put("engine.python.minInstances", 1);
+        configStore.put("engine.python.maxInstances", 4);
+        configStore.put("engine.python.idleShrinkMs", 60000);
         configStore.put("engine.rust.enabled", true);
         configStore.put("engine.rust.path", "${APP}/engines/rust/presso-rust.exe");
+        configStore.put("engine.rust.maxConcurrent", 2);
         configStore.put("engine.go.enabled", true);
         configStore.put("engine.go.path", "${APP}/engines/go/api-hub.exe");
         configStore.put("engine.go.port", 0);
+        configStore.put("engine.go.maxConcurrent", 4);
+        configStore.put("engine.go.maxInFlight", 32);
+        configStore.put("engine.go.framing", "frame-v1");
+        configStore.put("engine.go.minInstances", 1);
+        configStore.put("engine.go.maxInstances", 1);
+        configStore.put("engine.go.idleShrinkMs", 60000);
+        
+        // Kernel settings (modules.json)
+        configStore.put("kernel.concurrentDispatch", true);
+        configStore.put("kernel.schedulerMode", "pool");
+        configStore.put("kernel.schedulerWorkers", 8);
+        configStore.put("kernel.maxConcurrent", 4);
+        
+        // Workflow recovery settings (modules.json)
+        configStore.put("workflow.recovery.maxConcurrent", 4);
+        configStore.put("workflow.recovery.batchSize", 100);
+        configStore.put("workflow.recovery.startDelayMs", 2000);
         
         logger.debug("Default configuration initialized");
     }
@@ -222,12 +245,18 @@ public final class StateManager {
         python.addProperty("enabled", true);
         python.addProperty("path", "${APP}/engines/python/python.exe");
         python.addProperty("maxConcurrent", 2);
+        python.addProperty("maxInFlight", 32);
+        python.addProperty("framing", "frame-v1");
+        python.addProperty("minInstances", 1);
+        python.addProperty("maxInstances", 4);
+        python.addProperty("idleShrinkMs", 60000);
         root.add("python", python);
         
         // Rust engine
         JsonObject rust = new JsonObject();
         rust.addProperty("enabled", true);
         rust.addProperty("path", "${APP}/engines/rust/presso-rust.exe");
+        rust.addProperty("maxConcurrent", 2);
         root.add("rust", rust);
         
         // Go API hub
@@ -235,8 +264,31 @@ public final class StateManager {
         go.addProperty("enabled", true);
         go.addProperty("path", "${APP}/engines/go/api-hub.exe");
         go.addProperty("port", 0);
+        go.addProperty("maxConcurrent", 4);
+        go.addProperty("maxInFlight", 32);
+        go.addProperty("framing", "frame-v1");
+        go.addProperty("minInstances", 1);
+        go.addProperty("maxInstances", 1);
+        go.addProperty("idleShrinkMs", 60000);
         root.add("go", go);
         
+        // Kernel runtime
+        JsonObject kernel = new JsonObject();
+        kernel.addProperty("concurrentDispatch", true);
+        kernel.addProperty("schedulerMode", "pool");
+        kernel.addProperty("schedulerWorkers", 8);
+        kernel.addProperty("maxConcurrent", 4);
+        root.add("kernel", kernel);
+        
+        // Workflow recovery at startup
+        JsonObject recovery = new JsonObject();
+        recovery.addProperty("maxConcurrent", 4);
+        recovery.addProperty("batchSize", 100);
+        recovery.addProperty("startDelayMs", 2000);
+        JsonObject workflow = new JsonObject();
+        workflow.add("recovery", recovery);
+        root.add("workflow", workflow);
+        
         return root;
     }
     
@@ -291,6 +343,20 @@ public final class StateManager {
             parseSection("engine.go", go);
         }
         
+        // Parse kernel runtime config
+        if (modules.has("kernel") && modules.get("kernel").isJsonObject()) {
+            JsonObject kernel = modules.getAsJsonObject("kernel");
+            parseSection("kernel", kernel);
+        }
+        
+        // Parse workflow recovery config (nested: workflow.recovery)
+        if (modules.has("workflow") && modules.get("workflow").isJsonObject()) {
+            JsonObject workflow = modules.getAsJsonObject("workflow");
+            if (workflow.has("recovery") && workflow.get("recovery").isJsonObject()) {
+                parseSection("workflow.recovery", workflow.getAsJsonObject("recovery"));
+            }
+        }
+        
         // TODO (Phase 2): Support dynamic engine configuration
     }
     
@@ -406,12 +472,18 @@ public final class StateManager {
         python.addProperty("enabled", getConfig("engine.python.enabled", true));
         python.addProperty("path", getConfig("engine.python.path", "${APP}/engines/python/python.exe"));
         python.addProperty("maxConcurrent", getConfig("engine.python.maxConcurrent", 2));
+        python.addProperty("maxInFlight", getConfig("engine.python.maxInFlight", 32));
+        python.addProperty("framing", getConfig("engine.python.framing", "frame-v1"));
+        python.addProperty("minInstances", getConfig("engine.python.minInstances", 1));
+        python.addProperty("maxInstances", getConfig("engine.python.maxInstances", 4));
+        python.addProperty("idleShrinkMs", getConfig("engine.python.idleShrinkMs", 60000));
         root.add("python", python);
         
         // Build rust section
         JsonObject rust = new JsonObject();
         rust.addProperty("enabled", getConfig("engine.rust.enabled", true));
         rust.addProperty("path", getConfig("engine.rust.path", "${APP}/engines/rust/presso-rust.exe"));
+        rust.addProperty("maxConcurrent", getConfig("engine.rust.maxConcurrent", 2));
         root.add("rust", rust);
         
         // Build go section
@@ -419,8 +491,31 @@ public final class StateManager {
         go.addProperty("enabled", getConfig("engine.go.enabled", true));
         go.addProperty("path", getConfig("engine.go.path", "${APP}/engines/go/api-hub.exe"));
         go.addProperty("port", getConfig("engine.go.port", 0));
+        go.addProperty("maxConcurrent", getConfig("engine.go.maxConcurrent", 4));
+        go.addProperty("maxInFlight", getConfig("engine.go.maxInFlight", 32));
+        go.addProperty("framing", getConfig("engine.go.framing", "frame-v1"));
+        go.addProperty("minInstances", getConfig("engine.go.minInstances", 1));
+        go.addProperty("maxInstances", getConfig("engine.go.maxInstances", 1));
+        go.addProperty("idleShrinkMs", getConfig("engine.go.idleShrinkMs", 60000));
         root.add("go", go);
         
+        // Build kernel section
+        JsonObject kernel = new JsonObject();
+        kernel.addProperty("concurrentDispatch", getConfig("kernel.concurrentDispatch", true));
+        kernel.addProperty("schedulerMode", getConfig("kernel.schedulerMode", "pool"));
+        kernel.addProperty("schedulerWorkers", getConfig("kernel.schedulerWorkers", 8));
+        kernel.addProperty("maxConcurrent", getConfig("kernel.maxConcurrent", 4));
+        root.add("kernel", kernel);
+        
+        // Build workflow section
+        JsonObject recovery = new JsonObject();
+        recovery.addProperty("maxConcurrent", getConfig("workflow.recovery.maxConcurrent", 4));
+        recovery.addProperty("batchSize", getConfig("workflow.recovery.batchSize", 100));
+        recovery.addProperty("startDelayMs", getConfig("workflow.recovery.startDelayMs", 2000));
+        JsonObject workflow = new JsonObject();
+        workflow.add("recovery", recovery);
+        root.add("workflow", workflow);
+        
         if (ConfigFileHandler.writeJsonFile(modulesPath, root)) {
             logger.debug("Saved modules to {}", modulesPath);
         } else {
@@ -6,8 +6,10 @@
  * RESPONSIBILITY: Human-in-the-loop approval management
  * 
  * ARCHITECTURAL ROLE:
- * - Manages pending approvals
- * - Records approval decisions in audit trail
+ * - Single in-memory registry of pending approvals and their parked continuations
+ * - Resolution wakes the waiting execution directly (no lookup on resume)
+ * - Approval timeouts (timeout_policy FAIL) fire from the kernel timing wheel
+ * - Records requests and decisions in the audit trail (durability only)
  * - Ensures idempotent approval resolution
  * - NO business logic - pure orchestration
  * 
@@ -17,6 +19,7 @@ package com.presso.kernel.workflow;
 
 import com.presso.kernel.persistence.DatabaseManager;
 import com.presso.kernel.event.EventBus;
+import com.presso.kernel.scheduling.TimingWheel;
 import com.presso.kernel.workflow.persistence.WorkflowPersistenceService;
 
 import org.slf4j.Logger;
@@ -26,8 +29,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Timestamp;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.Map;
 
 /**
@@ -41,9 +44,28 @@ public final class ApprovalService {
     private final EventBus eventBus;
     private final WorkflowPersistenceService workflowPersistence;
     
-    // Pending approvals: executionId:stepId -> ApprovalRequest
+    /** Decision recorded when a FAIL-policy approval times out. */
+    public static final String DECISION_TIMEOUT = "TIMEOUT";
+    
+    // Pending approvals: executionId:stepId -> ApprovalRequest (with its parked continuation)
     private final Map<String, ApprovalRequest> pendingApprovals = new ConcurrentHashMap<>();
     
+    // Decisions recorded before a restart but not yet applied to their step: executionId:stepId -> decision
+    private final Map<String, String> unappliedDecisions = new ConcurrentHashMap<>();
+    
+    // Continuation for approvals with none parked (e.g. requests loaded at startup)
+    private volatile ApprovalContinuation defaultContinuation;
+    
+    private volatile TimingWheel timingWheel;
+    
+    /**
+     * Continuation of a workflow parked on an approval; invoked once with the decision.
+     */
+    @FunctionalInterface
+    public interface ApprovalContinuation {
+        void resume(ApprovalRequest request, String decision);
+    }
+    
     /**
      * Represents a pending approval request.
      */
@@ -53,6 +75,12 @@ public final class ApprovalService {
         private final String prompt;
         private final java.util.List<String> allowedActions;
         private final long requestedAt;
+        private volatile String workflowId;  // null if unknown
+        private volatile Long expiresAt;  // null if no timeout
+        
+        // Parked continuation and armed timeout (registry-internal)
+        private volatile ApprovalContinuation continuation;
+        private volatile TimingWheel.Timeout timeout;
         
         public ApprovalRequest(String executionId, String stepId, String prompt, 
                               java.util.List<String> allowedActions, long requestedAt) {
@@ -70,6 +98,8 @@ public final class ApprovalService {
             return allowedActions != null ? new java.util.ArrayList<>(allowedActions) : null; 
         }
         public long getRequestedAt() { return requestedAt; }
+        public String getWorkflowId() { return workflowId; }
+        public Long getExpiresAt() { return expiresAt; }
     }
     
     /**
@@ -87,6 +117,24 @@ public final class ApprovalService {
         logger.info("ApprovalService created");
     }
     
+    /**
+     * Set the timer that fires approval timeouts.
+     * 
+     * @param timingWheel the kernel timing wheel
+     */
+    public void setTimingWheel(TimingWheel timingWheel) {
+        this.timingWheel = timingWheel;
+    }
+    
+    /**
+     * Set the continuation used for approvals that have none parked.
+     * 
+     * @param continuation the default continuation
+     */
+    public void setDefaultContinuation(ApprovalContinuation continuation) {
+        this.defaultContinuation = continuation;
+    }
+    
     /**
      * Request approval for a workflow step.
      * 
@@ -97,27 +145,106 @@ public final class ApprovalService {
      */
     public void requestApproval(String executionId, String stepId, String prompt,
                                java.util.List<String> allowedActions) {
+        requestApproval(executionId, null, stepId, prompt, allowedActions, null, null);
+    }
+    
+    /**
+     * Request approval for a workflow step and park the workflow's continuation on it.
+     * 
+     * @param executionId workflow execution identifier
+     * @param workflowId workflow definition ID
+     * @param stepId step identifier
+     * @param prompt approval prompt text
+     * @param allowedActions allowed actions (e.g., ["APPROVE", "REJECT"])
+     * @param timeoutMs time until the approval is resolved as TIMEOUT, or null to wait indefinitely
+     * @param continuation invoked once with the decision (null for the default continuation)
+     */
+    public void requestApproval(String executionId, String workflowId, String stepId, String prompt,
+                               java.util.List<String> allowedActions, Long timeoutMs,
+                               ApprovalContinuation continuation) {
         String key = executionId + ":" + stepId;
         ApprovalRequest request = new ApprovalRequest(executionId, stepId, prompt, allowedActions, System.currentTimeMillis());
+        request.workflowId = workflowId;
+        request.continuation = continuation;
         pendingApprovals.put(key, request);
         
         // Record approval request in audit trail
         recordApprovalRequest(executionId, stepId, prompt, allowedActions);
         
+        if (timeoutMs != null) {
+            armTimeout(request, request.getRequestedAt() + timeoutMs);
+        }
+        
         // Emit event
         eventBus.publish("approval.requested", executionId + ":" + stepId);
         logger.info("Approval requested: executionId={}, stepId={}", executionId, stepId);
     }
     
     /**
-     * Resolve an approval decision.
+     * Park a continuation and timeout on an approval loaded at startup.
+     * 
+     * @param executionId workflow execution identifier
+     * @param stepId step identifier
+     * @param timeoutMs timeout measured from the original request, or null to wait indefinitely
+     * @param continuation invoked once with the decision
+     * @return true if the approval is pending
+     */
+    public boolean attachContinuation(String executionId, String stepId, Long timeoutMs,
+                                      ApprovalContinuation continuation) {
+        ApprovalRequest request = pendingApprovals.get(executionId + ":" + stepId);
+        if (request == null) {
+            return false;
+        }
+        request.continuation = continuation;
+        if (timeoutMs != null && request.timeout == null) {
+            armTimeout(request, request.getRequestedAt() + timeoutMs);
+        }
+        return true;
+    }
+    
+    /**
+     * Schedule the timeout for a pending approval (fires immediately if already past).
+     */
+    private void armTimeout(ApprovalRequest request, long expiresAt) {
+        TimingWheel wheel = timingWheel;
+        if (wheel == null) {
+            logger.warn("No timer configured, approval will not time out: executionId={}, stepId={}",
+                request.getExecutionId(), request.getStepId());
+            return;
+        }
+        request.expiresAt = expiresAt;
+        long delayMs = Math.max(0L, expiresAt - System.currentTimeMillis());
+        try {
+            request.timeout = wheel.schedule(() -> expire(request), delayMs, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            logger.warn("Timer stopped, approval timeout not armed: executionId={}, stepId={}",
+                request.getExecutionId(), request.getStepId());
+        }
+    }
+    
+    /**
+     * Timer callback: resolve the approval as TIMEOUT unless it was resolved first.
+     */
+    private void expire(ApprovalRequest request) {
+        String key = request.getExecutionId() + ":" + request.getStepId();
+        if (!pendingApprovals.remove(key, request)) {
+            return;
+        }
+        recordApprovalDecision(request.getExecutionId(), request.getStepId(), DECISION_TIMEOUT, "system", "Approval timed out");
+        eventBus.publish("approval.timeout", key);
+        logger.info("Approval timed out: executionId={}, stepId={}", request.getExecutionId(), request.getStepId());
+        wake(request, DECISION_TIMEOUT);
+    }
+    
+    /**
+     * Resolve an approval decision and wake the parked workflow.
      * 
      * @param executionId workflow execution identifier
      * @param stepId step identifier
      * @param decision decision (APPROVE, REJECT, etc.)
      * @param actorId human identifier
      * @param comment optional comment
-     * @return true if resolved successfully, false if already resolved or not found
+     * @return true if resolved successfully, false if already resolved, not found or not allowed
      */
     public boolean resolveApproval(String executionId, String stepId, String decision,
                                    String actorId, String comment) {
@@ -125,12 +252,7 @@ public final class ApprovalService {
         ApprovalRequest request = pendingApprovals.get(key);
         
         if (request == null) {
-            // Check if already resolved in database
-            if (isApprovalResolved(executionId, stepId)) {
-                logger.warn("Approval already resolved: executionId={}, stepId={}", executionId, stepId);
-                return false; // Idempotent: already resolved
-            }
-            logger.warn("Approval request not found: executionId={}, stepId={}", executionId, stepId);
+            logger.warn("Approval request not found or already resolved: executionId={}, stepId={}", executionId, stepId);
             return false;
         }
         
@@ -141,20 +263,57 @@ public final class ApprovalService {
             return false;
         }
         
+        // Claim the request; a concurrent resolution or the timeout may have won
+        if (!pendingApprovals.remove(key, request)) {
+            logger.warn("Approval already resolved: executionId={}, stepId={}", executionId, stepId);
+            return false;
+        }
+        TimingWheel.Timeout timeout = request.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        
         // Record approval decision in audit trail
         recordApprovalDecision(executionId, stepId, decision, actorId, comment);
         
-        // Remove from pending
-        pendingApprovals.remove(key);
-        
         // Emit event
         eventBus.publish("approval.resolved", executionId + ":" + stepId + ":" + decision);
         logger.info("Approval resolved: executionId={}, stepId={}, decision={}, actorId={}", 
             executionId, stepId, decision, actorId);
         
+        wake(request, decision);
         return true;
     }
     
+    /**
+     * Invoke the parked (or default) continuation for a resolved approval.
+     */
+    private void wake(ApprovalRequest request, String decision) {
+        ApprovalContinuation continuation = request.continuation != null ? request.continuation : defaultContinuation;
+        if (continuation == null) {
+            logger.warn("No continuation for resolved approval: executionId={}, stepId={}",
+                request.getExecutionId(), request.getStepId());
+            return;
+        }
+        try {
+            continuation.resume(request, decision);
+        } catch (Exception e) {
+            logger.error("Failed to resume workflow after approval: executionId={}, stepId={}, error={}",
+                request.getExecutionId(), request.getStepId(), e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Take a decision that was recorded before a restart but never applied to its step.
+     * 
+     * @param executionId workflow execution identifier
+     * @param stepId step identifier
+     * @return the decision, or null if none
+     */
+    public String takeUnappliedDecision(String executionId, String stepId) {
+        return unappliedDecisions.remove(executionId + ":" + stepId);
+    }
+    
     /**
      * Get pending approval request.
      * 
@@ -176,33 +335,6 @@ public final class ApprovalService {
         return new ConcurrentHashMap<>(pendingApprovals);
     }
     
-    /**
-     * Check if approval is already resolved.
-     * 
-     * @param executionId workflow execution identifier
-     * @param stepId step identifier
-     * @return true if resolved
-     */
-    private boolean isApprovalResolved(String executionId, String stepId) {
-        try (Connection conn = databaseManager.getConnection()) {
-            try (PreparedStatement stmt = conn.prepareStatement(
-                "SELECT COUNT(*) FROM workflow_approval WHERE execution_id = ? AND step_id = ? AND decision IS NOT NULL"
-            )) {
-                stmt.setString(1, executionId);
-                stmt.setString(2, stepId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        return rs.getInt(1) > 0;
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            logger.error("Failed to check approval resolution: executionId={}, stepId={}, error={}", 
-                executionId, stepId, e.getMessage());
-        }
-        return false;
-    }
-    
     /**
      * Record approval request in audit trail.
      */
@@ -254,11 +386,21 @@ public final class ApprovalService {
     
     /**
      * Load pending approvals from database on startup (Phase 5 Step 3).
+     * <p>
+     * Also loads decisions recorded for unfinished executions whose step was never
+     * marked completed or failed (the kernel stopped in between); they are applied
+     * when the step is reached again.
+     * </p>
+     * 
+     * @return the unapplied decisions as executionId:stepId -> decision
      */
-    public void loadPendingApprovals() {
-        try (Connection conn = databaseManager.getConnection()) {
+    public Map<String, String> loadPendingApprovals() {
+        try (Connection conn = databaseManager.getReadConnection()) {
             try (PreparedStatement stmt = conn.prepareStatement(
-                "SELECT execution_id, step_id, prompt, allowed_actions FROM workflow_approval WHERE decision IS NULL"
+                "SELECT a.execution_id, a.step_id, a.prompt, a.allowed_actions, e.workflow_id, " +
+                "CAST(strftime('%s', a.requested_at) AS INTEGER) * 1000 AS requested_at_ms " +
+                "FROM workflow_approval a JOIN workflow_execution e ON e.execution_id = a.execution_id " +
+                "WHERE a.decision IS NULL AND e.status IN ('running', 'paused', 'paused_waiting_for_approval')"
             )) {
                 try (ResultSet rs = stmt.executeQuery()) {
                     int count = 0;
@@ -267,6 +409,8 @@ public final class ApprovalService {
                         String stepId = rs.getString("step_id");
                         String prompt = rs.getString("prompt");
                         String allowedActionsStr = rs.getString("allowed_actions");
+                        long requestedAtMs = rs.getLong("requested_at_ms");
+                        boolean hasRequestedAt = !rs.wasNull();
                         
                         java.util.List<String> allowedActions = new java.util.ArrayList<>();
                         if (allowedActionsStr != null) {
@@ -276,16 +420,34 @@ public final class ApprovalService {
                         }
                         
                         String key = executionId + ":" + stepId;
-                        ApprovalRequest request = new ApprovalRequest(executionId, stepId, prompt, allowedActions, System.currentTimeMillis());
-                        pendingApprovals.put(key, request);
+                        ApprovalRequest request = new ApprovalRequest(executionId, stepId, prompt, allowedActions,
+                            hasRequestedAt ? requestedAtMs : System.currentTimeMillis());
+                        request.workflowId = rs.getString("workflow_id");
+                        pendingApprovals.putIfAbsent(key, request);
                         count++;
                     }
                     logger.info("Loaded {} pending approvals from database", count);
                 }
             }
+            
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT a.execution_id, a.step_id, a.decision FROM workflow_approval a " +
+                "JOIN workflow_execution e ON e.execution_id = a.execution_id " +
+                "WHERE a.decision IS NOT NULL AND e.status IN ('running', 'paused', 'paused_waiting_for_approval') " +
+                "AND NOT EXISTS (SELECT 1 FROM workflow_step_execution s WHERE s.execution_id = a.execution_id " +
+                "AND s.step_id = a.step_id AND s.status IN ('completed', 'failed'))"
+            )) {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        unappliedDecisions.put(rs.getString("execution_id") + ":" + rs.getString("step_id"),
+                            rs.getString("decision"));
+                    }
+                }
+            }
         } catch (SQLException e) {
             logger.error("Failed to load pending approvals: error={}", e.getMessage());
         }
+        return new java.util.HashMap<>(unappliedDecisions);
     }
 }
 
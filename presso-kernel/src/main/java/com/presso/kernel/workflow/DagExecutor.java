@@ -7,8 +7,9 @@
  * 
  * ARCHITECTURAL ROLE:
  * - Performs topological sort to determine execution order
- * - Identifies runnable steps (dependencies satisfied)
- * - Executes independent steps in parallel
+ * - Completion-driven scheduling: finishing a step decrements its dependents'
+ *   in-degrees and makes the ones reaching zero ready (no polling)
+ * - Bounds the number of running steps (maxParallelism)
  * - Handles failure propagation
  * 
  * Reference: PROJECT_DOCUMENTATION.md Phase 5 Step 4
@@ -50,6 +51,15 @@ public final class DagExecutor {
     // In-degree count: stepId -> number of unsatisfied dependencies
     private final Map<String, Integer> inDegree = new HashMap<>();
     
+    // Steps whose dependencies are satisfied, waiting for a parallelism slot (guarded by stateLock)
+    private final Deque<String> readySteps = new ArrayDeque<>();
+    
+    // Steps claimed and not yet finished or parked (guarded by stateLock)
+    private int runningCount = 0;
+    
+    // Steps parked waiting for an external event (e.g. human approval)
+    private final Set<String> parkedSteps = ConcurrentHashMap.newKeySet();
+    
     /**
      * Step execution state.
      */
@@ -86,6 +96,9 @@ public final class DagExecutor {
         dependents.clear();
         inDegree.clear();
         stepStates.clear();
+        readySteps.clear();
+        parkedSteps.clear();
+        runningCount = 0;
         
         // Build step map
         for (StepDefinition step : definition.getSteps()) {
@@ -139,11 +152,14 @@ public final class DagExecutor {
         try {
             stepStates.put(stepId, StepState.COMPLETED);
             
-            // Decrease in-degree of dependent steps
+            // Decrease in-degree of dependent steps; those reaching zero become ready
             for (String dependentId : dependents.get(stepId)) {
                 int newDegree = inDegree.get(dependentId) - 1;
                 inDegree.put(dependentId, newDegree);
                 logger.debug("Step {} dependency satisfied, in-degree: {}", dependentId, newDegree);
+                if (newDegree == 0 && stepStates.get(dependentId) == StepState.PENDING) {
+                    readySteps.add(dependentId);
+                }
             }
         } finally {
             stateLock.unlock();
@@ -172,6 +188,110 @@ public final class DagExecutor {
         }
     }
     
+    /**
+     * Seed the ready queue with every pending step that has no unsatisfied dependencies.
+     * Called once per run, after {@link #initializeDag} / {@link #restoreStepStates}.
+     */
+    public void seedReadySteps() {
+        stateLock.lock();
+        try {
+            readySteps.clear();
+            for (StepDefinition step : stepMap.values()) {
+                String stepId = step.getStepId();
+                if (stepStates.get(stepId) == StepState.PENDING && inDegree.get(stepId) == 0) {
+                    readySteps.add(stepId);
+                }
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+    
+    /**
+     * Claim ready steps up to the parallelism limit and mark them running.
+     * 
+     * @param allowNew false to stop launching (e.g. after a failure); returns nothing then
+     * @return step IDs the caller must execute
+     */
+    public List<String> claimReadySteps(boolean allowNew) {
+        stateLock.lock();
+        try {
+            List<String> claimed = new ArrayList<>();
+            while (allowNew && runningCount < maxParallelism && !readySteps.isEmpty()) {
+                String stepId = readySteps.poll();
+                if (stepStates.get(stepId) != StepState.PENDING) {
+                    continue;
+                }
+                stepStates.put(stepId, StepState.RUNNING);
+                runningCount++;
+                claimed.add(stepId);
+            }
+            return claimed;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+    
+    /**
+     * Record the end of a claimed step and release its parallelism slot.
+     * 
+     * @param stepId step ID
+     * @param succeeded true if the step completed (or was skipped), false if it failed
+     */
+    public void finishStep(String stepId, boolean succeeded) {
+        stateLock.lock();
+        try {
+            runningCount--;
+            if (succeeded) {
+                markStepCompleted(stepId);
+            } else {
+                markStepFailed(stepId);
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+    
+    /**
+     * Park a claimed step that waits for an external event (the run pauses).
+     * The step stays RUNNING so it is not relaunched in this run.
+     * 
+     * @param stepId step ID
+     */
+    public void parkStep(String stepId) {
+        stateLock.lock();
+        try {
+            runningCount--;
+            parkedSteps.add(stepId);
+        } finally {
+            stateLock.unlock();
+        }
+    }
+    
+    /**
+     * Check whether nothing is running and nothing more can be launched.
+     * 
+     * @param allowNew whether ready steps would still be launched
+     * @return true if the run has settled
+     */
+    public boolean isQuiescent(boolean allowNew) {
+        stateLock.lock();
+        try {
+            return runningCount == 0 && (!allowNew || readySteps.isEmpty());
+        } finally {
+            stateLock.unlock();
+        }
+    }
+    
+    /**
+     * Check if any step is parked waiting for an external event.
+     * 
+     * @return true if the run is paused
+     */
+    public boolean hasParkedSteps() {
+        return !parkedSteps.isEmpty();
+    }
+    
     /**
      * Mark step as running.
      * 
@@ -0,0 +1,361 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: InputMappingPlan.java
+ * RESPONSIBILITY: Precompiled step input mapping
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Compiled once per step when a workflow definition is loaded
+ * - Parses ${...} references and interpolated strings ahead of time
+ * - Shares constant subtrees between executions instead of copying them
+ * 
+ * REFERENCE SYNTAX:
+ * - Whole value:    "${initial.key}", "${step_id.a.b[0]}", "${var}"
+ * - Interpolation:  "Contract ${initial.number} for ${fetch.buyer.name}"
+ * - Roots: "initial" (workflow input), a step id (its result), or a context variable
+ * - Escape:         "$${name}" is the literal text "${name}"
+ * - An embedded reference that does not resolve, and any ${...} that is not a
+ *   valid path (e.g. "${}"), is kept as literal text, so placeholders meant for
+ *   the engine's template renderer pass through unchanged
+ * 
+ * BOUNDARIES:
+ * - Resolved inputs may share constant subtrees; callers must not mutate them
+ *   (ModuleRouter deep-copies payloads before modifying them)
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Phase 5 Step 1
+ */
+package com.presso.kernel.workflow;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accessor plan for a step's input mapping.
+ * <p>
+ * Each mapping value compiles to a node: a constant (shared as is), a reference
+ * (a root plus a path of field names and array indices), an interpolated string,
+ * or an object/array of nodes. Objects and arrays without references collapse
+ * into constants, so resolving only allocates along paths that contain references.
+ * </p>
+ */
+public final class InputMappingPlan {
+    
+    private static final String INITIAL_ROOT = "initial";
+    
+    private final String[] keys;
+    private final Node[] values;
+    
+    private InputMappingPlan(String[] keys, Node[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+    
+    /**
+     * Compile an input mapping.
+     * 
+     * @param inputMapping the step's input_mapping object
+     * @return the plan
+     */
+    public static InputMappingPlan compile(JsonObject inputMapping) {
+        List<String> keys = new ArrayList<>(inputMapping.size());
+        List<Node> values = new ArrayList<>(inputMapping.size());
+        for (Map.Entry<String, JsonElement> entry : inputMapping.entrySet()) {
+            keys.add(entry.getKey());
+            values.add(compileValue(entry.getValue()));
+        }
+        return new InputMappingPlan(keys.toArray(new String[0]), values.toArray(new Node[0]));
+    }
+    
+    /**
+     * Build the step input for an execution.
+     * 
+     * @param context the execution context
+     * @return a new top-level input object (nested constants are shared)
+     */
+    public JsonObject resolve(WorkflowExecutionContext context) {
+        JsonObject resolved = new JsonObject();
+        for (int i = 0; i < keys.length; i++) {
+            resolved.add(keys[i], values[i].resolve(context));
+        }
+        return resolved;
+    }
+    
+    /**
+     * Compiled mapping value.
+     */
+    private interface Node {
+        JsonElement resolve(WorkflowExecutionContext context);
+    }
+    
+    private record Constant(JsonElement value) implements Node {
+        @Override
+        public JsonElement resolve(WorkflowExecutionContext context) {
+            return value;
+        }
+    }
+    
+    private record ObjectNode(String[] keys, Node[] values) implements Node {
+        @Override
+        public JsonElement resolve(WorkflowExecutionContext context) {
+            JsonObject resolved = new JsonObject();
+            for (int i = 0; i < keys.length; i++) {
+                resolved.add(keys[i], values[i].resolve(context));
+            }
+            return resolved;
+        }
+    }
+    
+    private record ArrayNode(Node[] elements) implements Node {
+        @Override
+        public JsonElement resolve(WorkflowExecutionContext context) {
+            JsonArray resolved = new JsonArray(elements.length);
+            for (Node element : elements) {
+                resolved.add(element.resolve(context));
+            }
+            return resolved;
+        }
+    }
+    
+    /**
+     * Reference embedded in a string, with its source text for when it does not resolve.
+     */
+    private record Embedded(Path path, String source) {
+    }
+    
+    /**
+     * String with embedded references; literal parts are Strings, references are Embedded.
+     */
+    private record Interpolation(Object[] parts) implements Node {
+        @Override
+        public JsonElement resolve(WorkflowExecutionContext context) {
+            StringBuilder sb = new StringBuilder();
+            for (Object part : parts) {
+                if (part instanceof Embedded embedded) {
+                    JsonElement value = embedded.path().resolve(context);
+                    if (value.isJsonNull()) {
+                        sb.append(embedded.source());  // Unresolved: keep the placeholder
+                    } else if (value.isJsonPrimitive()) {
+                        sb.append(value.getAsString());
+                    } else {
+                        sb.append(value);
+                    }
+                } else {
+                    sb.append((String) part);
+                }
+            }
+            return new JsonPrimitive(sb.toString());
+        }
+    }
+    
+    /**
+     * Reference: root name, then field names (String) and array indices (Integer).
+     * {@code literalKey} is the text after the root, kept for keys that contain dots.
+     */
+    private record Path(String root, Object[] segments, String literalKey) implements Node {
+        @Override
+        public JsonElement resolve(WorkflowExecutionContext context) {
+            JsonElement base;
+            if (INITIAL_ROOT.equals(root)) {
+                base = context.getInitialContext();
+            } else {
+                JsonObject stepResult = context.getStepResult(root);
+                if (stepResult != null) {
+                    base = stepResult;
+                } else {
+                    Object variable = context.getVariable(root);
+                    if (variable == null) {
+                        return JsonNull.INSTANCE;
+                    }
+                    if (!(variable instanceof JsonElement element)) {
+                        // Scalar variables resolve to themselves whatever the path
+                        return toJson(variable);
+                    }
+                    base = element;
+                }
+            }
+            
+            JsonElement current = base;
+            for (Object segment : segments) {
+                current = step(current, segment);
+                if (current == null) {
+                    break;
+                }
+            }
+            if (current == null && literalKey != null && base.isJsonObject() && base.getAsJsonObject().has(literalKey)) {
+                current = base.getAsJsonObject().get(literalKey);
+            }
+            return current != null ? current : JsonNull.INSTANCE;
+        }
+        
+        private static JsonElement step(JsonElement current, Object segment) {
+            if (segment instanceof Integer index) {
+                if (current.isJsonArray() && index < current.getAsJsonArray().size()) {
+                    return current.getAsJsonArray().get(index);
+                }
+                return null;
+            }
+            if (current.isJsonObject()) {
+                return current.getAsJsonObject().get((String) segment);
+            }
+            return null;
+        }
+    }
+    
+    private static Node compileValue(JsonElement value) {
+        if (value == null || value.isJsonNull()) {
+            return new Constant(JsonNull.INSTANCE);
+        }
+        if (value.isJsonPrimitive()) {
+            JsonPrimitive primitive = value.getAsJsonPrimitive();
+            return primitive.isString() ? compileString(primitive) : new Constant(primitive);
+        }
+        if (value.isJsonObject()) {
+            JsonObject obj = value.getAsJsonObject();
+            String[] keys = new String[obj.size()];
+            Node[] values = new Node[obj.size()];
+            boolean constant = true;
+            int i = 0;
+            for (Map.Entry<String, JsonElement> entry : obj.entrySet()) {
+                keys[i] = entry.getKey();
+                values[i] = compileValue(entry.getValue());
+                constant &= values[i] instanceof Constant;
+                i++;
+            }
+            return constant ? new Constant(obj.deepCopy()) : new ObjectNode(keys, values);
+        }
+        JsonArray array = value.getAsJsonArray();
+        Node[] elements = new Node[array.size()];
+        boolean constant = true;
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = compileValue(array.get(i));
+            constant &= elements[i] instanceof Constant;
+        }
+        return constant ? new Constant(array.deepCopy()) : new ArrayNode(elements);
+    }
+    
+    /**
+     * Compile a string: a single ${...} spanning the whole string is a typed reference,
+     * embedded ones make an interpolated string. "$${" is a literal "${"; an unterminated
+     * ${ or one that is not a valid path stays literal.
+     */
+    private static Node compileString(JsonPrimitive primitive) {
+        String str = primitive.getAsString();
+        if (str.indexOf("${") < 0) {
+            return new Constant(primitive);
+        }
+        
+        List<Object> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int pos = 0;
+        while (pos < str.length()) {
+            if (str.startsWith("$${", pos)) {
+                literal.append("${");
+                pos += 3;
+                continue;
+            }
+            int end = str.startsWith("${", pos) ? str.indexOf('}', pos + 2) : -1;
+            if (end < 0) {
+                literal.append(str.charAt(pos));
+                pos++;
+                continue;
+            }
+            String source = str.substring(pos, end + 1);
+            Path path;
+            try {
+                path = parsePath(str.substring(pos + 2, end));
+            } catch (IllegalArgumentException e) {
+                path = null;
+            }
+            if (path == null) {
+                literal.append(source);
+            } else {
+                if (literal.length() > 0) {
+                    parts.add(literal.toString());
+                    literal.setLength(0);
+                }
+                parts.add(new Embedded(path, source));
+            }
+            pos = end + 1;
+        }
+        if (literal.length() > 0) {
+            parts.add(literal.toString());
+        }
+        
+        if (parts.size() == 1 && parts.get(0) instanceof Embedded embedded) {
+            return embedded.path();  // Whole value: typed (null if unresolved)
+        }
+        if (parts.stream().noneMatch(part -> part instanceof Embedded)) {
+            return new Constant(new JsonPrimitive(parts.isEmpty() ? "" : (String) parts.get(0)));
+        }
+        return new Interpolation(parts.toArray());
+    }
+    
+    /**
+     * Parse "root.a.b[0].c" into a Path.
+     */
+    private static Path parsePath(String ref) {
+        String text = ref.trim();
+        int rootEnd = 0;
+        while (rootEnd < text.length() && text.charAt(rootEnd) != '.' && text.charAt(rootEnd) != '[') {
+            rootEnd++;
+        }
+        String root = text.substring(0, rootEnd);
+        if (root.isEmpty()) {
+            throw new IllegalArgumentException("Empty reference root in ${" + ref + "}");
+        }
+        
+        List<Object> segments = new ArrayList<>();
+        int pos = rootEnd;
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (c == '.') {
+                int next = pos + 1;
+                while (next < text.length() && text.charAt(next) != '.' && text.charAt(next) != '[') {
+                    next++;
+                }
+                if (next == pos + 1) {
+                    throw new IllegalArgumentException("Empty field name in ${" + ref + "}");
+                }
+                segments.add(text.substring(pos + 1, next));
+                pos = next;
+            } else {
+                int close = text.indexOf(']', pos);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed [ in ${" + ref + "}");
+                }
+                try {
+                    int index = Integer.parseInt(text.substring(pos + 1, close).trim());
+                    if (index < 0) {
+                        throw new NumberFormatException();
+                    }
+                    segments.add(index);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid array index in ${" + ref + "}");
+                }
+                pos = close + 1;
+            }
+        }
+        
+        String literalKey = rootEnd < text.length() && text.charAt(rootEnd) == '.' ? text.substring(rootEnd + 1) : null;
+        return new Path(root, segments.toArray(), literalKey);
+    }
+    
+    private static JsonElement toJson(Object value) {
+        if (value instanceof String s) {
+            return new JsonPrimitive(s);
+        } else if (value instanceof Number n) {
+            return new JsonPrimitive(n);
+        } else if (value instanceof Boolean b) {
+            return new JsonPrimitive(b);
+        }
+        return JsonNull.INSTANCE;
+    }
+}
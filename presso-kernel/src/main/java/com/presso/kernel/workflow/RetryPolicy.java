@@ -6,8 +6,9 @@
  * RESPONSIBILITY: Retry policy configuration for workflow steps
  * 
  * ARCHITECTURAL ROLE:
- * - Defines deterministic retry behavior
- * - Simple fixed backoff (exponential in future)
+ * - Defines retry behavior: attempt limit and backoff between attempts
+ * - Backoff strategies: fixed, exponential, decorrelated jitter
+ * - Every strategy is capped by max_backoff_ms
  * 
  * Reference: PROJECT_DOCUMENTATION.md Phase 5 Step 1
  */
@@ -16,29 +17,79 @@ package com.presso.kernel.workflow;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Represents a retry policy for workflow steps.
+ * <p>
+ * JSON form: {@code {"max_attempts": 5, "backoff_ms": 500, "strategy": "exponential",
+ * "multiplier": 2.0, "max_backoff_ms": 30000}}. Only max_attempts and backoff_ms
+ * are required for the original fixed-delay behavior.
+ * </p>
  */
 public final class RetryPolicy {
     
+    /**
+     * Backoff strategy between attempts.
+     */
+    public enum Strategy {
+        FIXED,                // backoff_ms every time
+        EXPONENTIAL,          // backoff_ms * multiplier^(retry - 1)
+        DECORRELATED_JITTER   // random in [backoff_ms, previous * 3] (spreads retries of many steps)
+    }
+    
+    // Cap for exponential/jitter backoff when max_backoff_ms is not given
+    private static final long DEFAULT_MAX_BACKOFF_MS = 60_000;
+    private static final double DEFAULT_MULTIPLIER = 2.0;
+    
     private final int maxAttempts;
-    private final long backoffMs;  // Fixed delay between retries (milliseconds)
+    private final long backoffMs;  // Base delay between retries (milliseconds)
+    private final Strategy strategy;
+    private final double multiplier;
+    private final long maxBackoffMs;
     
     /**
-     * Construct a retry policy.
+     * Construct a fixed-delay retry policy.
      * 
      * @param maxAttempts maximum number of attempts (including initial)
      * @param backoffMs fixed delay between retries in milliseconds
      */
     public RetryPolicy(int maxAttempts, long backoffMs) {
+        this(maxAttempts, backoffMs, Strategy.FIXED, DEFAULT_MULTIPLIER, null);
+    }
+    
+    /**
+     * Construct a retry policy.
+     * 
+     * @param maxAttempts maximum number of attempts (including initial)
+     * @param backoffMs base delay between retries in milliseconds
+     * @param strategy backoff strategy
+     * @param multiplier growth factor for EXPONENTIAL (>= 1)
+     * @param maxBackoffMs upper bound on any delay, or null for the default
+     *                     (backoffMs for FIXED, at least 60 s otherwise)
+     */
+    public RetryPolicy(int maxAttempts, long backoffMs, Strategy strategy, double multiplier, Long maxBackoffMs) {
         if (maxAttempts < 1) {
             throw new IllegalArgumentException("maxAttempts must be >= 1");
         }
         if (backoffMs < 0) {
             throw new IllegalArgumentException("backoffMs must be >= 0");
         }
+        if (!(multiplier >= 1.0)) {
+            throw new IllegalArgumentException("multiplier must be >= 1");
+        }
+        if (maxBackoffMs != null && maxBackoffMs < backoffMs) {
+            throw new IllegalArgumentException("maxBackoffMs must be >= backoffMs");
+        }
         this.maxAttempts = maxAttempts;
         this.backoffMs = backoffMs;
+        this.strategy = strategy != null ? strategy : Strategy.FIXED;
+        this.multiplier = multiplier;
+        if (maxBackoffMs != null) {
+            this.maxBackoffMs = maxBackoffMs;
+        } else {
+            this.maxBackoffMs = this.strategy == Strategy.FIXED ? backoffMs : Math.max(backoffMs, DEFAULT_MAX_BACKOFF_MS);
+        }
     }
     
     public int getMaxAttempts() {
@@ -49,6 +100,42 @@ public final class RetryPolicy {
         return backoffMs;
     }
     
+    public Strategy getStrategy() {
+        return strategy;
+    }
+    
+    public double getMultiplier() {
+        return multiplier;
+    }
+    
+    public long getMaxBackoffMs() {
+        return maxBackoffMs;
+    }
+    
+    /**
+     * Compute the delay before the next attempt.
+     * 
+     * @param failedAttempts attempts that have failed so far (>= 1)
+     * @param previousBackoffMs delay used before the previous attempt (0 before the first retry)
+     * @return delay in milliseconds, within [0, maxBackoffMs]
+     */
+    public long nextBackoffMs(int failedAttempts, long previousBackoffMs) {
+        long delay;
+        switch (strategy) {
+            case EXPONENTIAL -> {
+                double scaled = backoffMs * Math.pow(multiplier, Math.max(0, failedAttempts - 1));
+                delay = scaled >= maxBackoffMs ? maxBackoffMs : (long) scaled;
+            }
+            case DECORRELATED_JITTER -> {
+                long previous = Math.max(backoffMs, previousBackoffMs);
+                long upper = previous > maxBackoffMs / 3 ? maxBackoffMs : previous * 3;
+                delay = upper > backoffMs ? ThreadLocalRandom.current().nextLong(backoffMs, upper + 1) : backoffMs;
+            }
+            default -> delay = backoffMs;
+        }
+        return Math.min(delay, maxBackoffMs);
+    }
+    
     /**
      * Create default retry policy (no retries).
      * 
@@ -74,7 +161,29 @@ public final class RetryPolicy {
             ? json.get("backoff_ms").getAsLong()
             : 1000;  // Default 1 second
         
-        return new RetryPolicy(maxAttempts, backoffMs);
+        Strategy strategy = Strategy.FIXED;
+        if (json.has("strategy")) {
+            String strategyStr = json.get("strategy").getAsString();
+            try {
+                strategy = Strategy.valueOf(strategyStr.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new JsonParseException("Invalid retry strategy: " + strategyStr);
+            }
+        }
+        
+        double multiplier = json.has("multiplier")
+            ? json.get("multiplier").getAsDouble()
+            : DEFAULT_MULTIPLIER;
+        
+        Long maxBackoffMs = json.has("max_backoff_ms")
+            ? json.get("max_backoff_ms").getAsLong()
+            : null;
+        
+        try {
+            return new RetryPolicy(maxAttempts, backoffMs, strategy, multiplier, maxBackoffMs);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException("Invalid retry_policy: " + e.getMessage());
+        }
     }
     
     /**
@@ -86,7 +195,11 @@ public final class RetryPolicy {
         JsonObject json = new JsonObject();
         json.addProperty("max_attempts", maxAttempts);
         json.addProperty("backoff_ms", backoffMs);
+        if (strategy != Strategy.FIXED) {
+            json.addProperty("strategy", strategy.name().toLowerCase());
+            json.addProperty("multiplier", multiplier);
+        }
+        json.addProperty("max_backoff_ms", maxBackoffMs);
         return json;
     }
 }
-
@@ -7,7 +7,7 @@
  * 
  * ARCHITECTURAL ROLE:
  * - Represents a single step in a workflow
- * - Contains step configuration (type, input mapping, retry policy)
+ * - Contains step configuration (type, input mapping, retry policy, deadline)
  * - NO business logic
  * 
  * Reference: PROJECT_DOCUMENTATION.md Phase 5 Step 1
@@ -43,6 +43,7 @@ public final class StepDefinition {
     private final String stepId;
     private final StepType type;
     private final JsonObject inputMapping;  // Maps workflow context to step input
+    private final InputMappingPlan inputPlan;  // inputMapping compiled once at load
     private final RetryPolicy retryPolicy;
     private final OnFailure onFailure;
     
@@ -50,7 +51,9 @@ public final class StepDefinition {
     private final String approvalPrompt;  // Text shown to human
     private final java.util.List<String> allowedActions;  // e.g., ["APPROVE", "REJECT"]
     private final TimeoutPolicy timeoutPolicy;  // WAIT or FAIL
-    private final Long timeoutMs;  // Timeout in milliseconds (null if WAIT)
+    
+    // Approval steps: approval timeout. Engine steps: deadline of each attempt. Null if none.
+    private final Long timeoutMs;
     
     // Phase 5 Step 4: DAG dependencies
     private final java.util.List<String> dependsOn;  // Array of step_ids this step depends on
@@ -66,7 +69,9 @@ public final class StepDefinition {
      * @param approvalPrompt approval prompt text (for HUMAN_APPROVAL type)
      * @param allowedActions allowed approval actions (for HUMAN_APPROVAL type)
      * @param timeoutPolicy timeout policy (for HUMAN_APPROVAL type)
-     * @param timeoutMs timeout in milliseconds (for HUMAN_APPROVAL type, null if WAIT)
+     * @param timeoutMs approval timeout (HUMAN_APPROVAL) or per-attempt deadline (engine steps)
+     *                  in milliseconds, null if none
+     * @throws IllegalArgumentException if the input mapping has an invalid reference
      */
     public StepDefinition(String stepId, StepType type, JsonObject inputMapping,
                          RetryPolicy retryPolicy, OnFailure onFailure,
@@ -76,6 +81,7 @@ public final class StepDefinition {
         this.stepId = stepId;
         this.type = type;
         this.inputMapping = inputMapping != null ? inputMapping : new JsonObject();
+        this.inputPlan = InputMappingPlan.compile(this.inputMapping);
         this.retryPolicy = retryPolicy != null ? retryPolicy : RetryPolicy.defaultPolicy();
         this.onFailure = onFailure != null ? onFailure : OnFailure.FAIL;
         this.approvalPrompt = approvalPrompt;
@@ -105,6 +111,15 @@ public final class StepDefinition {
         return inputMapping;
     }
     
+    /**
+     * Get the input mapping compiled into an accessor plan.
+     * 
+     * @return the plan, shared by every execution of this step
+     */
+    public InputMappingPlan getInputPlan() {
+        return inputPlan;
+    }
+    
     public RetryPolicy getRetryPolicy() {
         return retryPolicy;
     }
@@ -218,8 +233,13 @@ public final class StepDefinition {
                 }
             }
             
-            if (json.has("timeout_ms")) {
-                timeoutMs = json.get("timeout_ms").getAsLong();
+        }
+        
+        // Approval timeout, or the deadline of each engine attempt
+        if (json.has("timeout_ms") && !json.get("timeout_ms").isJsonNull()) {
+            timeoutMs = json.get("timeout_ms").getAsLong();
+            if (timeoutMs <= 0) {
+                throw new JsonParseException("Invalid timeout_ms value: " + timeoutMs);
             }
         }
         
@@ -232,8 +252,12 @@ public final class StepDefinition {
             }
         }
         
-        return new StepDefinition(stepId, type, inputMapping, retryPolicy, onFailure,
-            approvalPrompt, allowedActions, timeoutPolicy, timeoutMs, dependsOn);
+        try {
+            return new StepDefinition(stepId, type, inputMapping, retryPolicy, onFailure,
+                approvalPrompt, allowedActions, timeoutPolicy, timeoutMs, dependsOn);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException("Invalid input_mapping for step " + stepId + ": " + e.getMessage());
+        }
     }
     
     /**
@@ -262,9 +286,9 @@ public final class StepDefinition {
             if (timeoutPolicy != null) {
                 json.addProperty("timeout_policy", timeoutPolicy.name());
             }
-            if (timeoutMs != null) {
-                json.addProperty("timeout_ms", timeoutMs);
-            }
+        }
+        if (timeoutMs != null) {
+            json.addProperty("timeout_ms", timeoutMs);
         }
         
         // Phase 5 Step 4: Include dependencies if present
@@ -25,8 +25,11 @@ import com.presso.kernel.routing.ModuleRouter;
 import com.presso.kernel.event.EventBus;
 import com.presso.kernel.ipc.IpcMessage;
 import com.presso.kernel.ipc.KernelResponse;
+import com.presso.kernel.metrics.LatencyTracker;
+import com.presso.kernel.scheduling.TimingWheel;
 import com.presso.kernel.persistence.DatabaseManager;
 import com.presso.kernel.workflow.persistence.WorkflowPersistenceService;
+import com.presso.kernel.workflow.persistence.WorkflowPersistenceService.ResumableExecution;
 import com.presso.kernel.workflow.DagExecutor;
 import com.presso.kernel.workflow.ApprovalService;
 
@@ -34,9 +37,6 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 
 import java.util.concurrent.*;
-import java.util.Set;
-import java.util.List;
-import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -69,8 +69,28 @@ public final class WorkflowEngine {
     // Loaded workflow definitions (workflowId -> definition)
     private final Map<String, WorkflowDefinition> workflowDefinitions = new ConcurrentHashMap<>();
     
-    // Pending approvals: executionId -> stepId (for resumption)
-    private final Map<String, String> pendingApprovalSteps = new ConcurrentHashMap<>();
+    // Shared executor for DAG steps across all executions (one virtual thread per step)
+    private final ExecutorService stepExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    // Throttled resumption of interrupted executions at startup
+    private final WorkflowRecoveryScheduler recoveryScheduler;
+    
+    // Kernel-wide timer for retry backoff and approval timeouts (a private one until the kernel's is set)
+    private volatile TimingWheel timingWheel = new TimingWheel();
+    
+    // Per-step attempt latency sketches (optional)
+    private volatile LatencyTracker latencyTracker;
+    
+    /**
+     * A step was abandoned between attempts because the kernel is shutting down.
+     * Nothing is recorded for it: the step and its execution stay 'running' so
+     * startup recovery resumes them.
+     */
+    private static final class ShutdownInterruption extends RuntimeException {
+        ShutdownInterruption(String stepId) {
+            super("Kernel shutting down before retry of step " + stepId);
+        }
+    }
     
     /**
      * Construct a WorkflowEngine.
@@ -84,9 +104,32 @@ public final class WorkflowEngine {
         this.eventBus = eventBus;
         this.persistenceService = new WorkflowPersistenceService(databaseManager);
         this.approvalService = new ApprovalService(databaseManager, eventBus, persistenceService);
+        this.approvalService.setTimingWheel(timingWheel);
+        this.approvalService.setDefaultContinuation((request, decision) ->
+            onApprovalResolved(request.getExecutionId(), request.getStepId(), null, decision));
+        this.recoveryScheduler = new WorkflowRecoveryScheduler(this, persistenceService, eventBus);
         logger.info("WorkflowEngine created");
     }
     
+    /**
+     * Set the shared timer that schedules step retries and approval timeouts.
+     * 
+     * @param timingWheel the kernel timing wheel
+     */
+    public void setTimingWheel(TimingWheel timingWheel) {
+        this.timingWheel = timingWheel;
+        approvalService.setTimingWheel(timingWheel);
+    }
+    
+    /**
+     * Set the tracker that receives step attempt latencies (keyed "workflowId/stepId").
+     * 
+     * @param latencyTracker the tracker, or null to stop recording
+     */
+    public void setLatencyTracker(LatencyTracker latencyTracker) {
+        this.latencyTracker = latencyTracker;
+    }
+    
     /**
      * Load and validate a workflow definition.
      * 
@@ -192,8 +235,8 @@ public final class WorkflowEngine {
                     // RETRY is handled in executeStepWithRetry
                 }
                 
-                // Step completed successfully
-                persistenceService.recordStepCompleted(executionId, step.getStepId());
+                // Step completed successfully; its output is kept for resumption
+                persistenceService.recordStepCompleted(executionId, step.getStepId(), context.getStepResult(step.getStepId()));
                 eventBus.publish("step.completed", executionId + ":" + step.getStepId());
                 logger.debug("Step completed: executionId={}, stepId={}", executionId, step.getStepId());
             }
@@ -203,6 +246,8 @@ public final class WorkflowEngine {
             eventBus.publish("workflow.completed", executionId);
             logger.info("Workflow completed: executionId={}", executionId);
             
+        } catch (ShutdownInterruption e) {
+            logger.info("Workflow left for recovery: executionId={}, reason={}", executionId, e.getMessage());
         } catch (Exception e) {
             logger.error("Workflow execution error: executionId={}, error={}", executionId, e.getMessage(), e);
             persistenceService.recordWorkflowFailed(executionId, e.getMessage());
@@ -214,54 +259,111 @@ public final class WorkflowEngine {
     }
     
     /**
-     * Execute a step with retry logic.
+     * Execute a step with retry logic, blocking the calling (virtual) thread until it settles.
      * 
      * @param executionId execution identifier
      * @param step step definition
      * @param context execution context
      * @return true if step succeeded, false otherwise
+     * @throws ShutdownInterruption if the kernel shut down while the step waited for a retry
      */
     private boolean executeStepWithRetry(String executionId, StepDefinition step, WorkflowExecutionContext context) {
+        try {
+            return executeStepWithRetryAsync(executionId, step, context).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ShutdownInterruption interruption) {
+                throw interruption;
+            }
+            logger.error("Step retry failed unexpectedly: executionId={}, stepId={}, error={}",
+                executionId, step.getStepId(), e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Execute a step with retry logic.
+     * <p>
+     * The first attempt runs on the calling thread. Between attempts no thread waits:
+     * the next attempt is scheduled on the kernel timing wheel with the delay given by
+     * the step's {@link RetryPolicy}.
+     * </p>
+     * 
+     * @param executionId execution identifier
+     * @param step step definition
+     * @param context execution context
+     * @return completes with true if step succeeded, false once attempts are exhausted,
+     *         or exceptionally with {@link ShutdownInterruption} if the retry could not be scheduled
+     */
+    private CompletableFuture<Boolean> executeStepWithRetryAsync(String executionId, StepDefinition step,
+                                                                 WorkflowExecutionContext context) {
+        CompletableFuture<Boolean> outcome = new CompletableFuture<>();
+        runStepAttempt(executionId, step, context, 1, 0L, outcome);
+        return outcome;
+    }
+    
+    /**
+     * Run one attempt; on failure either schedule the next one or record the step as failed.
+     */
+    private void runStepAttempt(String executionId, StepDefinition step, WorkflowExecutionContext context,
+                                int attempt, long previousBackoffMs, CompletableFuture<Boolean> outcome) {
         RetryPolicy retryPolicy = step.getRetryPolicy();
-        int attempts = 0;
-        Exception lastError = null;
+        long attemptStartNanos = System.nanoTime();
         
-        while (attempts < retryPolicy.getMaxAttempts()) {
-            attempts++;
+        try {
+            // Resolve input from context
+            JsonObject stepInput = context.resolveInput(step.getInputPlan());
             
-            try {
-                // Resolve input from context
-                JsonObject stepInput = context.resolveInput(step.getInputMapping());
-                
-                // Execute step based on type
-                JsonObject stepResult = executeStep(step, stepInput);
-                
-                // Store result in context
-                context.setStepResult(step.getStepId(), stepResult);
-                
-                // Success
-                return true;
-                
-            } catch (Exception e) {
-                lastError = e;
-                logger.warn("Step attempt failed: executionId={}, stepId={}, attempt={}/{}, error={}",
-                    executionId, step.getStepId(), attempts, retryPolicy.getMaxAttempts(), e.getMessage());
-                
-                // If not last attempt, wait before retry
-                if (attempts < retryPolicy.getMaxAttempts()) {
-                    try {
-                        Thread.sleep(retryPolicy.getBackoffMs());
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        return false;
-                    }
+            // Execute step based on type
+            JsonObject stepResult = executeStep(step, stepInput);
+            recordStepLatency(context, step, attemptStartNanos);
+            
+            // Store result in context
+            context.setStepResult(step.getStepId(), stepResult);
+            
+            // Success
+            outcome.complete(true);
+            return;
+            
+        } catch (Exception e) {
+            recordStepLatency(context, step, attemptStartNanos);
+            logger.warn("Step attempt failed: executionId={}, stepId={}, attempt={}/{}, error={}",
+                executionId, step.getStepId(), attempt, retryPolicy.getMaxAttempts(), e.getMessage());
+            
+            // If not last attempt, schedule the retry
+            if (attempt < retryPolicy.getMaxAttempts()) {
+                long backoffMs = retryPolicy.nextBackoffMs(attempt, previousBackoffMs);
+                try {
+                    timingWheel.schedule(
+                        () -> runStepAttempt(executionId, step, context, attempt + 1, backoffMs, outcome),
+                        backoffMs, TimeUnit.MILLISECONDS);
+                    logger.debug("Step retry scheduled: executionId={}, stepId={}, attempt={}, backoffMs={}",
+                        executionId, step.getStepId(), attempt + 1, backoffMs);
+                    return;
+                } catch (IllegalStateException stopped) {
+                    // Kernel shutting down; leave the step for resumption
+                    outcome.completeExceptionally(new ShutdownInterruption(step.getStepId()));
+                    return;
                 }
             }
+            
+            // All retries exhausted
+            persistenceService.recordStepFailed(executionId, step.getStepId(), e.getMessage() != null ? e.getMessage() : "Unknown error");
+            outcome.complete(false);
+        }
+    }
+    
+    /**
+     * Record the duration of one step attempt (backoff between attempts excluded).
+     */
+    private void recordStepLatency(WorkflowExecutionContext context, StepDefinition step, long startNanos) {
+        LatencyTracker tracker = latencyTracker;
+        if (tracker != null) {
+            tracker.record(LatencyTracker.KIND_STEP, context.getWorkflowId() + "/" + step.getStepId(),
+                System.nanoTime() - startNanos);
         }
-        
-        // All retries exhausted
-        persistenceService.recordStepFailed(executionId, step.getStepId(), lastError != null ? lastError.getMessage() : "Unknown error");
-        return false;
     }
     
     /**
@@ -275,6 +377,10 @@ public final class WorkflowEngine {
     private JsonObject executeStep(StepDefinition step, JsonObject stepInput) throws Exception {
         IpcMessage message;
         
+        // Per-attempt deadline (timeout_ms); carried to the engine, which is told to cancel on expiry
+        long now = System.currentTimeMillis();
+        Long deadlineMs = step.getTimeoutMs() != null ? now + step.getTimeoutMs() : null;
+        
         switch (step.getType()) {
             case PYTHON_TASK:
                 // Create IPC message for Python Engine
@@ -282,7 +388,8 @@ public final class WorkflowEngine {
                     UUID.randomUUID().toString(),
                     stepInput.has("operation") ? stepInput.get("operation").getAsString() : "EXECUTE_PYTHON",
                     stepInput,
-                    System.currentTimeMillis()
+                    now,
+                    deadlineMs
                 );
                 break;
                 
@@ -292,7 +399,8 @@ public final class WorkflowEngine {
                     UUID.randomUUID().toString(),
                     "EXTERNAL_API_CALL",
                     stepInput,
-                    System.currentTimeMillis()
+                    now,
+                    deadlineMs
                 );
                 break;
                 
@@ -363,30 +471,8 @@ public final class WorkflowEngine {
             return false;
         }
         
-        // Get initial context from database
-        String initialContextJson = persistenceService.getInitialContext(executionId);
-        JsonObject initialContext = new JsonObject();
-        if (initialContextJson != null && !initialContextJson.isEmpty()) {
-            try {
-                initialContext = com.google.gson.JsonParser.parseString(initialContextJson).getAsJsonObject();
-            } catch (Exception e) {
-                logger.warn("Failed to parse initial context, using empty: executionId={}, error={}", executionId, e.getMessage());
-            }
-        }
-        
-        // Recreate execution context
-        WorkflowExecutionContext context = new WorkflowExecutionContext(executionId, workflowId, initialContext);
-        
-        // Restore step results from database (completed steps only)
-        for (StepDefinition step : definition.getSteps()) {
-            String stepStatus = persistenceService.getStepStatus(executionId, step.getStepId());
-            if ("completed".equals(stepStatus)) {
-                // Step was completed - we need to restore its result
-                // For Phase 5 Step 2, we'll mark it as completed but don't have the actual result
-                // This is acceptable - the workflow will continue from the next step
-                logger.debug("Step already completed, skipping: executionId={}, stepId={}", executionId, step.getStepId());
-            }
-        }
+        // Recreate execution context; completed step results are loaded when referenced
+        WorkflowExecutionContext context = restoreExecutionContext(executionId, workflowId);
         
         activeExecutions.put(executionId, context);
         
@@ -403,6 +489,43 @@ public final class WorkflowEngine {
         return true;
     }
     
+    /**
+     * Rebuild the execution context of a persisted execution (Phase 5 Step 2).
+     * <p>
+     * Only the IDs of completed steps with stored outputs are read here; each output
+     * is loaded the first time a later step's input mapping references it.
+     * </p>
+     * 
+     * @param executionId execution identifier
+     * @param workflowId workflow definition ID
+     * @return the restored context
+     */
+    private WorkflowExecutionContext restoreExecutionContext(String executionId, String workflowId) {
+        return restoreExecutionContext(executionId, workflowId, persistenceService.getInitialContext(executionId),
+            persistenceService.getStoredOutputStepIds(executionId));
+    }
+    
+    private WorkflowExecutionContext restoreExecutionContext(String executionId, String workflowId,
+                                                             String initialContextJson, java.util.Set<String> storedStepIds) {
+        JsonObject initialContext = new JsonObject();
+        if (initialContextJson != null && !initialContextJson.isEmpty()) {
+            try {
+                initialContext = com.google.gson.JsonParser.parseString(initialContextJson).getAsJsonObject();
+            } catch (Exception e) {
+                logger.warn("Failed to parse initial context, using empty: executionId={}, error={}", executionId, e.getMessage());
+            }
+        }
+        
+        WorkflowExecutionContext context = new WorkflowExecutionContext(executionId, workflowId, initialContext);
+        if (!storedStepIds.isEmpty()) {
+            context.setStoredStepResults(storedStepIds, stepId -> {
+                logger.debug("Rehydrating step output: executionId={}, stepId={}", executionId, stepId);
+                return persistenceService.loadStepOutput(executionId, stepId);
+            });
+        }
+        return context;
+    }
+    
     /**
      * Resume workflow execution from a specific step (Phase 5 Step 2 & 4).
      * 
@@ -444,6 +567,15 @@ public final class WorkflowEngine {
                 eventBus.publish("step.started", executionId + ":" + step.getStepId());
                 logger.debug("Step started (resumed): executionId={}, stepId={}", executionId, step.getStepId());
                 
+                // Phase 5 Step 3: Apply a decision recovered after restart, or park on the approval again
+                if (step.isApprovalStep()) {
+                    if (!handleApprovalStep(executionId, step, context)) {
+                        // Approval not resolved - workflow paused (or failed on rejection), exit loop
+                        return;
+                    }
+                    continue;
+                }
+                
                 // Execute step with retry
                 boolean stepSuccess = executeStepWithRetry(executionId, step, context);
                 
@@ -463,8 +595,8 @@ public final class WorkflowEngine {
                     }
                 }
                 
-                // Step completed successfully
-                persistenceService.recordStepCompleted(executionId, step.getStepId());
+                // Step completed successfully; its output is kept for resumption
+                persistenceService.recordStepCompleted(executionId, step.getStepId(), context.getStepResult(step.getStepId()));
                 eventBus.publish("step.completed", executionId + ":" + step.getStepId());
                 logger.debug("Step completed (resumed): executionId={}, stepId={}", executionId, step.getStepId());
             }
@@ -474,6 +606,8 @@ public final class WorkflowEngine {
             eventBus.publish("workflow.completed", executionId);
             logger.info("Workflow completed (resumed): executionId={}", executionId);
             
+        } catch (ShutdownInterruption e) {
+            logger.info("Workflow left for recovery (resumed): executionId={}, reason={}", executionId, e.getMessage());
         } catch (Exception e) {
             logger.error("Workflow execution error (resumed): executionId={}, error={}", executionId, e.getMessage(), e);
             persistenceService.recordWorkflowFailed(executionId, e.getMessage());
@@ -486,30 +620,121 @@ public final class WorkflowEngine {
     
     /**
      * Resume all resumable workflows on startup (Phase 5 Step 2).
+     * <p>
+     * Returns immediately; executions are resumed in the background, oldest first,
+     * with at most {@code maxConcurrent} running at once.
+     * </p>
+     * 
+     * @param maxConcurrent maximum recovered executions running at once
+     * @param batchSize executions loaded per query
+     * @param startDelayMs delay before the first execution is resumed (lets engines warm up)
+     */
+    public void resumeAllWorkflows(int maxConcurrent, int batchSize, long startDelayMs) {
+        recoveryScheduler.start(maxConcurrent, batchSize, startDelayMs);
+    }
+    
+    /**
+     * Stop resuming further workflows (shutdown). Running executions are not interrupted.
      */
-    public void resumeAllWorkflows() {
-        java.util.List<String> resumableExecutions = persistenceService.getResumableExecutions();
-        logger.info("Found {} resumable workflow executions", resumableExecutions.size());
+    public void stopRecovery() {
+        recoveryScheduler.stop();
+    }
+    
+    /**
+     * Get startup recovery progress (for GET_STATUS).
+     * 
+     * @return statistics map
+     */
+    public Map<String, Object> getRecoveryStats() {
+        return recoveryScheduler.getStats();
+    }
+    
+    /**
+     * Resume one execution loaded by the recovery scheduler and run it on the
+     * calling thread until it completes, fails or pauses.
+     * 
+     * @param execution execution state loaded in bulk
+     * @return true if the execution was resumed, false if it could not be
+     */
+    boolean resumeRecovered(ResumableExecution execution) {
+        String executionId = execution.executionId();
+        WorkflowDefinition definition = getWorkflowDefinition(execution.workflowId());
+        if (definition == null) {
+            logger.error("Cannot resume workflow: definition not found: executionId={}, workflowId={}",
+                executionId, execution.workflowId());
+            return false;
+        }
         
-        for (String executionId : resumableExecutions) {
-            try {
-                boolean resumed = resumeWorkflow(executionId);
-                if (resumed) {
-                    logger.info("Resumed workflow: executionId={}", executionId);
-                } else {
-                    logger.warn("Failed to resume workflow: executionId={}", executionId);
-                }
-            } catch (Exception e) {
-                logger.error("Error resuming workflow: executionId={}, error={}", executionId, e.getMessage());
-            }
+        WorkflowExecutionContext context = restoreExecutionContext(executionId, execution.workflowId(),
+            execution.initialContext(), execution.storedOutputStepIds());
+        if (activeExecutions.putIfAbsent(executionId, context) != null) {
+            logger.debug("Workflow already active, not resuming: executionId={}", executionId);
+            return false;
         }
+        
+        logger.info("Resuming workflow: executionId={}, workflowId={}, lastCompletedStep={}",
+            executionId, execution.workflowId(), execution.lastCompletedStepId());
+        resumeWorkflowExecution(executionId, definition, context, execution.lastCompletedStepId());
+        return true;
     }
     
     /**
      * Load pending approvals on startup (Phase 5 Step 3).
+     * <p>
+     * Parks a continuation on every approval still pending (re-arming FAIL-policy
+     * timeouts from the original request time) and applies decisions that were
+     * recorded before the restart to executions that were waiting for them.
+     * </p>
      */
     public void loadPendingApprovals() {
-        approvalService.loadPendingApprovals();
+        Map<String, String> unappliedDecisions = approvalService.loadPendingApprovals();
+        
+        for (ApprovalService.ApprovalRequest request : approvalService.getPendingApprovals().values()) {
+            StepDefinition step = findStep(request.getWorkflowId(), request.getStepId());
+            if (step == null) {
+                continue;  // Default continuation applies; no timeout without the step definition
+            }
+            String executionId = request.getExecutionId();
+            approvalService.attachContinuation(executionId, step.getStepId(), approvalTimeoutMs(step),
+                (resolved, decision) -> onApprovalResolved(executionId, step.getStepId(), null, decision));
+        }
+        
+        for (Map.Entry<String, String> entry : unappliedDecisions.entrySet()) {
+            int separator = entry.getKey().lastIndexOf(':');
+            String executionId = entry.getKey().substring(0, separator);
+            String stepId = entry.getKey().substring(separator + 1);
+            WorkflowExecutionStatus status = persistenceService.getExecutionStatus(executionId);
+            // Running/paused executions are resumed by recovery and apply the decision at the step
+            if (status != null && "paused_waiting_for_approval".equals(status.getStatus())
+                    && approvalService.takeUnappliedDecision(executionId, stepId) != null) {
+                onApprovalResolved(executionId, stepId, null, entry.getValue());
+            }
+        }
+    }
+    
+    /**
+     * Find a step of a workflow definition.
+     * 
+     * @return the step, or null if the workflow or step is unknown
+     */
+    private StepDefinition findStep(String workflowId, String stepId) {
+        WorkflowDefinition definition = workflowId != null ? getWorkflowDefinition(workflowId) : null;
+        if (definition == null) {
+            return null;
+        }
+        for (StepDefinition step : definition.getSteps()) {
+            if (step.getStepId().equals(stepId)) {
+                return step;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Timeout after which an approval step fails (timeout_policy FAIL), or null to wait indefinitely.
+     */
+    private static Long approvalTimeoutMs(StepDefinition step) {
+        return step.getTimeoutPolicy() == StepDefinition.TimeoutPolicy.FAIL ? step.getTimeoutMs() : null;
     }
     
     /**
@@ -539,6 +764,10 @@ public final class WorkflowEngine {
     
     /**
      * Handle a HUMAN_APPROVAL step (Phase 5 Step 3).
+     * <p>
+     * The workflow's continuation is parked in the ApprovalService; resolving the
+     * approval (or its timeout) wakes it directly via {@link #onApprovalResolved}.
+     * </p>
      * 
      * @param executionId execution identifier
      * @param step approval step definition
@@ -546,165 +775,101 @@ public final class WorkflowEngine {
      * @return true if approval resolved and workflow should continue, false if paused
      */
     private boolean handleApprovalStep(String executionId, StepDefinition step, WorkflowExecutionContext context) {
-        // Check if approval already resolved (for resumption)
-        String existingDecision = getApprovalDecision(executionId, step.getStepId());
+        String stepId = step.getStepId();
+        
+        // Decision recorded before a restart but not applied yet (for resumption)
+        String existingDecision = approvalService.takeUnappliedDecision(executionId, stepId);
         if (existingDecision != null) {
             // Approval already resolved - check decision
             if ("APPROVE".equals(existingDecision)) {
-                logger.info("Approval already approved: executionId={}, stepId={}", executionId, step.getStepId());
-                persistenceService.recordStepCompleted(executionId, step.getStepId());
+                logger.info("Approval already approved: executionId={}, stepId={}", executionId, stepId);
+                persistenceService.recordStepCompleted(executionId, stepId);
                 return true; // Continue workflow
             } else {
-                logger.info("Approval already rejected: executionId={}, stepId={}", executionId, step.getStepId());
-                persistenceService.recordStepFailed(executionId, step.getStepId(), "Approval rejected");
-                persistenceService.recordWorkflowFailed(executionId, "Approval rejected: " + step.getStepId());
-                eventBus.publish("workflow.failed", executionId);
+                logger.info("Approval already resolved: executionId={}, stepId={}, decision={}", executionId, stepId, existingDecision);
+                failApprovalStep(executionId, stepId, existingDecision);
                 return false; // Workflow failed
             }
         }
         
-        // Request approval
-        approvalService.requestApproval(executionId, step.getStepId(), step.getApprovalPrompt(), 
-            step.getAllowedActions());
-        
-        // Mark workflow as paused waiting for approval
+        // Mark workflow as paused waiting for approval before parking (the continuation may run at once)
         persistenceService.pauseWorkflowForApproval(executionId);
-        pendingApprovalSteps.put(executionId, step.getStepId());
         
-        // Remove from active executions (will be restored when approval resolved)
+        // Remove from active executions (restored when the continuation runs)
         activeExecutions.remove(executionId);
         
-        logger.info("Workflow paused waiting for approval: executionId={}, stepId={}", executionId, step.getStepId());
-        return false; // Paused - do not continue
-    }
-    
-    /**
-     * Get approval decision from database (Phase 5 Step 3).
-     */
-    private String getApprovalDecision(String executionId, String stepId) {
-        try (java.sql.Connection conn = persistenceService.getDatabaseManager().getConnection()) {
-            try (java.sql.PreparedStatement stmt = conn.prepareStatement(
-                "SELECT decision FROM workflow_approval WHERE execution_id = ? AND step_id = ? AND decision IS NOT NULL"
-            )) {
-                stmt.setString(1, executionId);
-                stmt.setString(2, stepId);
-                try (java.sql.ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        return rs.getString("decision");
-                    }
-                }
-            }
-        } catch (java.sql.SQLException e) {
-            logger.error("Failed to get approval decision: executionId={}, stepId={}, error={}", 
-                executionId, stepId, e.getMessage());
+        ApprovalService.ApprovalContinuation continuation =
+            (request, decision) -> onApprovalResolved(executionId, stepId, context, decision);
+        
+        // Request approval, or re-park on a request that survived a restart
+        if (!approvalService.attachContinuation(executionId, stepId, approvalTimeoutMs(step), continuation)) {
+            approvalService.requestApproval(executionId, context.getWorkflowId(), stepId, step.getApprovalPrompt(),
+                step.getAllowedActions(), approvalTimeoutMs(step), continuation);
         }
-        return null;
+        
+        logger.info("Workflow paused waiting for approval: executionId={}, stepId={}", executionId, stepId);
+        return false; // Paused - do not continue
     }
     
     /**
-     * Resume workflow after approval resolved (Phase 5 Step 3).
+     * Continuation of a workflow parked on an approval (Phase 5 Step 3).
+     * <p>
+     * Invoked once by the ApprovalService when the approval is resolved or times out.
+     * On APPROVE the execution continues after the approval step on a new virtual
+     * thread; any other decision fails the workflow.
+     * </p>
      * 
      * @param executionId execution identifier
-     * @param decision approval decision (APPROVE or REJECT)
-     * @return true if workflow resumed, false if not found or already resolved
-     */
-    public boolean resumeAfterApproval(String executionId, String decision) {
-        String stepId = pendingApprovalSteps.remove(executionId);
-        if (stepId == null) {
-            // Check if it's in database (for resumption after restart)
-            String workflowId = persistenceService.getWorkflowId(executionId);
-            if (workflowId == null) {
-                logger.warn("No pending approval found for execution: executionId={}", executionId);
-                return false;
-            }
-            // Try to load workflow and resume
-            WorkflowDefinition definition = workflowDefinitions.get(workflowId);
-            if (definition == null) {
-                // Try to load from persistence
-                definition = persistenceService.loadWorkflowDefinition(workflowId);
-                if (definition != null) {
-                    workflowDefinitions.put(workflowId, definition);
-                } else {
-                    logger.error("Cannot resume workflow: definition not found: executionId={}, workflowId={}", executionId, workflowId);
-                    return false;
-                }
-            }
-            
-            // Find the approval step that was waiting
-            String foundStepId = null;
-            for (StepDefinition step : definition.getSteps()) {
-                if (step.isApprovalStep()) {
-                    String approvalDecision = getApprovalDecision(executionId, step.getStepId());
-                    if (approvalDecision == null) {
-                        // This is the pending approval step
-                        foundStepId = step.getStepId();
-                        break;
-                    }
-                }
-            }
-            
-            if (foundStepId == null) {
-                logger.warn("No pending approval step found: executionId={}", executionId);
-                return false;
-            }
-            stepId = foundStepId;
+     * @param stepId approval step identifier
+     * @param parkedContext context of the paused execution, or null to restore it from persistence
+     * @param decision the decision (APPROVE, REJECT, TIMEOUT, ...)
+     */
+    private void onApprovalResolved(String executionId, String stepId, WorkflowExecutionContext parkedContext, String decision) {
+        if (!"APPROVE".equals(decision)) {
+            failApprovalStep(executionId, stepId, decision);
+            activeExecutions.remove(executionId);
+            logger.info("Workflow failed after approval: executionId={}, stepId={}, decision={}", executionId, stepId, decision);
+            return;
         }
         
-        final String finalStepId = stepId; // Make final for lambda
-        
-        WorkflowDefinition definition = workflowDefinitions.get(persistenceService.getWorkflowId(executionId));
+        String workflowId = parkedContext != null ? parkedContext.getWorkflowId() : persistenceService.getWorkflowId(executionId);
+        WorkflowDefinition definition = workflowId != null ? getWorkflowDefinition(workflowId) : null;
         if (definition == null) {
-            String workflowId = persistenceService.getWorkflowId(executionId);
-            definition = persistenceService.loadWorkflowDefinition(workflowId);
-            if (definition != null) {
-                workflowDefinitions.put(workflowId, definition);
-            } else {
-                logger.error("Cannot resume workflow: definition not loaded: executionId={}", executionId);
-                return false;
-            }
+            logger.error("Cannot resume workflow: definition not found: executionId={}, workflowId={}", executionId, workflowId);
+            return;
         }
         
-        // Get initial context
-        String initialContextJson = persistenceService.getInitialContext(executionId);
-        JsonObject initialContext = new JsonObject();
-        if (initialContextJson != null && !initialContextJson.isEmpty()) {
-            try {
-                initialContext = com.google.gson.JsonParser.parseString(initialContextJson).getAsJsonObject();
-            } catch (Exception e) {
-                logger.warn("Failed to parse initial context: executionId={}, error={}", executionId, e.getMessage());
-            }
-        }
+        // Approval granted - mark step as completed and continue
+        persistenceService.recordStepCompleted(executionId, stepId);
+        eventBus.publish("step.completed", executionId + ":" + stepId);
         
-        final WorkflowExecutionContext context = new WorkflowExecutionContext(executionId, definition.getWorkflowId(), initialContext);
-        final WorkflowDefinition finalDefinition = definition;
+        WorkflowExecutionContext context = parkedContext != null ? parkedContext : restoreExecutionContext(executionId, workflowId);
         activeExecutions.put(executionId, context);
         
-        if ("APPROVE".equals(decision)) {
-            // Approval granted - mark step as completed and continue
-            persistenceService.recordStepCompleted(executionId, finalStepId);
-            eventBus.publish("step.completed", executionId + ":" + finalStepId);
-            
-            // Resume workflow from next step
-            final String lastCompletedStepId = finalStepId; // Current step is now completed
-            Thread.ofVirtual().name("workflow-approval-resume-" + executionId).start(() -> {
-                resumeWorkflowExecution(executionId, finalDefinition, context, lastCompletedStepId);
-            });
-            
-            logger.info("Workflow resumed after approval: executionId={}, stepId={}", executionId, finalStepId);
-            return true;
-        } else {
-            // Approval rejected - fail workflow
-            persistenceService.recordStepFailed(executionId, finalStepId, "Approval rejected");
-            persistenceService.recordWorkflowFailed(executionId, "Approval rejected: " + finalStepId);
-            eventBus.publish("workflow.failed", executionId);
-            activeExecutions.remove(executionId);
-            logger.info("Workflow failed after approval rejection: executionId={}, stepId={}", executionId, finalStepId);
-            return true; // Handled (failed)
-        }
+        // Resume workflow from next step (current step is now completed)
+        Thread.ofVirtual().name("workflow-approval-resume-" + executionId).start(() -> {
+            resumeWorkflowExecution(executionId, definition, context, stepId);
+        });
+        logger.info("Workflow resumed after approval: executionId={}, stepId={}", executionId, stepId);
+    }
+    
+    /**
+     * Fail an approval step and its workflow after a non-approving decision.
+     */
+    private void failApprovalStep(String executionId, String stepId, String decision) {
+        String reason = ApprovalService.DECISION_TIMEOUT.equals(decision) ? "Approval timed out" : "Approval rejected";
+        persistenceService.recordStepFailed(executionId, stepId, reason);
+        persistenceService.recordWorkflowFailed(executionId, reason + ": " + stepId);
+        eventBus.publish("workflow.failed", executionId);
     }
     
     /**
      * Execute a DAG workflow with parallel execution (Phase 5 Step 4).
+     * <p>
+     * Completion-driven: each finished step decrements its dependents' in-degrees
+     * in the DagExecutor and the newly ready steps are launched immediately on the
+     * shared step executor. The calling thread only waits for the run to settle.
+     * </p>
      * 
      * @param executionId execution identifier
      * @param definition workflow definition
@@ -717,163 +882,176 @@ public final class WorkflowEngine {
         
         // Restore step states if resuming
         dagExecutor.restoreStepStates(executionId);
+        dagExecutor.seedReadySteps();
         
-        // Executor for parallel step execution
-        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxParallelism, definition.getSteps().size()));
+        DagRun run = new DagRun(executionId, dagExecutor, context);
+        run.launchReadySteps();
         
         try {
-            // Main execution loop
-            while (!dagExecutor.allStepsCompleted()) {
-                // Check for failures
-                if (dagExecutor.hasFailedSteps()) {
-                    logger.error("Workflow failed: executionId={}, failed steps detected", executionId);
-                    persistenceService.recordWorkflowFailed(executionId, "One or more steps failed");
-                    eventBus.publish("workflow.failed", executionId);
-                    return;
-                }
-                
-                // Get runnable steps
-                Set<String> runnableSteps = dagExecutor.getRunnableSteps();
-                
-                if (runnableSteps.isEmpty()) {
-                    // No runnable steps - check if we're stuck (shouldn't happen in valid DAG)
-                    if (!dagExecutor.allStepsCompleted()) {
-                        logger.error("Workflow stuck: no runnable steps but not all completed. executionId={}", executionId);
-                        persistenceService.recordWorkflowFailed(executionId, "Workflow execution stuck - no runnable steps");
-                        eventBus.publish("workflow.failed", executionId);
-                        return;
-                    }
-                    break;
-                }
-                
-                // Execute runnable steps in parallel (limited by maxParallelism)
-                List<Future<Boolean>> futures = new ArrayList<>();
-                int runningCount = 0;
-                
-                for (String stepId : runnableSteps) {
-                    if (runningCount >= maxParallelism) {
-                        break; // Limit parallelism
-                    }
-                    
-                    StepDefinition step = dagExecutor.getStep(stepId);
-                    if (step == null) {
-                        logger.error("Step not found: executionId={}, stepId={}", executionId, stepId);
-                        continue;
-                    }
-                    
-                    // Check if step is already running (safety check)
-                    if (dagExecutor.getStepState(stepId) != DagExecutor.StepState.PENDING) {
-                        continue;
-                    }
-                    
-                    dagExecutor.markStepRunning(stepId);
-                    
-                    // Submit step for execution (make variables final for lambda)
-                    final String finalStepId = stepId;
-                    final StepDefinition finalStep = step;
-                    Future<Boolean> future = executor.submit(() -> {
-                        try {
-                            persistenceService.recordStepStart(executionId, finalStepId, finalStep.getType().name());
-                            eventBus.publish("step.started", executionId + ":" + finalStepId);
-                            logger.debug("Step started (parallel): executionId={}, stepId={}", executionId, finalStepId);
-                            
-                            // Phase 5 Step 3: Handle HUMAN_APPROVAL steps
-                            if (finalStep.isApprovalStep()) {
-                                boolean approvalResolved = handleApprovalStep(executionId, finalStep, context);
-                                if (!approvalResolved) {
-                                    // Approval not resolved - workflow paused
-                                    return false; // Will be handled separately
-                                }
-                                // Approval resolved - mark as completed
-                                dagExecutor.markStepCompleted(finalStepId);
-                                persistenceService.recordStepCompleted(executionId, finalStepId);
-                                eventBus.publish("step.completed", executionId + ":" + finalStepId);
-                                return true;
-                            }
-                            
-                            // Execute step with retry
-                            boolean stepSuccess = executeStepWithRetry(executionId, finalStep, context);
-                            
-                            if (stepSuccess) {
-                                dagExecutor.markStepCompleted(finalStepId);
-                                persistenceService.recordStepCompleted(executionId, finalStepId);
-                                eventBus.publish("step.completed", executionId + ":" + finalStepId);
-                                logger.debug("Step completed (parallel): executionId={}, stepId={}", executionId, finalStepId);
-                                return true;
-                            } else {
-                                // Step failed
-                                if (finalStep.getOnFailure() == StepDefinition.OnFailure.FAIL) {
-                                    dagExecutor.markStepFailed(finalStepId);
-                                    persistenceService.recordStepFailed(executionId, finalStepId, "Step execution failed");
-                                    return false;
-                                } else if (finalStep.getOnFailure() == StepDefinition.OnFailure.SKIP) {
-                                    // Skip step - mark as completed (skipped)
-                                    dagExecutor.markStepCompleted(finalStepId);
-                                    persistenceService.recordStepSkipped(executionId, finalStepId);
-                                    return true;
-                                }
-                                // RETRY is handled in executeStepWithRetry
-                                return false;
-                            }
-                        } catch (Exception e) {
-                            logger.error("Error executing step (parallel): executionId={}, stepId={}, error={}", 
-                                executionId, finalStepId, e.getMessage(), e);
-                            dagExecutor.markStepFailed(finalStepId);
-                            persistenceService.recordStepFailed(executionId, finalStepId, e.getMessage());
-                            return false;
-                        }
-                    });
-                    
-                    futures.add(future);
+            run.settled.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("DAG execution interrupted: executionId={}", executionId);
+            return;
+        }
+        
+        if (run.shutdownInterrupted) {
+            // Kernel shutting down mid-retry; the execution stays 'running' for recovery
+            logger.info("DAG workflow left for recovery: executionId={}", executionId);
+        } else if (dagExecutor.hasFailedSteps()) {
+            persistenceService.recordWorkflowFailed(executionId, "One or more steps failed");
+            eventBus.publish("workflow.failed", executionId);
+            logger.error("Workflow failed: executionId={}", executionId);
+        } else if (dagExecutor.hasParkedSteps()) {
+            // Waiting for approval; resumption re-enters this method with restored state
+            logger.info("DAG workflow paused: executionId={}", executionId);
+        } else if (dagExecutor.allStepsCompleted()) {
+            persistenceService.recordWorkflowCompleted(executionId);
+            eventBus.publish("workflow.completed", executionId);
+            logger.info("Workflow completed: executionId={}", executionId);
+        } else {
+            // No runnable steps but not all completed (shouldn't happen in a valid DAG)
+            logger.error("Workflow stuck: no runnable steps but not all completed. executionId={}", executionId);
+            persistenceService.recordWorkflowFailed(executionId, "Workflow execution stuck - no runnable steps");
+            eventBus.publish("workflow.failed", executionId);
+        }
+    }
+    
+    /**
+     * Outcome of one DAG step execution.
+     */
+    private enum DagStepOutcome {
+        COMPLETED,  // Completed or skipped - dependents may run
+        FAILED,     // Failed - dependents will not run
+        PARKED,     // Waiting for approval - workflow pauses
+        INTERRUPTED // Retry abandoned at shutdown - nothing recorded, left for recovery
+    }
+    
+    /**
+     * State of one DAG execution: launches steps as they become ready and
+     * signals when nothing is running and nothing more can start.
+     */
+    private final class DagRun {
+        private final String executionId;
+        private final DagExecutor dagExecutor;
+        private final WorkflowExecutionContext context;
+        private final CountDownLatch settled = new CountDownLatch(1);
+        
+        // Once a step fails, no new steps are launched; running ones finish
+        private volatile boolean accepting = true;
+        
+        // A step was abandoned at shutdown; the run must not record a final status
+        private volatile boolean shutdownInterrupted = false;
+        
+        DagRun(String executionId, DagExecutor dagExecutor, WorkflowExecutionContext context) {
+            this.executionId = executionId;
+            this.dagExecutor = dagExecutor;
+            this.context = context;
+        }
+        
+        /**
+         * Launch every step that is ready and fits the parallelism limit.
+         */
+        void launchReadySteps() {
+            for (String stepId : dagExecutor.claimReadySteps(accepting)) {
+                StepDefinition step = dagExecutor.getStep(stepId);
+                stepExecutor.execute(() -> runDagStep(executionId, step, context)
+                    .thenAccept(outcome -> onStepFinished(stepId, outcome)));
+            }
+            if (dagExecutor.isQuiescent(accepting)) {
+                settled.countDown();
+            }
+        }
+        
+        private void onStepFinished(String stepId, DagStepOutcome outcome) {
+            switch (outcome) {
+                case COMPLETED -> dagExecutor.finishStep(stepId, true);
+                case FAILED -> {
+                    dagExecutor.finishStep(stepId, false);
+                    accepting = false;
                 }
-                
-                // Wait for at least one step to complete before checking for new runnable steps
-                if (!futures.isEmpty()) {
-                    // Wait for all submitted steps to complete
-                    for (Future<Boolean> future : futures) {
-                        try {
-                            future.get(); // Wait for completion
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            logger.error("Step execution interrupted: executionId={}", executionId);
-                            return;
-                        } catch (ExecutionException e) {
-                            logger.error("Step execution error: executionId={}, error={}", executionId, e.getCause().getMessage());
-                        }
-                    }
-                } else {
-                    // No steps to run - wait a bit before checking again
-                    try {
-                        Thread.sleep(100);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return;
-                    }
+                case PARKED -> dagExecutor.parkStep(stepId);
+                case INTERRUPTED -> {
+                    dagExecutor.parkStep(stepId);
+                    shutdownInterrupted = true;
+                    accepting = false;
                 }
             }
+            launchReadySteps();
+        }
+    }
+    
+    /**
+     * Execute one DAG step (Phase 5 Step 4). Persists step lifecycle;
+     * DAG state transitions are applied by the caller.
+     * <p>
+     * While a failed attempt waits for its retry, the step holds no thread; the
+     * returned future completes when the step settles.
+     * </p>
+     * 
+     * @return the step outcome
+     */
+    private CompletableFuture<DagStepOutcome> runDagStep(String executionId, StepDefinition step, WorkflowExecutionContext context) {
+        String stepId = step.getStepId();
+        try {
+            persistenceService.recordStepStart(executionId, stepId, step.getType().name());
+            eventBus.publish("step.started", executionId + ":" + stepId);
+            logger.debug("Step started (parallel): executionId={}, stepId={}", executionId, stepId);
             
-            // All steps completed
-            if (dagExecutor.hasFailedSteps()) {
-                persistenceService.recordWorkflowFailed(executionId, "One or more steps failed");
-                eventBus.publish("workflow.failed", executionId);
-                logger.error("Workflow failed: executionId={}", executionId);
-            } else {
-                persistenceService.recordWorkflowCompleted(executionId);
-                eventBus.publish("workflow.completed", executionId);
-                logger.info("Workflow completed: executionId={}", executionId);
-            }
-            
-        } finally {
-            executor.shutdown();
-            try {
-                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    executor.shutdownNow();
+            // Phase 5 Step 3: Handle HUMAN_APPROVAL steps
+            if (step.isApprovalStep()) {
+                if (!handleApprovalStep(executionId, step, context)) {
+                    // Approval not resolved - workflow paused (or already failed on rejection)
+                    return CompletableFuture.completedFuture(DagStepOutcome.PARKED);
                 }
-            } catch (InterruptedException e) {
-                executor.shutdownNow();
-                Thread.currentThread().interrupt();
+                // handleApprovalStep already recorded the approved step as completed
+                eventBus.publish("step.completed", executionId + ":" + stepId);
+                return CompletableFuture.completedFuture(DagStepOutcome.COMPLETED);
             }
+            
+            // Execute step with retry
+            return executeStepWithRetryAsync(executionId, step, context)
+                .thenApply(success -> finishDagStep(executionId, step, context, success))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof ShutdownInterruption) {
+                        logger.info("Step left for recovery (parallel): executionId={}, stepId={}", executionId, stepId);
+                        return DagStepOutcome.INTERRUPTED;
+                    }
+                    return failDagStep(executionId, stepId, cause);
+                });
+            
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(failDagStep(executionId, stepId, e));
         }
     }
+    
+    /**
+     * Persist the result of a DAG step's last attempt.
+     */
+    private DagStepOutcome finishDagStep(String executionId, StepDefinition step, WorkflowExecutionContext context, boolean success) {
+        String stepId = step.getStepId();
+        if (success) {
+            persistenceService.recordStepCompleted(executionId, stepId, context.getStepResult(stepId));
+            eventBus.publish("step.completed", executionId + ":" + stepId);
+            logger.debug("Step completed (parallel): executionId={}, stepId={}", executionId, stepId);
+            return DagStepOutcome.COMPLETED;
+        }
+        
+        // Step failed
+        if (step.getOnFailure() == StepDefinition.OnFailure.SKIP) {
+            // Skip step - mark as completed (skipped)
+            persistenceService.recordStepSkipped(executionId, stepId);
+            return DagStepOutcome.COMPLETED;
+        }
+        // FAIL, or RETRY with attempts exhausted; runStepAttempt already recorded the failure
+        return DagStepOutcome.FAILED;
+    }
+    
+    private DagStepOutcome failDagStep(String executionId, String stepId, Throwable e) {
+        logger.error("Error executing step (parallel): executionId={}, stepId={}, error={}", 
+            executionId, stepId, e.getMessage(), e);
+        persistenceService.recordStepFailed(executionId, stepId, e.getMessage());
+        return DagStepOutcome.FAILED;
+    }
 }
-
@@ -8,6 +8,7 @@
  * ARCHITECTURAL ROLE:
  * - Tracks execution state of a workflow instance
  * - Maintains step results and context variables
+ * - On resumption, loads persisted step results lazily on first reference
  * - Thread-safe for concurrent access
  * 
  * Reference: PROJECT_DOCUMENTATION.md Phase 5 Step 1
@@ -18,6 +19,8 @@ import com.google.gson.JsonObject;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Execution context for a running workflow instance.
@@ -35,6 +38,8 @@ public final class WorkflowExecutionContext {
     private final JsonObject initialContext;  // Initial input to workflow
     private final Map<String, JsonObject> stepResults;  // step_id -> result
     private final Map<String, Object> contextVariables;  // Variables for input mapping
+    private final Set<String> storedStepIds = ConcurrentHashMap.newKeySet();  // Persisted, not yet loaded
+    private volatile Function<String, JsonObject> storedResultLoader;
     
     /**
      * Construct a workflow execution context.
@@ -80,7 +85,27 @@ public final class WorkflowExecutionContext {
      * @return step result, or null if not available
      */
     public JsonObject getStepResult(String stepId) {
-        return stepResults.get(stepId);
+        JsonObject result = stepResults.get(stepId);
+        Function<String, JsonObject> loader = storedResultLoader;
+        if (result != null || loader == null || !storedStepIds.contains(stepId)) {
+            return result;
+        }
+        // First reference to a persisted result since resumption: load it once
+        result = stepResults.computeIfAbsent(stepId, loader);
+        storedStepIds.remove(stepId);
+        return result;
+    }
+    
+    /**
+     * Make results persisted by an earlier run available without loading them up front
+     * (Phase 5 Step 2: Resumption). Each is loaded the first time a step references it.
+     * 
+     * @param stepIds steps with persisted results
+     * @param loader loads a step's result by step ID (may return null)
+     */
+    public void setStoredStepResults(Set<String> stepIds, Function<String, JsonObject> loader) {
+        storedStepIds.addAll(stepIds);
+        storedResultLoader = loader;
     }
     
     /**
@@ -108,93 +133,31 @@ public final class WorkflowExecutionContext {
      * <p>
      * Input mapping can reference:
      * - Initial context: ${initial.key}
-     * - Previous step results: ${step_id.key}
+     * - Previous step results: ${step_id.key}, nested ${step_id.a.b[0]}
      * - Context variables: ${var.key}
+     * References may also be embedded in strings: "Contract ${initial.number}".
+     * </p>
+     * <p>
+     * Compiles the mapping on every call; the engine uses the plan precompiled
+     * by {@link StepDefinition#getInputPlan()} instead.
      * </p>
      * 
      * @param inputMapping input mapping JSON
      * @return resolved input JSON
+     * @throws IllegalArgumentException if a reference has an invalid path
      */
     public JsonObject resolveInput(JsonObject inputMapping) {
-        JsonObject resolved = new JsonObject();
-        
-        for (String key : inputMapping.keySet()) {
-            Object value = inputMapping.get(key);
-            resolved.add(key, resolveValue(value));
-        }
-        
-        return resolved;
+        return resolveInput(InputMappingPlan.compile(inputMapping));
     }
     
     /**
-     * Resolve a single value (recursive for nested objects).
-     */
-    private com.google.gson.JsonElement resolveValue(Object value) {
-        if (value instanceof com.google.gson.JsonPrimitive) {
-            com.google.gson.JsonPrimitive primitive = (com.google.gson.JsonPrimitive) value;
-            if (primitive.isString()) {
-                String str = primitive.getAsString();
-                // Check for variable references: ${...}
-                if (str.startsWith("${") && str.endsWith("}")) {
-                    String ref = str.substring(2, str.length() - 1);
-                    return resolveReference(ref);
-                }
-            }
-            return primitive;
-        } else if (value instanceof JsonObject) {
-            JsonObject obj = (JsonObject) value;
-            JsonObject resolved = new JsonObject();
-            for (String key : obj.keySet()) {
-                resolved.add(key, resolveValue(obj.get(key)));
-            }
-            return resolved;
-        } else if (value instanceof com.google.gson.JsonArray) {
-            com.google.gson.JsonArray array = (com.google.gson.JsonArray) value;
-            com.google.gson.JsonArray resolved = new com.google.gson.JsonArray();
-            for (com.google.gson.JsonElement elem : array) {
-                resolved.add(resolveValue(elem));
-            }
-            return resolved;
-        }
-        // Fallback: convert to JSON element
-        return com.google.gson.JsonNull.INSTANCE;
-    }
-    
-    /**
-     * Resolve a reference like "initial.key", "step_id.key", or "var.key".
+     * Build input for a step from a precompiled input mapping plan.
+     * 
+     * @param plan compiled input mapping
+     * @return resolved input JSON
      */
-    private com.google.gson.JsonElement resolveReference(String ref) {
-        if (ref.startsWith("initial.")) {
-            String key = ref.substring(8);
-            if (initialContext.has(key)) {
-                return initialContext.get(key);
-            }
-        } else if (ref.contains(".")) {
-            // Format: step_id.key or var.key
-            int dotIndex = ref.indexOf('.');
-            String prefix = ref.substring(0, dotIndex);
-            String key = ref.substring(dotIndex + 1);
-            
-            if (stepResults.containsKey(prefix)) {
-                JsonObject stepResult = stepResults.get(prefix);
-                if (stepResult.has(key)) {
-                    return stepResult.get(key);
-                }
-            } else if (contextVariables.containsKey(prefix)) {
-                Object varValue = contextVariables.get(prefix);
-                // Convert to JSON element
-                if (varValue instanceof String) {
-                    return new com.google.gson.JsonPrimitive((String) varValue);
-                } else if (varValue instanceof Number) {
-                    return new com.google.gson.JsonPrimitive((Number) varValue);
-                } else if (varValue instanceof Boolean) {
-                    return new com.google.gson.JsonPrimitive((Boolean) varValue);
-                }
-            }
-        }
-        
-        // Not found, return null
-        return com.google.gson.JsonNull.INSTANCE;
+    public JsonObject resolveInput(InputMappingPlan plan) {
+        return plan.resolve(this);
     }
 }
 
@@ -0,0 +1,217 @@
+/*
+ * PressO Desktop - Orchestration Kernel
+ * ======================================
+ * 
+ * FILE: WorkflowRecoveryScheduler.java
+ * RESPONSIBILITY: Throttled resumption of interrupted workflows at startup
+ * 
+ * ARCHITECTURAL ROLE:
+ * - Runs in the background so the kernel signals ready before recovery starts
+ * - Loads resumable executions oldest first, in batches of one query each
+ * - Bounds how many recovered executions run at once; the rest wait their turn
+ * - Reports progress via GET_STATUS and a workflow.recovery.completed event
+ * 
+ * BOUNDARIES:
+ * - Does NOT execute steps; each execution is resumed by WorkflowEngine
+ * - Only executions that existed when recovery started are considered
+ * 
+ * Reference: PROJECT_DOCUMENTATION.md Phase 5 Step 2
+ */
+package com.presso.kernel.workflow;
+
+import com.presso.kernel.event.EventBus;
+import com.presso.kernel.workflow.persistence.WorkflowPersistenceService;
+import com.presso.kernel.workflow.persistence.WorkflowPersistenceService.ResumableExecution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the backlog of interrupted workflow executions at a bounded rate.
+ * <p>
+ * One background thread pages through workflow_execution by row id (oldest
+ * first) and hands each execution to a virtual thread once a concurrency permit
+ * is free. The permit is held until the resumed execution completes, fails or
+ * pauses, so at most {@code maxConcurrent} recovered executions load the engines
+ * and the database at any time.
+ * </p>
+ */
+final class WorkflowRecoveryScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowRecoveryScheduler.class);
+    
+    /**
+     * Recovery phase, reported in GET_STATUS.
+     */
+    enum Phase {
+        IDLE,       // Not started
+        WAITING,    // Start delay (engines warming up)
+        RUNNING,    // Launching executions
+        DRAINING,   // All launched, some still running
+        COMPLETED,
+        STOPPED
+    }
+    
+    private final WorkflowEngine workflowEngine;
+    private final WorkflowPersistenceService persistenceService;
+    private final EventBus eventBus;
+    
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger launched = new AtomicInteger();
+    private final AtomicInteger resumed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    
+    private volatile Phase phase = Phase.IDLE;
+    private volatile int maxConcurrent;
+    private volatile Semaphore permits;
+    private volatile Thread recoveryThread;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    
+    WorkflowRecoveryScheduler(WorkflowEngine workflowEngine, WorkflowPersistenceService persistenceService,
+                              EventBus eventBus) {
+        this.workflowEngine = workflowEngine;
+        this.persistenceService = persistenceService;
+        this.eventBus = eventBus;
+    }
+    
+    /**
+     * Start recovery in the background. Does nothing if already started.
+     * 
+     * @param maxConcurrent maximum recovered executions running at once
+     * @param batchSize executions loaded per query
+     * @param startDelayMs delay before the first execution is resumed
+     */
+    synchronized void start(int maxConcurrent, int batchSize, long startDelayMs) {
+        if (phase != Phase.IDLE) {
+            return;
+        }
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.permits = new Semaphore(this.maxConcurrent);
+        int batch = Math.max(1, batchSize);
+        long delay = Math.max(0L, startDelayMs);
+        
+        phase = Phase.WAITING;
+        recoveryThread = Thread.ofVirtual().name("workflow-recovery").start(() -> run(batch, delay));
+    }
+    
+    /**
+     * Stop launching recovered executions. Executions already running are not interrupted.
+     */
+    void stop() {
+        Thread thread = recoveryThread;
+        if (thread != null && phase != Phase.COMPLETED) {
+            phase = Phase.STOPPED;
+            thread.interrupt();
+        }
+    }
+    
+    private void run(int batchSize, long startDelayMs) {
+        try {
+            if (startDelayMs > 0) {
+                Thread.sleep(startDelayMs);
+            }
+            if (phase == Phase.STOPPED) {
+                return;
+            }
+            
+            startedAt = System.currentTimeMillis();
+            long maxRowId = persistenceService.getMaxExecutionRowId();
+            total.set(persistenceService.countResumableExecutions(maxRowId));
+            phase = Phase.RUNNING;
+            logger.info("Workflow recovery started: executions={}, maxConcurrent={}, batchSize={}",
+                total.get(), maxConcurrent, batchSize);
+            
+            long afterRowId = 0L;
+            while (phase == Phase.RUNNING) {
+                List<ResumableExecution> batch = persistenceService.getResumableExecutionBatch(afterRowId, maxRowId, batchSize);
+                for (ResumableExecution execution : batch) {
+                    permits.acquire();
+                    if (phase != Phase.RUNNING) {
+                        permits.release();
+                        return;
+                    }
+                    launch(execution);
+                    afterRowId = execution.rowId();
+                }
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                logger.info("Workflow recovery progress: launched={}/{}, resumed={}, skipped={}, failed={}",
+                    launched.get(), total.get(), resumed.get(), skipped.get(), failed.get());
+            }
+            if (phase != Phase.RUNNING) {
+                return;
+            }
+            
+            // Wait for the last recovered executions to finish or pause
+            phase = Phase.DRAINING;
+            permits.acquire(maxConcurrent);
+            permits.release(maxConcurrent);
+            
+            phase = Phase.COMPLETED;
+            finishedAt = System.currentTimeMillis();
+            logger.info("Workflow recovery completed: executions={}, resumed={}, skipped={}, failed={}, durationMs={}",
+                launched.get(), resumed.get(), skipped.get(), failed.get(), finishedAt - startedAt);
+            eventBus.publish("workflow.recovery.completed", getStats());
+            
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.info("Workflow recovery stopped: launched={}/{}", launched.get(), total.get());
+        } catch (Exception e) {
+            phase = Phase.STOPPED;
+            logger.error("Workflow recovery aborted: error={}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Resume one execution on its own virtual thread; the caller holds a permit for it.
+     */
+    private void launch(ResumableExecution execution) {
+        launched.incrementAndGet();
+        Thread.ofVirtual().name("workflow-resume-" + execution.executionId()).start(() -> {
+            try {
+                if (workflowEngine.resumeRecovered(execution)) {
+                    resumed.incrementAndGet();
+                } else {
+                    skipped.incrementAndGet();
+                }
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                logger.error("Error resuming workflow: executionId={}, error={}", execution.executionId(), e.getMessage());
+            } finally {
+                permits.release();
+            }
+        });
+    }
+    
+    /**
+     * Get recovery progress for GET_STATUS.
+     * 
+     * @return statistics map
+     */
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("phase", phase.name().toLowerCase());
+        stats.put("total", total.get());
+        stats.put("launched", launched.get());
+        stats.put("resumed", resumed.get());
+        stats.put("skipped", skipped.get());
+        stats.put("failed", failed.get());
+        stats.put("maxConcurrent", maxConcurrent);
+        Semaphore current = permits;
+        stats.put("inFlight", current != null ? maxConcurrent - current.availablePermits() : 0);
+        if (startedAt > 0) {
+            long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+            stats.put("elapsedMs", end - startedAt);
+        }
+        return stats;
+    }
+}
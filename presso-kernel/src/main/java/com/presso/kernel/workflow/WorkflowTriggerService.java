@@ -20,6 +20,8 @@ import com.google.gson.JsonObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -30,14 +32,21 @@ public final class WorkflowTriggerService {
     
     private static final Logger logger = LoggerFactory.getLogger(WorkflowTriggerService.class);
     
+    // Bounded, ordered delivery per trigger type: bursts queue up instead of spawning a task per event.
+    // Publishers wait a bounded time when full (a drop is logged), so a slow trigger never stalls them.
+    private static final EventBus.DeliveryOptions DELIVERY = EventBus.DeliveryOptions
+        .bounded(4096, EventBus.OverflowPolicy.BLOCK)
+        .withMaxBatchSize(256);
+    
     private final WorkflowEngine workflowEngine;
     private final EventBus eventBus;
     
     // Trigger configurations: eventType -> workflowId
     private final Map<String, String> eventTriggers = new ConcurrentHashMap<>();
     
-    // EventBus subscriptions
-    private EventBus.Subscription eventSubscription;
+    // EventBus subscriptions, one per registered trigger type (only while started)
+    private final Map<String, EventBus.Subscription> subscriptions = new HashMap<>();
+    private boolean started = false;
     
     /**
      * Construct a WorkflowTriggerService.
@@ -54,20 +63,24 @@ public final class WorkflowTriggerService {
     /**
      * Start the trigger service (subscribe to events).
      */
-    public void start() {
-        // Subscribe to all events to check for triggers
-        eventSubscription = eventBus.subscribeAll(this::handleEvent);
-        logger.info("WorkflowTriggerService started, subscribed to EventBus");
+    public synchronized void start() {
+        // Only trigger types are subscribed; unrelated high-rate events never reach this service
+        started = true;
+        for (String eventType : eventTriggers.keySet()) {
+            subscribe(eventType);
+        }
+        logger.info("WorkflowTriggerService started, subscribed to {} trigger event type(s)", subscriptions.size());
     }
     
     /**
      * Stop the trigger service (unsubscribe from events).
      */
-    public void stop() {
-        if (eventSubscription != null) {
-            eventSubscription.unsubscribe();
-            eventSubscription = null;
+    public synchronized void stop() {
+        started = false;
+        for (EventBus.Subscription subscription : subscriptions.values()) {
+            subscription.unsubscribe();
         }
+        subscriptions.clear();
         logger.info("WorkflowTriggerService stopped");
     }
     
@@ -77,8 +90,11 @@ public final class WorkflowTriggerService {
      * @param eventType the event type to trigger on (e.g., "contract.created")
      * @param workflowId the workflow to trigger
      */
-    public void registerEventTrigger(String eventType, String workflowId) {
+    public synchronized void registerEventTrigger(String eventType, String workflowId) {
         eventTriggers.put(eventType, workflowId);
+        if (started) {
+            subscribe(eventType);
+        }
         logger.info("Registered event trigger: eventType={}, workflowId={}", eventType, workflowId);
     }
     
@@ -87,11 +103,37 @@ public final class WorkflowTriggerService {
      * 
      * @param eventType the event type
      */
-    public void unregisterEventTrigger(String eventType) {
+    public synchronized void unregisterEventTrigger(String eventType) {
         eventTriggers.remove(eventType);
+        EventBus.Subscription subscription = subscriptions.remove(eventType);
+        if (subscription != null) {
+            subscription.unsubscribe();
+        }
         logger.info("Unregistered event trigger: eventType={}", eventType);
     }
     
+    /**
+     * Subscribe to one trigger event type (caller holds the monitor; no-op if already subscribed).
+     */
+    private void subscribe(String eventType) {
+        subscriptions.computeIfAbsent(eventType, type -> eventBus.subscribeBatch(
+            type, DELIVERY.withName("workflow-trigger:" + type), this::handleEvents));
+    }
+    
+    /**
+     * Handle a batch of events from EventBus (in publish order).
+     * 
+     * @param events the events
+     */
+    private void handleEvents(List<EventBus.Event> events) {
+        if (eventTriggers.isEmpty()) {
+            return;
+        }
+        for (EventBus.Event event : events) {
+            handleEvent(event);
+        }
+    }
+    
     /**
      * Handle an event from EventBus.
      * 
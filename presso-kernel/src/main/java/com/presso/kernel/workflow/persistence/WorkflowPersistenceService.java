@@ -9,6 +9,9 @@
  * - Persists workflow executions and step executions
  * - Enables workflow resumption after restart
  * - Tracks execution status and timestamps
+ * - Maintains per-step execution statistics rollups (workflow_step_stats)
+ * - Stores completed step outputs (workflow_step_output) until the workflow ends;
+ *   outputs above INLINE_OUTPUT_MAX_BYTES are deflated and stored once by SHA-256
  * 
  * Reference: PROJECT_DOCUMENTATION.md Phase 5 Step 1
  */
@@ -18,16 +21,29 @@ import com.presso.kernel.persistence.DatabaseManager;
 import com.presso.kernel.workflow.WorkflowExecutionStatus;
 
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.google.gson.Gson;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * Persists workflow execution state to database.
@@ -37,6 +53,30 @@ public final class WorkflowPersistenceService {
     private static final Logger logger = LoggerFactory.getLogger(WorkflowPersistenceService.class);
     private static final Gson gson = new Gson();
     
+    // Step outputs larger than this (UTF-8 bytes) go to workflow_output_blob
+    private static final int INLINE_OUTPUT_MAX_BYTES = 4 * 1024;
+    
+    // Separates step IDs in the aggregated stored-output column of the recovery batch query
+    private static final String STEP_ID_SEPARATOR = "\u001f";
+    
+    // Targets the step's latest run while it is still running. Parameters: execution_id, step_id.
+    private static final String LATEST_RUNNING_STEP =
+        "WHERE id = (SELECT MAX(id) FROM workflow_step_execution WHERE execution_id = ? AND step_id = ?) AND status = 'running'";
+    
+    /**
+     * Everything needed to resume one execution, loaded in bulk at startup (Phase 5 Step 2).
+     * 
+     * @param rowId workflow_execution row id (increases with age)
+     * @param executionId execution identifier
+     * @param workflowId workflow definition ID
+     * @param initialContext initial context JSON, or null
+     * @param lastCompletedStepId last completed step, or null if none
+     * @param storedOutputStepIds steps whose outputs are stored
+     */
+    public record ResumableExecution(long rowId, String executionId, String workflowId, String initialContext,
+                                     String lastCompletedStepId, Set<String> storedOutputStepIds) {
+    }
+    
     private final DatabaseManager databaseManager;
     
     /**
@@ -92,6 +132,7 @@ public final class WorkflowPersistenceService {
             )) {
                 stmt.setString(1, executionId);
                 stmt.executeUpdate();
+                deleteStepOutputs(conn, executionId);
                 conn.commit();
             }
         } catch (SQLException e) {
@@ -113,6 +154,7 @@ public final class WorkflowPersistenceService {
                 stmt.setString(1, errorMessage);
                 stmt.setString(2, executionId);
                 stmt.executeUpdate();
+                deleteStepOutputs(conn, executionId);
                 conn.commit();
             }
         } catch (SQLException e) {
@@ -150,15 +192,35 @@ public final class WorkflowPersistenceService {
      * @param stepId step identifier
      */
     public void recordStepCompleted(String executionId, String stepId) {
+        recordStepCompleted(executionId, stepId, null);
+    }
+    
+    /**
+     * Record step execution completion together with the step's output,
+     * so a resumed execution can resolve references to it without re-running the step.
+     * 
+     * @param executionId workflow execution identifier
+     * @param stepId step identifier
+     * @param output step result, or null if the step produced none
+     */
+    public void recordStepCompleted(String executionId, String stepId, JsonObject output) {
+        // Serialize, hash and compress before taking the writer
+        EncodedOutput encoded = output != null ? EncodedOutput.encode(output) : null;
         try (Connection conn = databaseManager.getConnection()) {
             try (PreparedStatement stmt = conn.prepareStatement(
-                "UPDATE workflow_step_execution SET status = 'completed', completed_at = CURRENT_TIMESTAMP WHERE execution_id = ? AND step_id = ?"
+                "UPDATE workflow_step_execution SET status = 'completed', completed_at = CURRENT_TIMESTAMP " + LATEST_RUNNING_STEP
             )) {
                 stmt.setString(1, executionId);
                 stmt.setString(2, stepId);
-                stmt.executeUpdate();
-                conn.commit();
+                // Only the transition out of 'running' is counted; a repeated record is a no-op
+                if (stmt.executeUpdate() == 1) {
+                    rollUpStepStatistics(conn, executionId, stepId);
+                }
+            }
+            if (encoded != null) {
+                storeStepOutput(conn, executionId, stepId, encoded);
             }
+            conn.commit();
         } catch (SQLException e) {
             logger.error("Failed to record step completion: executionId={}, stepId={}, error={}", executionId, stepId, e.getMessage());
         }
@@ -174,12 +236,15 @@ public final class WorkflowPersistenceService {
     public void recordStepFailed(String executionId, String stepId, String errorMessage) {
         try (Connection conn = databaseManager.getConnection()) {
             try (PreparedStatement stmt = conn.prepareStatement(
-                "UPDATE workflow_step_execution SET status = 'failed', error_message = ?, completed_at = CURRENT_TIMESTAMP WHERE execution_id = ? AND step_id = ?"
+                "UPDATE workflow_step_execution SET status = 'failed', error_message = ?, completed_at = CURRENT_TIMESTAMP " + LATEST_RUNNING_STEP
             )) {
                 stmt.setString(1, errorMessage);
                 stmt.setString(2, executionId);
                 stmt.setString(3, stepId);
-                stmt.executeUpdate();
+                // Only the transition out of 'running' is counted; the first error message is kept
+                if (stmt.executeUpdate() == 1) {
+                    rollUpStepStatistics(conn, executionId, stepId);
+                }
                 conn.commit();
             }
         } catch (SQLException e) {
@@ -187,6 +252,189 @@ public final class WorkflowPersistenceService {
         }
     }
     
+    /**
+     * Fold the step's latest run into the workflow_step_stats rollup (same transaction).
+     */
+    private void rollUpStepStatistics(Connection conn, String executionId, String stepId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DatabaseManager.STEP_STATS_UPSERT_LATEST)) {
+            stmt.setString(1, executionId);
+            stmt.setString(2, stepId);
+            stmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Step output prepared for storage: inline JSON, or a deflated blob keyed by content hash.
+     */
+    private record EncodedOutput(String inlineJson, String contentHash, byte[] compressed, int rawSize) {
+        
+        static EncodedOutput encode(JsonObject output) {
+            String json = gson.toJson(output);
+            byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+            if (raw.length <= INLINE_OUTPUT_MAX_BYTES) {
+                return new EncodedOutput(json, null, null, raw.length);
+            }
+            return new EncodedOutput(null, sha256(raw), deflate(raw), raw.length);
+        }
+    }
+    
+    private void storeStepOutput(Connection conn, String executionId, String stepId, EncodedOutput encoded) throws SQLException {
+        if (encoded.contentHash() != null) {
+            // Identical outputs (e.g. the same generated document) are stored once
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT OR IGNORE INTO workflow_output_blob (content_hash, content, raw_size) VALUES (?, ?, ?)"
+            )) {
+                stmt.setString(1, encoded.contentHash());
+                stmt.setBytes(2, encoded.compressed());
+                stmt.setInt(3, encoded.rawSize());
+                stmt.executeUpdate();
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+            "INSERT INTO workflow_step_output (execution_id, step_id, output_json, content_hash, raw_size) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT(execution_id, step_id) DO UPDATE SET output_json = excluded.output_json, " +
+            "content_hash = excluded.content_hash, raw_size = excluded.raw_size, completed_at = CURRENT_TIMESTAMP"
+        )) {
+            stmt.setString(1, executionId);
+            stmt.setString(2, stepId);
+            stmt.setString(3, encoded.inlineJson());
+            stmt.setString(4, encoded.contentHash());
+            stmt.setInt(5, encoded.rawSize());
+            stmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Drop a finished execution's step outputs and any blobs no longer referenced (same transaction).
+     */
+    private void deleteStepOutputs(Connection conn, String executionId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+            "DELETE FROM workflow_step_output WHERE execution_id = ?"
+        )) {
+            stmt.setString(1, executionId);
+            if (stmt.executeUpdate() == 0) {
+                return;
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+            "DELETE FROM workflow_output_blob WHERE NOT EXISTS " +
+            "(SELECT 1 FROM workflow_step_output o WHERE o.content_hash = workflow_output_blob.content_hash)"
+        )) {
+            stmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Get the IDs of steps whose outputs are stored for an execution (Phase 5 Step 2: Resumption).
+     * Only IDs are read; outputs are loaded on demand with {@link #loadStepOutput}.
+     * 
+     * @param executionId execution identifier
+     * @return step IDs with stored outputs (empty on error)
+     */
+    public Set<String> getStoredOutputStepIds(String executionId) {
+        Set<String> stepIds = new HashSet<>();
+        try (Connection conn = databaseManager.getReadConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT step_id FROM workflow_step_output WHERE execution_id = ?"
+            )) {
+                stmt.setString(1, executionId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        stepIds.add(rs.getString("step_id"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to get stored step outputs: executionId={}, error={}", executionId, e.getMessage());
+        }
+        return stepIds;
+    }
+    
+    /**
+     * Load a completed step's output (Phase 5 Step 2: Resumption).
+     * 
+     * @param executionId execution identifier
+     * @param stepId step identifier
+     * @return the step output, or null if not stored or unreadable
+     */
+    public JsonObject loadStepOutput(String executionId, String stepId) {
+        try (Connection conn = databaseManager.getReadConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT o.output_json, o.raw_size, b.content FROM workflow_step_output o " +
+                "LEFT JOIN workflow_output_blob b ON b.content_hash = o.content_hash " +
+                "WHERE o.execution_id = ? AND o.step_id = ?"
+            )) {
+                stmt.setString(1, executionId);
+                stmt.setString(2, stepId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        String json = rs.getString("output_json");
+                        if (json == null) {
+                            byte[] content = rs.getBytes("content");
+                            if (content == null) {
+                                logger.error("Step output blob missing: executionId={}, stepId={}", executionId, stepId);
+                                return null;
+                            }
+                            json = new String(inflate(content, rs.getInt("raw_size")), StandardCharsets.UTF_8);
+                        }
+                        return JsonParser.parseString(json).getAsJsonObject();
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to load step output: executionId={}, stepId={}, error={}", executionId, stepId, e.getMessage());
+        } catch (Exception e) {
+            logger.error("Failed to decode step output: executionId={}, stepId={}, error={}", executionId, stepId, e.getMessage());
+        }
+        return null;
+    }
+    
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    private static byte[] inflate(byte[] data, int rawSize) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] raw = new byte[rawSize];
+            int n = 0;
+            while (n < rawSize && !inflater.finished()) {
+                int read = inflater.inflate(raw, n, rawSize - n);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated step output blob");
+                }
+                n += read;
+            }
+            if (n != rawSize) {
+                throw new DataFormatException("Step output size mismatch: expected " + rawSize + ", got " + n);
+            }
+            return raw;
+        } finally {
+            inflater.end();
+        }
+    }
+    
     /**
      * Record step skipped.
      * 
@@ -215,7 +463,7 @@ public final class WorkflowPersistenceService {
      * @return execution status, or null if not found
      */
     public WorkflowExecutionStatus getExecutionStatus(String executionId) {
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             try (PreparedStatement stmt = conn.prepareStatement(
                 "SELECT execution_id, workflow_id, workflow_name, status, started_at, completed_at, error_message, initial_context FROM workflow_execution WHERE execution_id = ?"
             )) {
@@ -251,7 +499,7 @@ public final class WorkflowPersistenceService {
      * @return initial context JSON string, or null if not found
      */
     public String getInitialContext(String executionId) {
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             try (PreparedStatement stmt = conn.prepareStatement(
                 "SELECT initial_context FROM workflow_execution WHERE execution_id = ?"
             )) {
@@ -275,7 +523,7 @@ public final class WorkflowPersistenceService {
      */
     public java.util.List<String> getResumableExecutions() {
         java.util.List<String> executions = new java.util.ArrayList<>();
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             try (PreparedStatement stmt = conn.prepareStatement(
                 "SELECT execution_id FROM workflow_execution WHERE status IN ('running', 'paused')"
             )) {
@@ -291,6 +539,96 @@ public final class WorkflowPersistenceService {
         return executions;
     }
     
+    /**
+     * Get the highest workflow_execution row id, so recovery can ignore executions started after it began.
+     * 
+     * @return the highest row id, or 0 if there are none (or on error)
+     */
+    public long getMaxExecutionRowId() {
+        try (Connection conn = databaseManager.getReadConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT COALESCE(MAX(id), 0) FROM workflow_execution"
+            )) {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getLong(1);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to get max execution id: error={}", e.getMessage());
+        }
+        return 0L;
+    }
+    
+    /**
+     * Count running or paused executions up to a row id (recovery progress).
+     * 
+     * @param maxRowId highest row id to include
+     * @return the count (0 on error)
+     */
+    public int countResumableExecutions(long maxRowId) {
+        try (Connection conn = databaseManager.getReadConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT COUNT(*) FROM workflow_execution WHERE status IN ('running', 'paused') AND id <= ?"
+            )) {
+                stmt.setLong(1, maxRowId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getInt(1);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to count resumable executions: error={}", e.getMessage());
+        }
+        return 0;
+    }
+    
+    /**
+     * Load the next batch of running or paused executions, oldest first, with the
+     * state needed to resume them, in a single query (Phase 5 Step 2: Resumption).
+     * 
+     * @param afterRowId only rows with a larger id (keyset paging; 0 for the first batch)
+     * @param maxRowId highest row id to include
+     * @param limit maximum batch size
+     * @return the batch (empty when done, or on error)
+     */
+    public List<ResumableExecution> getResumableExecutionBatch(long afterRowId, long maxRowId, int limit) {
+        List<ResumableExecution> batch = new ArrayList<>();
+        try (Connection conn = databaseManager.getReadConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT e.id, e.execution_id, e.workflow_id, e.initial_context, " +
+                "(SELECT s.step_id FROM workflow_step_execution s WHERE s.execution_id = e.execution_id " +
+                "AND s.status = 'completed' ORDER BY s.completed_at DESC LIMIT 1) AS last_completed_step_id, " +
+                "(SELECT group_concat(o.step_id, char(31)) FROM workflow_step_output o " +
+                "WHERE o.execution_id = e.execution_id) AS stored_step_ids " +
+                "FROM workflow_execution e WHERE e.status IN ('running', 'paused') AND e.id > ? AND e.id <= ? " +
+                "ORDER BY e.id LIMIT ?"
+            )) {
+                stmt.setLong(1, afterRowId);
+                stmt.setLong(2, maxRowId);
+                stmt.setInt(3, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        String storedIds = rs.getString("stored_step_ids");
+                        batch.add(new ResumableExecution(
+                            rs.getLong("id"),
+                            rs.getString("execution_id"),
+                            rs.getString("workflow_id"),
+                            rs.getString("initial_context"),
+                            rs.getString("last_completed_step_id"),
+                            storedIds != null ? Set.of(storedIds.split(STEP_ID_SEPARATOR)) : Set.of()
+                        ));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to load resumable executions: afterRowId={}, error={}", afterRowId, e.getMessage());
+        }
+        return batch;
+    }
+    
     /**
      * Get the last completed step ID for an execution (Phase 5 Step 2: Resumption).
      * 
@@ -298,7 +636,7 @@ public final class WorkflowPersistenceService {
      * @return last completed step ID, or null if no steps completed
      */
     public String getLastCompletedStepId(String executionId) {
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             try (PreparedStatement stmt = conn.prepareStatement(
                 "SELECT step_id FROM workflow_step_execution WHERE execution_id = ? AND status = 'completed' ORDER BY completed_at DESC LIMIT 1"
             )) {
@@ -323,7 +661,7 @@ public final class WorkflowPersistenceService {
      * @return step status, or null if not found
      */
     public String getStepStatus(String executionId, String stepId) {
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             try (PreparedStatement stmt = conn.prepareStatement(
                 "SELECT status FROM workflow_step_execution WHERE execution_id = ? AND step_id = ?"
             )) {
@@ -386,7 +724,7 @@ public final class WorkflowPersistenceService {
      * @return workflow ID, or null if not found
      */
     public String getWorkflowId(String executionId) {
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             try (PreparedStatement stmt = conn.prepareStatement(
                 "SELECT workflow_id FROM workflow_execution WHERE execution_id = ?"
             )) {
@@ -410,7 +748,7 @@ public final class WorkflowPersistenceService {
      * @return workflow definition, or null if not found
      */
     public com.presso.kernel.workflow.WorkflowDefinition loadWorkflowDefinition(String workflowId) {
-        try (Connection conn = databaseManager.getConnection()) {
+        try (Connection conn = databaseManager.getReadConnection()) {
             try (PreparedStatement stmt = conn.prepareStatement(
                 "SELECT definition_json FROM workflow_definition WHERE workflow_id = ?"
             )) {